@@ -0,0 +1,42 @@
+package com.trading.autotradingbot.common;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static com.trading.autotradingbot.common.AccountConstants.SCALE;
+
+/**
+ * Reproducible random-walk bars for benchmarks, so results do not depend on a database or the Binance API.
+ */
+public final class SyntheticBars {
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final long START_TIME = 1_577_836_800_000L; // 2020-01-01T00:00:00Z
+    private static final long UNIT = BigDecimal.ONE.movePointRight(SCALE).longValueExact();
+
+    private SyntheticBars() {}
+
+    /**
+     * Hourly bars whose close follows a geometric random walk starting at 30 000 with ~1% moves per bar.
+     */
+    public static BarColumns randomWalk(String symbol, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        BarColumns.Builder builder = new BarColumns.Builder(symbol, "1h", count);
+        double close = 30_000;
+
+        for (int i = 0; i < count; i++) {
+            double open = close;
+            close = Math.max(1, open * (1 + random.nextGaussian() * 0.01));
+            double high = Math.max(open, close) * (1 + random.nextDouble() * 0.005);
+            double low = Math.min(open, close) * (1 - random.nextDouble() * 0.005);
+            double volume = 10 + random.nextDouble() * 100;
+
+            builder.add(START_TIME + i * HOUR_MILLIS, unscaled(open), unscaled(high), unscaled(low), unscaled(close),
+                    volume);
+        }
+        return builder.build();
+    }
+
+    private static long unscaled(double value) {
+        return Math.round(value * UNIT);
+    }
+}
@@ -0,0 +1,46 @@
+package com.trading.autotradingbot.mapper;
+
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.SyntheticBars;
+import com.trading.autotradingbot.entity.BarData;
+import org.openjdk.jmh.annotations.*;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.num.DecimalNumFactory;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.NumFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of adapting one cached {@link BarData} into a ta4j bar, with decimal and double backed numbers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BarConverterBenchmark {
+    private static final int BAR_COUNT = 1024;
+
+    @Param({"decimal", "double"})
+    public String numType;
+
+    private BarData[] bars;
+    private NumFactory factory;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        BarColumns columns = SyntheticBars.randomWalk("BTCUSDT", BAR_COUNT, 42);
+        bars = new BarData[BAR_COUNT];
+        for (int i = 0; i < BAR_COUNT; i++) {
+            bars[i] = columns.toBarData(i);
+        }
+        factory = "double".equals(numType) ? DoubleNumFactory.getInstance() : DecimalNumFactory.getInstance();
+    }
+
+    @Benchmark
+    public BaseBar toTa4jBar() {
+        BarData bar = bars[cursor];
+        cursor = (cursor + 1) & (BAR_COUNT - 1);
+        return BarConverter.toTa4jBar(bar, factory);
+    }
+}
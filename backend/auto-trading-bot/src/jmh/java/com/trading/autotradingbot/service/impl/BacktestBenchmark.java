@@ -0,0 +1,42 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.StrategyParameters;
+import com.trading.autotradingbot.common.SyntheticBars;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A complete in-memory backtest (strategy, stop-loss, fills and equity tracking) over a synthetic series of
+ * {@code barCount} bars, i.e. {@link TrainingServiceImpl} without the database reads and writes.
+ * <p>
+ * {@code recordSnapshots=false} is the parameter sweep configuration, which only tracks peak equity and drawdown.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BacktestBenchmark {
+
+    @Param({"1000000"})
+    public int barCount;
+
+    @Param({"true", "false"})
+    public boolean recordSnapshots;
+
+    private BarColumns bars;
+
+    @Setup
+    public void setUp() {
+        bars = SyntheticBars.randomWalk("BTCUSDT", barCount, 42);
+    }
+
+    @Benchmark
+    public BacktestLedger run() {
+        BacktestLedger ledger = new BacktestLedger(null, AccountConstants.DEFAULT_CAPITAL, recordSnapshots);
+        BacktestEngine.run(bars, new RSIStrategyService(), ledger, StrategyParameters.DEFAULT.stopLossThreshold());
+        return ledger;
+    }
+}
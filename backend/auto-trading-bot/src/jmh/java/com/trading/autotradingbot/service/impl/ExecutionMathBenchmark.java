@@ -0,0 +1,97 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.FixedPoint;
+import com.trading.autotradingbot.common.SyntheticBars;
+import com.trading.autotradingbot.entity.PortfolioHolding;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The arithmetic behind a fill and a snapshot, without the repositories around it.
+ * <p>
+ * {@code executeBuy} and {@code executeSell} replay the calculations of
+ * {@link AllInOrderExecutionService#executeBuy} and {@link AllInOrderExecutionService#executeSell}, including the
+ * conversions from and to the persisted {@link BigDecimal}s; {@code calcCryptoBalance} values {@code holdingCount}
+ * positions like {@link SnapshotServiceImpl#captureSnapshot}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ExecutionMathBenchmark {
+    private static final int PRICE_COUNT = 1024;
+    private static final Long ACCOUNT_ID = 1L;
+
+    @Param({"1", "10"})
+    public int holdingCount;
+
+    private BigDecimal[] prices;
+    private List<PortfolioHolding> holdings;
+    private BigDecimal cashBalance;
+    private BigDecimal portfolioValue;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        BarColumns bars = SyntheticBars.randomWalk("BTCUSDT", PRICE_COUNT, 42);
+        prices = new BigDecimal[PRICE_COUNT];
+        for (int i = 0; i < PRICE_COUNT; i++) {
+            prices[i] = bars.closeDecimal(i);
+        }
+
+        holdings = new ArrayList<>(holdingCount);
+        for (int i = 0; i < holdingCount; i++) {
+            holdings.add(PortfolioHolding.builder()
+                    .accountId(ACCOUNT_ID)
+                    .symbol("SYM" + i + "USDT")
+                    .quantity(new BigDecimal("0.33333333"))
+                    .avgBuyPrice(prices[i])
+                    .build());
+        }
+
+        cashBalance = AccountConstants.DEFAULT_CAPITAL;
+        portfolioValue = AccountConstants.DEFAULT_CAPITAL;
+    }
+
+    @Benchmark
+    public void executeBuy(Blackhole blackhole) {
+        long cash = FixedPoint.fromDecimal(cashBalance);
+        long price = FixedPoint.fromDecimal(nextPrice());
+
+        ExecutionMath.BuyFill fill = ExecutionMath.allInBuy(cash, price);
+        blackhole.consume(FixedPoint.toDecimal(fill.quantity()));
+        blackhole.consume(FixedPoint.toDecimal(fill.fee()));
+        blackhole.consume(FixedPoint.toDecimal(cash - fill.totalSpent()));
+        blackhole.consume(FixedPoint.toDecimal(FixedPoint.fromDecimal(portfolioValue) - fill.fee()));
+        blackhole.consume(FixedPoint.toDecimal(ExecutionMath.averageBuyPrice(0, 0, fill.quantity(), price)));
+    }
+
+    @Benchmark
+    public void executeSell(Blackhole blackhole) {
+        PortfolioHolding holding = holdings.getFirst();
+
+        ExecutionMath.SellFill fill = ExecutionMath.sellAll(FixedPoint.fromDecimal(holding.getQuantity()),
+                FixedPoint.fromDecimal(holding.getAvgBuyPrice()), FixedPoint.fromDecimal(nextPrice()));
+        blackhole.consume(FixedPoint.toDecimal(fill.fee()));
+        blackhole.consume(FixedPoint.toDecimal(fill.profitLoss()));
+        blackhole.consume(FixedPoint.toDecimal(FixedPoint.fromDecimal(cashBalance) + fill.revenue() - fill.fee()));
+    }
+
+    @Benchmark
+    public long calcCryptoBalance() {
+        return SnapshotServiceImpl.calcCryptoBalance(FixedPoint.fromDecimal(nextPrice()), holdings);
+    }
+
+    private BigDecimal nextPrice() {
+        BigDecimal price = prices[cursor];
+        cursor = (cursor + 1) & (PRICE_COUNT - 1);
+        return price;
+    }
+}
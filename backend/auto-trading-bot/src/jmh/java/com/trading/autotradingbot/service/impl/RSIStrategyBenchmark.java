@@ -0,0 +1,81 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.SyntheticBars;
+import com.trading.autotradingbot.entity.enums.KlineInterval;
+import com.trading.autotradingbot.entity.enums.Signal;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link RSIStrategyService#getSignal} call on a warmed-up strategy.
+ * <p>
+ * {@code newBar} moves the timestamp past the current bar on every call, so each tick closes a bar and updates the
+ * Wilder averages; {@code sameBar} keeps the timestamp inside the current bar, so each tick only revises its close.
+ * Both build the {@link ZonedDateTime} per call, as the streaming provider does. {@code closedBar} is the
+ * backtest path that reads the close straight from the columns.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RSIStrategyBenchmark {
+    private static final int PRICE_COUNT = 4096;
+
+    private BarColumns bars;
+    private long barPeriodMillis;
+    private BigDecimal[] prices;
+    private RSIStrategyService strategy;
+    private long lastOpenTime;
+    private int cursor;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        bars = SyntheticBars.randomWalk("BTCUSDT", PRICE_COUNT, 42);
+        prices = new BigDecimal[PRICE_COUNT];
+        for (int i = 0; i < PRICE_COUNT; i++) {
+            prices[i] = bars.closeDecimal(i);
+        }
+
+        barPeriodMillis = KlineInterval.fromCode(bars.getInterval()).getDuration().toMillis();
+        strategy = new RSIStrategyService();
+        strategy.initializeSeries(bars);
+        lastOpenTime = bars.openTime(bars.size() - 1);
+        cursor = 0;
+    }
+
+    @Benchmark
+    public Signal newBar() {
+        lastOpenTime += barPeriodMillis;
+        return strategy.getSignal(nextPrice(), toTimestamp(lastOpenTime));
+    }
+
+    @Benchmark
+    public Signal sameBar() {
+        return strategy.getSignal(nextPrice(), toTimestamp(lastOpenTime + 1));
+    }
+
+    @Benchmark
+    public Signal closedBar() {
+        return strategy.getSignal(bars, nextIndex());
+    }
+
+    private BigDecimal nextPrice() {
+        return prices[nextIndex()];
+    }
+
+    private int nextIndex() {
+        int index = cursor;
+        cursor = (cursor + 1) & (PRICE_COUNT - 1);
+        return index;
+    }
+
+    private static ZonedDateTime toTimestamp(long epochMillis) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
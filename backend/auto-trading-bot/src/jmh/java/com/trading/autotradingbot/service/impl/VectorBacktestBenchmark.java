@@ -0,0 +1,43 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.StrategyParameters;
+import com.trading.autotradingbot.common.SyntheticBars;
+import com.trading.autotradingbot.dto.SweepResultDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The vectorised backtest over the same bars as {@link BacktestBenchmark}. {@code backtest} is one complete run;
+ * {@code combination} is the cost of each further combination of a sweep, which shares the gains, losses and RSI.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class VectorBacktestBenchmark {
+
+    @Param({"1000000"})
+    public int barCount;
+
+    private BarColumns bars;
+    private VectorBacktest.Prepared prepared;
+    private double[] rsi;
+
+    @Setup
+    public void setUp() {
+        bars = SyntheticBars.randomWalk("BTCUSDT", barCount, 42);
+        prepared = VectorBacktest.prepare(bars);
+        rsi = VectorBacktest.rsi(prepared, StrategyParameters.DEFAULT.rsiPeriod());
+    }
+
+    @Benchmark
+    public SweepResultDto backtest() {
+        return VectorBacktest.evaluate(bars, StrategyParameters.DEFAULT);
+    }
+
+    @Benchmark
+    public SweepResultDto combination() {
+        return VectorBacktest.evaluate(prepared, rsi, StrategyParameters.DEFAULT);
+    }
+}
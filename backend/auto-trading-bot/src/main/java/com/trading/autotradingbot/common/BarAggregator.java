@@ -0,0 +1,122 @@
+package com.trading.autotradingbot.common;
+
+import com.trading.autotradingbot.entity.enums.KlineInterval;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolls bars of one {@link KlineInterval} up into a coarser one in a single pass over the primitive columns.
+ * <p>
+ * Coarse bars are aligned like Binance klines, in UTC: up to three days at multiples of their length since the epoch,
+ * weeks on Monday and months on the first day of the month. Open is the first source bar, close the last, high and
+ * low the extremes and volume the sum. Source bars missing inside a bucket (exchange outages) are tolerated, but the
+ * first and last bucket are dropped unless the source covers their start and end, and buckets that have not ended yet
+ * are dropped too, so a coarse bar never has a wrong open or a close that is still moving.
+ * </p>
+ */
+public final class BarAggregator {
+    private static final long WEEK_MILLIS = TimeUnit.DAYS.toMillis(7);
+    // 1970-01-01 was a Thursday, weeks start three days earlier
+    private static final long WEEK_OFFSET_MILLIS = TimeUnit.DAYS.toMillis(3);
+
+    private BarAggregator() {}
+
+    /**
+     * Whether bars of {@code source} fit exactly into bars of {@code target}.
+     */
+    public static boolean canAggregate(KlineInterval source, KlineInterval target) {
+        Duration sourceDuration = source.getDuration();
+        if (sourceDuration.compareTo(target.getDuration()) >= 0) {
+            return false;
+        }
+        if (target == KlineInterval.ONE_MONTH) {
+            return sourceDuration.compareTo(Duration.ofDays(1)) <= 0;
+        }
+        return target.getDuration().toMillis() % sourceDuration.toMillis() == 0;
+    }
+
+    /**
+     * Builds the {@code target} bars of {@code source}, which holds closed bars of {@code sourceInterval} only.
+     *
+     * @throws IllegalArgumentException if {@code sourceInterval} does not fit into {@code target}.
+     */
+    public static BarColumns aggregate(BarSeriesView source, KlineInterval sourceInterval, KlineInterval target) {
+        return aggregate(source, sourceInterval, target, Long.MAX_VALUE);
+    }
+
+    /**
+     * Builds the {@code target} bars of {@code source}, which holds bars of {@code sourceInterval}, up to
+     * {@code now} (epoch ms). A bucket ending after {@code now} is dropped: its last source bar is still forming, even
+     * if the source already holds it.
+     *
+     * @throws IllegalArgumentException if {@code sourceInterval} does not fit into {@code target}.
+     */
+    public static BarColumns aggregate(BarSeriesView source, KlineInterval sourceInterval, KlineInterval target,
+                                       long now) {
+        if (!canAggregate(sourceInterval, target)) {
+            throw new IllegalArgumentException("Cannot aggregate " + sourceInterval.getCode() + " bars into "
+                    + target.getCode() + " bars.");
+        }
+
+        long sourceMillis = sourceInterval.getDuration().toMillis();
+        long barsPerTarget = target.getDuration().toMillis() / sourceMillis;
+        int size = source.size();
+        BarColumns.Builder builder = new BarColumns.Builder(source.getSymbol(), target.getCode(),
+                (int) (size / barsPerTarget) + 2);
+
+        int index = 0;
+        while (index < size) {
+            long start = bucketStart(source.openTime(index), target);
+            long end = bucketEnd(start, target);
+
+            int first = index;
+            long open = source.openUnscaled(index);
+            long high = source.highUnscaled(index);
+            long low = source.lowUnscaled(index);
+            double volume = 0;
+            for (; index < size && source.openTime(index) < end; index++) {
+                high = Math.max(high, source.highUnscaled(index));
+                low = Math.min(low, source.lowUnscaled(index));
+                volume += source.volume(index);
+            }
+
+            boolean hasStart = first > 0 || source.openTime(first) == start;
+            boolean hasEnd = end <= now && (index < size || source.openTime(index - 1) + sourceMillis >= end);
+            if (hasStart && hasEnd) {
+                builder.add(start, open, high, low, source.closeUnscaled(index - 1), volume);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Open time (epoch ms) of the {@code interval} bar containing {@code openTime}.
+     */
+    public static long bucketStart(long openTime, KlineInterval interval) {
+        return switch (interval) {
+            case ONE_MONTH -> ZonedDateTime.ofInstant(Instant.ofEpochMilli(openTime), ZoneOffset.UTC)
+                    .withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).toInstant().toEpochMilli();
+            case ONE_WEEK -> Math.floorDiv(openTime + WEEK_OFFSET_MILLIS, WEEK_MILLIS) * WEEK_MILLIS - WEEK_OFFSET_MILLIS;
+            default -> {
+                long millis = interval.getDuration().toMillis();
+                yield Math.floorDiv(openTime, millis) * millis;
+            }
+        };
+    }
+
+    /**
+     * Close time (epoch ms, exclusive) of the {@code interval} bar opening at {@code start}.
+     */
+    public static long bucketEnd(long start, KlineInterval interval) {
+        if (interval == KlineInterval.ONE_MONTH) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(start), ZoneOffset.UTC).plusMonths(1)
+                    .toInstant().toEpochMilli();
+        }
+        return start + interval.getDuration().toMillis();
+    }
+}
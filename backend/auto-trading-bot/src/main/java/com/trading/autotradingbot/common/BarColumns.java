@@ -0,0 +1,239 @@
+package com.trading.autotradingbot.common;
+
+import com.trading.autotradingbot.entity.BarData;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static com.trading.autotradingbot.common.AccountConstants.SCALE;
+
+/**
+ * Column-oriented, read-only series of bars for one symbol and interval.
+ * <p>
+ * Open times are epoch milliseconds; prices are fixed-point longs scaled by 10^{@value AccountConstants#SCALE}, i.e.
+ * exactly the precision of the {@code NUMERIC(20, 8)} cache columns, and volume is a double (see {@link BarSeriesView}).
+ * A bar costs 48 bytes of primitive data instead of a {@link BarData} with six {@link BigDecimal}s, a
+ * {@link LocalDateTime} and two strings.
+ * </p>
+ * <p>
+ * {@link #slice(int, int)} returns a view that shares the underlying arrays, so windows over a long history are free.
+ * Derived accessors (doubles, decimals, range lookup) come from {@link BarSeriesView}.
+ * </p>
+ */
+public final class BarColumns implements BarSeriesView {
+    // Dividing (rather than multiplying by 1e-8) keeps the result identical to BigDecimal.doubleValue()
+    private static final double SCALE_FACTOR = BigDecimal.ONE.movePointRight(SCALE).doubleValue();
+
+    private final String symbol;
+    private final String interval;
+    private final long[] openTimes;
+    private final long[] opens;
+    private final long[] highs;
+    private final long[] lows;
+    private final long[] closes;
+    private final double[] volumes;
+    private final int offset;
+    private final int length;
+
+    private BarColumns(String symbol, String interval, long[] openTimes, long[] opens, long[] highs, long[] lows,
+                       long[] closes, double[] volumes, int offset, int length) {
+        this.symbol = symbol;
+        this.interval = interval;
+        this.openTimes = openTimes;
+        this.opens = opens;
+        this.highs = highs;
+        this.lows = lows;
+        this.closes = closes;
+        this.volumes = volumes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Converts entity bars into columns. All bars must share the same symbol and interval and be sorted by open time.
+     */
+    public static BarColumns fromBars(List<BarData> bars) {
+        if (bars.isEmpty()) {
+            throw new IllegalStateException("Cannot build bar columns: Historical data is empty.");
+        }
+
+        BarData first = bars.getFirst();
+        Builder builder = new Builder(first.getSymbol(), first.getInterval(), bars.size());
+
+        for (BarData bar : bars) {
+            if (!Objects.equals(bar.getSymbol(), first.getSymbol())) {
+                throw new IllegalArgumentException("Added bars are of different symbols");
+            }
+
+            if (!Objects.equals(bar.getInterval(), first.getInterval())) {
+                throw new IllegalArgumentException("Added bars are of different time intervals");
+            }
+
+            builder.add(toEpochMillis(bar.getOpenTime()),
+                    toUnscaled(bar.getOpenPrice()),
+                    toUnscaled(bar.getHighPrice()),
+                    toUnscaled(bar.getLowPrice()),
+                    toUnscaled(bar.getClosePrice()),
+                    bar.getVolume().doubleValue());
+        }
+        return builder.build();
+    }
+
+    public static long toUnscaled(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long unscaled) {
+        return BigDecimal.valueOf(unscaled, SCALE);
+    }
+
+    public static double toDouble(long unscaled) {
+        return unscaled / SCALE_FACTOR;
+    }
+
+    /**
+     * Converts fixed-point values to doubles with {@link #toDouble(long)}, e.g. closes for the RSI kernels.
+     */
+    public static double[] toDoubles(long[] unscaled) {
+        double[] values = new double[unscaled.length];
+        for (int i = 0; i < unscaled.length; i++) {
+            values[i] = toDouble(unscaled[i]);
+        }
+        return values;
+    }
+
+    public static long toEpochMillis(LocalDateTime openTime) {
+        return openTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    @Override
+    public String getSymbol() {
+        return symbol;
+    }
+
+    @Override
+    public String getInterval() {
+        return interval;
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public long openTime(int index) {
+        return openTimes[offset + index];
+    }
+
+    @Override
+    public long openUnscaled(int index) {
+        return opens[offset + index];
+    }
+
+    @Override
+    public long highUnscaled(int index) {
+        return highs[offset + index];
+    }
+
+    @Override
+    public long lowUnscaled(int index) {
+        return lows[offset + index];
+    }
+
+    @Override
+    public long closeUnscaled(int index) {
+        return closes[offset + index];
+    }
+
+    @Override
+    public double volume(int index) {
+        return volumes[offset + index];
+    }
+
+    @Override
+    public long[] closesUnscaled() {
+        return Arrays.copyOfRange(closes, offset, offset + length);
+    }
+
+    /**
+     * View over bars {@code [from, to)} of this series. No data is copied.
+     */
+    @Override
+    public BarColumns slice(int from, int to) {
+        Objects.checkFromToIndex(from, to, length);
+        return new BarColumns(symbol, interval, openTimes, opens, highs, lows, closes, volumes, offset + from, to - from);
+    }
+
+    /**
+     * Appends bars into growable primitive columns. Not thread-safe.
+     */
+    public static final class Builder {
+        private final String symbol;
+        private final String interval;
+        private long[] openTimes;
+        private long[] opens;
+        private long[] highs;
+        private long[] lows;
+        private long[] closes;
+        private double[] volumes;
+        private int size;
+
+        public Builder(String symbol, String interval, int initialCapacity) {
+            int capacity = Math.max(initialCapacity, 16);
+            this.symbol = symbol;
+            this.interval = interval;
+            this.openTimes = new long[capacity];
+            this.opens = new long[capacity];
+            this.highs = new long[capacity];
+            this.lows = new long[capacity];
+            this.closes = new long[capacity];
+            this.volumes = new double[capacity];
+        }
+
+        public Builder add(long openTime, long open, long high, long low, long close, double volume) {
+            if (size > 0 && openTime <= openTimes[size - 1]) {
+                throw new IllegalArgumentException("Bars must be added in strictly increasing open time order");
+            }
+            if (size == openTimes.length) {
+                grow();
+            }
+            openTimes[size] = openTime;
+            opens[size] = open;
+            highs[size] = high;
+            lows[size] = low;
+            closes[size] = close;
+            volumes[size] = volume;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public BarColumns build() {
+            return new BarColumns(symbol, interval, openTimes, opens, highs, lows, closes, volumes, 0, size);
+        }
+
+        private void grow() {
+            int capacity = openTimes.length * 2;
+            openTimes = Arrays.copyOf(openTimes, capacity);
+            opens = Arrays.copyOf(opens, capacity);
+            highs = Arrays.copyOf(highs, capacity);
+            lows = Arrays.copyOf(lows, capacity);
+            closes = Arrays.copyOf(closes, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+        }
+    }
+}
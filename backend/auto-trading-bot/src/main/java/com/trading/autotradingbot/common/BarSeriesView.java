@@ -0,0 +1,124 @@
+package com.trading.autotradingbot.common;
+
+import com.trading.autotradingbot.entity.BarData;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only, index-addressable series of bars for one symbol and interval, sorted by strictly increasing open time.
+ * <p>
+ * Open times are epoch milliseconds and prices fixed-point longs scaled by 10^{@value AccountConstants#SCALE}. Volume
+ * is a double: in base-asset units the volume of a coarse bar of a low-priced coin can exceed the fixed-point range.
+ * Implementations keep the data in primitive form ({@link BarColumns} on the heap, {@link MappedBarSeries} in a
+ * memory-mapped file), so scanning a series allocates nothing.
+ * </p>
+ */
+public interface BarSeriesView {
+
+    String getSymbol();
+
+    String getInterval();
+
+    int size();
+
+    long openTime(int index);
+
+    long openUnscaled(int index);
+
+    long highUnscaled(int index);
+
+    long lowUnscaled(int index);
+
+    long closeUnscaled(int index);
+
+    double volume(int index);
+
+    /**
+     * View over bars {@code [from, to)} of this series. No data is copied.
+     */
+    BarSeriesView slice(int from, int to);
+
+    /**
+     * Copies the closes into a new array, for kernels that process a whole column at a time.
+     */
+    default long[] closesUnscaled() {
+        long[] closes = new long[size()];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = closeUnscaled(i);
+        }
+        return closes;
+    }
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    default LocalDateTime openDateTime(int index) {
+        return BarColumns.toLocalDateTime(openTime(index));
+    }
+
+    default double open(int index) {
+        return BarColumns.toDouble(openUnscaled(index));
+    }
+
+    default double high(int index) {
+        return BarColumns.toDouble(highUnscaled(index));
+    }
+
+    default double low(int index) {
+        return BarColumns.toDouble(lowUnscaled(index));
+    }
+
+    default double close(int index) {
+        return BarColumns.toDouble(closeUnscaled(index));
+    }
+
+    default BigDecimal closeDecimal(int index) {
+        return BarColumns.toDecimal(closeUnscaled(index));
+    }
+
+    /**
+     * Index of the first bar opening at or after {@code openTime} (epoch ms), or {@link #size()} if there is none.
+     */
+    default int lowerBound(long openTime) {
+        int low = 0;
+        int high = size();
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (openTime(mid) < openTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * View over the bars opening within {@code [fromOpenTime, toOpenTime]} (epoch ms), found by binary search.
+     */
+    default BarSeriesView range(long fromOpenTime, long toOpenTime) {
+        int from = lowerBound(fromOpenTime);
+        int to = toOpenTime == Long.MAX_VALUE ? size() : lowerBound(toOpenTime + 1);
+        return slice(from, Math.max(from, to));
+    }
+
+    /**
+     * Expands a bar back into an entity, e.g. for APIs that still return {@link BarData}.
+     */
+    default BarData toBarData(int index) {
+        return BarData.builder()
+                .symbol(getSymbol())
+                .interval(getInterval())
+                .openTime(openDateTime(index))
+                .openPrice(BarColumns.toDecimal(openUnscaled(index)))
+                .highPrice(BarColumns.toDecimal(highUnscaled(index)))
+                .lowPrice(BarColumns.toDecimal(lowUnscaled(index)))
+                .closePrice(BarColumns.toDecimal(closeUnscaled(index)))
+                .volume(BigDecimal.valueOf(volume(index)).setScale(AccountConstants.SCALE, RoundingMode.HALF_UP))
+                .build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.trading.autotradingbot.common;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static com.trading.autotradingbot.common.AccountConstants.SCALE;
+
+/**
+ * Allocation-free money and quantity arithmetic on {@code long}s scaled by 10^{@value AccountConstants#SCALE}, the
+ * precision of every {@code NUMERIC(20, 8)} column.
+ * <p>
+ * {@link #multiply} and {@link #divide} compute the exact result in 128 bits and round it once, so for operands
+ * that fit the scale they return exactly what {@code a.multiply(b).setScale(SCALE, mode)} and
+ * {@code a.divide(b, SCALE, mode)} return on {@link BigDecimal}. Only {@link RoundingMode#DOWN} and
+ * {@link RoundingMode#HALF_UP}, the modes used for execution, are supported. Results that do not fit a {@code long}
+ * throw an {@link ArithmeticException}, like {@link Math#multiplyExact}.
+ * </p>
+ */
+public final class FixedPoint {
+    public static final long ONE = 100_000_000L;
+
+    private FixedPoint() {}
+
+    /**
+     * Converts an exact decimal, e.g. a persisted balance or a price.
+     *
+     * @throws ArithmeticException if {@code value} has more than {@value AccountConstants#SCALE} significant decimals
+     *                             or does not fit a {@code long} at that scale.
+     */
+    public static long fromDecimal(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long value) {
+        return BigDecimal.valueOf(value, SCALE);
+    }
+
+    /**
+     * {@code a * b}, rounded to the scale with {@code mode}.
+     */
+    public static long multiply(long a, long b, RoundingMode mode) {
+        checkOperand(a);
+        checkOperand(b);
+        long magnitudeA = Math.abs(a);
+        long magnitudeB = Math.abs(b);
+
+        return withSign(divideRounded(Math.multiplyHigh(magnitudeA, magnitudeB), magnitudeA * magnitudeB, ONE, mode),
+                (a ^ b) < 0);
+    }
+
+    /**
+     * {@code a / b}, rounded to the scale with {@code mode}.
+     *
+     * @throws ArithmeticException if {@code b} is zero.
+     */
+    public static long divide(long a, long b, RoundingMode mode) {
+        if (b == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        checkOperand(a);
+        checkOperand(b);
+        long magnitudeA = Math.abs(a);
+
+        return withSign(divideRounded(Math.multiplyHigh(magnitudeA, ONE), magnitudeA * ONE, Math.abs(b), mode),
+                (a ^ b) < 0);
+    }
+
+    /**
+     * {@code (weightA * valueA + weightB * valueB) / (weightA + weightB)}, rounded to the scale with {@code mode};
+     * the quantity-weighted average of two prices. All arguments must be non-negative.
+     */
+    public static long weightedAverage(long weightA, long valueA, long weightB, long valueB, RoundingMode mode) {
+        if (weightA < 0 || valueA < 0 || weightB < 0 || valueB < 0) {
+            throw new IllegalArgumentException("Weighted average needs non-negative weights and values");
+        }
+        long totalWeight = Math.addExact(weightA, weightB);
+        if (totalWeight == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+
+        // Both products are below 2^126, so their 128-bit sum cannot overflow
+        long lowA = weightA * valueA;
+        long lowB = weightB * valueB;
+        long low = lowA + lowB;
+        long carry = Long.compareUnsigned(low, lowA) < 0 ? 1 : 0;
+        long high = Math.multiplyHigh(weightA, valueA) + Math.multiplyHigh(weightB, valueB) + carry;
+
+        // The scales of the numerator (2 * SCALE) and the divisor (SCALE) leave a result at SCALE
+        return divideRounded(high, low, totalWeight, mode);
+    }
+
+    /**
+     * Divides the unsigned 128-bit {@code high:low} by {@code divisor} (positive) and rounds the quotient.
+     */
+    private static long divideRounded(long high, long low, long divisor, RoundingMode mode) {
+        long quotient;
+        long remainder;
+
+        if (high == 0 && low >= 0) {
+            quotient = low / divisor;
+            remainder = low - quotient * divisor;
+        } else {
+            if (Long.compareUnsigned(high, divisor) >= 0) {
+                throw new ArithmeticException("Fixed-point overflow");
+            }
+            quotient = divideUnsigned128(high, low, divisor);
+            // The true remainder is below the divisor, so the low 64 bits are enough to recover it
+            remainder = low - quotient * divisor;
+            if (quotient < 0) {
+                throw new ArithmeticException("Fixed-point overflow");
+            }
+        }
+
+        return switch (mode) {
+            case DOWN -> quotient;
+            case HALF_UP -> remainder >= divisor - remainder ? Math.addExact(quotient, 1) : quotient;
+            default -> throw new IllegalArgumentException("Unsupported rounding mode: " + mode);
+        };
+    }
+
+    /**
+     * Unsigned 128 by 64-bit division (Hacker's Delight, divlu). Requires {@code high < divisor} (unsigned) so the
+     * quotient fits 64 bits.
+     */
+    private static long divideUnsigned128(long high, long low, long divisor) {
+        final long base = 1L << 32;
+        final long mask = base - 1;
+
+        // Normalize so the divisor's top bit is set
+        int shift = Long.numberOfLeadingZeros(divisor);
+        long normalizedDivisor = divisor << shift;
+        long divisorHigh = normalizedDivisor >>> 32;
+        long divisorLow = normalizedDivisor & mask;
+
+        long numerator32 = shift == 0 ? high : (high << shift) | (low >>> (64 - shift));
+        long numerator10 = low << shift;
+        long numerator1 = numerator10 >>> 32;
+        long numerator0 = numerator10 & mask;
+
+        long quotient1 = Long.divideUnsigned(numerator32, divisorHigh);
+        long remainderHat = numerator32 - quotient1 * divisorHigh;
+        while (Long.compareUnsigned(quotient1, base) >= 0
+                || Long.compareUnsigned(quotient1 * divisorLow, base * remainderHat + numerator1) > 0) {
+            quotient1--;
+            remainderHat += divisorHigh;
+            if (Long.compareUnsigned(remainderHat, base) >= 0) {
+                break;
+            }
+        }
+
+        long numerator21 = numerator32 * base + numerator1 - quotient1 * normalizedDivisor;
+        long quotient0 = Long.divideUnsigned(numerator21, divisorHigh);
+        remainderHat = numerator21 - quotient0 * divisorHigh;
+        while (Long.compareUnsigned(quotient0, base) >= 0
+                || Long.compareUnsigned(quotient0 * divisorLow, base * remainderHat + numerator0) > 0) {
+            quotient0--;
+            remainderHat += divisorHigh;
+            if (Long.compareUnsigned(remainderHat, base) >= 0) {
+                break;
+            }
+        }
+
+        return quotient1 * base + quotient0;
+    }
+
+    private static void checkOperand(long value) {
+        if (value == Long.MIN_VALUE) {
+            throw new ArithmeticException("Fixed-point overflow");
+        }
+    }
+
+    private static long withSign(long magnitude, boolean negative) {
+        return negative ? -magnitude : magnitude;
+    }
+}
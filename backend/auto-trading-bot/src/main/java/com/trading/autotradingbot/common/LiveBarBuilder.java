@@ -0,0 +1,157 @@
+package com.trading.autotradingbot.common;
+
+import com.trading.autotradingbot.entity.enums.KlineInterval;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Builds bars of one {@link KlineInterval} from live trades, keeping the forming bar as primitive fixed-point fields
+ * that are updated in place.
+ * <p>
+ * A trade at or after the end of the forming bar closes it and hands it to the {@link BarConsumer}. Intervals without
+ * trades are emitted as flat bars at the previous close with zero volume, as Binance does, so consumers see one bar
+ * per interval. Bars follow on from the first bar (or the seeded one) and align like {@link BarAggregator}. Nothing
+ * is allocated per trade; consumers receive the bar as primitives and must copy what they keep.
+ * </p>
+ * <p>
+ * Prices and trade quantities are scaled by 10^{@value AccountConstants#SCALE} and bar volume is a double, like
+ * {@link BarColumns}. Not thread-safe.
+ * </p>
+ */
+public final class LiveBarBuilder {
+
+    @FunctionalInterface
+    public interface BarConsumer {
+        void onBar(long openTime, long open, long high, long low, long close, double volume);
+    }
+
+    private final KlineInterval interval;
+    private final BarConsumer consumer;
+
+    private boolean forming;
+    // Whether the forming bar has seen a trade; until then it is flat at the previous close
+    private boolean traded;
+    private long openTime;
+    private long endTime;
+    private long open;
+    private long high;
+    private long low;
+    private long close;
+    private double volume;
+
+    public LiveBarBuilder(KlineInterval interval, BarConsumer consumer) {
+        this.interval = interval;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Makes a bar the consumer already knows, e.g. the last historical bar, the forming bar. It is emitted once a
+     * trade or {@link #advanceTo(long)} reaches its end, and later bars follow on from it.
+     */
+    public void seed(long openTime, long open, long high, long low, long close, double volume) {
+        this.forming = true;
+        this.traded = true;
+        this.openTime = openTime;
+        this.endTime = nextOpenTime(openTime);
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    /**
+     * Applies a trade at {@code time} (epoch ms), first emitting the bars that ended at or before it. A trade older
+     * than the forming bar is ignored.
+     *
+     * @return the number of bars emitted.
+     */
+    public int onTrade(long time, long price, long quantity) {
+        int emitted = advanceTo(time);
+
+        if (!forming) {
+            forming = true;
+            openTime = BarAggregator.bucketStart(time, interval);
+            endTime = nextOpenTime(openTime);
+        } else if (time < openTime) {
+            return emitted;
+        }
+
+        if (traded) {
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            volume += BarColumns.toDouble(quantity);
+        } else {
+            traded = true;
+            open = price;
+            high = price;
+            low = price;
+            volume = BarColumns.toDouble(quantity);
+        }
+        close = price;
+        return emitted;
+    }
+
+    /**
+     * Emits every bar that ended at or before {@code time} (epoch ms), also when no trade arrives, e.g. from a timer.
+     * The bar containing {@code time} becomes the forming bar, flat at the last close until its first trade.
+     *
+     * @return the number of bars emitted.
+     */
+    public int advanceTo(long time) {
+        if (!forming || time < endTime) {
+            return 0;
+        }
+
+        consumer.onBar(openTime, open, high, low, close, volume);
+        int emitted = 1;
+
+        long nextOpen = endTime;
+        long nextEnd = nextOpenTime(nextOpen);
+        while (nextEnd <= time) {
+            consumer.onBar(nextOpen, close, close, close, close, 0);
+            emitted++;
+            nextOpen = nextEnd;
+            nextEnd = nextOpenTime(nextOpen);
+        }
+
+        traded = false;
+        openTime = nextOpen;
+        endTime = nextEnd;
+        open = close;
+        high = close;
+        low = close;
+        volume = 0;
+        return emitted;
+    }
+
+    public boolean isForming() {
+        return forming;
+    }
+
+    public long getOpenTime() {
+        return openTime;
+    }
+
+    public long getClose() {
+        return close;
+    }
+
+    public double getVolume() {
+        return volume;
+    }
+
+    public KlineInterval getInterval() {
+        return interval;
+    }
+
+    private long nextOpenTime(long openTime) {
+        if (interval == KlineInterval.ONE_MONTH) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(openTime), ZoneOffset.UTC).plusMonths(1)
+                    .toInstant().toEpochMilli();
+        }
+        return openTime + interval.getDuration().toMillis();
+    }
+}
@@ -0,0 +1,145 @@
+package com.trading.autotradingbot.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Single-pass Largest-Triangle-Three-Buckets downsampling of a time series.
+ * <p>
+ * Points are fed in x order through {@link #accept}, e.g. straight from a database cursor. The first and last point
+ * are always kept; the points in between are split into {@code threshold - 2} equal buckets by position, and from
+ * each bucket the point forming the largest triangle with the previously kept point and the average of the next
+ * bucket is kept. Only the current and next bucket are held in memory.
+ * </p>
+ * <p>
+ * {@code totalPoints} must be known up front to size the buckets. If fewer points arrive, the last one is still kept
+ * as the end point; surplus points beyond {@code totalPoints} are not expected. Not thread-safe.
+ * </p>
+ */
+public final class LttbDownsampler<T> implements Consumer<T> {
+    private final int totalPoints;
+    private final int threshold;
+    private final ToDoubleFunction<T> x;
+    private final ToDoubleFunction<T> y;
+    private final List<T> selected;
+
+    private List<T> currentBucket = new ArrayList<>();
+    private List<T> nextBucket = new ArrayList<>();
+    private int nextBucketIndex = -1;
+    private T anchor;
+    private T held;
+    private int index;
+
+    public LttbDownsampler(int totalPoints, int threshold, ToDoubleFunction<T> x, ToDoubleFunction<T> y) {
+        if (threshold < 3) {
+            throw new IllegalArgumentException("Downsampling needs at least 3 points, got " + threshold);
+        }
+        this.totalPoints = totalPoints;
+        this.threshold = threshold;
+        this.x = x;
+        this.y = y;
+        this.selected = new ArrayList<>(Math.min(totalPoints, threshold));
+    }
+
+    @Override
+    public void accept(T point) {
+        if (totalPoints <= threshold) {
+            selected.add(point);
+            return;
+        }
+
+        // Each point is processed one step late, so whichever point turns out to be the last is kept as the end point
+        if (held != null) {
+            process(held, index - 1);
+        }
+        held = point;
+        index++;
+    }
+
+    /**
+     * Completes the pass and returns the kept points in their original order.
+     */
+    public List<T> finish() {
+        if (totalPoints <= threshold || held == null) {
+            return selected;
+        }
+
+        if (anchor == null) {
+            selected.add(held);
+            return selected;
+        }
+
+        if (!nextBucket.isEmpty()) {
+            selectFrom(currentBucket, average(nextBucket));
+            selectFrom(nextBucket, x.applyAsDouble(held), y.applyAsDouble(held));
+        } else {
+            selectFrom(currentBucket, x.applyAsDouble(held), y.applyAsDouble(held));
+        }
+        selected.add(held);
+        held = null;
+        return selected;
+    }
+
+    private void process(T point, int pointIndex) {
+        if (pointIndex == 0) {
+            anchor = point;
+            selected.add(point);
+            return;
+        }
+
+        // Bucket b starts at point floor(b * (totalPoints - 2) / (threshold - 2)) + 1; exact integer arithmetic keeps
+        // the boundaries free of rounding errors
+        int bucket = (int) (((long) pointIndex * (threshold - 2) - 1) / (totalPoints - 2));
+
+        if (bucket != nextBucketIndex) {
+            if (!currentBucket.isEmpty()) {
+                selectFrom(currentBucket, average(nextBucket));
+            }
+            List<T> recycled = currentBucket;
+            recycled.clear();
+            currentBucket = nextBucket;
+            nextBucket = recycled;
+            nextBucketIndex = bucket;
+        }
+        nextBucket.add(point);
+    }
+
+    private double[] average(List<T> bucket) {
+        double sumX = 0;
+        double sumY = 0;
+        for (T point : bucket) {
+            sumX += x.applyAsDouble(point);
+            sumY += y.applyAsDouble(point);
+        }
+        return new double[] {sumX / bucket.size(), sumY / bucket.size()};
+    }
+
+    private void selectFrom(List<T> bucket, double[] average) {
+        selectFrom(bucket, average[0], average[1]);
+    }
+
+    private void selectFrom(List<T> bucket, double averageX, double averageY) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+
+        double anchorX = x.applyAsDouble(anchor);
+        double anchorY = y.applyAsDouble(anchor);
+        double maxArea = -1;
+        T best = null;
+
+        for (T point : bucket) {
+            double area = Math.abs((anchorX - averageX) * (y.applyAsDouble(point) - anchorY)
+                    - (anchorX - x.applyAsDouble(point)) * (averageY - anchorY));
+            if (area > maxArea) {
+                maxArea = area;
+                best = point;
+            }
+        }
+
+        selected.add(best);
+        anchor = best;
+    }
+}
@@ -0,0 +1,180 @@
+package com.trading.autotradingbot.common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Bar series backed by a memory-mapped, fixed-width binary file.
+ * <p>
+ * File layout (little-endian): a {@value #HEADER_BYTES}-byte header holding magic, format version, record size and
+ * bar count, followed by one {@value #RECORD_BYTES}-byte record per bar: open time, open, high, low and close as longs
+ * and volume as a double, in the same units as {@link BarColumns}. Bar {@code i} therefore lives at a fixed offset, so
+ * lookups are O(1), range lookups are a binary search, and scans read straight from the page cache without copying
+ * into the heap.
+ * </p>
+ * <p>
+ * Reads use absolute buffer positions only, so one instance (and all of its slices) can be shared between threads.
+ * A single file holds at most {@link Integer#MAX_VALUE} bytes, i.e. roughly 44 million bars.
+ * </p>
+ */
+public final class MappedBarSeries implements BarSeriesView {
+    static final int MAGIC = 0x42415253; // "BARS"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 48;
+    static final int RECORD_BYTES = 6 * Long.BYTES;
+
+    private static final int MAX_BARS = (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES;
+    private static final int WRITE_CHUNK_BARS = 4096;
+
+    private final String symbol;
+    private final String interval;
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    private MappedBarSeries(String symbol, String interval, ByteBuffer buffer, int offset, int length) {
+        this.symbol = symbol;
+        this.interval = interval;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Maps an archive file read-only. The mapping stays valid after this method returns and is released by the GC.
+     *
+     * @throws IOException if the file cannot be read or is not a complete archive of this format.
+     */
+    public static MappedBarSeries map(Path file, String symbol, String interval) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Not a bar archive (size " + fileSize + "): " + file);
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != RECORD_BYTES) {
+                throw new IOException("Not a bar archive of version " + VERSION + ": " + file);
+            }
+
+            long barCount = buffer.getLong(16);
+            if (barCount < 0 || HEADER_BYTES + barCount * RECORD_BYTES != fileSize) {
+                throw new IOException("Truncated bar archive (" + barCount + " bars, " + fileSize + " bytes): " + file);
+            }
+
+            return new MappedBarSeries(symbol, interval, buffer, 0, (int) barCount);
+        }
+    }
+
+    /**
+     * Writes {@code bars} to {@code file}. The data goes to a temporary file in the same directory first, which then
+     * replaces {@code file} atomically, so readers never map a half-written archive.
+     */
+    public static void write(Path file, BarSeriesView bars) throws IOException {
+        if (bars.size() > MAX_BARS) {
+            throw new IOException("Too many bars for one archive file: " + bars.size());
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_BYTES).putInt(0).putLong(bars.size());
+                writeFully(channel, header.clear());
+
+                ByteBuffer chunk = ByteBuffer.allocateDirect(WRITE_CHUNK_BARS * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < bars.size(); i++) {
+                    chunk.putLong(bars.openTime(i))
+                            .putLong(bars.openUnscaled(i))
+                            .putLong(bars.highUnscaled(i))
+                            .putLong(bars.lowUnscaled(i))
+                            .putLong(bars.closeUnscaled(i))
+                            .putDouble(bars.volume(i));
+
+                    if (!chunk.hasRemaining()) {
+                        writeFully(channel, chunk.flip());
+                        chunk.clear();
+                    }
+                }
+                writeFully(channel, chunk.flip());
+                channel.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public String getSymbol() {
+        return symbol;
+    }
+
+    @Override
+    public String getInterval() {
+        return interval;
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public long openTime(int index) {
+        return field(index, 0);
+    }
+
+    @Override
+    public long openUnscaled(int index) {
+        return field(index, 1);
+    }
+
+    @Override
+    public long highUnscaled(int index) {
+        return field(index, 2);
+    }
+
+    @Override
+    public long lowUnscaled(int index) {
+        return field(index, 3);
+    }
+
+    @Override
+    public long closeUnscaled(int index) {
+        return field(index, 4);
+    }
+
+    @Override
+    public double volume(int index) {
+        return Double.longBitsToDouble(field(index, 5));
+    }
+
+    @Override
+    public MappedBarSeries slice(int from, int to) {
+        Objects.checkFromToIndex(from, to, length);
+        return new MappedBarSeries(symbol, interval, buffer, offset + from, to - from);
+    }
+
+    private long field(int index, int column) {
+        Objects.checkIndex(index, length);
+        return buffer.getLong(HEADER_BYTES + (offset + index) * RECORD_BYTES + column * Long.BYTES);
+    }
+}
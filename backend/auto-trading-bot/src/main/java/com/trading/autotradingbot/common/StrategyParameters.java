@@ -0,0 +1,44 @@
+package com.trading.autotradingbot.common;
+
+import java.math.BigDecimal;
+
+/**
+ * Tunable parameters of the RSI strategy and its stop-loss.
+ *
+ * @param rsiPeriod Number of bars used for Wilder smoothing.
+ * @param oversoldThreshold RSI level below which a BUY is signalled.
+ * @param overboughtThreshold RSI level above which a SELL is signalled.
+ * @param stopLossThreshold Fraction of the average buy price at which a position is stopped out (e.g. 0.98).
+ */
+public record StrategyParameters(int rsiPeriod, int oversoldThreshold, int overboughtThreshold,
+                                 BigDecimal stopLossThreshold) {
+
+    public static final StrategyParameters DEFAULT =
+            new StrategyParameters(14, 30, 70, AccountConstants.STOP_LOSS_THRESHOLD);
+
+    public StrategyParameters {
+        if (rsiPeriod < 1) {
+            throw new IllegalArgumentException("RSI period must be positive, got " + rsiPeriod);
+        }
+        if (oversoldThreshold < 0 || overboughtThreshold > 100 || oversoldThreshold >= overboughtThreshold) {
+            throw new IllegalArgumentException("RSI thresholds must satisfy 0 <= oversold < overbought <= 100, got "
+                    + oversoldThreshold + "/" + overboughtThreshold);
+        }
+        checkStopLossThreshold(stopLossThreshold);
+    }
+
+    /**
+     * Rejects stop-loss thresholds outside (0, 1] or with more decimals than the fixed-point price columns hold.
+     *
+     * @throws IllegalArgumentException if {@code stopLossThreshold} is invalid.
+     */
+    public static void checkStopLossThreshold(BigDecimal stopLossThreshold) {
+        if (stopLossThreshold == null || stopLossThreshold.signum() <= 0 || stopLossThreshold.compareTo(BigDecimal.ONE) > 0) {
+            throw new IllegalArgumentException("Stop-loss threshold must be in (0, 1], got " + stopLossThreshold);
+        }
+        if (stopLossThreshold.stripTrailingZeros().scale() > AccountConstants.SCALE) {
+            throw new IllegalArgumentException("Stop-loss threshold must have at most " + AccountConstants.SCALE
+                    + " decimals, got " + stopLossThreshold);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.trading.autotradingbot.config;
 
-import com.trading.autotradingbot.repository.BarDataRepository;
 import com.trading.autotradingbot.service.AccountResetService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,30 +14,26 @@ import static com.trading.autotradingbot.common.AccountConstants.LIVE_ACCOUNT_ID
 public class CacheInitializer {
     private static final Logger log = LoggerFactory.getLogger(CacheInitializer.class);
 
-    private final BarDataRepository barDataRepository;
     private final AccountResetService accountResetService;
 
-    public CacheInitializer(BarDataRepository barDataRepository, AccountResetService accountResetService) {
-        this.barDataRepository = barDataRepository;
+    public CacheInitializer(AccountResetService accountResetService) {
         this.accountResetService = accountResetService;
     }
 
     /**
      * Executes immediately after the bean is constructed.
-     * Wipes the historical data cache clean.
+     * Resets the LIVE account. The historical data cache is kept across restarts; it tracks the time
+     * ranges it covers, so only missing bars are downloaded later.
      */
     @PostConstruct
-    public void clearCacheOnStartup() {
+    public void resetOnStartup() {
         log.warn("Cache Initializer active");
 
         try {
-            barDataRepository.deleteAll();
-            log.warn("Cache cleared successfully.");
-
             accountResetService.resetAllAccountData(LIVE_ACCOUNT_ID, DEFAULT_CAPITAL);
             log.warn("LIVE Account (ID {}) reset to starting capital: ${}", LIVE_ACCOUNT_ID, DEFAULT_CAPITAL);
         } catch (Exception e) {
-            log.error("Failed to clear cache table. Database connection likely failed.", e);
+            log.error("Failed to reset LIVE account. Database connection likely failed.", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package com.trading.autotradingbot.controller;
+
+import com.trading.autotradingbot.dto.BacktestJobDto;
+import com.trading.autotradingbot.dto.BacktestJobRequest;
+import com.trading.autotradingbot.dto.BatchBacktestReportDto;
+import com.trading.autotradingbot.dto.BatchBacktestRequest;
+import com.trading.autotradingbot.dto.MonteCarloReportDto;
+import com.trading.autotradingbot.dto.MonteCarloRequest;
+import com.trading.autotradingbot.dto.MultiStrategyBacktestRequest;
+import com.trading.autotradingbot.dto.MultiStrategyReportDto;
+import com.trading.autotradingbot.dto.ParameterSweepRequest;
+import com.trading.autotradingbot.dto.SweepResultDto;
+import com.trading.autotradingbot.dto.WalkForwardReportDto;
+import com.trading.autotradingbot.dto.WalkForwardRequest;
+import com.trading.autotradingbot.service.BacktestJobService;
+import com.trading.autotradingbot.service.BatchBacktestService;
+import com.trading.autotradingbot.service.MonteCarloService;
+import com.trading.autotradingbot.service.MultiStrategyBacktestService;
+import com.trading.autotradingbot.service.ParameterSweepService;
+import com.trading.autotradingbot.service.WalkForwardService;
+import com.trading.autotradingbot.strategy.StrategyRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/backtest")
+public class BacktestController {
+    private final ParameterSweepService parameterSweepService;
+    private final BatchBacktestService batchBacktestService;
+    private final BacktestJobService backtestJobService;
+    private final WalkForwardService walkForwardService;
+    private final MonteCarloService monteCarloService;
+    private final MultiStrategyBacktestService multiStrategyBacktestService;
+    private final StrategyRegistry strategyRegistry;
+
+    public BacktestController(ParameterSweepService parameterSweepService, BatchBacktestService batchBacktestService,
+                              BacktestJobService backtestJobService, WalkForwardService walkForwardService,
+                              MonteCarloService monteCarloService,
+                              MultiStrategyBacktestService multiStrategyBacktestService,
+                              StrategyRegistry strategyRegistry) {
+        this.parameterSweepService = parameterSweepService;
+        this.batchBacktestService = batchBacktestService;
+        this.backtestJobService = backtestJobService;
+        this.walkForwardService = walkForwardService;
+        this.monteCarloService = monteCarloService;
+        this.multiStrategyBacktestService = multiStrategyBacktestService;
+        this.strategyRegistry = strategyRegistry;
+    }
+
+    @PostMapping("/sweep")
+    public ResponseEntity<List<SweepResultDto>> runSweep(@RequestBody ParameterSweepRequest request) {
+        return ResponseEntity.ok(parameterSweepService.runSweep(request));
+    }
+
+    @PostMapping("/walk-forward")
+    public ResponseEntity<WalkForwardReportDto> runWalkForward(@RequestBody WalkForwardRequest request) {
+        return ResponseEntity.ok(walkForwardService.runWalkForward(request));
+    }
+
+    /**
+     * Resamples the results of a completed training run, identified by its simulation account (see
+     * {@code simulation.accounts.retained}).
+     */
+    @PostMapping("/monte-carlo")
+    public ResponseEntity<MonteCarloReportDto> runMonteCarlo(@RequestBody MonteCarloRequest request) {
+        return ResponseEntity.ok(monteCarloService.simulate(request));
+    }
+
+    /**
+     * Backtests several strategies over the same bars in one pass, computing their shared indicators once per bar.
+     */
+    @PostMapping("/strategies")
+    public ResponseEntity<MultiStrategyReportDto> runStrategies(@RequestBody MultiStrategyBacktestRequest request) {
+        return ResponseEntity.ok(multiStrategyBacktestService.runStrategies(request));
+    }
+
+    @GetMapping("/strategies/types")
+    public ResponseEntity<Set<String>> getStrategyTypes() {
+        return ResponseEntity.ok(strategyRegistry.getTypes());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBacktestReportDto> runBatch(@RequestBody BatchBacktestRequest request) {
+        return ResponseEntity.ok(batchBacktestService.runBatch(request));
+    }
+
+    /**
+     * Queues a backtest whose results are kept on the job only (no account is written). Poll the returned job for
+     * progress and results.
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<BacktestJobDto> submitJob(@RequestBody BacktestJobRequest request) {
+        return ResponseEntity.accepted().body(backtestJobService.submit(request.getSymbol(), request.getInterval(), false));
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<List<BacktestJobDto>> getRecentJobs() {
+        return ResponseEntity.ok(backtestJobService.getRecentJobs());
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<BacktestJobDto> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(backtestJobService.getJob(id));
+    }
+
+    @PostMapping("/jobs/{id}/cancel")
+    public ResponseEntity<BacktestJobDto> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(backtestJobService.cancel(id));
+    }
+}
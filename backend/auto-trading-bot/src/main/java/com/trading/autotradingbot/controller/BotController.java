@@ -1,15 +1,15 @@
 package com.trading.autotradingbot.controller;
 
-import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.dto.BacktestJobDto;
 import com.trading.autotradingbot.entity.BotConfig;
 import com.trading.autotradingbot.dto.BotConfigDto;
 import com.trading.autotradingbot.entity.enums.BotStatus;
 import com.trading.autotradingbot.entity.enums.TradingMode;
 import com.trading.autotradingbot.mapper.BotConfigMapper;
-import com.trading.autotradingbot.service.AccountResetService;
+import com.trading.autotradingbot.service.BacktestJobService;
 import com.trading.autotradingbot.service.BotManagementService;
+import com.trading.autotradingbot.service.SimulationAccountService;
 import com.trading.autotradingbot.service.impl.LiveTradingServiceImpl;
-import com.trading.autotradingbot.service.TrainingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -22,18 +22,18 @@ public class BotController {
     private static final Logger log = LoggerFactory.getLogger(BotController.class);
 
     private final BotManagementService botManagementService;
-    private final TrainingService trainingService;
+    private final BacktestJobService backtestJobService;
     private final BotConfigMapper botConfigMapper;
-    private final AccountResetService accountResetService;
+    private final SimulationAccountService simulationAccountService;
     private final LiveTradingServiceImpl liveTradingService;
 
-    public BotController(BotManagementService botManagementService, TrainingService trainingService,
-                         BotConfigMapper botConfigMapper, AccountResetService accountResetService,
+    public BotController(BotManagementService botManagementService, BacktestJobService backtestJobService,
+                         BotConfigMapper botConfigMapper, SimulationAccountService simulationAccountService,
                          LiveTradingServiceImpl liveTradingService) {
         this.botManagementService = botManagementService;
-        this.trainingService = trainingService;
+        this.backtestJobService = backtestJobService;
         this.botConfigMapper = botConfigMapper;
-        this.accountResetService = accountResetService;
+        this.simulationAccountService = simulationAccountService;
         this.liveTradingService = liveTradingService;
     }
 
@@ -51,8 +51,12 @@ public class BotController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Starts live trading, or in TRAINING mode queues a backtest job writing to a simulation account and returns it
+     * (follow it under {@code /api/backtest/jobs/{id}}).
+     */
     @PostMapping("/start")
-    public ResponseEntity<Void> startBot(@RequestParam String interval) {
+    public ResponseEntity<BacktestJobDto> startBot(@RequestParam String interval) {
         BotConfig config = botManagementService.getConfig();
 
         if (config.getStatus() == BotStatus.RUNNING) {
@@ -65,11 +69,11 @@ public class BotController {
 
         if (config.getTradingMode() == TradingMode.TRADING) {
             liveTradingService.startLiveTrading(config.getSelectedSymbol(), interval);
-        } else {
-            trainingService.runBacktest(2L, config.getSelectedSymbol(), interval);
+            return ResponseEntity.accepted().build();
         }
 
-        return ResponseEntity.accepted().build();
+        BacktestJobDto job = backtestJobService.submit(config.getSelectedSymbol(), interval, true);
+        return ResponseEntity.accepted().body(job);
     }
 
     @PostMapping("/stop")
@@ -78,9 +82,12 @@ public class BotController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Deletes the simulation accounts of all finished training runs.
+     */
     @PostMapping("/reset")
     public ResponseEntity<Void> resetBotData() {
-        accountResetService.resetAllAccountData(AccountConstants.BACKTEST_ACCOUNT_ID, AccountConstants.DEFAULT_CAPITAL);
+        simulationAccountService.deleteIdleAccounts(0);
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
@@ -1,23 +1,45 @@
 package com.trading.autotradingbot.controller;
 
 import com.trading.autotradingbot.dto.AccountSummaryDto;
+import com.trading.autotradingbot.dto.ChangesPageDto;
+import com.trading.autotradingbot.dto.JournalStatsDto;
 import com.trading.autotradingbot.entity.*;
 import com.trading.autotradingbot.service.DashboardService;
+import com.trading.autotradingbot.service.DashboardStreamService;
+import com.trading.autotradingbot.service.SnapshotService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api")
 public class DashboardController {
     private final DashboardService dashboardService;
+    private final SnapshotService snapshotService;
+    private final DashboardStreamService dashboardStreamService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, SnapshotService snapshotService,
+                               DashboardStreamService dashboardStreamService) {
         this.dashboardService = dashboardService;
+        this.snapshotService = snapshotService;
+        this.dashboardStreamService = dashboardStreamService;
+    }
+
+    /**
+     * Server-Sent Events stream: a STATE event with the full dashboard, then TICK, TRADE, SNAPSHOT, CONFIG and
+     * STATE events as they happen.
+     */
+    @GetMapping(path = "/dashboard/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboardEvents() {
+        return dashboardStreamService.subscribe();
     }
 
     @GetMapping("/account/summary")
@@ -27,17 +49,41 @@ public class DashboardController {
     }
 
     @GetMapping("/account/performance")
-    public ResponseEntity<List<AccountSnapshot>> getAccountPerformance() {
-        List<AccountSnapshot> snapshots = dashboardService.getAccountPerformance();
+    public ResponseEntity<List<AccountSnapshot>> getAccountPerformance(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer points) {
+        List<AccountSnapshot> snapshots = dashboardService.getAccountPerformance(from, to, points);
         return ResponseEntity.ok(snapshots);
     }
 
+    @GetMapping("/account/performance/changes")
+    public ResponseEntity<ChangesPageDto<AccountSnapshot>> getPerformanceChanges(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(dashboardService.getPerformanceChanges(afterId, since, limit));
+    }
+
+    @GetMapping("/account/journal")
+    public ResponseEntity<JournalStatsDto> getJournalStats() {
+        return ResponseEntity.ok(snapshotService.getJournalStats());
+    }
+
     @GetMapping("/trade/history")
     public ResponseEntity<List<Trade>> getTradeHistory() {
         List<Trade> trades = dashboardService.getTradeHistory();
         return ResponseEntity.ok(trades);
     }
 
+    @GetMapping("/trade/history/changes")
+    public ResponseEntity<ChangesPageDto<Trade>> getTradeChanges(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(dashboardService.getTradeChanges(afterId, since, limit));
+    }
+
     @GetMapping("/trade/holdings")
     public ResponseEntity<List<PortfolioHolding>> getCurrentHoldings() {
         List<PortfolioHolding> holdings = dashboardService.getCurrentHoldings();
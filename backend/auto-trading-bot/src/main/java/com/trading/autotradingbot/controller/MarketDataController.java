@@ -0,0 +1,24 @@
+package com.trading.autotradingbot.controller;
+
+import com.trading.autotradingbot.dto.DownloadResultDto;
+import com.trading.autotradingbot.service.KlineDownloadService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/market-data")
+public class MarketDataController {
+    private final KlineDownloadService klineDownloadService;
+
+    public MarketDataController(KlineDownloadService klineDownloadService) {
+        this.klineDownloadService = klineDownloadService;
+    }
+
+    @PostMapping("/download")
+    public ResponseEntity<DownloadResultDto> download(@RequestParam String symbol, @RequestParam String interval,
+                                                      @RequestParam Instant from, @RequestParam Instant to) {
+        return ResponseEntity.ok(klineDownloadService.download(symbol, interval, from, to));
+    }
+}
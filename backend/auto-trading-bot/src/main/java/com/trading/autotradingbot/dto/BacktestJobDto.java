@@ -0,0 +1,32 @@
+package com.trading.autotradingbot.dto;
+
+import com.trading.autotradingbot.entity.enums.BacktestJobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class BacktestJobDto {
+    private String id;
+    private Long accountId;
+    private boolean keepAccount;
+    private String symbol;
+    private String interval;
+    private BacktestJobStatus status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int barCount;
+    private int barsProcessed;
+    private long barsPerSecond;
+    private long durationMillis;
+    private BigDecimal finalBalance;
+    private BigDecimal totalProfitLoss;
+    private BigDecimal maxDrawdown;
+    private Integer tradeCount;
+    private Integer winningTrades;
+    private String errorMessage;
+}
@@ -0,0 +1,9 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Data;
+
+@Data
+public class BacktestJobRequest {
+    private String symbol;
+    private String interval;
+}
@@ -0,0 +1,21 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class BacktestResultDto {
+    private String symbol;
+    private String interval;
+    private boolean success;
+    private int barCount;
+    private BigDecimal finalBalance;
+    private BigDecimal totalProfitLoss;
+    private BigDecimal maxDrawdown;
+    private int tradeCount;
+    private int winningTrades;
+    private String errorMessage;
+}
@@ -0,0 +1,17 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BatchBacktestReportDto {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private long durationMillis;
+    // Successful runs by descending profit, followed by failed runs
+    private List<BacktestResultDto> results;
+}
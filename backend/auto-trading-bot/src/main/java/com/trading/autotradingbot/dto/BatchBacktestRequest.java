@@ -0,0 +1,14 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Every symbol is backtested on every interval.
+ */
+@Data
+public class BatchBacktestRequest {
+    private List<String> symbols;
+    private List<String> intervals;
+}
@@ -0,0 +1,18 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ChangesPageDto<T> {
+    // Rows added after the requested version, oldest first
+    private List<T> items;
+    // Pass as afterId on the next request; the id of the last row returned so far
+    private long version;
+    private boolean hasMore;
+    // The requested version no longer exists (account reset or switched): items start from scratch, drop cached rows
+    private boolean reset;
+}
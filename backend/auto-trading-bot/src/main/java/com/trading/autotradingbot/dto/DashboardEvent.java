@@ -0,0 +1,20 @@
+package com.trading.autotradingbot.dto;
+
+import com.trading.autotradingbot.entity.enums.DashboardEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Application event published when dashboard data changes, and the payload pushed to dashboard subscribers.
+ * A {@link DashboardEventType#STATE} event published without payload asks for the full state to be rebuilt.
+ */
+@Data
+@AllArgsConstructor(staticName = "of")
+public class DashboardEvent {
+    private DashboardEventType type;
+    private Object payload;
+
+    public static DashboardEvent stateChanged() {
+        return of(DashboardEventType.STATE, null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.trading.autotradingbot.dto;
+
+import com.trading.autotradingbot.entity.AccountSnapshot;
+import com.trading.autotradingbot.entity.PortfolioHolding;
+import com.trading.autotradingbot.entity.Trade;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class DashboardStateDto {
+    private BotConfigDto config;
+    private AccountSummaryDto summary;
+    private List<Trade> trades;
+    private List<PortfolioHolding> holdings;
+    // Downsampled equity curve, see DashboardService#getAccountPerformance
+    private List<AccountSnapshot> performance;
+}
@@ -0,0 +1,14 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DownloadResultDto {
+    private String symbol;
+    private String interval;
+    private int pages;
+    private int barsSaved;
+    private long durationMillis;
+}
@@ -0,0 +1,19 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class JournalStatsDto {
+    private String journalId;
+    private long lastSequence;
+    private long projectedSequence;
+    private long projectionLag;
+    private int segments;
+    private long sizeBytes;
+    private long projectedEvents;
+    private long batches;
+    private long failedBatches;
+    private long lastBatchMillis;
+}
@@ -0,0 +1,22 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Summary of one metric over all simulated paths. Percentiles use the nearest-rank method.
+ */
+@Data
+@Builder
+public class MonteCarloDistributionDto {
+    private BigDecimal mean;
+    private BigDecimal min;
+    private BigDecimal p5;
+    private BigDecimal p25;
+    private BigDecimal p50;
+    private BigDecimal p75;
+    private BigDecimal p95;
+    private BigDecimal max;
+}
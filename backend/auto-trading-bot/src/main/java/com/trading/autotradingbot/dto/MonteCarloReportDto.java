@@ -0,0 +1,35 @@
+package com.trading.autotradingbot.dto;
+
+import com.trading.autotradingbot.entity.enums.MonteCarloMethod;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class MonteCarloReportDto {
+    private Long accountId;
+    private MonteCarloMethod method;
+    private int paths;
+    private int blockLength;
+    private long seed;
+    // Closed trades or bars each path is built from
+    private int steps;
+    private long durationMillis;
+
+    private BigDecimal startingBalance;
+    // The backtest as it actually ran, for comparison with the distributions
+    private BigDecimal actualFinalEquity;
+    private BigDecimal actualMaxDrawdown;
+    private int actualTimeToRecovery;
+
+    private MonteCarloDistributionDto finalEquity;
+    // Largest peak-to-trough decline as a fraction of the peak
+    private MonteCarloDistributionDto maxDrawdown;
+    // Longest stretch, in steps, from a peak until equity is back at it; an unrecovered decline counts to the end
+    private MonteCarloDistributionDto timeToRecovery;
+    // Share of paths ending below the starting balance, and still below their peak
+    private BigDecimal probabilityOfLoss;
+    private BigDecimal probabilityUnrecovered;
+}
@@ -0,0 +1,19 @@
+package com.trading.autotradingbot.dto;
+
+import com.trading.autotradingbot.entity.enums.MonteCarloMethod;
+import lombok.Data;
+
+/**
+ * Monte Carlo simulation of a completed backtest, identified by its simulation account. Missing values fall back to
+ * {@code SHUFFLE_TRADES}, 10,000 paths, blocks of one and a random seed.
+ */
+@Data
+public class MonteCarloRequest {
+    private Long accountId;
+    private MonteCarloMethod method;
+    private Integer paths;
+    // Consecutive returns drawn together by the bootstrap methods, to keep streaks and volatility clusters
+    private Integer blockLength;
+    // Same seed, same request, same report
+    private Long seed;
+}
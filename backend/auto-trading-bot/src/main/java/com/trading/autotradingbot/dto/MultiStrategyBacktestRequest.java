@@ -0,0 +1,15 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Strategies backtested together over the cached bars of one symbol and interval, sharing their indicators.
+ */
+@Data
+public class MultiStrategyBacktestRequest {
+    private String symbol;
+    private String interval;
+    private List<StrategyDefinition> strategies;
+}
@@ -0,0 +1,19 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class MultiStrategyReportDto {
+    private String symbol;
+    private String interval;
+    private int bars;
+    // Distinct indicators computed per bar, shared by all strategies
+    private int indicatorNodes;
+    private long durationMillis;
+    // In request order
+    private List<StrategyResultDto> results;
+}
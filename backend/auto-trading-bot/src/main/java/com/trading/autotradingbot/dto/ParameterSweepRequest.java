@@ -0,0 +1,37 @@
+package com.trading.autotradingbot.dto;
+
+import com.trading.autotradingbot.entity.enums.BacktestMode;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Inclusive parameter ranges for an RSI strategy sweep. A missing range falls back to the default value.
+ */
+@Data
+public class ParameterSweepRequest {
+    private String symbol;
+    private String interval;
+
+    private Integer rsiPeriodFrom;
+    private Integer rsiPeriodTo;
+    private Integer rsiPeriodStep;
+
+    private Integer oversoldFrom;
+    private Integer oversoldTo;
+    private Integer oversoldStep;
+
+    private Integer overboughtFrom;
+    private Integer overboughtTo;
+    private Integer overboughtStep;
+
+    private BigDecimal stopLossFrom;
+    private BigDecimal stopLossTo;
+    private BigDecimal stopLossStep;
+
+    // Number of best results to return (all if null)
+    private Integer limit;
+
+    // EVENT_DRIVEN if null
+    private BacktestMode mode;
+}
@@ -0,0 +1,17 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * One strategy of a multi-strategy backtest: a type known to the {@code StrategyRegistry} and its parameters by name.
+ */
+@Data
+public class StrategyDefinition {
+    private String type;
+    private Map<String, BigDecimal> parameters;
+    // Falls back to the default stop-loss threshold
+    private BigDecimal stopLossThreshold;
+}
@@ -0,0 +1,18 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class StrategyResultDto {
+    private String strategyName;
+    private BigDecimal stopLossThreshold;
+    private BigDecimal finalBalance;
+    private BigDecimal totalProfitLoss;
+    private BigDecimal maxDrawdown;
+    private int tradeCount;
+    private int winningTrades;
+}
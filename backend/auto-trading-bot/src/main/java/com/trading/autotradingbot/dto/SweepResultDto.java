@@ -0,0 +1,21 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class SweepResultDto {
+    private int rank;
+    private int rsiPeriod;
+    private int oversoldThreshold;
+    private int overboughtThreshold;
+    private BigDecimal stopLossThreshold;
+    private BigDecimal finalBalance;
+    private BigDecimal totalProfitLoss;
+    private BigDecimal maxDrawdown;
+    private int tradeCount;
+    private int winningTrades;
+}
@@ -0,0 +1,15 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class TickDto {
+    private String symbol;
+    private BigDecimal price;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,27 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+public class WalkForwardReportDto {
+    private String symbol;
+    private String interval;
+    private int inSampleBars;
+    private int outOfSampleBars;
+    private int stepBars;
+    private long durationMillis;
+
+    // Every window starts from the default capital, so these are sums of independent runs
+    private BigDecimal totalInSampleProfitLoss;
+    private BigDecimal totalOutOfSampleProfitLoss;
+    private int profitableWindows;
+    // Out-of-sample profit per bar relative to in-sample profit per bar; null unless in-sample was profitable
+    private BigDecimal walkForwardEfficiency;
+
+    private List<WalkForwardWindowDto> windows;
+}
@@ -0,0 +1,17 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Parameter ranges to optimise (see {@link ParameterSweepRequest}, {@code limit} and {@code mode} are ignored) and the
+ * window layout in bars. Windows advance by {@code stepBars}, by default the out-of-sample length, so out-of-sample periods follow
+ * each other without overlap.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class WalkForwardRequest extends ParameterSweepRequest {
+    private Integer inSampleBars;
+    private Integer outOfSampleBars;
+    private Integer stepBars;
+}
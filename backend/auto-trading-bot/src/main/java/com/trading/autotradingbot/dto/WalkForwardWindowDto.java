@@ -0,0 +1,31 @@
+package com.trading.autotradingbot.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One walk-forward window: the parameters that won in-sample and how they did on the following out-of-sample bars.
+ */
+@Data
+@Builder
+public class WalkForwardWindowDto {
+    private int window;
+    private LocalDateTime inSampleStart;
+    private LocalDateTime outOfSampleStart;
+    private LocalDateTime outOfSampleEnd;
+    private int combinationsEvaluated;
+
+    private int rsiPeriod;
+    private int oversoldThreshold;
+    private int overboughtThreshold;
+    private BigDecimal stopLossThreshold;
+
+    private BigDecimal inSampleProfitLoss;
+    private BigDecimal outOfSampleProfitLoss;
+    private BigDecimal outOfSampleMaxDrawdown;
+    private int outOfSampleTradeCount;
+    private int outOfSampleWinningTrades;
+}
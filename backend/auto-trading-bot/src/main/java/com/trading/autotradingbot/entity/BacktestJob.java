@@ -0,0 +1,35 @@
+package com.trading.autotradingbot.entity;
+
+import com.trading.autotradingbot.entity.enums.BacktestJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestJob {
+    private String id;
+    private Long accountId; // Simulation account created for the run, null until it starts or if results are only kept on the job
+    private boolean keepAccount;
+    private String symbol;
+    private String interval;
+    private BacktestJobStatus status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int barCount;
+    private int barsProcessed;
+    private long durationMillis;
+    private BigDecimal finalBalance;
+    private BigDecimal totalProfitLoss;
+    private BigDecimal maxDrawdown;
+    private Integer tradeCount;
+    private Integer winningTrades;
+    private String errorMessage;
+}
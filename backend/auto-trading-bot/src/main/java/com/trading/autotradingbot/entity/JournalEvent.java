@@ -0,0 +1,36 @@
+package com.trading.autotradingbot.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * State change of a journaled account, as appended to the trading journal. Events carry the resulting balances, so
+ * replaying them in order rebuilds the account without re-running any calculation.
+ */
+public sealed interface JournalEvent {
+
+    Long accountId();
+
+    /**
+     * An executed order and the account state after it. A {@code holdingQuantity} of zero closes the position.
+     */
+    record Fill(Trade trade, BigDecimal cashBalance, BigDecimal portfolioValue,
+                BigDecimal holdingQuantity, BigDecimal holdingAvgPrice) implements JournalEvent {
+        @Override
+        public Long accountId() {
+            return trade.getAccountId();
+        }
+    }
+
+    record Snapshot(AccountSnapshot snapshot) implements JournalEvent {
+        @Override
+        public Long accountId() {
+            return snapshot.getAccountId();
+        }
+    }
+
+    /**
+     * Clears trades, holdings and snapshots and restarts the account with {@code startingCapital}.
+     */
+    record Reset(Long accountId, BigDecimal startingCapital, LocalDateTime timestamp) implements JournalEvent {}
+}
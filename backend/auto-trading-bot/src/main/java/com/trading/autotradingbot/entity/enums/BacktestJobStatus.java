@@ -0,0 +1,13 @@
+package com.trading.autotradingbot.entity.enums;
+
+public enum BacktestJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
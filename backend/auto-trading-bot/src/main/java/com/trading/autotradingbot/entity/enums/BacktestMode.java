@@ -0,0 +1,8 @@
+package com.trading.autotradingbot.entity.enums;
+
+public enum BacktestMode {
+    // Bar by bar through the strategy and a ledger, like live trading
+    EVENT_DRIVEN,
+    // Whole signal series at once with SIMD kernels; same results, for screening large sweeps
+    VECTORISED
+}
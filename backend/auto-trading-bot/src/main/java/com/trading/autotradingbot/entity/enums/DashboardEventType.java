@@ -0,0 +1,9 @@
+package com.trading.autotradingbot.entity.enums;
+
+public enum DashboardEventType {
+    STATE,      // Full dashboard state: sent on connect and after bulk changes (mode switch, reset, backtest)
+    TICK,       // Latest evaluated market price
+    TRADE,      // Executed trade
+    SNAPSHOT,   // Captured account snapshot
+    CONFIG      // Bot status or symbol changed
+}
@@ -1,38 +1,52 @@
 package com.trading.autotradingbot.entity.enums;
 
+import java.time.Duration;
+
 public enum KlineInterval {
-    ONE_SECOND("1s"),
-    ONE_MINUTE("1m"),
-    THREE_MINUTES("3m"),
-    FIVE_MINUTES("5m"),
-    FIFTEEN_MINUTES("15m"),
-    THIRTY_MINUTES("30m"),
+    ONE_SECOND("1s", Duration.ofSeconds(1)),
+    ONE_MINUTE("1m", Duration.ofMinutes(1)),
+    THREE_MINUTES("3m", Duration.ofMinutes(3)),
+    FIVE_MINUTES("5m", Duration.ofMinutes(5)),
+    FIFTEEN_MINUTES("15m", Duration.ofMinutes(15)),
+    THIRTY_MINUTES("30m", Duration.ofMinutes(30)),
 
-    ONE_HOUR("1h"),
-    TWO_HOURS("2h"),
-    FOUR_HOURS("4h"),
-    SIX_HOURS("6h"),
-    TWELVE_HOURS("12h"),
+    ONE_HOUR("1h", Duration.ofHours(1)),
+    TWO_HOURS("2h", Duration.ofHours(2)),
+    FOUR_HOURS("4h", Duration.ofHours(4)),
+    SIX_HOURS("6h", Duration.ofHours(6)),
+    TWELVE_HOURS("12h", Duration.ofHours(12)),
 
-    ONE_DAY("1d"),
-    THREE_DAYS("3d"),
+    ONE_DAY("1d", Duration.ofDays(1)),
+    THREE_DAYS("3d", Duration.ofDays(3)),
 
-    ONE_WEEK("1w"),
-    ONE_MONTH("1M");
+    ONE_WEEK("1w", Duration.ofDays(7)),
+    ONE_MONTH("1M", Duration.ofDays(31));
 
     private final String code;
+    private final Duration duration;
 
-    KlineInterval(String code) {
+    KlineInterval(String code, Duration duration) {
         this.code = code;
+        this.duration = duration;
     }
 
     public String getCode() {
         return code;
     }
 
+    /**
+     * Length of one bar. Calendar months vary, so {@link #ONE_MONTH} reports the longest month (31 days).
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Looks up an interval by its Binance code. Codes are case-sensitive, as "1m" is a minute and "1M" a month.
+     */
     public static KlineInterval fromCode(String code) {
         for (KlineInterval interval : values()) {
-            if (interval.code.equalsIgnoreCase(code)) {
+            if (interval.code.equals(code)) {
                 return interval;
             }
         }
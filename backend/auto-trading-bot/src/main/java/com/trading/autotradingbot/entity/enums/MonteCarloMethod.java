@@ -0,0 +1,17 @@
+package com.trading.autotradingbot.entity.enums;
+
+/**
+ * How a Monte Carlo path is drawn from the returns of a completed backtest.
+ */
+public enum MonteCarloMethod {
+    // Every closed trade exactly once, in random order
+    SHUFFLE_TRADES,
+    // Blocks of consecutive closed trades, drawn with replacement
+    BOOTSTRAP_TRADES,
+    // Blocks of consecutive bar-to-bar equity changes, drawn with replacement
+    BOOTSTRAP_BARS;
+
+    public boolean isBarBased() {
+        return this == BOOTSTRAP_BARS;
+    }
+}
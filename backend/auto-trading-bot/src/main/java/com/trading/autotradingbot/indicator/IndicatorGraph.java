@@ -0,0 +1,179 @@
+package com.trading.autotradingbot.indicator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indicators of several strategies over one bar stream, deduplicated into a single computation graph.
+ * <p>
+ * Each distinct {@link IndicatorSpec} becomes one node, registered after the nodes it reads, so the registration
+ * order is a topological order. A bar or tick walks the nodes once in that order and each node writes its value into
+ * a shared {@code double[]}; strategies then read values by node id. N strategies that share indicators cost one
+ * update per distinct indicator, not one per strategy.
+ * </p>
+ * <p>
+ * The forming bar follows the streaming indicators: {@link #addBar} closes it and opens the next,
+ * {@link #updateLast} re-prices it. Not thread-safe.
+ * </p>
+ */
+public final class IndicatorGraph {
+    private final Map<IndicatorSpec, Integer> ids = new HashMap<>();
+    private final List<Node> nodes = new ArrayList<>();
+    private double[] values = new double[8];
+
+    private int barCount;
+    private double high;
+    private double low;
+    private double close;
+
+    /**
+     * One indicator; writes its value for the forming bar to {@code values[id]}.
+     */
+    private interface Node {
+        void addBar(IndicatorGraph graph);
+
+        void updateLast(IndicatorGraph graph);
+    }
+
+    /**
+     * Returns the node id of {@code spec}, adding it (and its inputs) unless an equal spec was registered before.
+     *
+     * @throws IllegalStateException if bars were already added, as a new node would miss them.
+     */
+    public int register(IndicatorSpec spec) {
+        Integer existing = ids.get(spec);
+        if (existing != null) {
+            return existing;
+        }
+        if (barCount > 0) {
+            throw new IllegalStateException("Indicators must be registered before the first bar.");
+        }
+
+        // Inputs first, so every node comes after the nodes it reads
+        int id = switch (spec) {
+            case IndicatorSpec.ClosePrice ignored -> add(new CloseNode(nodes.size()));
+            case IndicatorSpec.Rsi(IndicatorSpec input, int period) -> {
+                int inputId = register(input);
+                yield add(new RsiNode(nodes.size(), inputId, new StreamingRsi(period)));
+            }
+            case IndicatorSpec.Ema(IndicatorSpec input, int period) -> {
+                int inputId = register(input);
+                yield add(new EmaNode(nodes.size(), inputId, new StreamingEma(period)));
+            }
+            case IndicatorSpec.Atr(int period) -> add(new AtrNode(nodes.size(), new StreamingAtr(period)));
+        };
+        ids.put(spec, id);
+        return id;
+    }
+
+    /**
+     * Closes the forming bar (if any) and opens a new one.
+     */
+    public void addBar(double high, double low, double close) {
+        setForming(high, low, close);
+        barCount++;
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.get(i).addBar(this);
+        }
+    }
+
+    /**
+     * Re-prices the forming bar.
+     */
+    public void updateLast(double high, double low, double close) {
+        if (barCount == 0) {
+            throw new IllegalStateException("Cannot update the indicator graph: no bar has been added yet.");
+        }
+        setForming(high, low, close);
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.get(i).updateLast(this);
+        }
+    }
+
+    /**
+     * Value of node {@code id} for the forming bar.
+     */
+    public double value(int id) {
+        return values[id];
+    }
+
+    public int getBarCount() {
+        return barCount;
+    }
+
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    private int add(Node node) {
+        int id = nodes.size();
+        nodes.add(node);
+        if (id == values.length) {
+            values = Arrays.copyOf(values, id * 2);
+        }
+        return id;
+    }
+
+    private void setForming(double high, double low, double close) {
+        this.high = high;
+        this.low = low;
+        this.close = close;
+    }
+
+    private record CloseNode(int id) implements Node {
+        @Override
+        public void addBar(IndicatorGraph graph) {
+            graph.values[id] = graph.close;
+        }
+
+        @Override
+        public void updateLast(IndicatorGraph graph) {
+            graph.values[id] = graph.close;
+        }
+    }
+
+    private record RsiNode(int id, int input, StreamingRsi rsi) implements Node {
+        @Override
+        public void addBar(IndicatorGraph graph) {
+            rsi.addBar(graph.values[input]);
+            graph.values[id] = rsi.getValue();
+        }
+
+        @Override
+        public void updateLast(IndicatorGraph graph) {
+            rsi.updateLast(graph.values[input]);
+            graph.values[id] = rsi.getValue();
+        }
+    }
+
+    private record EmaNode(int id, int input, StreamingEma ema) implements Node {
+        @Override
+        public void addBar(IndicatorGraph graph) {
+            ema.addBar(graph.values[input]);
+            graph.values[id] = ema.getValue();
+        }
+
+        @Override
+        public void updateLast(IndicatorGraph graph) {
+            ema.updateLast(graph.values[input]);
+            graph.values[id] = ema.getValue();
+        }
+    }
+
+    private record AtrNode(int id, StreamingAtr atr) implements Node {
+        @Override
+        public void addBar(IndicatorGraph graph) {
+            atr.addBar(graph.high, graph.low, graph.close);
+            graph.values[id] = atr.getValue();
+        }
+
+        @Override
+        public void updateLast(IndicatorGraph graph) {
+            atr.updateLast(graph.high, graph.low, graph.close);
+            graph.values[id] = atr.getValue();
+        }
+    }
+}
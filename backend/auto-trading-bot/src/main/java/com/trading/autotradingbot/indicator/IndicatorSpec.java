@@ -0,0 +1,30 @@
+package com.trading.autotradingbot.indicator;
+
+/**
+ * Structural description of an indicator. Specs are records, so two strategies asking for the same indicator over
+ * the same input get equal specs and share one node of the {@link IndicatorGraph}.
+ */
+public sealed interface IndicatorSpec {
+
+    IndicatorSpec CLOSE = new ClosePrice();
+
+    static IndicatorSpec rsi(int period) {
+        return new Rsi(CLOSE, period);
+    }
+
+    static IndicatorSpec ema(int period) {
+        return new Ema(CLOSE, period);
+    }
+
+    static IndicatorSpec atr(int period) {
+        return new Atr(period);
+    }
+
+    record ClosePrice() implements IndicatorSpec {}
+
+    record Rsi(IndicatorSpec input, int period) implements IndicatorSpec {}
+
+    record Ema(IndicatorSpec input, int period) implements IndicatorSpec {}
+
+    record Atr(int period) implements IndicatorSpec {}
+}
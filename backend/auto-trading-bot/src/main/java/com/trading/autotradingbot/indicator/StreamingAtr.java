@@ -0,0 +1,77 @@
+package com.trading.autotradingbot.indicator;
+
+/**
+ * Incremental Average True Range with Wilder's smoothing (ta4j's {@code ATRIndicator}: an {@code MMAIndicator} over
+ * the true range, where the first bar's true range is its high-low span).
+ * <p>
+ * Only closed bars are folded into the state; the value of the forming bar is derived from it on demand.
+ * </p>
+ */
+public final class StreamingAtr {
+    private final int period;
+
+    private int barCount;
+    private double committedAtr;
+    private double committedClose;
+    private double formingHigh;
+    private double formingLow;
+    private double formingClose;
+
+    public StreamingAtr(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("ATR period must be positive, got " + period);
+        }
+        this.period = period;
+    }
+
+    /**
+     * Closes the currently forming bar (if any) and starts a new one.
+     */
+    public void addBar(double high, double low, double close) {
+        if (barCount > 0) {
+            committedAtr = getValue();
+            committedClose = formingClose;
+        }
+        setForming(high, low, close);
+        barCount++;
+    }
+
+    /**
+     * Re-prices the forming bar.
+     */
+    public void updateLast(double high, double low, double close) {
+        if (barCount == 0) {
+            throw new IllegalStateException("Cannot update ATR: no bar has been added yet.");
+        }
+        setForming(high, low, close);
+    }
+
+    /**
+     * ATR of the forming bar, or {@code 0} before the first bar.
+     */
+    public double getValue() {
+        if (barCount == 0) {
+            return 0;
+        }
+        double trueRange = formingHigh - formingLow;
+        if (barCount == 1) {
+            return trueRange;
+        }
+        trueRange = Math.max(trueRange, Math.max(Math.abs(formingHigh - committedClose), Math.abs(committedClose - formingLow)));
+        return committedAtr + (trueRange - committedAtr) / period;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public int getBarCount() {
+        return barCount;
+    }
+
+    private void setForming(double high, double low, double close) {
+        formingHigh = high;
+        formingLow = low;
+        formingClose = close;
+    }
+}
@@ -0,0 +1,65 @@
+package com.trading.autotradingbot.indicator;
+
+/**
+ * Incremental exponential moving average (ta4j's {@code EMAIndicator}: seeded with the first input, then smoothed
+ * with {@code 2 / (period + 1)}).
+ * <p>
+ * Like {@link StreamingRsi}, only closed bars are folded into the state; the value of the forming bar is derived from
+ * it on demand, so re-pricing the forming bar is O(1) and does not drift.
+ * </p>
+ */
+public final class StreamingEma {
+    private final int period;
+    private final double multiplier;
+
+    private int barCount;
+    private double committedEma;
+    private double formingInput;
+
+    public StreamingEma(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("EMA period must be positive, got " + period);
+        }
+        this.period = period;
+        this.multiplier = 2.0 / (period + 1);
+    }
+
+    /**
+     * Closes the currently forming bar (if any) and starts a new one at {@code input}.
+     */
+    public void addBar(double input) {
+        if (barCount > 0) {
+            committedEma = getValue();
+        }
+        formingInput = input;
+        barCount++;
+    }
+
+    /**
+     * Re-prices the forming bar.
+     */
+    public void updateLast(double input) {
+        if (barCount == 0) {
+            throw new IllegalStateException("Cannot update EMA: no bar has been added yet.");
+        }
+        formingInput = input;
+    }
+
+    /**
+     * EMA of the forming bar, or {@code 0} before the first bar.
+     */
+    public double getValue() {
+        if (barCount <= 1) {
+            return formingInput;
+        }
+        return committedEma + (formingInput - committedEma) * multiplier;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public int getBarCount() {
+        return barCount;
+    }
+}
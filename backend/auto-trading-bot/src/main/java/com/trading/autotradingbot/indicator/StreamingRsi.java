@@ -0,0 +1,109 @@
+package com.trading.autotradingbot.indicator;
+
+/**
+ * Incremental Relative Strength Index using Wilder's smoothing (the same recurrence as ta4j's
+ * {@code RSIIndicator}, which averages gains and losses with an {@code MMAIndicator}).
+ * <p>
+ * The running average gain/loss of all <i>closed</i> bars is kept as state, so closing a bar and
+ * re-pricing the forming bar are both O(1). The value for the forming bar is derived on demand from
+ * the committed averages and its provisional close, without mutating the committed state.
+ * </p>
+ * <p>
+ * Values are computed in {@code double} and match ta4j's {@code DecimalNum} output within 1e-6 RSI points.
+ * </p>
+ */
+public final class StreamingRsi {
+    private static final double HUNDRED = 100.0;
+
+    private final int period;
+    private final double multiplier;
+
+    private int barCount;
+    private double committedClose;
+    private double avgGain;
+    private double avgLoss;
+    private double formingClose;
+
+    public StreamingRsi(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("RSI period must be positive, got " + period);
+        }
+        this.period = period;
+        this.multiplier = 1.0 / period;
+    }
+
+    /**
+     * Closes the currently forming bar (if any) and starts a new one at {@code close}.
+     */
+    public void addBar(double close) {
+        if (barCount == 1) {
+            // The first bar has no predecessor, so its gain and loss are both zero.
+            avgGain = 0;
+            avgLoss = 0;
+        } else if (barCount > 1) {
+            double change = formingClose - committedClose;
+            avgGain = smooth(avgGain, Math.max(change, 0));
+            avgLoss = smooth(avgLoss, Math.max(-change, 0));
+        }
+
+        if (barCount > 0) {
+            committedClose = formingClose;
+        }
+
+        formingClose = close;
+        barCount++;
+    }
+
+    /**
+     * Re-prices the forming bar. Only the provisional close changes; the committed averages are untouched.
+     */
+    public void updateLast(double close) {
+        if (barCount == 0) {
+            throw new IllegalStateException("Cannot update RSI: no bar has been added yet.");
+        }
+        formingClose = close;
+    }
+
+    /**
+     * RSI of the forming bar, or {@code 0} while fewer than two bars have been seen.
+     */
+    public double getValue() {
+        if (barCount < 2) {
+            return 0;
+        }
+
+        double change = formingClose - committedClose;
+        double gain = smooth(avgGain, Math.max(change, 0));
+        double loss = smooth(avgLoss, Math.max(-change, 0));
+
+        return toRsi(gain, loss);
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public int getBarCount() {
+        return barCount;
+    }
+
+    public void reset() {
+        barCount = 0;
+        committedClose = 0;
+        avgGain = 0;
+        avgLoss = 0;
+        formingClose = 0;
+    }
+
+    private double smooth(double previous, double current) {
+        return previous + (current - previous) * multiplier;
+    }
+
+    static double toRsi(double averageGain, double averageLoss) {
+        if (averageLoss == 0) {
+            return averageGain == 0 ? 0 : HUNDRED;
+        }
+        double relativeStrength = averageGain / averageLoss;
+        return HUNDRED - HUNDRED / (1 + relativeStrength);
+    }
+}
@@ -1,6 +1,7 @@
 package com.trading.autotradingbot.mapper;
 
 import com.trading.autotradingbot.entity.BarData;
+import com.trading.autotradingbot.entity.enums.KlineInterval;
 import org.ta4j.core.BaseBar; // Use the actual BaseBar class
 import org.ta4j.core.num.NumFactory;
 import org.ta4j.core.num.Num;
@@ -12,18 +13,19 @@ import java.time.Instant;
 
 // Utility class
 public class BarConverter {
-    private static final Duration DEFAULT_TIME_PERIOD = Duration.ofHours(1);
 
     private BarConverter() {}
 
     /**
      * Adapts BarData POJO into a TA4J BaseBar object using the full constructor.
+     * The bar period is the duration of the bar's kline interval.
      */
     public static BaseBar toTa4jBar(BarData barData, NumFactory factory) {
+        Duration timePeriod = KlineInterval.fromCode(barData.getInterval()).getDuration();
 
         ZonedDateTime zdt = ZonedDateTime.of(barData.getOpenTime(), ZoneId.systemDefault());
         Instant beginTime = zdt.toInstant();
-        Instant endTime = zdt.plus(DEFAULT_TIME_PERIOD).toInstant();
+        Instant endTime = zdt.plus(timePeriod).toInstant();
 
         Num open = factory.numOf(barData.getOpenPrice());
         Num high = factory.numOf(barData.getHighPrice());
@@ -32,7 +34,7 @@ public class BarConverter {
         Num volume = factory.numOf(barData.getVolume());
 
         return new BaseBar(
-                DEFAULT_TIME_PERIOD,      // 1. Duration timePeriod
+                timePeriod,               // 1. Duration timePeriod
                 beginTime,                // 2. Instant beginTime
                 endTime,                  // 3. Instant endTime
                 open,                     // 4. Num openPrice
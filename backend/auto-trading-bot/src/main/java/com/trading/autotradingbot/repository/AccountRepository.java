@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -35,6 +36,58 @@ public class AccountRepository {
         return jdbcTemplate.query(sql, accountRowMapper, id).stream().findFirst();
     }
 
+    /**
+     * Inserts a new account holding {@code startBalance} in cash.
+     *
+     * @return the generated account id.
+     */
+    public Long create(AccountType accountType, BigDecimal startBalance) {
+        String sql = """
+                INSERT INTO account (start_balance, current_balance, current_portfolio_value, creation_timestamp,
+                                     last_update_timestamp, account_type)
+                VALUES (?, ?, ?, ?, ?, ?)
+                RETURNING id
+                """;
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.queryForObject(sql, Long.class, startBalance, startBalance, startBalance, now, now,
+                accountType.name());
+    }
+
+    /**
+     * The ids among {@code ids} that belong to BACKTEST accounts.
+     */
+    public List<Long> findBacktestAccountIds(List<Long> ids) {
+        String sql = "SELECT id FROM account WHERE id = ANY(?) AND account_type = 'BACKTEST'";
+        return jdbcTemplate.queryForList(sql, Long.class, (Object) ids.toArray(Long[]::new));
+    }
+
+    /**
+     * BACKTEST accounts not used by a queued or running backtest job, nor by one of the {@code retained} most
+     * recently completed ones.
+     */
+    public List<Long> findIdleBacktestAccountIds(int retained) {
+        String sql = """
+                SELECT id FROM account
+                WHERE account_type = 'BACKTEST'
+                  AND id NOT IN (SELECT account_id FROM backtest_job
+                                 WHERE account_id IS NOT NULL AND status IN ('QUEUED', 'RUNNING'))
+                  AND id NOT IN (SELECT account_id FROM backtest_job
+                                 WHERE account_id IS NOT NULL AND status = 'COMPLETED'
+                                 ORDER BY finished_at DESC
+                                 LIMIT ?)
+                """;
+        return jdbcTemplate.queryForList(sql, Long.class, retained);
+    }
+
+    /**
+     * Deletes the given BACKTEST accounts; other ids are ignored. Their trades, holdings and snapshots must be
+     * deleted first.
+     */
+    public void deleteBacktestAccounts(List<Long> ids) {
+        String sql = "DELETE FROM account WHERE id = ANY(?) AND account_type = 'BACKTEST'";
+        jdbcTemplate.update(sql, (Object) ids.toArray(Long[]::new));
+    }
+
     public void updatePortfolioValue(Long id, BigDecimal newPortfolioValue, LocalDateTime timestamp) {
         String sql = """
                 UPDATE account
@@ -45,8 +98,11 @@ public class AccountRepository {
         jdbcTemplate.update(sql, newPortfolioValue, timestamp, id);
     }
 
-
     public void updateBalance(Long id, BigDecimal newBalance, BigDecimal newPortfolioValue) {
+        updateBalance(id, newBalance, newPortfolioValue, LocalDateTime.now());
+    }
+
+    public void updateBalance(Long id, BigDecimal newBalance, BigDecimal newPortfolioValue, LocalDateTime timestamp) {
         String sql = """
                 UPDATE account
                 SET current_balance = ?,
@@ -54,7 +110,7 @@ public class AccountRepository {
                     last_update_timestamp = ?
                 WHERE id = ?
                 """;
-        jdbcTemplate.update(sql, newBalance, newPortfolioValue, LocalDateTime.now(), id);
+        jdbcTemplate.update(sql, newBalance, newPortfolioValue, timestamp, id);
     }
 
     public void resetAccount(Long id, BigDecimal startAmount) {
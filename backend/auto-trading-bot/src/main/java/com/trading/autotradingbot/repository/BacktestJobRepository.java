@@ -0,0 +1,125 @@
+package com.trading.autotradingbot.repository;
+
+import com.trading.autotradingbot.entity.BacktestJob;
+import com.trading.autotradingbot.entity.enums.BacktestJobStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class BacktestJobRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BacktestJobRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private final RowMapper<BacktestJob> jobMapper = (rs, rowNum) -> BacktestJob.builder()
+            .id(rs.getString("id"))
+            .accountId(rs.getObject("account_id", Long.class))
+            .keepAccount(rs.getBoolean("keep_account"))
+            .symbol(rs.getString("symbol"))
+            .interval(rs.getString("interval"))
+            .status(BacktestJobStatus.valueOf(rs.getString("status")))
+            .submittedAt(rs.getTimestamp("submitted_at").toLocalDateTime())
+            .startedAt(toLocalDateTime(rs.getTimestamp("started_at")))
+            .finishedAt(toLocalDateTime(rs.getTimestamp("finished_at")))
+            .barCount(rs.getInt("bar_count"))
+            .barsProcessed(rs.getInt("bars_processed"))
+            .durationMillis(rs.getLong("duration_millis"))
+            .finalBalance(rs.getBigDecimal("final_balance"))
+            .totalProfitLoss(rs.getBigDecimal("total_profit_loss"))
+            .maxDrawdown(rs.getBigDecimal("max_drawdown"))
+            .tradeCount(rs.getObject("trade_count", Integer.class))
+            .winningTrades(rs.getObject("winning_trades", Integer.class))
+            .errorMessage(rs.getString("error_message"))
+            .build();
+
+    public void save(BacktestJob job) {
+        String sql = """
+                INSERT INTO backtest_job (id, keep_account, symbol, "interval", status, submitted_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """;
+        jdbcTemplate.update(sql, job.getId(), job.isKeepAccount(), job.getSymbol(), job.getInterval(),
+                job.getStatus().name(), job.getSubmittedAt());
+    }
+
+    public void markRunning(String id, LocalDateTime startedAt, Long accountId) {
+        String sql = "UPDATE backtest_job SET status = ?, started_at = ?, account_id = ? WHERE id = ?";
+        jdbcTemplate.update(sql, BacktestJobStatus.RUNNING.name(), startedAt, accountId, id);
+    }
+
+    /**
+     * Stores the outcome of a finished job: its final status, progress and, if it completed, its results.
+     */
+    public void finish(BacktestJob job) {
+        String sql = """
+                UPDATE backtest_job
+                SET status = ?,
+                    finished_at = ?,
+                    bar_count = ?,
+                    bars_processed = ?,
+                    duration_millis = ?,
+                    final_balance = ?,
+                    total_profit_loss = ?,
+                    max_drawdown = ?,
+                    trade_count = ?,
+                    winning_trades = ?,
+                    error_message = ?
+                WHERE id = ?
+                """;
+        jdbcTemplate.update(sql, job.getStatus().name(), job.getFinishedAt(), job.getBarCount(), job.getBarsProcessed(),
+                job.getDurationMillis(), job.getFinalBalance(), job.getTotalProfitLoss(), job.getMaxDrawdown(),
+                job.getTradeCount(), job.getWinningTrades(), job.getErrorMessage(), job.getId());
+    }
+
+    public Optional<BacktestJob> findById(String id) {
+        String sql = "SELECT * FROM backtest_job WHERE id = ?";
+        return jdbcTemplate.query(sql, jobMapper, id).stream().findFirst();
+    }
+
+    public List<BacktestJob> findRecent(int limit) {
+        String sql = "SELECT * FROM backtest_job ORDER BY submitted_at DESC LIMIT ?";
+        return jdbcTemplate.query(sql, jobMapper, limit);
+    }
+
+    /**
+     * The simulation account of the most recently completed job that kept one, i.e. the latest training run.
+     */
+    public Optional<Long> findLatestCompletedAccountId() {
+        String sql = """
+                SELECT account_id FROM backtest_job
+                WHERE account_id IS NOT NULL AND status = 'COMPLETED'
+                ORDER BY finished_at DESC
+                LIMIT 1
+                """;
+        return jdbcTemplate.queryForList(sql, Long.class).stream().findFirst();
+    }
+
+    /**
+     * Fails the jobs still queued or running, e.g. those a previous process did not finish.
+     *
+     * @return the number of jobs failed.
+     */
+    public int failUnfinished(String errorMessage, LocalDateTime finishedAt) {
+        String sql = """
+                UPDATE backtest_job
+                SET status = ?,
+                    finished_at = ?,
+                    error_message = ?
+                WHERE status IN (?, ?)
+                """;
+        return jdbcTemplate.update(sql, BacktestJobStatus.FAILED.name(), finishedAt, errorMessage,
+                BacktestJobStatus.QUEUED.name(), BacktestJobStatus.RUNNING.name());
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
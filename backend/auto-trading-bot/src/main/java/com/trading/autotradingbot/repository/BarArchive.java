@@ -0,0 +1,81 @@
+package com.trading.autotradingbot.repository;
+
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.common.MappedBarSeries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * On-disk archive of cached bars: one {@link MappedBarSeries} file per symbol and interval under
+ * {@code bar.archive.dir}.
+ * <p>
+ * The archive is a derived copy of {@code bar_data_cache}, never the source of truth. I/O failures are logged and
+ * reported as a missing file, so callers can always fall back to the database.
+ * </p>
+ */
+@Repository
+public class BarArchive {
+    private static final Logger log = LoggerFactory.getLogger(BarArchive.class);
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9]+");
+
+    private final Path directory;
+
+    public BarArchive(@Value("${bar.archive.dir:data/bar-archive}") Path directory) {
+        this.directory = directory;
+    }
+
+    public Optional<MappedBarSeries> open(String symbol, String interval) {
+        Path file = path(symbol, interval);
+
+        try {
+            return Optional.of(MappedBarSeries.map(file, symbol, interval));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Discarding unreadable bar archive {}: {}", file, e.getMessage());
+            delete(symbol, interval);
+            return Optional.empty();
+        }
+    }
+
+    public void write(BarSeriesView bars) {
+        Path file = path(bars.getSymbol(), bars.getInterval());
+
+        try {
+            MappedBarSeries.write(file, bars);
+        } catch (IOException e) {
+            log.warn("Could not write bar archive {}: {}", file, e.getMessage());
+        }
+    }
+
+    public void delete(String symbol, String interval) {
+        Path file = path(symbol, interval);
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete bar archive {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Intervals differ only by case ("1m" vs "1M"), so they are encoded rather than used as file names directly
+    Path path(String symbol, String interval) {
+        if (!NAME_PATTERN.matcher(symbol).matches() || !NAME_PATTERN.matcher(interval).matches()) {
+            throw new IllegalArgumentException("Invalid symbol or interval for bar archive: " + symbol + " " + interval);
+        }
+        String intervalName = interval.chars()
+                .mapToObj(c -> Character.isUpperCase(c) ? "_" + Character.toLowerCase((char) c) : String.valueOf((char) c))
+                .reduce("", String::concat);
+        return directory.resolve(symbol).resolve(intervalName + ".bars");
+    }
+}
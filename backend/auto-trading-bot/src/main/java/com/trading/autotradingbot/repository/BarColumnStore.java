@@ -0,0 +1,177 @@
+package com.trading.autotradingbot.repository;
+
+import com.trading.autotradingbot.common.BarAggregator;
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.common.MappedBarSeries;
+import com.trading.autotradingbot.entity.enums.KlineInterval;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Read path for {@code bar_data_cache}, keyed by symbol and interval, with two tiers in front of the database.
+ * <p>
+ * Each entry is validated against {@link BarDataRepository#getCacheStats} before it is handed out, so writes
+ * and deletes on the table are picked up without explicit invalidation. On a miss, the {@link BarArchive} file is
+ * mapped if it holds the same bars as the table; otherwise the bars are loaded into {@link BarColumns} and the
+ * archive is rewritten, so the next process start maps them in milliseconds instead of reading them over JDBC.
+ * </p>
+ * <p>
+ * Coarser intervals can also be derived from a finer cached one with {@link BarAggregator}. They are built on first
+ * use, kept in memory only and rebuilt when the finer bars change.
+ * </p>
+ * <p>
+ * Loads run outside the maps, so a slow load only holds up callers of the same key; they wait for its result
+ * instead of loading the bars again. A failed load is not cached.
+ * </p>
+ * <p>
+ * The returned series are immutable and safe to share between concurrent readers.
+ * </p>
+ */
+@Repository
+public class BarColumnStore {
+
+    private final BarDataRepository barDataRepository;
+    private final BarArchive barArchive;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> aggregates = new ConcurrentHashMap<>();
+
+    public BarColumnStore(BarDataRepository barDataRepository, BarArchive barArchive) {
+        this.barDataRepository = barDataRepository;
+        this.barArchive = barArchive;
+    }
+
+    /**
+     * Returns the cached bars for a symbol/interval, reloading them if the table changed.
+     */
+    public BarSeriesView get(String symbol, String interval) {
+        BarDataRepository.CacheStats stats = barDataRepository.getCacheStats(symbol, interval);
+        String key = key(symbol, interval);
+
+        Claim claim = claim(entries, key, stats);
+        if (!claim.loader()) {
+            return await(claim.entry());
+        }
+
+        BarSeriesView bars = fill(entries, key, claim.entry(), () -> load(symbol, interval, stats));
+        // Invalidated while loading: the archive may have been written from the rows before the change
+        if (entries.get(key) != claim.entry()) {
+            barArchive.delete(symbol, interval);
+        }
+        return bars;
+    }
+
+    /**
+     * Returns the {@code target} bars rolled up from the cached {@code source} bars of a symbol, aggregating them again
+     * only if the source bars changed. Target bars that have not ended yet are left out.
+     */
+    public BarSeriesView getAggregated(String symbol, KlineInterval source, KlineInterval target) {
+        BarSeriesView sourceBars = get(symbol, source.getCode());
+        BarDataRepository.CacheStats stats = statsOf(sourceBars);
+        String key = aggregateKey(symbol, source.getCode(), target);
+
+        Claim claim = claim(aggregates, key, stats);
+        if (!claim.loader()) {
+            return await(claim.entry());
+        }
+        return fill(aggregates, key, claim.entry(),
+                () -> BarAggregator.aggregate(sourceBars, source, target, System.currentTimeMillis()));
+    }
+
+    /**
+     * Drops the cached copies of a symbol/interval, e.g. after bars were overwritten in place.
+     */
+    public void invalidate(String symbol, String interval) {
+        entries.remove(key(symbol, interval));
+        aggregates.keySet().removeIf(key -> key.startsWith(aggregateKey(symbol, interval, null)));
+        barArchive.delete(symbol, interval);
+    }
+
+    private BarSeriesView load(String symbol, String interval, BarDataRepository.CacheStats stats) {
+        Optional<MappedBarSeries> archived = barArchive.open(symbol, interval)
+                .filter(bars -> statsOf(bars).equals(stats));
+
+        if (archived.isPresent()) {
+            return archived.get();
+        }
+
+        BarColumns bars = barDataRepository.findColumnsBySymbolAndInterval(symbol, interval);
+        if (bars.isEmpty()) {
+            barArchive.delete(symbol, interval);
+        } else {
+            barArchive.write(bars);
+        }
+        return bars;
+    }
+
+    private static BarDataRepository.CacheStats statsOf(BarSeriesView bars) {
+        return bars.isEmpty()
+                ? new BarDataRepository.CacheStats(0, 0, 0)
+                : new BarDataRepository.CacheStats(bars.size(), bars.openTime(0), bars.openTime(bars.size() - 1));
+    }
+
+    private static String key(String symbol, String interval) {
+        return symbol + "|" + interval;
+    }
+
+    private static String aggregateKey(String symbol, String source, KlineInterval target) {
+        return key(symbol, source) + ">" + (target != null ? target.getCode() : "");
+    }
+
+    /**
+     * The entry of {@code key} if it holds (or is loading) the bars for {@code stats}; otherwise a new, still empty
+     * entry installed in its place, which the caller must {@link #fill}.
+     */
+    private static Claim claim(Map<String, Entry> cache, String key, BarDataRepository.CacheStats stats) {
+        while (true) {
+            Entry cached = cache.get(key);
+            if (cached != null && cached.stats().equals(stats)) {
+                return new Claim(cached, false);
+            }
+
+            Entry loading = new Entry(stats, new CompletableFuture<>());
+            boolean installed = cached == null
+                    ? cache.putIfAbsent(key, loading) == null
+                    : cache.replace(key, cached, loading);
+            if (installed) {
+                return new Claim(loading, true);
+            }
+        }
+    }
+
+    private static BarSeriesView fill(Map<String, Entry> cache, String key, Entry entry, Supplier<BarSeriesView> loader) {
+        try {
+            BarSeriesView bars = loader.get();
+            entry.bars().complete(bars);
+            return bars;
+        } catch (RuntimeException | Error e) {
+            cache.remove(key, entry);
+            entry.bars().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static BarSeriesView await(Entry entry) {
+        try {
+            return entry.bars().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(BarDataRepository.CacheStats stats, CompletableFuture<BarSeriesView> bars) {}
+
+    /**
+     * @param loader whether the caller installed {@code entry} and has to load its bars.
+     */
+    private record Claim(Entry entry, boolean loader) {}
+}
@@ -1,16 +1,25 @@
 package com.trading.autotradingbot.repository;
 
+import com.trading.autotradingbot.common.BarColumns;
 import com.trading.autotradingbot.entity.BarData;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static com.trading.autotradingbot.common.AccountConstants.SCALE;
 
 @Repository
 public class BarDataRepository {
 
+    private static final String UNSCALED_FACTOR = "1" + "0".repeat(SCALE);
+    private static final int INITIAL_COLUMN_CAPACITY = 1024;
+
     private final JdbcTemplate jdbcTemplate;
 
     public BarDataRepository(JdbcTemplate jdbcTemplate) {
@@ -37,6 +46,58 @@ public class BarDataRepository {
         return jdbcTemplate.query(sql, barDataMapper, symbol, interval);
     }
 
+    /**
+     * Streams cached bars straight into primitive columns, without materializing {@link BarData} objects.
+     * Prices are scaled to fixed-point integers and volume cast to a double by Postgres, so no {@code BigDecimal} is
+     * decoded per row.
+     */
+    public BarColumns findColumnsBySymbolAndInterval(String symbol, String interval) {
+        String sql = """
+                SELECT open_time,
+                       (open_price * %1$s)::BIGINT AS open_unscaled,
+                       (high_price * %1$s)::BIGINT AS high_unscaled,
+                       (low_price * %1$s)::BIGINT AS low_unscaled,
+                       (close_price * %1$s)::BIGINT AS close_unscaled,
+                       volume::DOUBLE PRECISION AS volume
+                FROM bar_data_cache
+                WHERE symbol = ? AND "interval" = ?
+                ORDER BY open_time ASC
+                """.formatted(UNSCALED_FACTOR);
+
+        BarColumns.Builder builder = new BarColumns.Builder(symbol, interval, INITIAL_COLUMN_CAPACITY);
+
+        jdbcTemplate.query(sql, rs -> {
+            builder.add(rs.getTimestamp("open_time").getTime(),
+                    rs.getLong("open_unscaled"),
+                    rs.getLong("high_unscaled"),
+                    rs.getLong("low_unscaled"),
+                    rs.getLong("close_unscaled"),
+                    rs.getDouble("volume"));
+        }, symbol, interval);
+
+        return builder.build();
+    }
+
+    /**
+     * Returns the row count and open time range of the cache for a symbol/interval.
+     * Cheap enough to validate an in-memory copy of the cache before reusing it.
+     */
+    public CacheStats getCacheStats(String symbol, String interval) {
+        String sql = """
+                SELECT COUNT(*) AS bar_count, MIN(open_time) AS first_open_time, MAX(open_time) AS last_open_time
+                FROM bar_data_cache
+                WHERE symbol = ? AND "interval" = ?
+                """;
+
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            Timestamp first = rs.getTimestamp("first_open_time");
+            Timestamp last = rs.getTimestamp("last_open_time");
+            return new CacheStats(rs.getInt("bar_count"),
+                    first != null ? first.getTime() : 0L,
+                    last != null ? last.getTime() : 0L);
+        }, symbol, interval);
+    }
+
     /**
      * Checks if the cache for a given symbol/interval is empty.
      */
@@ -47,13 +108,19 @@ public class BarDataRepository {
     }
 
     /**
-     * Batch inserts historical data into the cache.
+     * Batch upserts historical data into the cache. An existing bar is overwritten, so a bar that was still
+     * forming when first fetched is replaced by its final values.
      */
     public void saveAll(List<BarData> bars) {
         String sql = """
                 INSERT INTO bar_data_cache (symbol, open_time, open_price, high_price, low_price, close_price, volume, "interval")
                 VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-                ON CONFLICT (symbol, open_time, "interval") DO NOTHING;
+                ON CONFLICT (symbol, open_time, "interval") DO UPDATE SET
+                    open_price = EXCLUDED.open_price,
+                    high_price = EXCLUDED.high_price,
+                    low_price = EXCLUDED.low_price,
+                    close_price = EXCLUDED.close_price,
+                    volume = EXCLUDED.volume;
                 """;
 
         jdbcTemplate.batchUpdate(sql, bars, bars.size(), (ps, bar) -> {
@@ -70,16 +137,98 @@ public class BarDataRepository {
 
 
     /**
-     * Clears the historical data cache for a given symbol and interval.
+     * Returns the open time ranges already fetched for a symbol/interval, ordered by start and never overlapping.
+     */
+    public List<CoverageRange> findCoverage(String symbol, String interval) {
+        String sql = """
+                SELECT start_time, end_time FROM bar_data_coverage
+                WHERE symbol = ? AND "interval" = ?
+                ORDER BY start_time ASC
+                """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new CoverageRange(
+                rs.getTimestamp("start_time").getTime(),
+                rs.getTimestamp("end_time").getTime()), symbol, interval);
+    }
+
+    /**
+     * Returns the earliest covered open time (epoch ms) of every interval fetched for a symbol.
+     */
+    public Map<String, Long> findCoverageStarts(String symbol) {
+        String sql = """
+                SELECT "interval", MIN(start_time) AS start_time FROM bar_data_coverage
+                WHERE symbol = ?
+                GROUP BY "interval"
+                """;
+
+        Map<String, Long> starts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            starts.put(rs.getString("interval"), rs.getTimestamp("start_time").getTime());
+        }, symbol);
+        return starts;
+    }
+
+    /**
+     * Records that every bar opening within {@code [startTime, endTime]} (epoch ms) has been fetched.
+     * Overlapping and adjacent ranges are merged into one row.
+     */
+    @Transactional
+    public void addCoverage(String symbol, String interval, long startTime, long endTime) {
+        if (startTime > endTime) {
+            return;
+        }
+
+        String findSql = """
+                SELECT MIN(start_time) AS merged_start, MAX(end_time) AS merged_end FROM bar_data_coverage
+                WHERE symbol = ? AND "interval" = ? AND start_time <= ? AND end_time >= ?
+                """;
+        String deleteSql = """
+                DELETE FROM bar_data_coverage
+                WHERE symbol = ? AND "interval" = ? AND start_time <= ? AND end_time >= ?
+                """;
+        String insertSql = """
+                INSERT INTO bar_data_coverage (symbol, "interval", start_time, end_time)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (symbol, "interval", start_time) DO UPDATE SET end_time = GREATEST(bar_data_coverage.end_time, EXCLUDED.end_time);
+                """;
+
+        // Adjacent ranges (1 ms apart) are merged as well
+        Timestamp overlapEnd = new Timestamp(endTime + 1);
+        Timestamp overlapStart = new Timestamp(startTime - 1);
+
+        long[] merged = jdbcTemplate.queryForObject(findSql, (rs, rowNum) -> {
+            Timestamp mergedStart = rs.getTimestamp("merged_start");
+            Timestamp mergedEnd = rs.getTimestamp("merged_end");
+            return new long[]{
+                    mergedStart != null ? Math.min(startTime, mergedStart.getTime()) : startTime,
+                    mergedEnd != null ? Math.max(endTime, mergedEnd.getTime()) : endTime};
+        }, symbol, interval, overlapEnd, overlapStart);
+
+        jdbcTemplate.update(deleteSql, symbol, interval, overlapEnd, overlapStart);
+        jdbcTemplate.update(insertSql, symbol, interval, new Timestamp(merged[0]), new Timestamp(merged[1]));
+    }
+
+    /**
+     * Clears the historical data cache (bars and coverage) for a given symbol and interval.
      * Used to isolate backtest data between test runs.
      */
     public void deleteAllBySymbolAndInterval(String symbol, String interval) {
-        String sql = "DELETE FROM bar_data_cache WHERE symbol = ? AND \"interval\" = ?";
-        jdbcTemplate.update(sql, symbol, interval);
+        jdbcTemplate.update("DELETE FROM bar_data_coverage WHERE symbol = ? AND \"interval\" = ?", symbol, interval);
+        jdbcTemplate.update("DELETE FROM bar_data_cache WHERE symbol = ? AND \"interval\" = ?", symbol, interval);
     }
 
     public void deleteAll() {
-        String sql = "DELETE FROM bar_data_cache";
-        jdbcTemplate.update(sql);
+        jdbcTemplate.update("DELETE FROM bar_data_coverage");
+        jdbcTemplate.update("DELETE FROM bar_data_cache");
     }
+
+    /**
+     * Bar count and epoch-millisecond open time range of a cached symbol/interval.
+     */
+    public record CacheStats(int barCount, long firstOpenTime, long lastOpenTime) {}
+
+    /**
+     * Inclusive epoch-millisecond open time range of bars fetched from the exchange.
+     */
+    public record CoverageRange(long startTime, long endTime) {}
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.trading.autotradingbot.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Last journal sequence applied to the database, per journal. Written in the same transaction as the projected
+ * events, so the tables and the checkpoint never disagree.
+ */
+@Repository
+public class JournalCheckpointRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JournalCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the projected sequence of the journal, or 0 if none of its events were projected yet.
+     */
+    public long findSequence(UUID journalId) {
+        String sql = "SELECT sequence FROM journal_checkpoint WHERE journal_id = ?";
+        return jdbcTemplate.queryForList(sql, Long.class, journalId.toString()).stream().findFirst().orElse(0L);
+    }
+
+    public void save(UUID journalId, long sequence) {
+        String sql = """
+                INSERT INTO journal_checkpoint (journal_id, sequence)
+                VALUES (?, ?)
+                ON CONFLICT (journal_id)
+                DO UPDATE SET sequence = EXCLUDED.sequence
+                """;
+        jdbcTemplate.update(sql, journalId.toString(), sequence);
+    }
+}
@@ -61,4 +61,9 @@ public class PortfolioRepository {
         String sql = "DELETE FROM portfolio_holding WHERE account_id = ?";
         jdbcTemplate.update(sql, accountId);
     }
+
+    public void deleteAllByAccountIds(List<Long> accountIds) {
+        String sql = "DELETE FROM portfolio_holding WHERE account_id = ANY(?)";
+        jdbcTemplate.update(sql, (Object) accountIds.toArray(Long[]::new));
+    }
 }
\ No newline at end of file
@@ -2,15 +2,23 @@ package com.trading.autotradingbot.repository;
 
 import com.trading.autotradingbot.entity.AccountSnapshot;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository
 public class SnapshotRepository {
 
+    private static final int BATCH_SIZE = 1000;
+    private static final int FETCH_SIZE = 1000;
+
     private final JdbcTemplate jdbcTemplate;
 
     public SnapshotRepository(JdbcTemplate jdbcTemplate) {
@@ -44,6 +52,24 @@ public class SnapshotRepository {
                 snapshot.getCryptoBalance());
     }
 
+    /**
+     * Batch inserts snapshots in a single round trip per batch. Used to flush in-memory backtest results.
+     */
+    public void saveAll(List<AccountSnapshot> snapshots) {
+        String sql = """
+                INSERT INTO account_snapshot (account_id, timestamp, total_balance, cash_balance, crypto_balance)
+                VALUES (?, ?, ?, ?, ?)
+                """;
+
+        jdbcTemplate.batchUpdate(sql, snapshots, BATCH_SIZE, (ps, snapshot) -> {
+            ps.setLong(1, snapshot.getAccountId());
+            ps.setTimestamp(2, Timestamp.valueOf(snapshot.getTimestamp()));
+            ps.setBigDecimal(3, snapshot.getTotalBalance());
+            ps.setBigDecimal(4, snapshot.getCashBalance());
+            ps.setBigDecimal(5, snapshot.getCryptoBalance());
+        });
+    }
+
     /**
      * Retrieves all snapshots for a given account for charting purposes.
      */
@@ -52,6 +78,85 @@ public class SnapshotRepository {
         return jdbcTemplate.query(sql, snapshotRowMapper, accountId);
     }
 
+    /**
+     * Total balance of each snapshot of an account, one per bar for backtests, in insertion (id) order. Read straight
+     * into a primitive array, fetching {@value #FETCH_SIZE} rows at a time when called inside a transaction.
+     */
+    public double[] findTotalBalancesByAccountId(Long accountId) {
+        String sql = "SELECT total_balance FROM account_snapshot WHERE account_id = ? ORDER BY id ASC";
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, accountId);
+            return ps;
+        }, (ResultSetExtractor<double[]>) rs -> {
+            double[] balances = new double[1024];
+            int count = 0;
+            while (rs.next()) {
+                if (count == balances.length) {
+                    balances = Arrays.copyOf(balances, count * 2);
+                }
+                balances[count++] = rs.getDouble(1);
+            }
+            return Arrays.copyOf(balances, count);
+        });
+    }
+
+    /**
+     * Keyset page of an account's snapshots: up to {@code limit} snapshots with an id above {@code afterId}, taken at
+     * or after {@code since}, in insertion (id) order.
+     */
+    public List<AccountSnapshot> findPageByAccountId(Long accountId, long afterId, LocalDateTime since, int limit) {
+        String sql = """
+                SELECT * FROM account_snapshot
+                WHERE account_id = ? AND id > ? AND timestamp >= ?
+                ORDER BY id ASC
+                LIMIT ?
+                """;
+        return jdbcTemplate.query(sql, snapshotRowMapper, accountId, afterId, Timestamp.valueOf(since), limit);
+    }
+
+    public boolean existsByIdAndAccountId(long id, Long accountId) {
+        String sql = "SELECT EXISTS (SELECT 1 FROM account_snapshot WHERE id = ? AND account_id = ?)";
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, id, accountId));
+    }
+
+    /**
+     * Counts the snapshots of an account taken within {@code [from, to]}.
+     */
+    public int countByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to) {
+        String sql = "SELECT COUNT(*) FROM account_snapshot WHERE account_id = ? AND timestamp BETWEEN ? AND ?";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, accountId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Streams up to {@code limit} snapshots of an account taken within {@code [from, to]} to {@code consumer}, oldest
+     * first, without materializing them as a list. Rows are fetched in chunks of {@value #FETCH_SIZE}; the driver only
+     * honours that inside a transaction, so callers should run in one.
+     */
+    public void streamByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to, int limit,
+                                         Consumer<AccountSnapshot> consumer) {
+        String sql = """
+                SELECT * FROM account_snapshot
+                WHERE account_id = ? AND timestamp BETWEEN ? AND ?
+                ORDER BY timestamp ASC, id ASC
+                LIMIT ?
+                """;
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, accountId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            ps.setInt(4, limit);
+            return ps;
+        }, rs -> {
+            consumer.accept(snapshotRowMapper.mapRow(rs, rs.getRow()));
+        });
+    }
+
     /**
      * Clears all snapshot history for a given account (used before backtesting).
      */
@@ -59,4 +164,9 @@ public class SnapshotRepository {
         String sql = "DELETE FROM account_snapshot WHERE account_id = ?";
         jdbcTemplate.update(sql, accountId);
     }
+
+    public void deleteAllByAccountIds(List<Long> accountIds) {
+        String sql = "DELETE FROM account_snapshot WHERE account_id = ANY(?)";
+        jdbcTemplate.update(sql, (Object) accountIds.toArray(Long[]::new));
+    }
 }
\ No newline at end of file
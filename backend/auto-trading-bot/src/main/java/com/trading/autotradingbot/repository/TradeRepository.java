@@ -3,15 +3,21 @@ package com.trading.autotradingbot.repository;
 import com.trading.autotradingbot.entity.Trade;
 import com.trading.autotradingbot.entity.enums.TradeAction;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 @Repository
 public class TradeRepository {
 
+    private static final int BATCH_SIZE = 1000;
+
     private final JdbcTemplate jdbcTemplate;
 
     public TradeRepository(JdbcTemplate jdbcTemplate) {
@@ -53,16 +59,82 @@ public class TradeRepository {
         );
     }
 
+    /**
+     * Batch inserts trades in a single round trip per batch. Used to flush in-memory backtest results.
+     */
+    public void saveAll(List<Trade> trades) {
+        String sql = """
+                INSERT INTO trade_history
+                (account_id, timestamp, symbol, action, quantity, price, fee, profit_loss, final_balance, strategy_name)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """;
+
+        jdbcTemplate.batchUpdate(sql, trades, BATCH_SIZE, (ps, trade) -> {
+            ps.setLong(1, trade.getAccountId());
+            ps.setTimestamp(2, Timestamp.valueOf(trade.getTimestamp()));
+            ps.setString(3, trade.getSymbol());
+            ps.setString(4, trade.getAction().name());
+            ps.setBigDecimal(5, trade.getQuantity());
+            ps.setBigDecimal(6, trade.getPrice());
+            ps.setBigDecimal(7, trade.getFee());
+            ps.setBigDecimal(8, trade.getProfitLoss());
+            ps.setBigDecimal(9, trade.getFinalBalance());
+            ps.setString(10, trade.getStrategyName());
+        });
+    }
+
     public List<Trade> findAllByAccountId(Long accountId) {
         String sql = "SELECT * FROM trade_history WHERE account_id = ? ORDER BY timestamp DESC";
         return jdbcTemplate.query(sql, tradeMapper, accountId);
     }
 
+    /**
+     * Cash balance after each SELL of an account, in execution (id) order, read straight into a primitive array.
+     */
+    public double[] findSellBalancesByAccountId(Long accountId) {
+        String sql = "SELECT final_balance FROM trade_history WHERE account_id = ? AND action = 'SELL' ORDER BY id ASC";
+        return jdbcTemplate.query(sql, (ResultSetExtractor<double[]>) rs -> {
+            double[] balances = new double[256];
+            int count = 0;
+            while (rs.next()) {
+                if (count == balances.length) {
+                    balances = Arrays.copyOf(balances, count * 2);
+                }
+                balances[count++] = rs.getDouble(1);
+            }
+            return Arrays.copyOf(balances, count);
+        }, accountId);
+    }
+
+    /**
+     * Keyset page of an account's trades: up to {@code limit} trades with an id above {@code afterId}, made at or
+     * after {@code since}, in insertion (id) order.
+     */
+    public List<Trade> findPageByAccountId(Long accountId, long afterId, LocalDateTime since, int limit) {
+        String sql = """
+                SELECT * FROM trade_history
+                WHERE account_id = ? AND id > ? AND timestamp >= ?
+                ORDER BY id ASC
+                LIMIT ?
+                """;
+        return jdbcTemplate.query(sql, tradeMapper, accountId, afterId, Timestamp.valueOf(since), limit);
+    }
+
+    public boolean existsByIdAndAccountId(long id, Long accountId) {
+        String sql = "SELECT EXISTS (SELECT 1 FROM trade_history WHERE id = ? AND account_id = ?)";
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, id, accountId));
+    }
+
     public void deleteAllByAccountId(Long accountId) {
         String sql = "DELETE FROM trade_history WHERE account_id = ?";
         jdbcTemplate.update(sql, accountId);
     }
 
+    public void deleteAllByAccountIds(List<Long> accountIds) {
+        String sql = "DELETE FROM trade_history WHERE account_id = ANY(?)";
+        jdbcTemplate.update(sql, (Object) accountIds.toArray(Long[]::new));
+    }
+
     public BigDecimal getTotalRealizedProfitLoss(Long accountId) {
         String sql = "SELECT COALESCE(SUM(profit_loss), 0) FROM trade_history WHERE account_id = ?";
         return jdbcTemplate.queryForObject(sql, BigDecimal.class, accountId);
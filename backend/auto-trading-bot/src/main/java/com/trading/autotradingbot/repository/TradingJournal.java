@@ -0,0 +1,515 @@
+package com.trading.autotradingbot.repository;
+
+import com.trading.autotradingbot.common.FixedPoint;
+import com.trading.autotradingbot.entity.AccountSnapshot;
+import com.trading.autotradingbot.entity.JournalEvent;
+import com.trading.autotradingbot.entity.Trade;
+import com.trading.autotradingbot.entity.enums.TradeAction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped journal of {@link JournalEvent}s under {@code journal.dir}.
+ * <p>
+ * The journal is a sequence of pre-allocated segment files named after their first sequence number. A segment
+ * (little-endian) starts with a {@value #HEADER_BYTES}-byte header holding magic, format version, journal id and
+ * first sequence, followed by records of payload length, CRC32C, sequence and payload. Balances are stored as
+ * {@link FixedPoint} longs, timestamps as UTC-less epoch seconds and nanos, so events read back exactly as written.
+ * A zero length marks the end of the written part.
+ * </p>
+ * <p>
+ * An append is a copy into the page cache, so it survives a crash of the process; with
+ * {@code journal.force-on-append} it is also flushed to the device before returning. On open, a torn record at the
+ * end of the last segment (the process died mid-write) is discarded. Appends are serialized; {@link Cursor}s read
+ * concurrently up to the last completed append.
+ * </p>
+ */
+@Repository
+public class TradingJournal {
+    private static final Logger log = LoggerFactory.getLogger(TradingJournal.class);
+
+    static final int MAGIC = 0x4C4E4A54; // "TJNL"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES;
+    static final int MAX_PAYLOAD_BYTES = 1024;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final byte FILL = 1;
+    private static final byte SNAPSHOT = 2;
+    private static final byte RESET = 3;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean forceOnAppend;
+
+    // Guarded by this
+    private final List<Segment> segments = new ArrayList<>();
+    private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES + MAX_PAYLOAD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private UUID journalId;
+    private long lastSequence;
+
+    // Written after a record is complete, so cursors never read past it
+    private volatile long committedSequence;
+
+    public record Entry(long sequence, JournalEvent event) {}
+
+    public TradingJournal(@Value("${journal.dir:data/journal}") Path directory,
+                          @Value("${journal.segment.bytes:67108864}") int segmentBytes,
+                          @Value("${journal.force-on-append:false}") boolean forceOnAppend) {
+        if (segmentBytes < HEADER_BYTES + RECORD_HEADER_BYTES + MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Journal segments must hold at least one event, got " + segmentBytes + " bytes");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.forceOnAppend = forceOnAppend;
+    }
+
+    /**
+     * Maps the existing segments, validates every record and positions the writer after the last complete one.
+     *
+     * @throws IllegalStateException if a segment other than the last one is damaged.
+     */
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+
+        for (Path file : files) {
+            Segment segment = Segment.map(file);
+            if (journalId == null) {
+                journalId = segment.journalId;
+            } else if (!journalId.equals(segment.journalId)) {
+                throw new IllegalStateException("Journal segment " + file + " belongs to a different journal");
+            }
+            if (!segments.isEmpty() && segment.firstSequence != lastSequence + 1) {
+                throw new IllegalStateException("Journal segment " + file + " starts at " + segment.firstSequence
+                        + ", expected " + (lastSequence + 1));
+            }
+            segments.add(segment);
+            lastSequence = segment.firstSequence - 1;
+            recover(segment, segments.size() == files.size());
+        }
+
+        if (segments.isEmpty()) {
+            journalId = UUID.randomUUID();
+            segments.add(Segment.create(segmentPath(1), segmentBytes, journalId, 1));
+        }
+        committedSequence = lastSequence;
+        log.info("Trading journal {} opened at sequence {} ({} segments)", journalId, lastSequence, segments.size());
+    }
+
+    /**
+     * Appends {@code event} and returns its sequence number.
+     */
+    public synchronized long append(JournalEvent event) {
+        long sequence = lastSequence + 1;
+
+        scratch.clear();
+        scratch.putLong(sequence);
+        try {
+            encode(event, scratch);
+        } catch (BufferOverflowException e) {
+            throw new IllegalArgumentException("Journal event exceeds " + MAX_PAYLOAD_BYTES + " bytes: " + event);
+        }
+        int payloadBytes = scratch.position() - Long.BYTES;
+        crc.reset();
+        crc.update(scratch.array(), 0, scratch.position());
+
+        Segment segment = segments.getLast();
+        if (segment.writePosition + RECORD_HEADER_BYTES + payloadBytes > segment.buffer.capacity()) {
+            segment = rollOver(sequence);
+        }
+
+        int position = segment.writePosition;
+        segment.buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        segment.buffer.put(position + 2 * Integer.BYTES, scratch.array(), 0, scratch.position());
+        // The length goes last: a record without it reads as the end of the journal
+        segment.buffer.putInt(position, payloadBytes);
+        segment.writePosition = position + RECORD_HEADER_BYTES + payloadBytes;
+
+        if (forceOnAppend) {
+            segment.buffer.force(position, RECORD_HEADER_BYTES + payloadBytes);
+        }
+
+        lastSequence = sequence;
+        committedSequence = sequence;
+        notifyAll();
+        return sequence;
+    }
+
+    /**
+     * Waits until an event with {@code sequence} has been appended, at most {@code timeoutMillis}.
+     *
+     * @return whether the event is available.
+     */
+    public synchronized boolean awaitSequence(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+
+        while (lastSequence < sequence && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return lastSequence >= sequence;
+    }
+
+    /**
+     * Returns a cursor over the events after {@code afterSequence}.
+     */
+    public synchronized Cursor cursor(long afterSequence) {
+        Cursor cursor = new Cursor(segments.getFirst(), HEADER_BYTES, segments.getFirst().firstSequence);
+        if (afterSequence + 1 < cursor.nextSequence) {
+            throw new IllegalStateException("Journal no longer holds events after " + afterSequence
+                    + " (starts at " + cursor.nextSequence + ")");
+        }
+        while (cursor.nextSequence <= afterSequence && cursor.poll(Integer.MAX_VALUE, entry -> {}, afterSequence) > 0) {
+            // Skip forward to afterSequence
+        }
+        return cursor;
+    }
+
+    /**
+     * Deletes whole segments whose events all have a sequence of at most {@code sequence}, e.g. once they are
+     * projected. The segment being written is always kept. A cursor that has read all of a deleted segment continues
+     * in the next one, as its mapping stays valid until the cursor leaves it.
+     */
+    public synchronized void deleteSegmentsUpTo(long sequence) {
+        while (segments.size() > 1 && segments.get(1).firstSequence <= sequence + 1) {
+            Segment segment = segments.removeFirst();
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.warn("Could not delete journal segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    public synchronized UUID getJournalId() {
+        return journalId;
+    }
+
+    public long getLastSequence() {
+        return committedSequence;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public synchronized long getSizeBytes() {
+        return segments.stream().mapToLong(segment -> segment.buffer.capacity()).sum();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        segments.forEach(segment -> segment.buffer.force());
+    }
+
+    private Segment rollOver(long firstSequence) {
+        segments.getLast().buffer.force();
+        try {
+            Segment segment = Segment.create(segmentPath(firstSequence), segmentBytes, journalId, firstSequence);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment", e);
+        }
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Validates the records of {@code segment} and advances {@code lastSequence} past them. A damaged record ends
+     * the last segment (and is wiped, so it cannot be mistaken for data later); anywhere else it is fatal.
+     */
+    private void recover(Segment segment, boolean last) {
+        int position = HEADER_BYTES;
+        long expected = segment.firstSequence;
+
+        while (true) {
+            int state = checkRecord(segment.buffer, position, expected);
+            if (state == 0) {
+                break;
+            }
+            if (state < 0) {
+                if (!last) {
+                    throw new IllegalStateException("Damaged record " + expected + " in journal segment " + segment.path);
+                }
+                log.warn("Discarding torn journal record {} in {}", expected, segment.path);
+                for (int i = position; i < segment.buffer.capacity(); i++) {
+                    segment.buffer.put(i, (byte) 0);
+                }
+                break;
+            }
+            position += RECORD_HEADER_BYTES + segment.buffer.getInt(position);
+            expected++;
+        }
+
+        segment.writePosition = position;
+        lastSequence = expected - 1;
+    }
+
+    /**
+     * @return 1 for a complete record with sequence {@code expected}, 0 for the end of the segment, -1 for damage.
+     */
+    private static int checkRecord(ByteBuffer buffer, int position, long expected) {
+        if (position + RECORD_HEADER_BYTES > buffer.capacity()) {
+            return 0;
+        }
+        int payloadBytes = buffer.getInt(position);
+        if (payloadBytes == 0) {
+            return buffer.getLong(position + 2 * Integer.BYTES) == 0 ? 0 : -1;
+        }
+        if (payloadBytes < 0 || payloadBytes > MAX_PAYLOAD_BYTES
+                || position + RECORD_HEADER_BYTES + payloadBytes > buffer.capacity()
+                || buffer.getLong(position + 2 * Integer.BYTES) != expected) {
+            return -1;
+        }
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(position + 2 * Integer.BYTES, Long.BYTES + payloadBytes));
+        return (int) checksum.getValue() == buffer.getInt(position + Integer.BYTES) ? 1 : -1;
+    }
+
+    /**
+     * Reads events in sequence order. Not thread-safe; each reader uses its own cursor.
+     */
+    public final class Cursor {
+        private Segment segment;
+        private int position;
+        private long nextSequence;
+
+        private Cursor(Segment segment, int position, long nextSequence) {
+            this.segment = segment;
+            this.position = position;
+            this.nextSequence = nextSequence;
+        }
+
+        /**
+         * Passes up to {@code maxEvents} of the events appended so far to {@code consumer}.
+         *
+         * @return the number of events read.
+         */
+        public int poll(int maxEvents, Consumer<Entry> consumer) {
+            return poll(maxEvents, consumer, Long.MAX_VALUE);
+        }
+
+        public long getNextSequence() {
+            return nextSequence;
+        }
+
+        private int poll(int maxEvents, Consumer<Entry> consumer, long untilSequence) {
+            int read = 0;
+            long committed = committedSequence;
+
+            while (read < maxEvents && nextSequence <= committed && nextSequence <= untilSequence) {
+                int payloadBytes = position + RECORD_HEADER_BYTES <= segment.buffer.capacity()
+                        ? segment.buffer.getInt(position) : 0;
+                if (payloadBytes == 0) {
+                    segment = segmentStartingAt(nextSequence);
+                    position = HEADER_BYTES;
+                    continue;
+                }
+
+                ByteBuffer payload = segment.buffer.slice(position + RECORD_HEADER_BYTES, payloadBytes)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                consumer.accept(new Entry(nextSequence, decode(payload)));
+
+                position += RECORD_HEADER_BYTES + payloadBytes;
+                nextSequence++;
+                read++;
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Looks the next segment up by its first sequence rather than by its position after the current one, which may
+     * already be deleted.
+     */
+    private synchronized Segment segmentStartingAt(long sequence) {
+        for (Segment segment : segments) {
+            if (segment.firstSequence == sequence) {
+                return segment;
+            }
+        }
+        throw new IllegalStateException("Journal segment starting at " + sequence + " was deleted before it was read");
+    }
+
+    private static void encode(JournalEvent event, ByteBuffer out) {
+        switch (event) {
+            case JournalEvent.Fill fill -> {
+                Trade trade = fill.trade();
+                out.put(FILL);
+                out.putLong(fill.accountId());
+                putTimestamp(out, trade.getTimestamp());
+                putString(out, trade.getSymbol());
+                out.put((byte) trade.getAction().ordinal());
+                putDecimal(out, trade.getQuantity());
+                putDecimal(out, trade.getPrice());
+                putDecimal(out, trade.getFee());
+                putDecimal(out, trade.getProfitLoss());
+                putDecimal(out, trade.getFinalBalance());
+                putString(out, trade.getStrategyName());
+                putDecimal(out, fill.cashBalance());
+                putDecimal(out, fill.portfolioValue());
+                putDecimal(out, fill.holdingQuantity());
+                putDecimal(out, fill.holdingAvgPrice());
+            }
+            case JournalEvent.Snapshot(AccountSnapshot snapshot) -> {
+                out.put(SNAPSHOT);
+                out.putLong(snapshot.getAccountId());
+                putTimestamp(out, snapshot.getTimestamp());
+                putDecimal(out, snapshot.getTotalBalance());
+                putDecimal(out, snapshot.getCashBalance());
+                putDecimal(out, snapshot.getCryptoBalance());
+            }
+            case JournalEvent.Reset reset -> {
+                out.put(RESET);
+                out.putLong(reset.accountId());
+                putTimestamp(out, reset.timestamp());
+                putDecimal(out, reset.startingCapital());
+            }
+        }
+    }
+
+    private static JournalEvent decode(ByteBuffer in) {
+        byte type = in.get();
+        Long accountId = in.getLong();
+        LocalDateTime timestamp = getTimestamp(in);
+
+        return switch (type) {
+            case FILL -> {
+                Trade trade = Trade.builder()
+                        .accountId(accountId)
+                        .timestamp(timestamp)
+                        .symbol(getString(in))
+                        .action(TradeAction.values()[in.get()])
+                        .quantity(getDecimal(in))
+                        .price(getDecimal(in))
+                        .fee(getDecimal(in))
+                        .profitLoss(getDecimal(in))
+                        .finalBalance(getDecimal(in))
+                        .strategyName(getString(in))
+                        .build();
+                yield new JournalEvent.Fill(trade, getDecimal(in), getDecimal(in), getDecimal(in), getDecimal(in));
+            }
+            case SNAPSHOT -> new JournalEvent.Snapshot(AccountSnapshot.builder()
+                    .accountId(accountId)
+                    .timestamp(timestamp)
+                    .totalBalance(getDecimal(in))
+                    .cashBalance(getDecimal(in))
+                    .cryptoBalance(getDecimal(in))
+                    .build());
+            case RESET -> new JournalEvent.Reset(accountId, getDecimal(in), timestamp);
+            default -> throw new IllegalStateException("Unknown journal event type " + type);
+        };
+    }
+
+    private static void putTimestamp(ByteBuffer out, LocalDateTime timestamp) {
+        out.putLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        out.putInt(timestamp.getNano());
+    }
+
+    private static LocalDateTime getTimestamp(ByteBuffer in) {
+        return LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+    }
+
+    private static void putDecimal(ByteBuffer out, BigDecimal value) {
+        out.putLong(FixedPoint.fromDecimal(value));
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer in) {
+        return FixedPoint.toDecimal(in.getLong());
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Segment {
+        final Path path;
+        final UUID journalId;
+        final long firstSequence;
+        final MappedByteBuffer buffer;
+        int writePosition = HEADER_BYTES;
+
+        private Segment(Path path, UUID journalId, long firstSequence, MappedByteBuffer buffer) {
+            this.path = path;
+            this.journalId = journalId;
+            this.firstSequence = firstSequence;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, int size, UUID journalId, long firstSequence) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putLong(8, journalId.getMostSignificantBits());
+                buffer.putLong(16, journalId.getLeastSignificantBits());
+                buffer.putLong(24, firstSequence);
+                buffer.force(0, HEADER_BYTES);
+                return new Segment(path, journalId, firstSequence, buffer);
+            }
+        }
+
+        static Segment map(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                    throw new IOException("Not a journal segment (size " + size + "): " + path);
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                    throw new IOException("Not a journal segment of version " + VERSION + ": " + path);
+                }
+                return new Segment(path, new UUID(buffer.getLong(8), buffer.getLong(16)), buffer.getLong(24), buffer);
+            }
+        }
+    }
+}
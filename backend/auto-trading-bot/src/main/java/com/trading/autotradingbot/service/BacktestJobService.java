@@ -0,0 +1,25 @@
+package com.trading.autotradingbot.service;
+
+import com.trading.autotradingbot.dto.BacktestJobDto;
+
+import java.util.List;
+
+public interface BacktestJobService {
+
+    /**
+     * Queues a backtest and returns immediately.
+     * @param keepAccount Whether the run writes its trades and snapshots to a simulation account of its own, which
+     *                    is kept after it completes (the training dashboard shows the latest one). Otherwise only the
+     *                    summary results are kept on the job.
+     */
+    BacktestJobDto submit(String symbol, String interval, boolean keepAccount);
+
+    /** Returns the job with its current progress (bars processed, bars per second) or its results. */
+    BacktestJobDto getJob(String id);
+
+    /** Returns the most recently submitted jobs, newest first. */
+    List<BacktestJobDto> getRecentJobs();
+
+    /** Cancels a queued or running job. */
+    BacktestJobDto cancel(String id);
+}
@@ -0,0 +1,8 @@
+package com.trading.autotradingbot.service;
+
+import com.trading.autotradingbot.dto.BatchBacktestReportDto;
+import com.trading.autotradingbot.dto.BatchBacktestRequest;
+
+public interface BatchBacktestService {
+    BatchBacktestReportDto runBatch(BatchBacktestRequest request);
+}
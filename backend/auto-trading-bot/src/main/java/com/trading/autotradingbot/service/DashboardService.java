@@ -1,17 +1,21 @@
 package com.trading.autotradingbot.service;
 
 import com.trading.autotradingbot.dto.AccountSummaryDto;
+import com.trading.autotradingbot.dto.ChangesPageDto;
 import com.trading.autotradingbot.entity.AccountSnapshot;
 import com.trading.autotradingbot.entity.BarData;
 import com.trading.autotradingbot.entity.PortfolioHolding;
 import com.trading.autotradingbot.entity.Trade;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface DashboardService {
     AccountSummaryDto getAccountSummary();
-    List<AccountSnapshot> getAccountPerformance();
+    List<AccountSnapshot> getAccountPerformance(LocalDateTime from, LocalDateTime to, Integer points);
     List<Trade> getTradeHistory();
+    ChangesPageDto<Trade> getTradeChanges(Long afterId, LocalDateTime since, Integer limit);
+    ChangesPageDto<AccountSnapshot> getPerformanceChanges(Long afterId, LocalDateTime since, Integer limit);
     List<PortfolioHolding> getCurrentHoldings();
     List<BarData> getMarketChartData(String interval);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.trading.autotradingbot.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface DashboardStreamService {
+
+    /**
+     * Opens a Server-Sent Events stream that starts with the full dashboard state and then receives every
+     * dashboard event as it happens.
+     */
+    SseEmitter subscribe();
+}
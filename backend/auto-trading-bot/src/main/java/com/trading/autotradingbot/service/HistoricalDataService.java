@@ -0,0 +1,13 @@
+package com.trading.autotradingbot.service;
+
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.entity.BarData;
+
+public interface HistoricalDataService {
+    BarSeriesView loadBars(String symbol, String interval);
+
+    /**
+     * Caches a bar the exchange reported as closed, e.g. from a kline stream, so the next load does not download it.
+     */
+    void saveClosedBar(BarData bar);
+}
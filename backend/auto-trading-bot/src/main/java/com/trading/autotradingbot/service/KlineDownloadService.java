@@ -0,0 +1,9 @@
+package com.trading.autotradingbot.service;
+
+import com.trading.autotradingbot.dto.DownloadResultDto;
+
+import java.time.Instant;
+
+public interface KlineDownloadService {
+    DownloadResultDto download(String symbol, String interval, Instant startTime, Instant endTime);
+}
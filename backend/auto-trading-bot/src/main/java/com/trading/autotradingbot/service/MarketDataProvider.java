@@ -2,9 +2,15 @@ package com.trading.autotradingbot.service;
 
 import com.trading.autotradingbot.entity.BarData;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 public interface MarketDataProvider {
     BigDecimal getLivePrice(String symbol);
     List<BarData> getHistoricalData(String symbol, String interval, int limit);
+
+    /**
+     * Fetches one page of bars opening within {@code [startTime, endTime]}, at most {@code limit} of them.
+     */
+    List<BarData> getHistoricalData(String symbol, String interval, Instant startTime, Instant endTime, int limit);
 }
\ No newline at end of file
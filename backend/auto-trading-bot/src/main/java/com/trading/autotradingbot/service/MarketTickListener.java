@@ -0,0 +1,23 @@
+package com.trading.autotradingbot.service;
+
+import com.trading.autotradingbot.entity.BarData;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * Receives market events pushed by a {@link StreamingMarketDataProvider}.
+ */
+public interface MarketTickListener {
+    /**
+     * A trade, or the latest of several trades coalesced while listeners were busy; {@code quantity} is then the
+     * volume of all of them.
+     */
+    void onTrade(String symbol, BigDecimal price, BigDecimal quantity, ZonedDateTime timestamp);
+
+    /**
+     * A bar of a subscribed interval that the exchange has closed; its values are final.
+     */
+    default void onBarClosed(BarData bar) {
+    }
+}
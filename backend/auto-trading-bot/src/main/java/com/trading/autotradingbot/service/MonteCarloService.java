@@ -0,0 +1,8 @@
+package com.trading.autotradingbot.service;
+
+import com.trading.autotradingbot.dto.MonteCarloReportDto;
+import com.trading.autotradingbot.dto.MonteCarloRequest;
+
+public interface MonteCarloService {
+    MonteCarloReportDto simulate(MonteCarloRequest request);
+}
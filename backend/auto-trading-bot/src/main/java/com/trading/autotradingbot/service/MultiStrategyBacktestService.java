@@ -0,0 +1,8 @@
+package com.trading.autotradingbot.service;
+
+import com.trading.autotradingbot.dto.MultiStrategyBacktestRequest;
+import com.trading.autotradingbot.dto.MultiStrategyReportDto;
+
+public interface MultiStrategyBacktestService {
+    MultiStrategyReportDto runStrategies(MultiStrategyBacktestRequest request);
+}
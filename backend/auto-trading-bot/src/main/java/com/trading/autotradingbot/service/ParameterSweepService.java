@@ -0,0 +1,10 @@
+package com.trading.autotradingbot.service;
+
+import com.trading.autotradingbot.dto.ParameterSweepRequest;
+import com.trading.autotradingbot.dto.SweepResultDto;
+
+import java.util.List;
+
+public interface ParameterSweepService {
+    List<SweepResultDto> runSweep(ParameterSweepRequest request);
+}
@@ -0,0 +1,33 @@
+package com.trading.autotradingbot.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface SimulationAccountService {
+
+    /**
+     * Creates an empty BACKTEST account for a single backtest run.
+     * @return the id of the new account.
+     */
+    Long createAccount(BigDecimal startingCapital);
+
+    /**
+     * Creates an empty BACKTEST account for backtest job {@code jobId} and marks the job running with it, in one
+     * transaction, so {@link #deleteIdleAccounts} never sees the account before the job that uses it.
+     * @return the id of the new account.
+     */
+    Long createAccountForJob(String jobId, LocalDateTime startedAt, BigDecimal startingCapital);
+
+    /**
+     * Deletes the given BACKTEST accounts with all their trades, holdings and snapshots.
+     */
+    void deleteAccounts(Collection<Long> accountIds);
+
+    /**
+     * Deletes every BACKTEST account that no queued or running backtest job uses, except the accounts of the
+     * {@code retained} most recently completed jobs.
+     * @return the number of accounts deleted.
+     */
+    int deleteIdleAccounts(int retained);
+}
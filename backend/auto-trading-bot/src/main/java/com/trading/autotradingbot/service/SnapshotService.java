@@ -1,14 +1,19 @@
 package com.trading.autotradingbot.service;
 
+import com.trading.autotradingbot.dto.JournalStatsDto;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public interface SnapshotService {
 
-    /** * Captures and persists the current state of the account equity.
+    /** * Captures the current state of the account equity and records it in the trading journal.
      * @param accountId The ID of the active account
      * @param currentMarketPrice The price of the current symbol for valuation.
      * @param timestamp The time the bar closed (for the snapshot record).
      */
     void captureSnapshot(Long accountId, BigDecimal currentMarketPrice, LocalDateTime timestamp);
-}
\ No newline at end of file
+
+    /** Returns the size of the trading journal and how far the database projection lags behind it. */
+    JournalStatsDto getJournalStats();
+}
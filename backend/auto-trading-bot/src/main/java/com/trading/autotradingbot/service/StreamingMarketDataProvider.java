@@ -0,0 +1,12 @@
+package com.trading.autotradingbot.service;
+
+/**
+ * {@link MarketDataProvider} that pushes trades and closed bars to listeners as they happen, instead of being polled.
+ */
+public interface StreamingMarketDataProvider extends MarketDataProvider {
+    void subscribe(String symbol, String interval);
+
+    void addTickListener(MarketTickListener listener);
+
+    boolean isConnected();
+}
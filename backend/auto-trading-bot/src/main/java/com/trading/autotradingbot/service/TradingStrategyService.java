@@ -1,5 +1,6 @@
 package com.trading.autotradingbot.service;
 
+import com.trading.autotradingbot.common.BarSeriesView;
 import com.trading.autotradingbot.entity.BarData;
 import com.trading.autotradingbot.entity.enums.Signal;
 import java.math.BigDecimal;
@@ -10,15 +11,36 @@ public interface TradingStrategyService {
 
     void initializeSeries(List<BarData> historicalBars);
 
+    /** Warms the strategy up directly from columnar bars (no per-bar object conversion). */
+    void initializeSeries(BarSeriesView historicalBars);
+
     /** * Adds the latest price data point and checks if a trade signal is generated.
      * @param newPrice The current market price.
      * @param timestamp The time of the observation.
      * @return BUY, SELL, or HOLD.
      */
-    Signal getSignal(BigDecimal newPrice, ZonedDateTime timestamp);
+    default Signal getSignal(BigDecimal newPrice, ZonedDateTime timestamp) {
+        return getSignal(newPrice, BigDecimal.ZERO, timestamp);
+    }
+
+    /** * Adds a trade to the forming bar of the strategy's interval and checks if a trade signal is generated.
+     * @param newPrice The trade price.
+     * @param quantity The base asset volume traded since the previous call (zero for polled prices).
+     * @param timestamp The time of the trade.
+     * @return BUY, SELL, or HOLD.
+     */
+    Signal getSignal(BigDecimal newPrice, BigDecimal quantity, ZonedDateTime timestamp);
+
+    /** * Appends the closed bar at {@code index} and checks if a trade signal is generated.
+     * Used by backtests, which replay the bars following the warm-up window one at a time.
+     * @param bars The series being replayed.
+     * @param index The bar to append.
+     * @return BUY, SELL, or HOLD.
+     */
+    Signal getSignal(BarSeriesView bars, int index);
 
     /** Returns the unique identifier for this strategy (e.g., "RSI_Simple_30_70"). */
     String getStrategyName();
 
     int getMinBarsForAnalysis();
-}
\ No newline at end of file
+}
@@ -0,0 +1,8 @@
+package com.trading.autotradingbot.service;
+
+import com.trading.autotradingbot.dto.WalkForwardReportDto;
+import com.trading.autotradingbot.dto.WalkForwardRequest;
+
+public interface WalkForwardService {
+    WalkForwardReportDto runWalkForward(WalkForwardRequest request);
+}
@@ -0,0 +1,208 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.entity.Account;
+import com.trading.autotradingbot.entity.AccountSnapshot;
+import com.trading.autotradingbot.entity.JournalEvent;
+import com.trading.autotradingbot.entity.PortfolioHolding;
+import com.trading.autotradingbot.entity.Trade;
+import com.trading.autotradingbot.entity.enums.AccountType;
+import com.trading.autotradingbot.repository.AccountRepository;
+import com.trading.autotradingbot.repository.JournalCheckpointRepository;
+import com.trading.autotradingbot.repository.PortfolioRepository;
+import com.trading.autotradingbot.repository.TradingJournal;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Authoritative state of the LIVE account, derived from the {@link TradingJournal}.
+ * <p>
+ * Every change is recorded as a {@link JournalEvent} and applied to the in-memory account and holdings, so an order
+ * costs one journal append and no database round trip. The {@link JournalProjector} writes the events to Postgres
+ * asynchronously. An account is loaded from the database when first used; on startup the events appended after the
+ * projector's checkpoint are replayed on top, which restores the state a crash left unprojected.
+ * </p>
+ * <p>
+ * BACKTEST accounts are not journaled; their results are written to the database in bulk by the training service.
+ * </p>
+ */
+@Component
+public class AccountJournal {
+    private static final Logger log = LoggerFactory.getLogger(AccountJournal.class);
+    private static final int REPLAY_BATCH_SIZE = 1024;
+
+    private final TradingJournal journal;
+    private final AccountRepository accountRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final JournalCheckpointRepository checkpointRepository;
+
+    // Guarded by this
+    private final Map<Long, AccountState> accounts = new HashMap<>();
+
+    private static final class AccountState {
+        private final Account account;
+        private final Map<String, PortfolioHolding> holdings = new LinkedHashMap<>();
+
+        private AccountState(Account account, List<PortfolioHolding> holdings) {
+            this.account = account;
+            holdings.forEach(holding -> this.holdings.put(holding.getSymbol(), holding));
+        }
+    }
+
+    public AccountJournal(TradingJournal journal, AccountRepository accountRepository,
+                          PortfolioRepository portfolioRepository, JournalCheckpointRepository checkpointRepository) {
+        this.journal = journal;
+        this.accountRepository = accountRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.checkpointRepository = checkpointRepository;
+    }
+
+    /**
+     * Replays the events the database does not hold yet. Runs before the projector starts, so the accounts loaded
+     * here are exactly at the checkpoint.
+     */
+    @PostConstruct
+    synchronized void recover() {
+        long checkpoint = checkpointRepository.findSequence(journal.getJournalId());
+        TradingJournal.Cursor cursor = journal.cursor(checkpoint);
+
+        long start = System.nanoTime();
+        int replayed = 0;
+        int read;
+        while ((read = cursor.poll(REPLAY_BATCH_SIZE, entry -> apply(entry.event()))) > 0) {
+            replayed += read;
+        }
+
+        log.info("Replayed {} journal events after checkpoint {} in {} ms", replayed, checkpoint,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Whether changes to the account go through the journal.
+     */
+    public boolean isJournaled(Long accountId) {
+        synchronized (this) {
+            if (accounts.containsKey(accountId)) {
+                return true;
+            }
+        }
+        return accountRepository.findById(accountId)
+                .map(account -> account.getAccountType() == AccountType.LIVE)
+                .orElse(false);
+    }
+
+    /**
+     * Appends {@code event} to the journal and applies it.
+     *
+     * @return the journal sequence of the event.
+     */
+    public synchronized long record(JournalEvent event) {
+        state(event.accountId());
+        long sequence = journal.append(event);
+        apply(event);
+        return sequence;
+    }
+
+    /**
+     * Values the account with {@code valuation} and records the resulting snapshot in one step, so no fill can be
+     * journaled between reading the balances and appending a snapshot of them.
+     *
+     * @return the recorded snapshot.
+     */
+    public synchronized AccountSnapshot recordSnapshot(
+            Long accountId, BiFunction<Account, List<PortfolioHolding>, AccountSnapshot> valuation) {
+        AccountSnapshot snapshot = valuation.apply(getAccount(accountId), findHoldings(accountId));
+        record(new JournalEvent.Snapshot(snapshot));
+        return snapshot;
+    }
+
+    public synchronized Account getAccount(Long accountId) {
+        return copy(state(accountId).account);
+    }
+
+    public synchronized Optional<PortfolioHolding> findHolding(Long accountId, String symbol) {
+        return Optional.ofNullable(state(accountId).holdings.get(symbol)).map(AccountJournal::copy);
+    }
+
+    public synchronized List<PortfolioHolding> findHoldings(Long accountId) {
+        return state(accountId).holdings.values().stream().map(AccountJournal::copy).toList();
+    }
+
+    private void apply(JournalEvent event) {
+        AccountState state = state(event.accountId());
+        Account account = state.account;
+
+        switch (event) {
+            case JournalEvent.Fill fill -> {
+                Trade trade = fill.trade();
+                account.setCurrentBalance(fill.cashBalance());
+                account.setCurrentPortfolioValue(fill.portfolioValue());
+                account.setLastUpdateTimestamp(trade.getTimestamp());
+
+                if (fill.holdingQuantity().signum() == 0) {
+                    state.holdings.remove(trade.getSymbol());
+                } else {
+                    state.holdings.put(trade.getSymbol(), PortfolioHolding.builder()
+                            .accountId(account.getId())
+                            .symbol(trade.getSymbol())
+                            .quantity(fill.holdingQuantity())
+                            .avgBuyPrice(fill.holdingAvgPrice())
+                            .build());
+                }
+            }
+            case JournalEvent.Snapshot(AccountSnapshot snapshot) -> {
+                account.setCurrentPortfolioValue(snapshot.getTotalBalance());
+                account.setLastUpdateTimestamp(snapshot.getTimestamp());
+            }
+            case JournalEvent.Reset reset -> {
+                BigDecimal capital = reset.startingCapital();
+                account.setStartBalance(capital);
+                account.setCurrentBalance(capital);
+                account.setCurrentPortfolioValue(capital);
+                account.setLastUpdateTimestamp(reset.timestamp());
+                state.holdings.clear();
+            }
+        }
+    }
+
+    private AccountState state(Long accountId) {
+        return accounts.computeIfAbsent(accountId, id -> {
+            Account account = accountRepository.findById(id)
+                    .orElseThrow(() -> new IllegalStateException("Account not found."));
+            if (account.getAccountType() != AccountType.LIVE) {
+                throw new IllegalStateException("Account " + id + " is not journaled.");
+            }
+            return new AccountState(account, portfolioRepository.findAllByAccountId(id));
+        });
+    }
+
+    private static Account copy(Account account) {
+        return Account.builder()
+                .id(account.getId())
+                .startBalance(account.getStartBalance())
+                .currentBalance(account.getCurrentBalance())
+                .currentPortfolioValue(account.getCurrentPortfolioValue())
+                .creationTimestamp(account.getCreationTimestamp())
+                .lastUpdateTimestamp(account.getLastUpdateTimestamp())
+                .accountType(account.getAccountType())
+                .build();
+    }
+
+    private static PortfolioHolding copy(PortfolioHolding holding) {
+        return PortfolioHolding.builder()
+                .accountId(holding.getAccountId())
+                .symbol(holding.getSymbol())
+                .quantity(holding.getQuantity())
+                .avgBuyPrice(holding.getAvgBuyPrice())
+                .build();
+    }
+}
@@ -1,37 +1,84 @@
 package com.trading.autotradingbot.service.impl;
 
+import com.trading.autotradingbot.dto.DashboardEvent;
+import com.trading.autotradingbot.entity.JournalEvent;
 import com.trading.autotradingbot.repository.AccountRepository;
 import com.trading.autotradingbot.repository.PortfolioRepository;
 import com.trading.autotradingbot.repository.SnapshotRepository;
 import com.trading.autotradingbot.repository.TradeRepository;
 import com.trading.autotradingbot.service.AccountResetService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Service
 public class AccountResetServiceImpl implements AccountResetService {
+    private static final long PROJECTION_TIMEOUT_MILLIS = 10_000;
 
     private final AccountRepository accountRepository;
     private final TradeRepository tradeRepository;
     private final PortfolioRepository portfolioRepository;
     private final SnapshotRepository snapshotRepository;
+    private final AccountJournal accountJournal;
+    private final JournalProjector journalProjector;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    public AccountResetServiceImpl(AccountRepository accountRepository, TradeRepository tradeRepository, PortfolioRepository portfolioRepository, SnapshotRepository snapshotRepository) {
+    public AccountResetServiceImpl(AccountRepository accountRepository, TradeRepository tradeRepository, PortfolioRepository portfolioRepository, SnapshotRepository snapshotRepository,
+                                   AccountJournal accountJournal, JournalProjector journalProjector, ApplicationEventPublisher eventPublisher,
+                                   TransactionTemplate transactionTemplate) {
         this.accountRepository = accountRepository;
         this.tradeRepository = tradeRepository;
         this.portfolioRepository = portfolioRepository;
         this.snapshotRepository = snapshotRepository;
+        this.accountJournal = accountJournal;
+        this.journalProjector = journalProjector;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    /**
+     * Journaled accounts are reset through the journal; the STATE event is published once the reset has reached the
+     * database, so dashboards reloading on it do not read the old trades. The wait for the projector happens outside
+     * any transaction of this method, so it holds no database connection meanwhile.
+     *
+     * @throws IllegalStateException if the reset of a journaled account is not in the database within
+     *                               {@value #PROJECTION_TIMEOUT_MILLIS} ms; it is still applied later.
+     */
     @Override
-    @Transactional
     public void resetAllAccountData(Long accountId, BigDecimal startingCapital) {
-        tradeRepository.deleteAllByAccountId(accountId);
-        portfolioRepository.deleteAllByAccountId(accountId);
-        snapshotRepository.deleteAllByAccountId(accountId);
+        if (accountJournal.isJournaled(accountId)) {
+            long sequence = accountJournal.record(new JournalEvent.Reset(accountId, startingCapital, LocalDateTime.now()));
+            awaitProjection(sequence);
+            eventPublisher.publishEvent(DashboardEvent.stateChanged());
+            return;
+        }
 
-        accountRepository.resetAccount(accountId, startingCapital);
+        transactionTemplate.executeWithoutResult(status -> {
+            tradeRepository.deleteAllByAccountId(accountId);
+            portfolioRepository.deleteAllByAccountId(accountId);
+            snapshotRepository.deleteAllByAccountId(accountId);
+
+            accountRepository.resetAccount(accountId, startingCapital);
+        });
+        eventPublisher.publishEvent(DashboardEvent.stateChanged());
+    }
+
+    private void awaitProjection(long sequence) {
+        boolean projected;
+        try {
+            projected = journalProjector.awaitProjection(sequence, PROJECTION_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the account reset (journal sequence "
+                    + sequence + ") to reach the database.");
+        }
+        if (!projected) {
+            throw new IllegalStateException("Account reset (journal sequence " + sequence
+                    + ") is not in the database yet; it is applied once the journal projector catches up.");
+        }
     }
-}
\ No newline at end of file
+}
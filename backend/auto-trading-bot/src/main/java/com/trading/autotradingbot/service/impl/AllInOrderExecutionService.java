@@ -1,41 +1,30 @@
 package com.trading.autotradingbot.service.impl;
 
+import com.trading.autotradingbot.common.FixedPoint;
 import com.trading.autotradingbot.entity.Account;
+import com.trading.autotradingbot.entity.JournalEvent;
 import com.trading.autotradingbot.entity.PortfolioHolding;
 import com.trading.autotradingbot.entity.Trade;
 import com.trading.autotradingbot.entity.enums.TradeAction;
 import com.trading.autotradingbot.exception.TradeExecutionConstraintException;
-import com.trading.autotradingbot.repository.AccountRepository;
-import com.trading.autotradingbot.repository.PortfolioRepository;
-import com.trading.autotradingbot.repository.TradeRepository;
 import com.trading.autotradingbot.service.OrderExecutionHandler;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import java.util.Optional;
-
-import static com.trading.autotradingbot.common.AccountConstants.SCALE;
 
+/**
+ * Fills orders against the {@link AccountJournal}: each fill is a single journal append, the database is updated
+ * asynchronously. Orders are serialized, so a fill always prices against the state left by the previous one. The
+ * TRADE dashboard event follows once the {@link JournalProjector} has written the fill.
+ */
 @Service
 public class AllInOrderExecutionService implements OrderExecutionHandler {
 
-    private final AccountRepository accountRepository;
-    private final PortfolioRepository portfolioRepository;
-    private final TradeRepository tradeRepository;
-
-    private static final BigDecimal FEE_RATE = new BigDecimal("0.001"); // 0.1% flat fee for now
-    private static final BigDecimal BUY_ALLOCATION_FACTOR = new BigDecimal("0.999"); // 99.9% allocation for fee buffer
+    private final AccountJournal accountJournal;
 
-    public AllInOrderExecutionService(
-            AccountRepository accountRepository,
-            PortfolioRepository portfolioRepository,
-            TradeRepository tradeRepository) {
-        this.accountRepository = accountRepository;
-        this.portfolioRepository = portfolioRepository;
-        this.tradeRepository = tradeRepository;
+    public AllInOrderExecutionService(AccountJournal accountJournal) {
+        this.accountJournal = accountJournal;
     }
 
     /**
@@ -43,51 +32,28 @@ public class AllInOrderExecutionService implements OrderExecutionHandler {
      * Strategy: All-in (99.9% of available cash).
      */
     @Override
-    @Transactional
-    public void executeBuy(Long accountId, String symbol, BigDecimal price, String strategyName) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalStateException("Account not found."));
-
-        BigDecimal cashAvailable = account.getCurrentBalance();
-
-        BigDecimal amountToSpend = cashAvailable.multiply(BUY_ALLOCATION_FACTOR).setScale(SCALE, RoundingMode.DOWN);
-
-        if (amountToSpend.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalStateException("Insufficient funds: Cash available is less than the minimum spendable amount.");
-        }
-
-        BigDecimal quantity = amountToSpend.divide(price, SCALE, RoundingMode.DOWN);
-        BigDecimal fee = amountToSpend.multiply(FEE_RATE).setScale(SCALE, RoundingMode.HALF_UP);
-        BigDecimal totalSpent = amountToSpend.add(fee);
+    public synchronized void executeBuy(Long accountId, String symbol, BigDecimal price, String strategyName) {
+        Account account = accountJournal.getAccount(accountId);
 
-        BigDecimal newCashBalance = cashAvailable.subtract(totalSpent);
-        BigDecimal newPortfolioValue = account.getCurrentPortfolioValue().subtract(fee);
-        accountRepository.updateBalance(accountId, newCashBalance, newPortfolioValue);
+        long cashAvailable = FixedPoint.fromDecimal(account.getCurrentBalance());
+        long fillPrice = FixedPoint.fromDecimal(price);
 
-        Optional<PortfolioHolding> existingHoldingOpt = portfolioRepository.findByIdAndSymbol(accountId, symbol);
-        BigDecimal finalQuantity;
-        BigDecimal finalAvgPrice;
+        ExecutionMath.BuyFill fill = ExecutionMath.allInBuy(cashAvailable, fillPrice);
+        BigDecimal quantity = FixedPoint.toDecimal(fill.quantity());
+        BigDecimal fee = FixedPoint.toDecimal(fill.fee());
 
-        if (existingHoldingOpt.isPresent()) {
-            PortfolioHolding existing = existingHoldingOpt.get();
-            BigDecimal oldQty = existing.getQuantity();
-            BigDecimal oldAvgPrice = existing.getAvgBuyPrice();
+        BigDecimal newCashBalance = FixedPoint.toDecimal(cashAvailable - fill.totalSpent());
+        BigDecimal newPortfolioValue = FixedPoint.toDecimal(
+                FixedPoint.fromDecimal(account.getCurrentPortfolioValue()) - fill.fee());
 
-            BigDecimal totalCostOld = oldQty.multiply(oldAvgPrice);
-            BigDecimal totalCostNew = quantity.multiply(price);
-
-            finalQuantity = oldQty.add(quantity);
-
-            finalAvgPrice = totalCostOld.add(totalCostNew)
-                    .divide(finalQuantity, SCALE, RoundingMode.HALF_UP);
-
-        } else {
-            finalQuantity = quantity;
-            finalAvgPrice = price.setScale(SCALE, RoundingMode.HALF_UP);
-        }
+        PortfolioHolding existing = accountJournal.findHolding(accountId, symbol).orElse(null);
+        long existingQuantity = existing != null ? FixedPoint.fromDecimal(existing.getQuantity()) : 0;
+        long existingAvgPrice = existing != null ? FixedPoint.fromDecimal(existing.getAvgBuyPrice()) : 0;
+        BigDecimal finalQuantity = FixedPoint.toDecimal(existingQuantity + fill.quantity());
+        BigDecimal finalAvgPrice = FixedPoint.toDecimal(
+                ExecutionMath.averageBuyPrice(existingQuantity, existingAvgPrice, fill.quantity(), fillPrice));
 
         BigDecimal buyPnL = fee.negate();
-        portfolioRepository.save(accountId, symbol, finalQuantity, finalAvgPrice);
 
         Trade trade = Trade.builder()
                 .accountId(accountId)
@@ -101,7 +67,7 @@ public class AllInOrderExecutionService implements OrderExecutionHandler {
                 .finalBalance(newCashBalance)
                 .strategyName(strategyName)
                 .build();
-        tradeRepository.save(trade);
+        accountJournal.record(new JournalEvent.Fill(trade, newCashBalance, newPortfolioValue, finalQuantity, finalAvgPrice));
     }
 
     /**
@@ -109,9 +75,8 @@ public class AllInOrderExecutionService implements OrderExecutionHandler {
      * Strategy: Sells 100% of the current position.
      */
     @Override
-    @Transactional
-    public void executeSell(Long accountId, String symbol, BigDecimal price, String strategyName) {
-        PortfolioHolding holding = portfolioRepository.findByIdAndSymbol(accountId, symbol)
+    public synchronized void executeSell(Long accountId, String symbol, BigDecimal price, String strategyName) {
+        PortfolioHolding holding = accountJournal.findHolding(accountId, symbol)
                 .orElseThrow(() -> new TradeExecutionConstraintException("Cannot SELL: No holdings found for " + symbol));
 
         BigDecimal quantityToSell = holding.getQuantity();
@@ -120,22 +85,15 @@ public class AllInOrderExecutionService implements OrderExecutionHandler {
             throw new IllegalStateException("Cannot SELL zero quantity.");
         }
 
-        BigDecimal avgBuyPrice = holding.getAvgBuyPrice();
-
-        BigDecimal totalRevenue = price.multiply(quantityToSell).setScale(SCALE, RoundingMode.HALF_UP);
-        BigDecimal fee = totalRevenue.multiply(FEE_RATE).setScale(SCALE, RoundingMode.HALF_UP);
-
-        // PnL = (Revenue - Cost Basis) - Fee
-        BigDecimal costBasis = avgBuyPrice.multiply(quantityToSell).setScale(SCALE, RoundingMode.HALF_UP);
-        BigDecimal profitLoss = totalRevenue.subtract(costBasis).subtract(fee).setScale(SCALE, RoundingMode.HALF_UP);
-
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalStateException("Account not found."));
+        ExecutionMath.SellFill fill = ExecutionMath.sellAll(FixedPoint.fromDecimal(quantityToSell),
+                FixedPoint.fromDecimal(holding.getAvgBuyPrice()), FixedPoint.fromDecimal(price));
+        BigDecimal fee = FixedPoint.toDecimal(fill.fee());
+        BigDecimal profitLoss = FixedPoint.toDecimal(fill.profitLoss());
 
-        BigDecimal newCashBalance = account.getCurrentBalance().add(totalRevenue).subtract(fee);
+        Account account = accountJournal.getAccount(accountId);
 
-        accountRepository.updateBalance(accountId, newCashBalance, newCashBalance);
-        portfolioRepository.delete(accountId, symbol);
+        BigDecimal newCashBalance = FixedPoint.toDecimal(
+                FixedPoint.fromDecimal(account.getCurrentBalance()) + fill.revenue() - fill.fee());
 
         Trade trade = Trade.builder()
                 .accountId(accountId)
@@ -149,6 +107,6 @@ public class AllInOrderExecutionService implements OrderExecutionHandler {
                 .finalBalance(newCashBalance)
                 .strategyName(strategyName)
                 .build();
-        tradeRepository.save(trade);
+        accountJournal.record(new JournalEvent.Fill(trade, newCashBalance, newCashBalance, BigDecimal.ZERO, BigDecimal.ZERO));
     }
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.common.FixedPoint;
+import com.trading.autotradingbot.entity.enums.Signal;
+import com.trading.autotradingbot.exception.TradeExecutionConstraintException;
+import com.trading.autotradingbot.service.TradingStrategyService;
+import com.trading.autotradingbot.strategy.StrategyEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CancellationException;
+
+// Utility class
+public final class BacktestEngine {
+    private static final Logger log = LoggerFactory.getLogger(BacktestEngine.class);
+
+    // Progress is reported (and interruption checked) every 8192 bars
+    static final int PROGRESS_MASK = (1 << 13) - 1;
+
+    private BacktestEngine() {}
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        ProgressListener NONE = (barsProcessed, totalBars) -> {};
+
+        void onProgress(int barsProcessed, int totalBars);
+    }
+
+    public static void run(BarSeriesView bars, TradingStrategyService strategy, BacktestLedger ledger,
+                           BigDecimal stopLossThreshold) {
+        run(bars, strategy, ledger, stopLossThreshold, ProgressListener.NONE);
+    }
+
+    /**
+     * Replays {@code bars} through {@code strategy}, trading against {@code ledger}.
+     * <p>
+     * The strategy is warmed up on the first {@link TradingStrategyService#getMinBarsForAnalysis()} bars, every later
+     * bar is fed as a closed bar, and an open position is liquidated at the last close. Neither the strategy nor the
+     * ledger is shared, so independent runs can execute concurrently over the same (immutable) bars.
+     * </p>
+     * <p>
+     * {@code listener} is told how many bars were processed at regular intervals and at the end. A run stops with a
+     * {@link CancellationException} once its thread is interrupted.
+     * </p>
+     *
+     * @throws IllegalStateException if there are fewer bars than the strategy needs to warm up.
+     */
+    public static void run(BarSeriesView bars, TradingStrategyService strategy, BacktestLedger ledger,
+                           BigDecimal stopLossThreshold, ProgressListener listener) {
+        String symbol = bars.getSymbol();
+        long stopLoss = FixedPoint.fromDecimal(stopLossThreshold);
+        int minBarsForAnalysis = strategy.getMinBarsForAnalysis();
+
+        if (bars.size() < minBarsForAnalysis) {
+            throw new IllegalStateException("Not enough historical data to run backtest ("
+                    + bars.size() + " bars found, need " + minBarsForAnalysis + ").");
+        }
+
+        // Warm up on the first bars, then replay the rest one closed bar at a time
+        strategy.initializeSeries(bars.slice(0, minBarsForAnalysis));
+
+        for (int i = 0; i < bars.size(); i++) {
+            if ((i & PROGRESS_MASK) == 0 && i > 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Backtest cancelled after " + i + " bars.");
+                }
+                listener.onProgress(i, bars.size());
+            }
+
+            // Bar prices are already fixed-point, so no BigDecimal is created unless a trade is recorded
+            long price = bars.closeUnscaled(i);
+
+            if (i >= minBarsForAnalysis) {
+                Signal signal = strategy.getSignal(bars, i);
+                trade(ledger, symbol, price, stopLoss, signal, strategy.getStrategyName());
+            }
+
+            ledger.captureSnapshot(price, bars.openTime(i));
+        }
+
+        liquidate(ledger, symbol, bars.closeUnscaled(bars.size() - 1));
+        listener.onProgress(bars.size(), bars.size());
+    }
+
+    /**
+     * Replays {@code bars} through every strategy of {@code engine} in one pass, strategy {@code k} trading against
+     * {@code ledgers[k]} with stop-loss {@code stopLossThresholds[k]}.
+     * <p>
+     * Each bar updates the shared indicators once and then trades every ledger on its strategy's signal, by the same
+     * rules as {@link #run}: a strategy whose result is compared with a single-strategy run of the same bars matches
+     * it trade for trade.
+     * </p>
+     *
+     * @throws IllegalStateException if there are fewer bars than the strategies need to warm up.
+     */
+    public static void runStrategies(BarSeriesView bars, StrategyEngine engine, BacktestLedger[] ledgers,
+                                     BigDecimal[] stopLossThresholds) {
+        if (ledgers.length != engine.size() || stopLossThresholds.length != engine.size()) {
+            throw new IllegalArgumentException("Every strategy needs one ledger and one stop-loss threshold.");
+        }
+        String symbol = bars.getSymbol();
+        int strategies = engine.size();
+        long[] stopLosses = new long[strategies];
+        String[] names = new String[strategies];
+        for (int k = 0; k < strategies; k++) {
+            stopLosses[k] = FixedPoint.fromDecimal(stopLossThresholds[k]);
+            names[k] = engine.getStrategy(k).getName();
+        }
+
+        if (bars.size() < engine.getMinBarsForAnalysis()) {
+            throw new IllegalStateException("Not enough historical data to run backtest ("
+                    + bars.size() + " bars found, need " + engine.getMinBarsForAnalysis() + ").");
+        }
+
+        for (int i = 0; i < bars.size(); i++) {
+            if ((i & PROGRESS_MASK) == 0 && i > 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Backtest cancelled after " + i + " bars.");
+            }
+
+            long price = bars.closeUnscaled(i);
+            Signal[] signals = engine.onBar(bars, i);
+
+            for (int k = 0; k < strategies; k++) {
+                // Warming up strategies signal HOLD, but a position can only exist once they trade
+                if (i >= engine.getStrategy(k).getMinBarsForAnalysis()) {
+                    trade(ledgers[k], symbol, price, stopLosses[k], signals[k], names[k]);
+                }
+                ledgers[k].captureSnapshot(price, bars.openTime(i));
+            }
+        }
+
+        for (BacktestLedger ledger : ledgers) {
+            liquidate(ledger, symbol, bars.closeUnscaled(bars.size() - 1));
+        }
+    }
+
+    private static void trade(BacktestLedger ledger, String symbol, long price, long stopLoss, Signal signal,
+                              String strategyName) {
+        boolean positionOpen = ledger.hasPosition(symbol);
+
+        if (positionOpen && ExecutionMath.isStopLossTriggered(ledger.avgBuyPriceUnscaled(symbol), price, stopLoss)) {
+            ledger.executeSell(symbol, price, "STOP_LOSS");
+        } else {
+            try {
+                if (signal == Signal.BUY && !positionOpen) {
+                    ledger.executeBuy(symbol, price, strategyName);
+                } else if (signal == Signal.SELL && positionOpen) {
+                    ledger.executeSell(symbol, price, strategyName);
+                }
+            } catch (TradeExecutionConstraintException e) {
+                log.debug("Trade skipped for account {}: {}", ledger.getAccountId(), e.getMessage());
+            }
+        }
+    }
+
+    private static void liquidate(BacktestLedger ledger, String symbol, long lastClose) {
+        if (ledger.hasPosition(symbol)) {
+            ledger.executeSell(symbol, lastClose, "FINAL_LIQUIDATION");
+        }
+    }
+}
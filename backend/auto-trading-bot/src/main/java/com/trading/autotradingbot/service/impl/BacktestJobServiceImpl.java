@@ -0,0 +1,354 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.dto.BacktestJobDto;
+import com.trading.autotradingbot.dto.DashboardEvent;
+import com.trading.autotradingbot.entity.BacktestJob;
+import com.trading.autotradingbot.entity.enums.BacktestJobStatus;
+import com.trading.autotradingbot.repository.BacktestJobRepository;
+import com.trading.autotradingbot.service.BacktestJobService;
+import com.trading.autotradingbot.service.SimulationAccountService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs backtests as background jobs.
+ * <p>
+ * Jobs run on a fixed pool of {@code backtest.jobs.max-concurrent} threads; up to {@code backtest.jobs.queue-capacity}
+ * more wait in line, beyond that submissions are rejected. Every job is stored in {@code backtest_job} when it is
+ * submitted, started and finished, so results stay available after the job is gone from memory. Progress (bars
+ * processed) is tracked in memory while the job runs.
+ * </p>
+ * <p>
+ * Cancelling a queued job removes it from the queue; cancelling a running one interrupts its thread, which stops the
+ * replay at its next progress check without touching the account.
+ * </p>
+ * <p>
+ * A job that keeps its account runs against a simulation account created when it starts and deleted again if it
+ * does not complete. Only the accounts of the {@code simulation.accounts.retained} latest completed jobs are kept.
+ * </p>
+ */
+@Service
+public class BacktestJobServiceImpl implements BacktestJobService {
+    private static final Logger log = LoggerFactory.getLogger(BacktestJobServiceImpl.class);
+
+    static final int RECENT_JOBS_LIMIT = 50;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final TrainingServiceImpl trainingService;
+    private final BacktestJobRepository jobRepository;
+    private final SimulationAccountService simulationAccountService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int retainedAccounts;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ActiveJob> activeJobs = new ConcurrentHashMap<>();
+
+    public BacktestJobServiceImpl(TrainingServiceImpl trainingService, BacktestJobRepository jobRepository,
+                                  SimulationAccountService simulationAccountService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${backtest.jobs.max-concurrent:2}") int maxConcurrent,
+                                  @Value("${backtest.jobs.queue-capacity:20}") int queueCapacity,
+                                  @Value("${simulation.accounts.retained:5}") int retainedAccounts) {
+        if (maxConcurrent < 1 || queueCapacity < 1 || retainedAccounts < 1) {
+            throw new IllegalArgumentException("Invalid backtest job settings: max concurrent " + maxConcurrent
+                    + ", queue capacity " + queueCapacity + ", retained accounts " + retainedAccounts);
+        }
+        this.trainingService = trainingService;
+        this.jobRepository = jobRepository;
+        this.simulationAccountService = simulationAccountService;
+        this.eventPublisher = eventPublisher;
+        this.retainedAccounts = retainedAccounts;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("backtest-job-", 0).daemon().factory());
+    }
+
+    /**
+     * Jobs of a previous process that never finished cannot resume, so they are failed on startup and their accounts
+     * deleted.
+     */
+    @PostConstruct
+    void failInterruptedJobs() {
+        int failed = jobRepository.failUnfinished("Interrupted by an application restart.", LocalDateTime.now());
+        if (failed > 0) {
+            log.warn("Marked {} unfinished backtest jobs as failed.", failed);
+        }
+        simulationAccountService.deleteIdleAccounts(retainedAccounts);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the symbol or interval is blank.
+     * @throws IllegalStateException if the job queue is full.
+     */
+    @Override
+    public BacktestJobDto submit(String symbol, String interval, boolean keepAccount) {
+        if (symbol == null || symbol.isBlank() || interval == null || interval.isBlank()) {
+            throw new IllegalArgumentException("A backtest job needs a symbol and an interval.");
+        }
+
+        BacktestJob job = BacktestJob.builder()
+                .id(UUID.randomUUID().toString())
+                .keepAccount(keepAccount)
+                .symbol(symbol.trim().toUpperCase())
+                .interval(interval.trim())
+                .status(BacktestJobStatus.QUEUED)
+                .submittedAt(LocalDateTime.now())
+                .build();
+        jobRepository.save(job);
+
+        ActiveJob active = new ActiveJob(job);
+        activeJobs.put(job.getId(), active);
+        try {
+            executor.execute(active.task);
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.getId());
+            active.finish(BacktestJobStatus.FAILED, "Rejected: too many backtest jobs queued.");
+            jobRepository.finish(active.snapshot());
+            throw new IllegalStateException("Too many backtest jobs queued (" + executor.getQueue().size()
+                    + " waiting), try again later.");
+        }
+
+        log.info("Backtest job {} queued for {} ({}).", job.getId(), job.getSymbol(), job.getInterval());
+        return toDto(active.snapshot());
+    }
+
+    @Override
+    public BacktestJobDto getJob(String id) {
+        ActiveJob active = activeJobs.get(id);
+        if (active != null) {
+            return toDto(active.snapshot());
+        }
+        return jobRepository.findById(id).map(BacktestJobServiceImpl::toDto)
+                .orElseThrow(() -> new NoSuchElementException("Backtest job not found: " + id));
+    }
+
+    @Override
+    public List<BacktestJobDto> getRecentJobs() {
+        return jobRepository.findRecent(RECENT_JOBS_LIMIT).stream()
+                .map(job -> {
+                    ActiveJob active = activeJobs.get(job.getId());
+                    return toDto(active != null ? active.snapshot() : job);
+                })
+                .toList();
+    }
+
+    /**
+     * @throws NoSuchElementException if there is no such job.
+     * @throws IllegalStateException if the job has already finished.
+     */
+    @Override
+    public BacktestJobDto cancel(String id) {
+        ActiveJob active = activeJobs.get(id);
+        if (active == null) {
+            BacktestJob job = jobRepository.findById(id)
+                    .orElseThrow(() -> new NoSuchElementException("Backtest job not found: " + id));
+            throw new IllegalStateException("Backtest job " + id + " has already finished (" + job.getStatus() + ").");
+        }
+
+        if (active.cancel()) {
+            // It never started, so nothing else will record the cancellation
+            executor.remove(active.task);
+            jobRepository.finish(active.snapshot());
+            activeJobs.remove(id);
+        }
+        log.info("Backtest job {} cancelled.", id);
+        return toDto(active.snapshot());
+    }
+
+    private void run(ActiveJob active) {
+        if (!active.start()) {
+            return;
+        }
+        BacktestJob job = active.snapshot();
+        Long accountId = null;
+
+        try {
+            if (job.isKeepAccount()) {
+                // Linked to the job in the same transaction, or an idle-account sweep could delete it first
+                accountId = simulationAccountService.createAccountForJob(job.getId(), job.getStartedAt(),
+                        AccountConstants.DEFAULT_CAPITAL);
+                active.setAccountId(accountId);
+            } else {
+                jobRepository.markRunning(job.getId(), job.getStartedAt(), null);
+            }
+
+            BacktestLedger ledger = trainingService.runBacktest(accountId, job.getSymbol(), job.getInterval(),
+                    active::onProgress);
+            active.complete(ledger);
+        } catch (CancellationException e) {
+            active.finish(BacktestJobStatus.CANCELLED, e.getMessage());
+        } catch (RuntimeException e) {
+            if (active.isCancelRequested()) {
+                active.finish(BacktestJobStatus.CANCELLED, "Backtest cancelled.");
+            } else {
+                log.warn("Backtest job {} failed: {}", job.getId(), e.getMessage());
+                active.finish(BacktestJobStatus.FAILED, e.getMessage());
+            }
+        } finally {
+            // A cancellation interrupt must not abort the write of the outcome
+            Thread.interrupted();
+            try {
+                jobRepository.finish(active.snapshot());
+                releaseAccount(active.snapshot());
+            } finally {
+                activeJobs.remove(job.getId());
+            }
+        }
+    }
+
+    /**
+     * Deletes the account of a job that did not complete; after one that did, trims the accounts to those retained
+     * and tells dashboards to reload.
+     */
+    private void releaseAccount(BacktestJob job) {
+        if (job.getAccountId() == null) {
+            return;
+        }
+        if (job.getStatus() != BacktestJobStatus.COMPLETED) {
+            simulationAccountService.deleteAccounts(List.of(job.getAccountId()));
+            return;
+        }
+        simulationAccountService.deleteIdleAccounts(retainedAccounts);
+        eventPublisher.publishEvent(DashboardEvent.stateChanged());
+    }
+
+    private static BacktestJobDto toDto(BacktestJob job) {
+        long barsPerSecond = job.getDurationMillis() > 0 ? job.getBarsProcessed() * 1000L / job.getDurationMillis() : 0;
+
+        return BacktestJobDto.builder()
+                .id(job.getId())
+                .accountId(job.getAccountId())
+                .keepAccount(job.isKeepAccount())
+                .symbol(job.getSymbol())
+                .interval(job.getInterval())
+                .status(job.getStatus())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .barCount(job.getBarCount())
+                .barsProcessed(job.getBarsProcessed())
+                .barsPerSecond(barsPerSecond)
+                .durationMillis(job.getDurationMillis())
+                .finalBalance(job.getFinalBalance())
+                .totalProfitLoss(job.getTotalProfitLoss())
+                .maxDrawdown(job.getMaxDrawdown())
+                .tradeCount(job.getTradeCount())
+                .winningTrades(job.getWinningTrades())
+                .errorMessage(job.getErrorMessage())
+                .build();
+    }
+
+    /**
+     * A submitted job that has not finished yet. Status changes are synchronized, progress is written by the job's
+     * thread only.
+     */
+    private final class ActiveJob {
+        private final BacktestJob job;
+        private final FutureTask<Void> task;
+        private volatile int barsProcessed;
+        private volatile int barCount;
+        private long startNanos;
+        private boolean cancelRequested;
+
+        private ActiveJob(BacktestJob job) {
+            this.job = job;
+            this.task = new FutureTask<>(() -> run(this), null);
+        }
+
+        void onProgress(int processed, int total) {
+            barsProcessed = processed;
+            barCount = total;
+        }
+
+        synchronized boolean start() {
+            if (job.getStatus() != BacktestJobStatus.QUEUED) {
+                return false;
+            }
+            job.setStatus(BacktestJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            startNanos = System.nanoTime();
+            return true;
+        }
+
+        /**
+         * @return true if the job was still queued and is now cancelled, false if its running thread was interrupted.
+         */
+        synchronized boolean cancel() {
+            if (job.getStatus() == BacktestJobStatus.QUEUED) {
+                finish(BacktestJobStatus.CANCELLED, "Backtest cancelled before it started.");
+                task.cancel(false);
+                return true;
+            }
+            cancelRequested = true;
+            task.cancel(true);
+            return false;
+        }
+
+        synchronized void setAccountId(Long accountId) {
+            job.setAccountId(accountId);
+        }
+
+        synchronized boolean isCancelRequested() {
+            return cancelRequested;
+        }
+
+        synchronized void complete(BacktestLedger ledger) {
+            finish(BacktestJobStatus.COMPLETED, null);
+            job.setFinalBalance(ledger.getCashBalance());
+            job.setTotalProfitLoss(ledger.getCashBalance().subtract(AccountConstants.DEFAULT_CAPITAL));
+            job.setMaxDrawdown(ledger.getMaxDrawdown());
+            job.setTradeCount(ledger.getTrades().size());
+            job.setWinningTrades(ledger.getWinningTrades());
+        }
+
+        synchronized void finish(BacktestJobStatus status, String errorMessage) {
+            job.setDurationMillis(elapsedMillis());
+            job.setStatus(status);
+            job.setFinishedAt(LocalDateTime.now());
+            job.setErrorMessage(errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH
+                    ? errorMessage.substring(0, MAX_ERROR_LENGTH) : errorMessage);
+        }
+
+        synchronized BacktestJob snapshot() {
+            BacktestJob copy = job.toBuilder()
+                    .barsProcessed(barsProcessed)
+                    .barCount(barCount)
+                    .build();
+            if (job.getStatus() == BacktestJobStatus.RUNNING) {
+                copy.setDurationMillis(elapsedMillis());
+            }
+            return copy;
+        }
+
+        private long elapsedMillis() {
+            return job.getStartedAt() != null ? (System.nanoTime() - startNanos) / 1_000_000 : 0;
+        }
+    }
+}
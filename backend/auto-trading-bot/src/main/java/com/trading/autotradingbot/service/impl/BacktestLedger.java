@@ -0,0 +1,267 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.FixedPoint;
+import com.trading.autotradingbot.entity.AccountSnapshot;
+import com.trading.autotradingbot.entity.PortfolioHolding;
+import com.trading.autotradingbot.entity.Trade;
+import com.trading.autotradingbot.entity.enums.TradeAction;
+import com.trading.autotradingbot.exception.TradeExecutionConstraintException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory account used for the duration of a backtest.
+ * <p>
+ * Mirrors the behaviour of {@link AllInOrderExecutionService} and {@link SnapshotServiceImpl}, but keeps cash,
+ * holdings, trades and equity snapshots on the heap so that a run makes no database calls per bar.
+ * The accumulated state is written once at the end of the run by {@link TrainingServiceImpl}.
+ * </p>
+ * <p>
+ * Ledgers that are never persisted (e.g. parameter sweeps) can skip storing snapshots; peak equity and
+ * maximum drawdown are tracked either way.
+ * </p>
+ * <p>
+ * Balances and positions are {@link FixedPoint} longs, so replaying a bar allocates nothing unless a trade or
+ * snapshot is recorded. The {@code BigDecimal} overloads convert at the boundary and give identical results.
+ * </p>
+ */
+public class BacktestLedger {
+    private final Long accountId;
+    private final Map<String, Position> positions = new LinkedHashMap<>();
+    private final List<Trade> trades = new ArrayList<>();
+    private final List<AccountSnapshot> snapshots = new ArrayList<>();
+    private final boolean recordSnapshots;
+
+    private long cashBalance;
+    private long portfolioValue;
+    private long peakEquity;
+    private long maxDrawdown;
+    private int winningTrades;
+
+    public BacktestLedger(Long accountId, BigDecimal startingCapital) {
+        this(accountId, startingCapital, true);
+    }
+
+    public BacktestLedger(Long accountId, BigDecimal startingCapital, boolean recordSnapshots) {
+        this.accountId = accountId;
+        this.cashBalance = FixedPoint.fromDecimal(startingCapital);
+        this.portfolioValue = cashBalance;
+        this.peakEquity = cashBalance;
+        this.recordSnapshots = recordSnapshots;
+    }
+
+    public Optional<PortfolioHolding> findHolding(String symbol) {
+        return Optional.ofNullable(positions.get(symbol)).map(position -> toHolding(symbol, position));
+    }
+
+    public boolean hasPosition(String symbol) {
+        return positions.containsKey(symbol);
+    }
+
+    /**
+     * Average entry price of the open position in {@code symbol}, as a {@link FixedPoint} long.
+     *
+     * @throws TradeExecutionConstraintException if there is no open position.
+     */
+    public long avgBuyPriceUnscaled(String symbol) {
+        return getPosition(symbol).avgBuyPrice;
+    }
+
+    /**
+     * Simulated market BUY. Strategy: All-in (99.9% of available cash).
+     */
+    public void executeBuy(String symbol, BigDecimal price, String strategyName) {
+        executeBuy(symbol, FixedPoint.fromDecimal(price), strategyName);
+    }
+
+    public void executeBuy(String symbol, long price, String strategyName) {
+        ExecutionMath.BuyFill fill = ExecutionMath.allInBuy(cashBalance, price);
+
+        cashBalance -= fill.totalSpent();
+        portfolioValue -= fill.fee();
+
+        Position position = positions.computeIfAbsent(symbol, key -> new Position());
+        position.avgBuyPrice = ExecutionMath.averageBuyPrice(position.quantity, position.avgBuyPrice, fill.quantity(), price);
+        position.quantity += fill.quantity();
+
+        trades.add(Trade.builder()
+                .accountId(accountId)
+                .timestamp(LocalDateTime.now())
+                .symbol(symbol)
+                .action(TradeAction.BUY)
+                .quantity(FixedPoint.toDecimal(fill.quantity()))
+                .price(FixedPoint.toDecimal(price))
+                .fee(FixedPoint.toDecimal(fill.fee()))
+                .profitLoss(FixedPoint.toDecimal(-fill.fee()))
+                .finalBalance(FixedPoint.toDecimal(cashBalance))
+                .strategyName(strategyName)
+                .build());
+    }
+
+    /**
+     * Simulated market SELL. Strategy: Sells 100% of the current position.
+     */
+    public void executeSell(String symbol, BigDecimal price, String strategyName) {
+        executeSell(symbol, FixedPoint.fromDecimal(price), strategyName);
+    }
+
+    public void executeSell(String symbol, long price, String strategyName) {
+        Position position = getPosition(symbol);
+
+        long quantityToSell = position.quantity;
+
+        if (quantityToSell <= 0) {
+            throw new IllegalStateException("Cannot SELL zero quantity.");
+        }
+
+        ExecutionMath.SellFill fill = ExecutionMath.sellAll(quantityToSell, position.avgBuyPrice, price);
+
+        cashBalance = cashBalance + fill.revenue() - fill.fee();
+        portfolioValue = cashBalance;
+        positions.remove(symbol);
+
+        if (fill.profitLoss() > 0) {
+            winningTrades++;
+        }
+
+        trades.add(Trade.builder()
+                .accountId(accountId)
+                .timestamp(LocalDateTime.now())
+                .symbol(symbol)
+                .action(TradeAction.SELL)
+                .quantity(FixedPoint.toDecimal(quantityToSell))
+                .price(FixedPoint.toDecimal(price))
+                .fee(FixedPoint.toDecimal(fill.fee()))
+                .profitLoss(FixedPoint.toDecimal(fill.profitLoss()))
+                .finalBalance(FixedPoint.toDecimal(cashBalance))
+                .strategyName(strategyName)
+                .build());
+    }
+
+    /**
+     * Records the current equity of the ledger, valuing every holding at {@code currentMarketPrice}.
+     */
+    public void captureSnapshot(BigDecimal currentMarketPrice, LocalDateTime timestamp) {
+        long totalCryptoValue = revalue(FixedPoint.fromDecimal(currentMarketPrice));
+
+        if (recordSnapshots) {
+            recordSnapshot(totalCryptoValue, timestamp);
+        }
+    }
+
+    /**
+     * Same as {@link #captureSnapshot(BigDecimal, LocalDateTime)} for a {@link FixedPoint} price and an epoch
+     * millisecond timestamp, which is only converted if the snapshot is stored.
+     */
+    public void captureSnapshot(long currentMarketPrice, long timestampMillis) {
+        long totalCryptoValue = revalue(currentMarketPrice);
+
+        if (recordSnapshots) {
+            recordSnapshot(totalCryptoValue, BarColumns.toLocalDateTime(timestampMillis));
+        }
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getCashBalance() {
+        return FixedPoint.toDecimal(cashBalance);
+    }
+
+    public BigDecimal getPortfolioValue() {
+        return FixedPoint.toDecimal(portfolioValue);
+    }
+
+    /**
+     * Largest peak-to-trough equity decline seen by {@link #captureSnapshot}, in account currency.
+     */
+    public BigDecimal getMaxDrawdown() {
+        return FixedPoint.toDecimal(maxDrawdown);
+    }
+
+    public BigDecimal getPeakEquity() {
+        return FixedPoint.toDecimal(peakEquity);
+    }
+
+    /**
+     * Number of SELL trades (including stop-losses) that realized a positive PnL.
+     */
+    public int getWinningTrades() {
+        return winningTrades;
+    }
+
+    public List<PortfolioHolding> getHoldings() {
+        List<PortfolioHolding> holdings = new ArrayList<>(positions.size());
+        positions.forEach((symbol, position) -> holdings.add(toHolding(symbol, position)));
+        return holdings;
+    }
+
+    public List<Trade> getTrades() {
+        return trades;
+    }
+
+    public List<AccountSnapshot> getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Values every position at {@code currentMarketPrice}, updates equity, peak and drawdown, and returns the
+     * total crypto value.
+     */
+    private long revalue(long currentMarketPrice) {
+        long totalCryptoValue = 0;
+
+        for (Position position : positions.values()) {
+            totalCryptoValue += ExecutionMath.positionValue(position.quantity, currentMarketPrice);
+        }
+
+        portfolioValue = cashBalance + totalCryptoValue;
+
+        if (portfolioValue > peakEquity) {
+            peakEquity = portfolioValue;
+        } else {
+            maxDrawdown = Math.max(maxDrawdown, peakEquity - portfolioValue);
+        }
+        return totalCryptoValue;
+    }
+
+    private void recordSnapshot(long totalCryptoValue, LocalDateTime timestamp) {
+        snapshots.add(AccountSnapshot.builder()
+                .accountId(accountId)
+                .timestamp(timestamp)
+                .cashBalance(FixedPoint.toDecimal(cashBalance))
+                .cryptoBalance(FixedPoint.toDecimal(totalCryptoValue))
+                .totalBalance(FixedPoint.toDecimal(portfolioValue))
+                .build());
+    }
+
+    private Position getPosition(String symbol) {
+        Position position = positions.get(symbol);
+        if (position == null) {
+            throw new TradeExecutionConstraintException("Cannot SELL: No holdings found for " + symbol);
+        }
+        return position;
+    }
+
+    private PortfolioHolding toHolding(String symbol, Position position) {
+        return PortfolioHolding.builder()
+                .accountId(accountId)
+                .symbol(symbol)
+                .quantity(FixedPoint.toDecimal(position.quantity))
+                .avgBuyPrice(FixedPoint.toDecimal(position.avgBuyPrice))
+                .build();
+    }
+
+    private static final class Position {
+        long quantity;
+        long avgBuyPrice;
+    }
+}
@@ -0,0 +1,161 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.dto.BacktestResultDto;
+import com.trading.autotradingbot.dto.BatchBacktestReportDto;
+import com.trading.autotradingbot.dto.BatchBacktestRequest;
+import com.trading.autotradingbot.service.BatchBacktestService;
+import com.trading.autotradingbot.service.HistoricalDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+@Service
+public class BatchBacktestServiceImpl implements BatchBacktestService {
+    private static final Logger log = LoggerFactory.getLogger(BatchBacktestServiceImpl.class);
+
+    static final int MAX_BACKTESTS_PER_BATCH = 500;
+    // Cold-cache loads hit the exchange; bound them so a large batch stays within the API rate limits
+    static final int MAX_CONCURRENT_LOADS = 8;
+
+    private final HistoricalDataService historicalDataService;
+    private final Semaphore loadPermits = new Semaphore(MAX_CONCURRENT_LOADS);
+
+    public BatchBacktestServiceImpl(HistoricalDataService historicalDataService) {
+        this.historicalDataService = historicalDataService;
+    }
+
+    /**
+     * Backtests every symbol/interval pair of {@code request} concurrently, one virtual thread per pair.
+     * <p>
+     * Each run has its own strategy instance and an in-memory ledger without an account, so runs share no state and
+     * nothing is written to the database. A failing pair (e.g. unknown symbol, too little data) is reported without aborting the batch.
+     * </p>
+     *
+     * @throws IllegalArgumentException if no symbols/intervals are given or the batch exceeds {@value #MAX_BACKTESTS_PER_BATCH} runs.
+     */
+    @Override
+    public BatchBacktestReportDto runBatch(BatchBacktestRequest request) {
+        Set<String> symbols = normalize(request.getSymbols(), "symbol");
+        Set<String> intervals = normalize(request.getIntervals(), "interval");
+
+        int requested = symbols.size() * intervals.size();
+        if (requested > MAX_BACKTESTS_PER_BATCH) {
+            throw new IllegalArgumentException("Batch has " + requested + " backtests, the maximum is "
+                    + MAX_BACKTESTS_PER_BATCH + ".");
+        }
+
+        long start = System.nanoTime();
+        List<BacktestResultDto> results = new ArrayList<>(requested);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<BacktestResultDto>> futures = new ArrayList<>(requested);
+            for (String symbol : symbols) {
+                for (String interval : intervals) {
+                    futures.add(executor.submit(() -> runSingle(symbol, interval)));
+                }
+            }
+
+            for (Future<BacktestResultDto> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch backtest was interrupted.", e);
+        } catch (ExecutionException e) {
+            // runSingle reports its own failures, so this only happens on errors such as OutOfMemoryError
+            throw new IllegalStateException("Batch backtest failed.", e.getCause());
+        }
+
+        results.sort(Comparator.comparing(BacktestResultDto::isSuccess).reversed()
+                .thenComparing(BacktestResultDto::getTotalProfitLoss, Comparator.nullsLast(Comparator.reverseOrder())));
+
+        int succeeded = (int) results.stream().filter(BacktestResultDto::isSuccess).count();
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Batch backtest finished: {} runs ({} failed) in {} ms.", requested, requested - succeeded, durationMillis);
+
+        return BatchBacktestReportDto.builder()
+                .requested(requested)
+                .succeeded(succeeded)
+                .failed(requested - succeeded)
+                .durationMillis(durationMillis)
+                .results(results)
+                .build();
+    }
+
+    private BacktestResultDto runSingle(String symbol, String interval) {
+        try {
+            BarSeriesView bars = loadBars(symbol, interval);
+
+            RSIStrategyService strategy = new RSIStrategyService();
+            BacktestLedger ledger = new BacktestLedger(null, AccountConstants.DEFAULT_CAPITAL, false);
+
+            BacktestEngine.run(bars, strategy, ledger, strategy.getParameters().stopLossThreshold());
+
+            return BacktestResultDto.builder()
+                    .symbol(symbol)
+                    .interval(interval)
+                    .success(true)
+                    .barCount(bars.size())
+                    .finalBalance(ledger.getCashBalance())
+                    .totalProfitLoss(ledger.getCashBalance().subtract(AccountConstants.DEFAULT_CAPITAL))
+                    .maxDrawdown(ledger.getMaxDrawdown())
+                    .tradeCount(ledger.getTrades().size())
+                    .winningTrades(ledger.getWinningTrades())
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failure(symbol, interval, "Interrupted while waiting for market data.");
+        } catch (RuntimeException e) {
+            log.warn("Backtest for {} ({}) failed: {}", symbol, interval, e.getMessage());
+            return failure(symbol, interval, e.getMessage());
+        }
+    }
+
+    private BarSeriesView loadBars(String symbol, String interval) throws InterruptedException {
+        loadPermits.acquire();
+        try {
+            return historicalDataService.loadBars(symbol, interval);
+        } finally {
+            loadPermits.release();
+        }
+    }
+
+    private static BacktestResultDto failure(String symbol, String interval, String message) {
+        return BacktestResultDto.builder()
+                .symbol(symbol)
+                .interval(interval)
+                .success(false)
+                .errorMessage(message)
+                .build();
+    }
+
+    // Trims, upper-cases symbols and removes duplicates so that no two runs load the same cache entry
+    private static Set<String> normalize(List<String> values, String name) {
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("At least one " + name + " is required.");
+        }
+
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException("Blank " + name + " in batch request.");
+            }
+            normalized.add(name.equals("symbol") ? value.trim().toUpperCase() : value.trim());
+        }
+        return normalized;
+    }
+}
@@ -80,6 +80,26 @@ public class BinanceMarketDataProvider implements MarketDataProvider {
         }
     }
 
+    /**
+     * Fetches one page of candlestick data between {@code startTime} and {@code endTime} (inclusive, by open time).
+     */
+    @Override
+    public List<BarData> getHistoricalData(String symbol, String interval, Instant startTime, Instant endTime, int limit) {
+        KlineInterval klineInterval = getKlineInterval(interval);
+        String url = String.format("%s/klines?symbol=%s&interval=%s&startTime=%d&endTime=%d&limit=%d",
+                baseUrl, symbol, klineInterval.getCode(), startTime.toEpochMilli(), endTime.toEpochMilli(), limit);
+
+        try {
+            return fetchKlines(url, symbol, klineInterval);
+        } catch (HttpClientErrorException e) {
+            log.error("Binance API HTTP error for symbol {}: {}", symbol, e.getMessage());
+            throw new BinanceApiException("Failed to fetch data from Binance API.", e);
+        } catch (Exception e) {
+            log.error("Unexpected error during ranged historical data fetch for {}: {}", symbol, e.getMessage());
+            throw new BinanceApiException("Unexpected error during Binance data fetch.", e);
+        }
+    }
+
     private KlineInterval getKlineInterval(String interval) {
         try {
             return KlineInterval.fromCode(interval);
@@ -93,6 +113,10 @@ public class BinanceMarketDataProvider implements MarketDataProvider {
         String url = String.format("%s/klines?symbol=%s&interval=%s&limit=%d",
                 baseUrl, symbol, interval.getCode(), limit);
 
+        return fetchKlines(url, symbol, interval);
+    }
+
+    private List<BarData> fetchKlines(String url, String symbol, KlineInterval interval) {
         List<BarData> bars = new ArrayList<>();
 
         try {
@@ -0,0 +1,365 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.entity.BarData;
+import com.trading.autotradingbot.entity.enums.KlineInterval;
+import com.trading.autotradingbot.service.MarketTickListener;
+import com.trading.autotradingbot.service.StreamingMarketDataProvider;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Market data over the Binance WebSocket API ({@code <symbol>@trade} and {@code <symbol>@kline_<interval>} streams).
+ * <p>
+ * Live prices are served from the last streamed trade; historical data is still fetched over REST by
+ * {@link BinanceMarketDataProvider}. Dropped connections are re-established with exponential backoff and every
+ * stream subscribed so far is re-subscribed on the new connection.
+ * </p>
+ * <p>
+ * Listeners are called on a single dispatcher thread, never on the socket thread. Trades are conflated per symbol:
+ * if a listener falls behind it receives the latest trade rather than a growing backlog. Closed bars are never dropped.
+ * </p>
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "binance.stream.enabled", havingValue = "true")
+public class BinanceStreamingMarketDataProvider implements StreamingMarketDataProvider {
+    private static final Logger log = LoggerFactory.getLogger(BinanceStreamingMarketDataProvider.class);
+
+    static final Duration DEFAULT_RECONNECT_DELAY = Duration.ofSeconds(1);
+    static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+    // Without a trade for this long, the streamed price is not trusted and REST is used instead
+    static final Duration PRICE_STALENESS = Duration.ofSeconds(10);
+
+    private final BinanceMarketDataProvider restProvider;
+    private final URI streamUri;
+    private final Duration initialReconnectDelay;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService reconnectScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("binance-stream-reconnect").daemon().factory());
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("binance-stream-dispatch").daemon().factory());
+
+    private final Set<String> streams = ConcurrentHashMap.newKeySet();
+    private final Map<String, PricePoint> lastPrices = new ConcurrentHashMap<>();
+    private final Map<String, PricePoint> pendingTrades = new ConcurrentHashMap<>();
+    private final List<MarketTickListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requestIds = new AtomicInteger();
+    private final AtomicBoolean connecting = new AtomicBoolean();
+
+    private volatile boolean running = true;
+    private volatile WebSocket webSocket;
+    private CompletableFuture<WebSocket> sendChain = CompletableFuture.completedFuture(null);
+    private int reconnectAttempts;
+
+    // quantity is the volume of every trade coalesced into this point
+    private record PricePoint(BigDecimal price, BigDecimal quantity, long eventTime, long receivedAt) {
+
+        private PricePoint coalesce(PricePoint later) {
+            return new PricePoint(later.price, quantity.add(later.quantity), later.eventTime, later.receivedAt);
+        }
+    }
+
+    @Autowired
+    public BinanceStreamingMarketDataProvider(BinanceMarketDataProvider restProvider,
+                                              @Value("${binance.stream.url}") String streamUrl) {
+        this(restProvider, URI.create(streamUrl), DEFAULT_RECONNECT_DELAY);
+    }
+
+    BinanceStreamingMarketDataProvider(BinanceMarketDataProvider restProvider, URI streamUri,
+                                       Duration initialReconnectDelay) {
+        this.restProvider = restProvider;
+        this.streamUri = streamUri;
+        this.initialReconnectDelay = initialReconnectDelay;
+    }
+
+    /**
+     * Last streamed trade price, or a REST lookup if the symbol is not streamed yet, the stream is down or the price is stale.
+     * A REST fallback also subscribes to the symbol's trade stream so that later calls are served from the stream.
+     */
+    @Override
+    public BigDecimal getLivePrice(String symbol) {
+        PricePoint last = lastPrices.get(symbol.toUpperCase());
+
+        if (last != null && isConnected()
+                && System.currentTimeMillis() - last.receivedAt() <= PRICE_STALENESS.toMillis()) {
+            return last.price();
+        }
+
+        addStreams(List.of(tradeStream(symbol)));
+        return restProvider.getLivePrice(symbol);
+    }
+
+    @Override
+    public List<BarData> getHistoricalData(String symbol, String interval, int limit) {
+        return restProvider.getHistoricalData(symbol, interval, limit);
+    }
+
+    @Override
+    public List<BarData> getHistoricalData(String symbol, String interval, Instant startTime, Instant endTime, int limit) {
+        return restProvider.getHistoricalData(symbol, interval, startTime, endTime, limit);
+    }
+
+    @Override
+    public void subscribe(String symbol, String interval) {
+        KlineInterval klineInterval = KlineInterval.fromCode(interval);
+
+        addStreams(List.of(tradeStream(symbol), symbol.toLowerCase() + "@kline_" + klineInterval.getCode()));
+    }
+
+    @Override
+    public void addTickListener(MarketTickListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return webSocket != null;
+    }
+
+    @PreDestroy
+    void close() {
+        running = false;
+        WebSocket current = webSocket;
+        webSocket = null;
+
+        if (current != null) {
+            current.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown");
+        }
+        reconnectScheduler.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
+    private static String tradeStream(String symbol) {
+        return symbol.toLowerCase() + "@trade";
+    }
+
+    private void addStreams(Collection<String> requested) {
+        List<String> added = requested.stream().filter(streams::add).toList();
+
+        if (added.isEmpty()) {
+            return;
+        }
+
+        WebSocket current = webSocket;
+        if (current != null) {
+            sendSubscribe(current, added);
+        } else {
+            connect();
+        }
+    }
+
+    private void connect() {
+        if (!running || webSocket != null || !connecting.compareAndSet(false, true)) {
+            return;
+        }
+
+        log.info("Connecting to market stream {}", streamUri);
+
+        httpClient.newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .buildAsync(streamUri, new StreamListener())
+                .whenComplete((ws, error) -> {
+                    connecting.set(false);
+                    if (error != null) {
+                        log.warn("Market stream connection failed: {}", error.getMessage());
+                        scheduleReconnect();
+                    }
+                });
+    }
+
+    private synchronized void scheduleReconnect() {
+        if (!running) {
+            return;
+        }
+
+        long delayMillis = Math.min(initialReconnectDelay.toMillis() << Math.min(reconnectAttempts, 16),
+                MAX_RECONNECT_DELAY.toMillis());
+        reconnectAttempts++;
+
+        log.info("Reconnecting to market stream in {} ms (attempt {}).", delayMillis, reconnectAttempts);
+        reconnectScheduler.schedule(this::connect, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void onConnected(WebSocket ws) {
+        reconnectAttempts = 0;
+        sendChain = CompletableFuture.completedFuture(ws);
+        webSocket = ws;
+
+        if (!streams.isEmpty()) {
+            sendSubscribe(ws, List.copyOf(streams));
+        }
+        log.info("Market stream connected, {} stream(s) subscribed.", streams.size());
+    }
+
+    private synchronized void onDisconnected(WebSocket ws) {
+        ws.abort();
+        if (webSocket != ws) {
+            return;
+        }
+        webSocket = null;
+        scheduleReconnect();
+    }
+
+    // WebSocket allows only one outstanding send, so messages are chained
+    private synchronized void sendSubscribe(WebSocket ws, List<String> streamNames) {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("method", "SUBSCRIBE");
+        ArrayNode params = request.putArray("params");
+        streamNames.forEach(params::add);
+        request.put("id", requestIds.incrementAndGet());
+
+        String message = objectMapper.writeValueAsString(request);
+        sendChain = sendChain.handle((ignored, error) -> null)
+                .thenCompose(ignored -> ws.sendText(message, true));
+    }
+
+    private void handleMessage(String text) {
+        JsonNode node = objectMapper.readTree(text);
+
+        // Combined streams (/stream?streams=...) wrap the payload
+        if (node.has("stream") && node.has("data")) {
+            node = node.get("data");
+        }
+
+        String eventType = node.path("e").textValue();
+        if ("trade".equals(eventType)) {
+            handleTrade(node);
+        } else if ("kline".equals(eventType)) {
+            handleKline(node.get("k"));
+        } else if (node.has("error")) {
+            log.warn("Market stream request failed: {}", node.get("error"));
+        }
+    }
+
+    private void handleTrade(JsonNode trade) {
+        String symbol = trade.path("s").textValue();
+        PricePoint point = new PricePoint(new BigDecimal(trade.path("p").textValue()),
+                new BigDecimal(trade.path("q").textValue()), trade.path("T").asLong(), System.currentTimeMillis());
+
+        lastPrices.put(symbol, point);
+
+        // A trade arriving before the previous one was delivered replaces it, adding its volume
+        if (pendingTrades.merge(symbol, point, PricePoint::coalesce) == point) {
+            dispatcher.execute(() -> deliverTrade(symbol));
+        }
+    }
+
+    private void handleKline(JsonNode kline) {
+        if (!kline.path("x").asBoolean()) {
+            return;
+        }
+
+        BarData bar = BarData.builder()
+                .symbol(kline.path("s").textValue())
+                .interval(kline.path("i").textValue())
+                .openTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(kline.path("t").asLong()), ZoneId.systemDefault()))
+                .openPrice(new BigDecimal(kline.path("o").textValue()))
+                .highPrice(new BigDecimal(kline.path("h").textValue()))
+                .lowPrice(new BigDecimal(kline.path("l").textValue()))
+                .closePrice(new BigDecimal(kline.path("c").textValue()))
+                .volume(new BigDecimal(kline.path("v").textValue()))
+                .build();
+
+        dispatcher.execute(() -> {
+            for (MarketTickListener listener : listeners) {
+                try {
+                    listener.onBarClosed(bar);
+                } catch (RuntimeException e) {
+                    log.error("Market listener failed on closed bar {} {}: {}", bar.getSymbol(), bar.getOpenTime(), e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    private void deliverTrade(String symbol) {
+        PricePoint point = pendingTrades.remove(symbol);
+        if (point == null) {
+            return;
+        }
+
+        ZonedDateTime timestamp = ZonedDateTime.ofInstant(Instant.ofEpochMilli(point.eventTime()), ZoneId.systemDefault());
+        for (MarketTickListener listener : listeners) {
+            try {
+                listener.onTrade(symbol, point.price(), point.quantity(), timestamp);
+            } catch (RuntimeException e) {
+                log.error("Market listener failed on trade for {}: {}", symbol, e.getMessage(), e);
+            }
+        }
+    }
+
+    private class StreamListener implements WebSocket.Listener {
+        private final StringBuilder buffer = new StringBuilder();
+
+        @Override
+        public void onOpen(WebSocket ws) {
+            onConnected(ws);
+            ws.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            buffer.append(data);
+
+            if (last) {
+                try {
+                    handleMessage(buffer.toString());
+                } catch (RuntimeException e) {
+                    log.warn("Ignoring malformed market stream message: {}", e.getMessage());
+                }
+                buffer.setLength(0);
+            }
+
+            ws.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+            log.warn("Market stream closed by server ({}): {}", statusCode, reason);
+            onDisconnected(ws);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket ws, Throwable error) {
+            log.warn("Market stream error: {}", error.getMessage());
+            onDisconnected(ws);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.trading.autotradingbot.service.impl;
 
+import com.trading.autotradingbot.dto.DashboardEvent;
 import com.trading.autotradingbot.entity.BotConfig;
 import com.trading.autotradingbot.entity.enums.BotStatus;
+import com.trading.autotradingbot.entity.enums.DashboardEventType;
 import com.trading.autotradingbot.entity.enums.TradingMode;
+import com.trading.autotradingbot.mapper.BotConfigMapper;
 import com.trading.autotradingbot.repository.BotConfigRepository;
 import com.trading.autotradingbot.service.BotManagementService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,9 +16,14 @@ import org.springframework.transaction.annotation.Transactional;
 public class BotManagementServiceImpl implements BotManagementService {
 
     private final BotConfigRepository botConfigRepository;
+    private final BotConfigMapper botConfigMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BotManagementServiceImpl(BotConfigRepository botConfigRepository) {
+    public BotManagementServiceImpl(BotConfigRepository botConfigRepository, BotConfigMapper botConfigMapper,
+                                    ApplicationEventPublisher eventPublisher) {
         this.botConfigRepository = botConfigRepository;
+        this.botConfigMapper = botConfigMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     private void checkNotRunning() {
@@ -33,6 +42,8 @@ public class BotManagementServiceImpl implements BotManagementService {
     public void switchMode(TradingMode mode) {
         checkNotRunning();
         botConfigRepository.updateMode(mode);
+        // The dashboard shows the account of the active mode, so everything changes
+        eventPublisher.publishEvent(DashboardEvent.stateChanged());
     }
 
     @Override
@@ -40,11 +51,17 @@ public class BotManagementServiceImpl implements BotManagementService {
     public void changeSymbol(String symbol) {
         checkNotRunning();
         botConfigRepository.updateSymbol(symbol);
+        publishConfig();
     }
 
     @Override
     @Transactional
     public void setStatus(BotStatus status) {
         botConfigRepository.updateStatus(status);
+        publishConfig();
+    }
+
+    private void publishConfig() {
+        eventPublisher.publishEvent(DashboardEvent.of(DashboardEventType.CONFIG, botConfigMapper.toDto(getConfig())));
     }
 }
\ No newline at end of file
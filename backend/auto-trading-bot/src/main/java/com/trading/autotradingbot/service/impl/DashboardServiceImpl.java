@@ -1,41 +1,69 @@
 package com.trading.autotradingbot.service.impl;
 
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.common.LttbDownsampler;
 import com.trading.autotradingbot.entity.*;
 import com.trading.autotradingbot.dto.AccountSummaryDto;
+import com.trading.autotradingbot.dto.ChangesPageDto;
 import com.trading.autotradingbot.entity.enums.TradingMode;
 import com.trading.autotradingbot.repository.*;
 import com.trading.autotradingbot.service.BotManagementService;
 import com.trading.autotradingbot.service.DashboardService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.LongPredicate;
+import java.util.function.ToLongFunction;
 
 @Service
 public class DashboardServiceImpl implements DashboardService {
+    static final int DEFAULT_PERFORMANCE_POINTS = 1000;
+    static final int MAX_PERFORMANCE_POINTS = 10_000;
+    static final int DEFAULT_CHANGES_LIMIT = 500;
+    static final int MAX_CHANGES_LIMIT = 5000;
+
+    private static final LocalDateTime EARLIEST_TIMESTAMP = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
 
     private final AccountRepository accountRepository;
     private final TradeRepository tradeRepository;
     private final PortfolioRepository portfolioRepository;
     private final SnapshotRepository snapshotRepository;
     private final BarDataRepository barDataRepository;
+    private final BacktestJobRepository backtestJobRepository;
     private final BotManagementService botManagementService;
 
+    @FunctionalInterface
+    private interface PageQuery<T> {
+        List<T> find(long afterId, LocalDateTime since, int limit);
+    }
+
     // Constructor Injection (All Repositories and Services)
     public DashboardServiceImpl(AccountRepository accountRepository, TradeRepository tradeRepository,
                                 PortfolioRepository portfolioRepository, SnapshotRepository snapshotRepository,
-                                BarDataRepository barDataRepository, BotManagementService botManagementService) {
+                                BarDataRepository barDataRepository, BacktestJobRepository backtestJobRepository,
+                                BotManagementService botManagementService) {
         this.accountRepository = accountRepository;
         this.tradeRepository = tradeRepository;
         this.portfolioRepository = portfolioRepository;
         this.snapshotRepository = snapshotRepository;
         this.barDataRepository = barDataRepository;
+        this.backtestJobRepository = backtestJobRepository;
         this.botManagementService = botManagementService;
     }
 
     @Override
     public AccountSummaryDto getAccountSummary() {
-        Long accountId = getActiveAccountId();
+        Optional<Long> activeAccountId = getActiveAccountId();
+        if (activeAccountId.isEmpty()) {
+            return emptySummary();
+        }
+        Long accountId = activeAccountId.get();
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new RuntimeException("Account not found."));
 
@@ -52,26 +80,96 @@ public class DashboardServiceImpl implements DashboardService {
         return summary;
     }
 
-    private Long getActiveAccountId() {
+    /**
+     * The LIVE account when trading; when training, the simulation account of the latest completed training run, if
+     * there is one.
+     */
+    private Optional<Long> getActiveAccountId() {
         TradingMode mode = botManagementService.getConfig().getTradingMode();
-        // LIVE is ID 1, BACKTEST is ID 2
-        return (mode == TradingMode.TRADING) ? 1L : 2L;
+        if (mode == TradingMode.TRADING) {
+            return Optional.of(AccountConstants.LIVE_ACCOUNT_ID);
+        }
+        return backtestJobRepository.findLatestCompletedAccountId();
+    }
+
+    // Before the first training run the dashboard shows an untouched account
+    private static AccountSummaryDto emptySummary() {
+        AccountSummaryDto summary = new AccountSummaryDto();
+        summary.setInitialCapital(AccountConstants.DEFAULT_CAPITAL);
+        summary.setCurrentBalance(AccountConstants.DEFAULT_CAPITAL);
+        summary.setCurrentPortfolioValue(AccountConstants.DEFAULT_CAPITAL);
+        summary.setTotalProfitLoss(BigDecimal.ZERO);
+        return summary;
     }
 
 
+    /**
+     * Returns the equity curve of the active account within {@code [from, to]} (both optional), reduced to at most
+     * {@code points} snapshots with Largest-Triangle-Three-Buckets. The snapshots are streamed from the database in
+     * one pass, so neither the response nor the memory needed grows with the account's history.
+     *
+     * @throws IllegalArgumentException if the range is inverted or {@code points} is out of range.
+     */
     @Override
-    public List<AccountSnapshot> getAccountPerformance() {
-        return snapshotRepository.findAllByAccountId(getActiveAccountId());
+    @Transactional(readOnly = true)
+    public List<AccountSnapshot> getAccountPerformance(LocalDateTime from, LocalDateTime to, Integer points) {
+        LocalDateTime start = from != null ? from : EARLIEST_TIMESTAMP;
+        LocalDateTime end = to != null ? to : LATEST_TIMESTAMP;
+        int threshold = points != null ? points : DEFAULT_PERFORMANCE_POINTS;
+
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Performance range must not end before it starts, got " + from + " - " + to);
+        }
+        if (threshold < 3 || threshold > MAX_PERFORMANCE_POINTS) {
+            throw new IllegalArgumentException("Performance points must be between 3 and " + MAX_PERFORMANCE_POINTS
+                    + ", got " + threshold);
+        }
+
+        Optional<Long> activeAccountId = getActiveAccountId();
+        if (activeAccountId.isEmpty()) {
+            return List.of();
+        }
+        Long accountId = activeAccountId.get();
+        int total = snapshotRepository.countByAccountIdBetween(accountId, start, end);
+
+        LttbDownsampler<AccountSnapshot> downsampler = new LttbDownsampler<>(total, threshold,
+                snapshot -> snapshot.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                snapshot -> snapshot.getTotalBalance().doubleValue());
+        snapshotRepository.streamByAccountIdBetween(accountId, start, end, total, downsampler);
+
+        return downsampler.finish();
     }
 
     @Override
     public List<Trade> getTradeHistory() {
-        return tradeRepository.findAllByAccountId(getActiveAccountId());
+        return getActiveAccountId().map(tradeRepository::findAllByAccountId).orElse(List.of());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChangesPageDto<Trade> getTradeChanges(Long afterId, LocalDateTime since, Integer limit) {
+        Optional<Long> accountId = getActiveAccountId();
+        return findChanges(afterId, since, limit, Trade::getId,
+                id -> accountId.isPresent() && tradeRepository.existsByIdAndAccountId(id, accountId.get()),
+                (after, from, max) -> accountId
+                        .map(account -> tradeRepository.findPageByAccountId(account, after, from, max))
+                        .orElse(List.of()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChangesPageDto<AccountSnapshot> getPerformanceChanges(Long afterId, LocalDateTime since, Integer limit) {
+        Optional<Long> accountId = getActiveAccountId();
+        return findChanges(afterId, since, limit, AccountSnapshot::getId,
+                id -> accountId.isPresent() && snapshotRepository.existsByIdAndAccountId(id, accountId.get()),
+                (after, from, max) -> accountId
+                        .map(account -> snapshotRepository.findPageByAccountId(account, after, from, max))
+                        .orElse(List.of()));
     }
 
     @Override
     public List<PortfolioHolding> getCurrentHoldings() {
-        return portfolioRepository.findAllByAccountId(getActiveAccountId());
+        return getActiveAccountId().map(portfolioRepository::findAllByAccountId).orElse(List.of());
     }
 
     @Override
@@ -81,4 +179,39 @@ public class DashboardServiceImpl implements DashboardService {
                 config.getSelectedSymbol(), interval
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Delta sync over an append-only table: the rows added after version {@code afterId} (the last id the client
+     * holds), one keyset page at a time. Ids are never reused, so if the client's last row is gone the account was
+     * reset or switched and the client is told to start over.
+     */
+    private static <T> ChangesPageDto<T> findChanges(Long afterId, LocalDateTime since, Integer limit,
+                                                     ToLongFunction<T> idOf, LongPredicate exists, PageQuery<T> query) {
+        long after = afterId != null ? afterId : 0;
+        int pageSize = limit != null ? limit : DEFAULT_CHANGES_LIMIT;
+
+        if (after < 0) {
+            throw new IllegalArgumentException("afterId must not be negative, got " + after);
+        }
+        if (pageSize < 1 || pageSize > MAX_CHANGES_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CHANGES_LIMIT + ", got " + pageSize);
+        }
+
+        boolean reset = after > 0 && !exists.test(after);
+        if (reset) {
+            after = 0;
+        }
+
+        // One extra row tells whether another page follows
+        List<T> rows = query.find(after, since != null ? since : EARLIEST_TIMESTAMP, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return ChangesPageDto.<T>builder()
+                .items(items)
+                .version(items.isEmpty() ? after : idOf.applyAsLong(items.getLast()))
+                .hasMore(hasMore)
+                .reset(reset)
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.dto.DashboardEvent;
+import com.trading.autotradingbot.dto.DashboardStateDto;
+import com.trading.autotradingbot.entity.enums.DashboardEventType;
+import com.trading.autotradingbot.mapper.BotConfigMapper;
+import com.trading.autotradingbot.service.BotManagementService;
+import com.trading.autotradingbot.service.DashboardService;
+import com.trading.autotradingbot.service.DashboardStreamService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes dashboard events to browsers over Server-Sent Events.
+ * <p>
+ * Events are published by the trading services as application events and delivered after their transaction commits.
+ * All sends happen on one dispatcher thread, so the trading loop never waits on a slow client and every subscriber
+ * sees events in publication order. Ticks are conflated: if several arrive while the dispatcher is busy, only the
+ * latest is sent. Streams time out after {@code STREAM_TIMEOUT}; {@code EventSource} then reconnects and receives
+ * a fresh state.
+ * </p>
+ */
+@Service
+public class DashboardStreamServiceImpl implements DashboardStreamService {
+    private static final Logger log = LoggerFactory.getLogger(DashboardStreamServiceImpl.class);
+
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+
+    private final DashboardService dashboardService;
+    private final BotManagementService botManagementService;
+    private final BotConfigMapper botConfigMapper;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("dashboard-events").factory());
+    private final AtomicReference<Object> pendingTick = new AtomicReference<>();
+
+    public DashboardStreamServiceImpl(DashboardService dashboardService, BotManagementService botManagementService,
+                                      BotConfigMapper botConfigMapper) {
+        this.dashboardService = dashboardService;
+        this.botManagementService = botManagementService;
+        this.botConfigMapper = botConfigMapper;
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        // Registered on the dispatcher, so no event can slip in between the state and the subscription
+        dispatch(() -> {
+            try {
+                if (send(emitter, DashboardEventType.STATE, buildState())) {
+                    emitters.add(emitter);
+                }
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+                throw e;
+            }
+        });
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDashboardEvent(DashboardEvent event) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case TICK -> {
+                if (pendingTick.getAndSet(event.getPayload()) == null) {
+                    dispatch(() -> broadcast(DashboardEventType.TICK, pendingTick.getAndSet(null)));
+                }
+            }
+            case STATE -> dispatch(() -> broadcast(DashboardEventType.STATE,
+                    event.getPayload() != null ? event.getPayload() : buildState()));
+            default -> dispatch(() -> broadcast(event.getType(), event.getPayload()));
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedRate = 15000)
+    void sendHeartbeat() {
+        if (!emitters.isEmpty()) {
+            dispatch(() -> emitters.forEach(emitter -> send(emitter, SseEmitter.event().comment("heartbeat"))));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+        emitters.clear();
+    }
+
+    private DashboardStateDto buildState() {
+        return DashboardStateDto.builder()
+                .config(botConfigMapper.toDto(botManagementService.getConfig()))
+                .summary(dashboardService.getAccountSummary())
+                .trades(dashboardService.getTradeHistory())
+                .holdings(dashboardService.getCurrentHoldings())
+                .performance(dashboardService.getAccountPerformance(null, null, null))
+                .build();
+    }
+
+    private void broadcast(DashboardEventType type, Object payload) {
+        emitters.forEach(emitter -> send(emitter, type, payload));
+    }
+
+    private boolean send(SseEmitter emitter, DashboardEventType type, Object payload) {
+        return send(emitter, SseEmitter.event().name(type.name()).data(payload, MediaType.APPLICATION_JSON));
+    }
+
+    private boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping dashboard subscriber: {}", e.getMessage());
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Dashboard event dispatch failed: {}", e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Dashboard event dropped during shutdown.");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.FixedPoint;
+
+import java.math.RoundingMode;
+
+import static com.trading.autotradingbot.common.AccountConstants.STOP_LOSS_THRESHOLD;
+
+/**
+ * Fill and valuation arithmetic on {@link FixedPoint} longs (scaled by 10^8). Every result is rounded exactly like
+ * the {@code BigDecimal} calculation it replaces ({@code setScale(SCALE, mode)} after each multiplication or
+ * division), so callers convert to {@code BigDecimal} only when persisting.
+ */
+// Utility class
+public final class ExecutionMath {
+    static final long FEE_RATE = 100_000L; // 0.1% flat fee for now
+    static final long BUY_ALLOCATION_FACTOR = 99_900_000L; // 99.9% allocation for fee buffer
+    static final long DEFAULT_STOP_LOSS_THRESHOLD = FixedPoint.fromDecimal(STOP_LOSS_THRESHOLD);
+
+    private ExecutionMath() {}
+
+    public record BuyFill(long quantity, long fee, long totalSpent) {}
+
+    public record SellFill(long revenue, long fee, long profitLoss) {}
+
+    /**
+     * Sizes an all-in market BUY: 99.9% of the available cash is spent and the flat fee is charged on top.
+     */
+    public static BuyFill allInBuy(long cashAvailable, long price) {
+        long amountToSpend = FixedPoint.multiply(cashAvailable, BUY_ALLOCATION_FACTOR, RoundingMode.DOWN);
+
+        if (amountToSpend <= 0) {
+            throw new IllegalStateException("Insufficient funds: Cash available is less than the minimum spendable amount.");
+        }
+
+        long quantity = FixedPoint.divide(amountToSpend, price, RoundingMode.DOWN);
+        long fee = FixedPoint.multiply(amountToSpend, FEE_RATE, RoundingMode.HALF_UP);
+
+        return new BuyFill(quantity, fee, amountToSpend + fee);
+    }
+
+    /**
+     * Weighted average entry price after adding {@code quantity} at {@code price} to an existing holding
+     * ({@code existingQuantity} of zero for a new position).
+     */
+    public static long averageBuyPrice(long existingQuantity, long existingAvgPrice, long quantity, long price) {
+        if (existingQuantity == 0) {
+            return price;
+        }
+
+        return FixedPoint.weightedAverage(existingQuantity, existingAvgPrice, quantity, price, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Prices a market SELL of the whole position. PnL = (Revenue - Cost Basis) - Fee.
+     */
+    public static SellFill sellAll(long quantityToSell, long avgBuyPrice, long price) {
+        long totalRevenue = FixedPoint.multiply(price, quantityToSell, RoundingMode.HALF_UP);
+        long fee = FixedPoint.multiply(totalRevenue, FEE_RATE, RoundingMode.HALF_UP);
+
+        long costBasis = FixedPoint.multiply(avgBuyPrice, quantityToSell, RoundingMode.HALF_UP);
+        long profitLoss = totalRevenue - costBasis - fee;
+
+        return new SellFill(totalRevenue, fee, profitLoss);
+    }
+
+    /**
+     * Checks if the current price has dropped 2% or more below the average buy price.
+     */
+    public static boolean isStopLossTriggered(long avgBuyPrice, long currentPrice) {
+        return isStopLossTriggered(avgBuyPrice, currentPrice, DEFAULT_STOP_LOSS_THRESHOLD);
+    }
+
+    /**
+     * Checks if the current price has dropped to {@code threshold} (e.g. 0.98) of the average buy price or below.
+     */
+    public static boolean isStopLossTriggered(long avgBuyPrice, long currentPrice, long threshold) {
+        long triggerPrice = FixedPoint.multiply(avgBuyPrice, threshold, RoundingMode.HALF_UP);
+
+        return currentPrice <= triggerPrice;
+    }
+
+    /**
+     * Market value of a position, rounded to the account scale.
+     */
+    public static long positionValue(long quantity, long currentMarketPrice) {
+        return FixedPoint.multiply(quantity, currentMarketPrice, RoundingMode.HALF_UP);
+    }
+}
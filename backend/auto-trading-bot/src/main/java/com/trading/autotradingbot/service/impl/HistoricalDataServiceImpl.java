@@ -0,0 +1,258 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarAggregator;
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.entity.BarData;
+import com.trading.autotradingbot.entity.enums.KlineInterval;
+import com.trading.autotradingbot.repository.BarColumnStore;
+import com.trading.autotradingbot.repository.BarDataRepository;
+import com.trading.autotradingbot.repository.BarDataRepository.CoverageRange;
+import com.trading.autotradingbot.service.HistoricalDataService;
+import com.trading.autotradingbot.service.KlineDownloadService;
+import com.trading.autotradingbot.service.MarketDataProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class HistoricalDataServiceImpl implements HistoricalDataService {
+    private static final Logger log = LoggerFactory.getLogger(HistoricalDataServiceImpl.class);
+
+    static final int INITIAL_BAR_LIMIT = 1000;
+
+    private final BarDataRepository barDataRepository;
+    private final BarColumnStore barColumnStore;
+    private final MarketDataProvider marketDataProvider;
+    private final KlineDownloadService klineDownloadService;
+
+    public HistoricalDataServiceImpl(BarDataRepository barDataRepository, BarColumnStore barColumnStore,
+                                     MarketDataProvider marketDataProvider, KlineDownloadService klineDownloadService) {
+        this.barDataRepository = barDataRepository;
+        this.barColumnStore = barColumnStore;
+        this.marketDataProvider = marketDataProvider;
+        this.klineDownloadService = klineDownloadService;
+    }
+
+    /**
+     * Returns the cached bars for {@code symbol}/{@code interval}, first fetching whatever part of the most recent
+     * {@value #INITIAL_BAR_LIMIT} bars the cache does not cover yet.
+     * <p>
+     * A cold cache is filled with a single request for the latest bars. A warm cache only downloads its missing
+     * segments (usually just the bars closed since the last call), so restarts cost no extra exchange requests.
+     * </p>
+     * <p>
+     * An interval that was never fetched is rolled up from the finer cached interval with the longest history, if
+     * there is one, after bringing that interval up to date. The roll-up is only used if it holds
+     * {@value #INITIAL_BAR_LIMIT} bars or reaches back as far, and is then cached like downloaded bars; a shorter one is
+     * dropped and the interval downloaded instead.
+     * </p>
+     * <p>
+     * The returned series (heap columns or a memory-mapped archive file) is immutable and may be shared between
+     * concurrent backtests.
+     * </p>
+     */
+    @Override
+    public BarSeriesView loadBars(String symbol, String interval) {
+        KlineInterval klineInterval = KlineInterval.fromCode(interval);
+        long barMillis = klineInterval.getDuration().toMillis();
+        List<CoverageRange> coverage = findOrAdoptCoverage(symbol, interval);
+
+        if (coverage.isEmpty()) {
+            Optional<KlineInterval> source = findAggregationSource(symbol, klineInterval);
+            if (source.isPresent()) {
+                loadBars(symbol, source.get().getCode());
+                BarSeriesView aggregated = barColumnStore.getAggregated(symbol, source.get(), klineInterval);
+                if (coversInitialWindow(aggregated, barMillis)) {
+                    log.debug("Serving {} ({}) from cached {} bars", symbol, interval, source.get().getCode());
+                    saveRollUp(symbol, source.get(), klineInterval, aggregated);
+                    return aggregated;
+                }
+                log.debug("Only {} bars of {} ({}) roll up from cached {} bars, downloading instead",
+                        aggregated.size(), symbol, interval, source.get().getCode());
+            }
+
+            List<BarData> freshData = marketDataProvider.getHistoricalData(symbol, interval, INITIAL_BAR_LIMIT);
+            barDataRepository.saveAll(freshData);
+
+            if (!freshData.isEmpty()) {
+                // Upserts can overwrite bars without changing the cache stats the column store validates against
+                barColumnStore.invalidate(symbol, interval);
+                long lastClosedOpenTime = System.currentTimeMillis() - barMillis;
+                barDataRepository.addCoverage(symbol, interval,
+                        BarColumns.toEpochMillis(freshData.getFirst().getOpenTime()),
+                        Math.min(BarColumns.toEpochMillis(freshData.getLast().getOpenTime()), lastClosedOpenTime));
+            }
+        } else {
+            long now = System.currentTimeMillis();
+
+            for (CoverageRange missing : findMissing(coverage, now - INITIAL_BAR_LIMIT * barMillis, now)) {
+                if (containsBarOpen(missing, klineInterval)) {
+                    log.info("Filling cache gap for {} ({}): {} - {}", symbol, interval,
+                            Instant.ofEpochMilli(missing.startTime()), Instant.ofEpochMilli(missing.endTime()));
+                    klineDownloadService.download(symbol, interval,
+                            Instant.ofEpochMilli(missing.startTime()), Instant.ofEpochMilli(missing.endTime()));
+                }
+            }
+        }
+
+        return barColumnStore.get(symbol, interval);
+    }
+
+    /**
+     * Upserts {@code bar} and extends the coverage back to the previous bar's open time, which touches the coverage
+     * of a series cached up to that bar, so a live stream keeps the cache one contiguous range.
+     */
+    @Override
+    public void saveClosedBar(BarData bar) {
+        KlineInterval klineInterval = KlineInterval.fromCode(bar.getInterval());
+        long openTime = BarColumns.toEpochMillis(bar.getOpenTime());
+
+        barDataRepository.saveAll(List.of(bar));
+        barColumnStore.invalidate(bar.getSymbol(), bar.getInterval());
+        // No bar opens between the previous bar and this one
+        long previousOpenTime = BarAggregator.bucketStart(openTime - 1, klineInterval);
+        barDataRepository.addCoverage(bar.getSymbol(), bar.getInterval(), previousOpenTime + 1, openTime);
+    }
+
+    /**
+     * Whether rolled-up bars can stand in for the initial download: at least as many bars, or as much history.
+     */
+    private static boolean coversInitialWindow(BarSeriesView bars, long barMillis) {
+        if (bars.isEmpty()) {
+            return false;
+        }
+        return bars.size() >= INITIAL_BAR_LIMIT
+                || bars.openTime(0) <= System.currentTimeMillis() - INITIAL_BAR_LIMIT * barMillis;
+    }
+
+    /**
+     * Caches rolled-up bars under their own interval, so later loads only top up the tail from the exchange. Only bars
+     * whose source bars all lie in one covered range of the source interval are cached and covered, and, as for
+     * downloads, only closed ones: a bar built over a gap in the source or from a forming bar is downloaded later.
+     */
+    private void saveRollUp(String symbol, KlineInterval source, KlineInterval target, BarSeriesView bars) {
+        long sourceMillis = source.getDuration().toMillis();
+        long lastClosedOpenTime = System.currentTimeMillis() - target.getDuration().toMillis();
+        List<CoverageRange> sourceCoverage = barDataRepository.findCoverage(symbol, source.getCode());
+
+        List<BarData> rows = new ArrayList<>(bars.size());
+        List<CoverageRange> covered = new ArrayList<>();
+        int range = 0;
+        CoverageRange runSource = null;
+        long runStart = 0;
+        long runEnd = 0;
+
+        for (int i = 0; i < bars.size(); i++) {
+            long openTime = bars.openTime(i);
+            long lastSourceOpen = BarAggregator.bucketEnd(openTime, target) - sourceMillis;
+            while (range < sourceCoverage.size() && sourceCoverage.get(range).endTime() < lastSourceOpen) {
+                range++;
+            }
+            CoverageRange backing = range < sourceCoverage.size() && sourceCoverage.get(range).startTime() <= openTime
+                    ? sourceCoverage.get(range) : null;
+
+            if (backing == null || openTime > lastClosedOpenTime) {
+                continue;
+            }
+            rows.add(bars.toBarData(i));
+            if (backing != runSource) {
+                if (runSource != null) {
+                    covered.add(new CoverageRange(runStart, runEnd));
+                }
+                runSource = backing;
+                runStart = openTime;
+            }
+            runEnd = openTime;
+        }
+        if (runSource != null) {
+            covered.add(new CoverageRange(runStart, runEnd));
+        }
+
+        barDataRepository.saveAll(rows);
+        barColumnStore.invalidate(symbol, target.getCode());
+        for (CoverageRange stretch : covered) {
+            barDataRepository.addCoverage(symbol, target.getCode(), stretch.startTime(), stretch.endTime());
+        }
+    }
+
+    /**
+     * The fetched interval of {@code symbol} that rolls up into {@code target} and reaches back furthest; the coarsest
+     * one on a tie, as it has the fewest bars to aggregate.
+     */
+    private Optional<KlineInterval> findAggregationSource(String symbol, KlineInterval target) {
+        Map<String, Long> coverageStarts = barDataRepository.findCoverageStarts(symbol);
+
+        return coverageStarts.keySet().stream()
+                .map(KlineInterval::fromCode)
+                .filter(candidate -> BarAggregator.canAggregate(candidate, target))
+                .min(Comparator.<KlineInterval>comparingLong(candidate -> coverageStarts.get(candidate.getCode()))
+                        .thenComparing(KlineInterval::getDuration, Comparator.reverseOrder()));
+    }
+
+    /**
+     * Coverage of the cache. Bars cached before coverage was tracked are adopted as one covered range.
+     */
+    private List<CoverageRange> findOrAdoptCoverage(String symbol, String interval) {
+        List<CoverageRange> coverage = barDataRepository.findCoverage(symbol, interval);
+
+        if (coverage.isEmpty()) {
+            BarDataRepository.CacheStats stats = barDataRepository.getCacheStats(symbol, interval);
+
+            if (stats.barCount() > 0) {
+                barDataRepository.addCoverage(symbol, interval, stats.firstOpenTime(), stats.lastOpenTime());
+                return barDataRepository.findCoverage(symbol, interval);
+            }
+        }
+        return coverage;
+    }
+
+    /**
+     * Parts of {@code [from, to]} not covered by {@code coverage} (sorted, non-overlapping): head, gaps and tail.
+     */
+    static List<CoverageRange> findMissing(List<CoverageRange> coverage, long from, long to) {
+        List<CoverageRange> missing = new ArrayList<>();
+        long cursor = from;
+
+        for (CoverageRange range : coverage) {
+            if (cursor > to) {
+                break;
+            }
+            if (range.endTime() < cursor) {
+                continue;
+            }
+            if (range.startTime() > cursor) {
+                missing.add(new CoverageRange(cursor, Math.min(range.startTime() - 1, to)));
+            }
+            cursor = Math.max(cursor, range.endTime() + 1);
+        }
+
+        if (cursor <= to) {
+            missing.add(new CoverageRange(cursor, to));
+        }
+        return missing;
+    }
+
+    /**
+     * Whether a bar can open within {@code range}. Bars up to a day long open at multiples of their length since the
+     * epoch; for weekly/monthly bars any range at least one bar long is assumed to contain one.
+     */
+    static boolean containsBarOpen(CoverageRange range, KlineInterval interval) {
+        long barMillis = interval.getDuration().toMillis();
+
+        if (interval.getDuration().compareTo(Duration.ofDays(1)) > 0) {
+            return range.endTime() - range.startTime() + 1 >= barMillis;
+        }
+
+        long firstOpen = Math.ceilDiv(range.startTime(), barMillis) * barMillis;
+        return firstOpen <= range.endTime();
+    }
+}
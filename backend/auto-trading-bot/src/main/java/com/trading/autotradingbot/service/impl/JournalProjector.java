@@ -0,0 +1,294 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.dto.DashboardEvent;
+import com.trading.autotradingbot.dto.JournalStatsDto;
+import com.trading.autotradingbot.entity.AccountSnapshot;
+import com.trading.autotradingbot.entity.JournalEvent;
+import com.trading.autotradingbot.entity.Trade;
+import com.trading.autotradingbot.entity.enums.DashboardEventType;
+import com.trading.autotradingbot.repository.AccountRepository;
+import com.trading.autotradingbot.repository.JournalCheckpointRepository;
+import com.trading.autotradingbot.repository.PortfolioRepository;
+import com.trading.autotradingbot.repository.SnapshotRepository;
+import com.trading.autotradingbot.repository.TradeRepository;
+import com.trading.autotradingbot.repository.TradingJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projects the {@link TradingJournal} into the account, holding, trade and snapshot tables.
+ * <p>
+ * A single background thread tails the journal and writes each batch of events, together with the checkpoint, in one
+ * transaction: trades and snapshots as batch inserts, and only the final balance and holdings of each account in the
+ * batch. A failed batch is retried until it succeeds; the journal keeps the events meanwhile. Segments are deleted
+ * once all their events are projected.
+ * </p>
+ * <p>
+ * The TRADE and SNAPSHOT dashboard events of journaled accounts are published here once their batch is committed, so
+ * dashboards reloading on them read the new state from the database.
+ * </p>
+ */
+@Component
+public class JournalProjector {
+    private static final Logger log = LoggerFactory.getLogger(JournalProjector.class);
+
+    private static final long RETRY_BACKOFF_MILLIS = 5000;
+
+    private final TradingJournal journal;
+    private final JournalCheckpointRepository checkpointRepository;
+    private final AccountRepository accountRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final TradeRepository tradeRepository;
+    private final SnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final long idleWaitMillis;
+
+    // Guarded by this
+    private long projectedSequence;
+    private long projectedEvents;
+    private long batches;
+    private long failedBatches;
+    private long lastBatchMillis;
+
+    private volatile boolean stopped;
+    private Thread projector;
+
+    /**
+     * Latest balances of an account in a batch; {@code cash} is {@code null} while only snapshots revalued it.
+     */
+    private record Balance(BigDecimal cash, BigDecimal portfolioValue, LocalDateTime timestamp) {}
+
+    private record HoldingKey(Long accountId, String symbol) {}
+
+    /**
+     * Depends on {@link AccountJournal} so its recovery reads the database before any event is projected.
+     */
+    public JournalProjector(TradingJournal journal, AccountJournal accountJournal,
+                            JournalCheckpointRepository checkpointRepository, AccountRepository accountRepository,
+                            PortfolioRepository portfolioRepository, TradeRepository tradeRepository,
+                            SnapshotRepository snapshotRepository, TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${journal.projector.batch-size:100}") int batchSize,
+                            @Value("${journal.projector.idle-wait.ms:1000}") long idleWaitMillis) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Projector batches must hold at least one event, got " + batchSize);
+        }
+        this.journal = journal;
+        this.checkpointRepository = checkpointRepository;
+        this.accountRepository = accountRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.tradeRepository = tradeRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.idleWaitMillis = idleWaitMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        long checkpoint = checkpointRepository.findSequence(journal.getJournalId());
+        synchronized (this) {
+            projectedSequence = checkpoint;
+        }
+        TradingJournal.Cursor cursor = journal.cursor(checkpoint);
+        projector = Thread.ofPlatform().name("journal-projector").daemon().start(() -> run(cursor));
+    }
+
+    /**
+     * Stops the projector after its current batch. Events left in the journal are projected on the next start.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        if (projector != null) {
+            projector.interrupt();
+            try {
+                projector.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Waits until the event with {@code sequence} is in the database, at most {@code timeoutMillis}.
+     *
+     * @return whether it was projected in time.
+     */
+    public synchronized boolean awaitProjection(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+
+        while (projectedSequence < sequence && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return projectedSequence >= sequence;
+    }
+
+    public synchronized JournalStatsDto getStats() {
+        long lastSequence = journal.getLastSequence();
+
+        return JournalStatsDto.builder()
+                .journalId(journal.getJournalId().toString())
+                .lastSequence(lastSequence)
+                .projectedSequence(projectedSequence)
+                .projectionLag(lastSequence - projectedSequence)
+                .segments(journal.getSegmentCount())
+                .sizeBytes(journal.getSizeBytes())
+                .projectedEvents(projectedEvents)
+                .batches(batches)
+                .failedBatches(failedBatches)
+                .lastBatchMillis(lastBatchMillis)
+                .build();
+    }
+
+    private void run(TradingJournal.Cursor cursor) {
+        UUID journalId = journal.getJournalId();
+        List<TradingJournal.Entry> batch = new ArrayList<>(batchSize);
+
+        try {
+            while (!stopped) {
+                try {
+                    // A failed batch is kept and retried as is
+                    if (batch.isEmpty() && cursor.poll(batchSize, batch::add) == 0) {
+                        journal.awaitSequence(cursor.getNextSequence(), idleWaitMillis);
+                        continue;
+                    }
+                    projectBatch(journalId, batch);
+                } catch (RuntimeException e) {
+                    synchronized (this) {
+                        failedBatches++;
+                    }
+                    long fromSequence = batch.isEmpty() ? cursor.getNextSequence() : batch.getFirst().sequence();
+                    log.error("Failed to project journal events from {}, retrying: {}", fromSequence, e.getMessage(), e);
+                    Thread.sleep(RETRY_BACKOFF_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes {@code batch} and the checkpoint in one transaction, then clears it; on failure it is left as is.
+     */
+    private void projectBatch(UUID journalId, List<TradingJournal.Entry> batch) {
+        long lastSequence = batch.getLast().sequence();
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            project(batch);
+            checkpointRepository.save(journalId, lastSequence);
+        });
+
+        publish(batch);
+        synchronized (this) {
+            projectedSequence = lastSequence;
+            projectedEvents += batch.size();
+            batches++;
+            lastBatchMillis = (System.nanoTime() - start) / 1_000_000;
+            notifyAll();
+        }
+        batch.clear();
+        journal.deleteSegmentsUpTo(lastSequence);
+    }
+
+    private void publish(List<TradingJournal.Entry> batch) {
+        for (TradingJournal.Entry entry : batch) {
+            try {
+                switch (entry.event()) {
+                    case JournalEvent.Fill fill ->
+                            eventPublisher.publishEvent(DashboardEvent.of(DashboardEventType.TRADE, fill.trade()));
+                    case JournalEvent.Snapshot(AccountSnapshot snapshot) ->
+                            eventPublisher.publishEvent(DashboardEvent.of(DashboardEventType.SNAPSHOT, snapshot));
+                    // The reset service publishes the new state itself once the reset is projected
+                    case JournalEvent.Reset reset -> { }
+                }
+            } catch (RuntimeException e) {
+                log.error("Dashboard listener failed on journal event {}: {}", entry.sequence(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void project(List<TradingJournal.Entry> batch) {
+        List<Trade> trades = new ArrayList<>();
+        List<AccountSnapshot> snapshots = new ArrayList<>();
+        Map<Long, Balance> balances = new LinkedHashMap<>();
+        Map<HoldingKey, JournalEvent.Fill> holdings = new LinkedHashMap<>();
+
+        for (TradingJournal.Entry entry : batch) {
+            switch (entry.event()) {
+                case JournalEvent.Fill fill -> {
+                    Trade trade = fill.trade();
+                    trades.add(trade);
+                    balances.put(fill.accountId(), new Balance(fill.cashBalance(), fill.portfolioValue(), trade.getTimestamp()));
+                    holdings.put(new HoldingKey(fill.accountId(), trade.getSymbol()), fill);
+                }
+                case JournalEvent.Snapshot(AccountSnapshot snapshot) -> {
+                    snapshots.add(snapshot);
+                    // A snapshot only revalues the account; its cash is whatever the latest fill left
+                    balances.compute(snapshot.getAccountId(), (accountId, previous) -> new Balance(
+                            previous != null ? previous.cash() : null, snapshot.getTotalBalance(), snapshot.getTimestamp()));
+                }
+                case JournalEvent.Reset reset -> {
+                    // Writes queued before the reset must not survive it
+                    write(trades, snapshots, balances, holdings);
+
+                    tradeRepository.deleteAllByAccountId(reset.accountId());
+                    portfolioRepository.deleteAllByAccountId(reset.accountId());
+                    snapshotRepository.deleteAllByAccountId(reset.accountId());
+                    accountRepository.resetAccount(reset.accountId(), reset.startingCapital());
+                }
+            }
+        }
+        write(trades, snapshots, balances, holdings);
+    }
+
+    private void write(List<Trade> trades, List<AccountSnapshot> snapshots, Map<Long, Balance> balances,
+                       Map<HoldingKey, JournalEvent.Fill> holdings) {
+        if (!trades.isEmpty()) {
+            tradeRepository.saveAll(trades);
+        }
+        if (!snapshots.isEmpty()) {
+            snapshotRepository.saveAll(snapshots);
+        }
+
+        holdings.forEach((key, fill) -> {
+            if (fill.holdingQuantity().signum() == 0) {
+                portfolioRepository.delete(key.accountId(), key.symbol());
+            } else {
+                portfolioRepository.save(key.accountId(), key.symbol(), fill.holdingQuantity(), fill.holdingAvgPrice());
+            }
+        });
+        balances.forEach((accountId, balance) -> {
+            if (balance.cash() == null) {
+                accountRepository.updatePortfolioValue(accountId, balance.portfolioValue(), balance.timestamp());
+            } else {
+                accountRepository.updateBalance(accountId, balance.cash(), balance.portfolioValue(), balance.timestamp());
+            }
+        });
+
+        trades.clear();
+        snapshots.clear();
+        balances.clear();
+        holdings.clear();
+    }
+}
@@ -0,0 +1,166 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.dto.DownloadResultDto;
+import com.trading.autotradingbot.entity.BarData;
+import com.trading.autotradingbot.entity.enums.KlineInterval;
+import com.trading.autotradingbot.repository.BarColumnStore;
+import com.trading.autotradingbot.repository.BarDataRepository;
+import com.trading.autotradingbot.service.KlineDownloadService;
+import com.trading.autotradingbot.service.MarketDataProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Service
+public class KlineDownloadServiceImpl implements KlineDownloadService {
+    private static final Logger log = LoggerFactory.getLogger(KlineDownloadServiceImpl.class);
+
+    static final int PAGE_SIZE = 1000;
+    // Binance /klines weight for 500 <= limit <= 1000
+    static final int PAGE_WEIGHT = 5;
+
+    private final MarketDataProvider marketDataProvider;
+    private final BarDataRepository barDataRepository;
+    private final BarColumnStore barColumnStore;
+    private final RequestWeightLimiter weightLimiter;
+    private final int maxConcurrency;
+
+    private record Page(long startTime, long endTime) {}
+
+    public KlineDownloadServiceImpl(MarketDataProvider marketDataProvider, BarDataRepository barDataRepository,
+                                    BarColumnStore barColumnStore,
+                                    @Value("${binance.download.weight-per-minute:3000}") int weightPerMinute,
+                                    @Value("${binance.download.max-concurrency:8}") int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Download concurrency must be positive, got " + maxConcurrency);
+        }
+        this.marketDataProvider = marketDataProvider;
+        this.barDataRepository = barDataRepository;
+        this.barColumnStore = barColumnStore;
+        this.weightLimiter = new RequestWeightLimiter(weightPerMinute);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Downloads every bar opening within {@code [startTime, endTime]} into the bar cache.
+     * <p>
+     * The range is split into pages of {@value #PAGE_SIZE} bars. Up to {@code maxConcurrency} pages are fetched at a
+     * time, each spending its request weight from a shared per-minute budget. Pages are written to the repository
+     * strictly in time order as soon as they and all earlier pages have arrived, dropping any bar already written,
+     * so at most {@code maxConcurrency} pages are held in memory however long the range is.
+     * </p>
+     * <p>
+     * On success the range is recorded as covered in the cache, up to the last bar that had already closed.
+     * </p>
+     *
+     * @throws IllegalArgumentException if the interval is unknown or the range is empty.
+     */
+    @Override
+    public DownloadResultDto download(String symbol, String interval, Instant startTime, Instant endTime) {
+        if (startTime == null || endTime == null || !startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("Download range must have a start before its end, got "
+                    + startTime + " - " + endTime);
+        }
+
+        KlineInterval klineInterval = KlineInterval.fromCode(interval);
+        List<Page> pages = splitIntoPages(startTime.toEpochMilli(), endTime.toEpochMilli(), klineInterval);
+
+        long start = System.nanoTime();
+        long lastSavedOpenTime = Long.MIN_VALUE;
+        int barsSaved = 0;
+        Deque<Future<List<BarData>>> inFlight = new ArrayDeque<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                int nextPage = 0;
+
+                while (nextPage < pages.size() || !inFlight.isEmpty()) {
+                    while (nextPage < pages.size() && inFlight.size() < maxConcurrency) {
+                        Page page = pages.get(nextPage++);
+                        inFlight.addLast(executor.submit(() -> fetchPage(symbol, klineInterval, page)));
+                    }
+
+                    List<BarData> bars = new ArrayList<>(inFlight.removeFirst().get());
+                    bars.sort(Comparator.comparing(BarData::getOpenTime));
+
+                    List<BarData> fresh = new ArrayList<>(bars.size());
+                    for (BarData bar : bars) {
+                        long openTime = BarColumns.toEpochMillis(bar.getOpenTime());
+                        if (openTime > lastSavedOpenTime && openTime <= endTime.toEpochMilli()) {
+                            fresh.add(bar);
+                            lastSavedOpenTime = openTime;
+                        }
+                    }
+
+                    if (!fresh.isEmpty()) {
+                        barDataRepository.saveAll(fresh);
+                        barsSaved += fresh.size();
+                    }
+                }
+            } finally {
+                // Closing the executor waits for its tasks, so on failure the pages still in flight are cancelled
+                // first rather than fetched for a download that is being abandoned
+                inFlight.forEach(future -> future.cancel(true));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Kline download was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Kline download failed.", e.getCause());
+        }
+
+        // Upserts may have changed bars without changing the cache stats the column store validates against
+        if (barsSaved > 0) {
+            barColumnStore.invalidate(symbol, klineInterval.getCode());
+        }
+
+        long lastClosedOpenTime = System.currentTimeMillis() - klineInterval.getDuration().toMillis();
+        barDataRepository.addCoverage(symbol, klineInterval.getCode(), startTime.toEpochMilli(),
+                Math.min(endTime.toEpochMilli(), lastClosedOpenTime));
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Downloaded {} bars of {} ({}) in {} pages in {} ms.",
+                barsSaved, symbol, interval, pages.size(), durationMillis);
+
+        return DownloadResultDto.builder()
+                .symbol(symbol)
+                .interval(klineInterval.getCode())
+                .pages(pages.size())
+                .barsSaved(barsSaved)
+                .durationMillis(durationMillis)
+                .build();
+    }
+
+    private List<BarData> fetchPage(String symbol, KlineInterval interval, Page page) throws InterruptedException {
+        weightLimiter.acquire(PAGE_WEIGHT);
+
+        return marketDataProvider.getHistoricalData(symbol, interval.getCode(),
+                Instant.ofEpochMilli(page.startTime()), Instant.ofEpochMilli(page.endTime()), PAGE_SIZE);
+    }
+
+    private static List<Page> splitIntoPages(long startTime, long endTime, KlineInterval interval) {
+        long pageSpan = interval.getDuration().toMillis() * PAGE_SIZE;
+        List<Page> pages = new ArrayList<>();
+
+        for (long pageStart = startTime; pageStart <= endTime; pageStart += pageSpan) {
+            pages.add(new Page(pageStart, Math.min(pageStart + pageSpan - 1, endTime)));
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,155 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.dto.DashboardEvent;
+import com.trading.autotradingbot.entity.AccountSnapshot;
+import com.trading.autotradingbot.entity.Trade;
+import com.trading.autotradingbot.entity.enums.Signal;
+import com.trading.autotradingbot.entity.enums.TradeAction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.trading.autotradingbot.common.AccountConstants.LIVE_ACCOUNT_ID;
+
+/**
+ * Micrometer meters of the live trading loop, exported through the {@code /actuator/prometheus} endpoint.
+ * <p>
+ * Stage timers ({@code trading.tick.stage}) split a tick into price fetch, signal, order execution and snapshot;
+ * {@code trading.tick.decision} measures tick-to-decision latency, from the price being available until the signal
+ * has been acted on. All timers publish percentile histograms so SLOs can be computed over any window. Trades and
+ * equity are taken from the committed {@link DashboardEvent}s of the LIVE account, so rolled-back orders and
+ * backtests are not counted.
+ * </p>
+ */
+@Component
+public class LiveTradingMetrics {
+    public enum Stage { PRICE_FETCH, SIGNAL, EXECUTION, SNAPSHOT }
+
+    public enum Source { POLL, STREAM }
+
+    private static final Duration[] DECISION_SLOS = {
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofSeconds(1), Duration.ofSeconds(5)
+    };
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Source, Timer> decisionTimers = new EnumMap<>(Source.class);
+    private final Map<Signal, Counter> signalCounters = new EnumMap<>(Signal.class);
+    private final Timer pollTickTimer;
+    private final Counter overrunCounter;
+
+    // Gauges read these; equity is stored as double bits, lag in milliseconds
+    private final AtomicLong equityBits = new AtomicLong(Double.doubleToLongBits(Double.NaN));
+    private final AtomicLong tickLagMillis = new AtomicLong();
+
+    public LiveTradingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("trading.tick.stage")
+                    .description("Duration of one stage of a live trading tick")
+                    .tag("stage", tagValue(stage))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (Source source : Source.values()) {
+            decisionTimers.put(source, Timer.builder("trading.tick.decision")
+                    .description("Latency from a live price being available to the signal being acted on")
+                    .tag("source", tagValue(source))
+                    .publishPercentileHistogram()
+                    .serviceLevelObjectives(DECISION_SLOS)
+                    .register(registry));
+        }
+        for (Signal signal : Signal.values()) {
+            signalCounters.put(signal, Counter.builder("trading.signals")
+                    .description("Strategy signals computed on live ticks")
+                    .tag("signal", tagValue(signal))
+                    .register(registry));
+        }
+
+        this.pollTickTimer = Timer.builder("trading.tick.duration")
+                .description("Duration of one iteration of the polling trading loop")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.overrunCounter = Counter.builder("trading.tick.overruns")
+                .description("Polling ticks that took longer than the loop rate")
+                .register(registry);
+
+        Gauge.builder("trading.equity", equityBits, bits -> Double.longBitsToDouble(bits.get()))
+                .description("Total equity of the LIVE account at its latest snapshot")
+                .register(registry);
+        Gauge.builder("trading.tick.lag", tickLagMillis, AtomicLong::get)
+                .description("How late the latest tick was evaluated: behind its schedule when polling, "
+                        + "behind the exchange event time when streaming")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    public void recordStage(Stage stage, long startNanos) {
+        stageTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDecision(Source source, long startNanos) {
+        decisionTimers.get(source).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSignal(Signal signal) {
+        signalCounters.get(signal).increment();
+    }
+
+    /**
+     * Records a completed polling tick and counts it as an overrun if it ran longer than {@code rateMillis}.
+     */
+    public void recordPollTick(long startNanos, long rateMillis) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        pollTickTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (elapsedNanos > TimeUnit.MILLISECONDS.toNanos(rateMillis)) {
+            overrunCounter.increment();
+        }
+    }
+
+    public void recordTickLag(long lagMillis) {
+        tickLagMillis.set(Math.max(0, lagMillis));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDashboardEvent(DashboardEvent event) {
+        switch (event.getType()) {
+            case TRADE -> {
+                if (event.getPayload() instanceof Trade trade && LIVE_ACCOUNT_ID.equals(trade.getAccountId())) {
+                    countTrade(trade.getAction(), trade.getStrategyName());
+                }
+            }
+            case SNAPSHOT -> {
+                if (event.getPayload() instanceof AccountSnapshot snapshot && LIVE_ACCOUNT_ID.equals(snapshot.getAccountId())) {
+                    equityBits.set(Double.doubleToLongBits(snapshot.getTotalBalance().doubleValue()));
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private void countTrade(TradeAction action, String strategyName) {
+        // Counters are cached by the registry, so looking them up per trade is cheap
+        Counter.builder("trading.trades")
+                .description("Orders executed on the LIVE account")
+                .tag("action", tagValue(action))
+                .tag("reason", "STOP_LOSS".equals(strategyName) ? "stop_loss" : "signal")
+                .register(registry)
+                .increment();
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase();
+    }
+}
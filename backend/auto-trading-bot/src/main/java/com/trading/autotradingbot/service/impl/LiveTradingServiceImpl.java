@@ -1,5 +1,9 @@
 package com.trading.autotradingbot.service.impl;
 
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.common.FixedPoint;
+import com.trading.autotradingbot.dto.DashboardEvent;
+import com.trading.autotradingbot.dto.TickDto;
 import com.trading.autotradingbot.entity.Account;
 import com.trading.autotradingbot.entity.BarData;
 import com.trading.autotradingbot.entity.BotConfig;
@@ -7,36 +11,42 @@ import com.trading.autotradingbot.entity.PortfolioHolding;
 import com.trading.autotradingbot.entity.enums.*;
 import com.trading.autotradingbot.exception.TradeExecutionConstraintException;
 import com.trading.autotradingbot.repository.AccountRepository;
-import com.trading.autotradingbot.repository.BarDataRepository;
-import com.trading.autotradingbot.repository.PortfolioRepository;
 import com.trading.autotradingbot.service.*;
+import com.trading.autotradingbot.service.impl.LiveTradingMetrics.Source;
+import com.trading.autotradingbot.service.impl.LiveTradingMetrics.Stage;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.ZonedDateTime;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
 import static com.trading.autotradingbot.common.AccountConstants.*;
-import static com.trading.autotradingbot.service.impl.TrainingServiceImpl.INITIAL_BAR_LIMIT;
 
 @Service
 public class LiveTradingServiceImpl {
     private static final Logger log = LoggerFactory.getLogger(LiveTradingServiceImpl.class);
 
+    static final long LOOP_RATE_MS = 5000;
+
     private final BotManagementService botManagementService;
     private final MarketDataProvider marketDataProvider;
     private final TradingStrategyService tradingStrategy;
     private final OrderExecutionHandler orderExecutionHandler;
     private final SnapshotService snapshotService;
     private final AccountRepository accountRepository;
-    private final BarDataRepository barDataRepository;
-    private final PortfolioRepository portfolioRepository;
+    private final HistoricalDataService historicalDataService;
+    private final AccountJournal accountJournal;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LiveTradingMetrics metrics;
+
+    // Start of the previous polling tick, to measure how late the scheduler runs the next one
+    private volatile long lastLoopStartMillis;
 
     public LiveTradingServiceImpl(
             BotManagementService botManagementService,
@@ -45,33 +55,62 @@ public class LiveTradingServiceImpl {
             OrderExecutionHandler orderExecutionHandler,
             SnapshotService snapshotService,
             AccountRepository accountRepository,
-            BarDataRepository barDataRepository,
-            PortfolioRepository portfolioRepository) {
+            HistoricalDataService historicalDataService,
+            AccountJournal accountJournal,
+            ApplicationEventPublisher eventPublisher,
+            LiveTradingMetrics metrics) {
         this.botManagementService = botManagementService;
         this.marketDataProvider = marketDataProvider;
         this.tradingStrategy = tradingStrategy;
         this.orderExecutionHandler = orderExecutionHandler;
         this.snapshotService = snapshotService;
         this.accountRepository = accountRepository;
-        this.barDataRepository = barDataRepository;
-        this.portfolioRepository = portfolioRepository;
+        this.historicalDataService = historicalDataService;
+        this.accountJournal = accountJournal;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registers for pushed trades and closed bars when the market data provider streams them.
+     */
+    @PostConstruct
+    void registerTickListener() {
+        if (marketDataProvider instanceof StreamingMarketDataProvider streamingProvider) {
+            streamingProvider.addTickListener(new MarketTickListener() {
+                @Override
+                public void onTrade(String symbol, BigDecimal price, BigDecimal quantity, ZonedDateTime timestamp) {
+                    onStreamedTrade(symbol, price, quantity, timestamp);
+                }
+
+                @Override
+                public void onBarClosed(BarData bar) {
+                    onStreamedBar(bar);
+                }
+            });
+        }
     }
 
     /**
      *  CORE TRADING LOOP: Runs frequently (every 5 seconds) to check price and execute trades.
+     *  While a market stream is connected, trades are evaluated as they arrive instead and this loop is idle.
      */
-    @Scheduled(fixedRate = 5000)
+    @Scheduled(fixedRate = LOOP_RATE_MS)
     private void runLiveTradingLoop() {
-        Account account = accountRepository.findById(LIVE_ACCOUNT_ID)
-                .orElseThrow(() -> new IllegalStateException("Invalid Account ID."));
+        long startNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+        if (lastLoopStartMillis > 0) {
+            metrics.recordTickLag(startMillis - lastLoopStartMillis - LOOP_RATE_MS);
+        }
+        lastLoopStartMillis = startMillis;
 
-        if (account.getAccountType() != AccountType.LIVE) {
-            throw new SecurityException("Attempted to run Live Trading Mode for a Backtest valid account");
+        if (marketDataProvider instanceof StreamingMarketDataProvider streamingProvider && streamingProvider.isConnected()) {
+            return;
         }
 
-        BotConfig config = botManagementService.getConfig();
+        BotConfig config = getActiveConfig();
 
-        if (config.getStatus() != BotStatus.RUNNING || config.getTradingMode() != TradingMode.TRADING) {
+        if (config == null) {
             log.info("Currently used Bot is either in Training mode or Paused");
             return;
         }
@@ -80,34 +119,145 @@ public class LiveTradingServiceImpl {
         ZonedDateTime timestamp = ZonedDateTime.now();
 
         try {
+            long fetchStart = System.nanoTime();
             BigDecimal price = marketDataProvider.getLivePrice(symbol);
-            Optional<PortfolioHolding> holdingOpt = portfolioRepository.findByIdAndSymbol(LIVE_ACCOUNT_ID, symbol); // <<< NEW: Check Position
-            boolean positionOpen = holdingOpt.isPresent();
-
-            Signal signal = tradingStrategy.getSignal(price, timestamp);
-
-            if (positionOpen && isStopLossTriggered(holdingOpt.get(), price)) {
-                orderExecutionHandler.executeSell(LIVE_ACCOUNT_ID, symbol, price, "STOP_LOSS");
-            } else {
-                try {
-                    if (signal == Signal.BUY && !positionOpen) {
-                        orderExecutionHandler.executeBuy(LIVE_ACCOUNT_ID, symbol, price, tradingStrategy.getStrategyName());
-                    } else if (signal == Signal.SELL && positionOpen) {
-                        orderExecutionHandler.executeSell(LIVE_ACCOUNT_ID, symbol, price, tradingStrategy.getStrategyName());
-                    }
-                } catch (TradeExecutionConstraintException e) {
-                    log.debug("Trade skipped for account {}: {}", LIVE_ACCOUNT_ID, e.getMessage());
-                }
-            }
+            metrics.recordStage(Stage.PRICE_FETCH, fetchStart);
 
-            snapshotService.captureSnapshot(LIVE_ACCOUNT_ID, price, timestamp.toLocalDateTime());
+            // Polled prices carry no volume
+            evaluateTick(symbol, price, BigDecimal.ZERO, timestamp, Source.POLL);
+
+            captureSnapshot(price, timestamp);
 
         } catch (RuntimeException e) {
             log.error("Live Trading Loop encountered runtime exception: {}", e.getMessage(), e);
             botManagementService.setStatus(BotStatus.PAUSED);
+        } finally {
+            metrics.recordPollTick(startNanos, LOOP_RATE_MS);
         }
     }
 
+    /**
+     * Handles a trade pushed by the market stream. Snapshots are only taken when a trade is executed;
+     * the periodic snapshot loop covers HOLD periods.
+     */
+    private void onStreamedTrade(String symbol, BigDecimal price, BigDecimal quantity, ZonedDateTime timestamp) {
+        BotConfig config = getActiveConfig();
+
+        if (config == null || !symbol.equalsIgnoreCase(config.getSelectedSymbol())) {
+            return;
+        }
+
+        metrics.recordTickLag(System.currentTimeMillis() - timestamp.toInstant().toEpochMilli());
+
+        try {
+            if (evaluateTick(config.getSelectedSymbol(), price, quantity, timestamp, Source.STREAM)) {
+                captureSnapshot(price, timestamp);
+            }
+        } catch (RuntimeException e) {
+            log.error("Streamed trade handling encountered runtime exception: {}", e.getMessage(), e);
+            botManagementService.setStatus(BotStatus.PAUSED);
+        }
+    }
+
+    /**
+     * Caches a bar closed by the market stream, so the next start only downloads the bars closed since the stream
+     * stopped.
+     */
+    private void onStreamedBar(BarData bar) {
+        historicalDataService.saveClosedBar(bar);
+    }
+
+    /**
+     * Feeds one price into the strategy and executes the resulting signal or stop-loss.
+     * Synchronized because polled and streamed prices can arrive on different threads.
+     *
+     * @return {@code true} if an order was executed.
+     */
+    private boolean evaluateTick(String symbol, BigDecimal price, BigDecimal quantity, ZonedDateTime timestamp,
+                                 Source source) {
+        // Time spent waiting for the lock counts towards the decision latency
+        long decisionStart = System.nanoTime();
+        synchronized (this) {
+            try {
+                return evaluateTick(symbol, price, quantity, timestamp);
+            } finally {
+                metrics.recordDecision(source, decisionStart);
+            }
+        }
+    }
+
+    private boolean evaluateTick(String symbol, BigDecimal price, BigDecimal quantity, ZonedDateTime timestamp) {
+        Optional<PortfolioHolding> holdingOpt = accountJournal.findHolding(LIVE_ACCOUNT_ID, symbol);
+        boolean positionOpen = holdingOpt.isPresent();
+
+        long signalStart = System.nanoTime();
+        Signal signal = tradingStrategy.getSignal(price, quantity, timestamp);
+        metrics.recordStage(Stage.SIGNAL, signalStart);
+        metrics.recordSignal(signal);
+
+        eventPublisher.publishEvent(DashboardEvent.of(DashboardEventType.TICK, TickDto.builder()
+                .symbol(symbol)
+                .price(price)
+                .timestamp(timestamp.toLocalDateTime())
+                .build()));
+
+        if (positionOpen && ExecutionMath.isStopLossTriggered(
+                FixedPoint.fromDecimal(holdingOpt.get().getAvgBuyPrice()), FixedPoint.fromDecimal(price))) {
+            timeExecution(() -> orderExecutionHandler.executeSell(LIVE_ACCOUNT_ID, symbol, price, "STOP_LOSS"));
+            return true;
+        }
+
+        try {
+            if (signal == Signal.BUY && !positionOpen) {
+                timeExecution(() -> orderExecutionHandler.executeBuy(LIVE_ACCOUNT_ID, symbol, price, tradingStrategy.getStrategyName()));
+                return true;
+            } else if (signal == Signal.SELL && positionOpen) {
+                timeExecution(() -> orderExecutionHandler.executeSell(LIVE_ACCOUNT_ID, symbol, price, tradingStrategy.getStrategyName()));
+                return true;
+            }
+        } catch (TradeExecutionConstraintException e) {
+            log.debug("Trade skipped for account {}: {}", LIVE_ACCOUNT_ID, e.getMessage());
+        }
+        return false;
+    }
+
+    private void timeExecution(Runnable order) {
+        long executionStart = System.nanoTime();
+        try {
+            order.run();
+        } finally {
+            metrics.recordStage(Stage.EXECUTION, executionStart);
+        }
+    }
+
+    private void captureSnapshot(BigDecimal price, ZonedDateTime timestamp) {
+        long snapshotStart = System.nanoTime();
+        try {
+            snapshotService.captureSnapshot(LIVE_ACCOUNT_ID, price, timestamp.toLocalDateTime());
+        } finally {
+            metrics.recordStage(Stage.SNAPSHOT, snapshotStart);
+        }
+    }
+
+    /**
+     * Returns the bot config if the bot is RUNNING in TRADING mode on the LIVE account, otherwise {@code null}.
+     */
+    private BotConfig getActiveConfig() {
+        Account account = accountRepository.findById(LIVE_ACCOUNT_ID)
+                .orElseThrow(() -> new IllegalStateException("Invalid Account ID."));
+
+        if (account.getAccountType() != AccountType.LIVE) {
+            throw new SecurityException("Attempted to run Live Trading Mode for a Backtest valid account");
+        }
+
+        BotConfig config = botManagementService.getConfig();
+
+        if (config.getStatus() != BotStatus.RUNNING || config.getTradingMode() != TradingMode.TRADING) {
+            return null;
+        }
+        return config;
+    }
+
     /**
      * ANALYTICS LOOP: Runs less frequently (configurable, default: 30 seconds)
      * to ensure the performance chart has continuous data points, even during HOLD periods.
@@ -135,18 +285,17 @@ public class LiveTradingServiceImpl {
      * This method ensures the strategy is warmed up and sets the bot state to RUNNING.
      */
     public void startLiveTrading(String symbol, String interval) {
-        if (barDataRepository.isCacheEmpty(symbol, interval)) {
-            List<BarData> freshData = marketDataProvider.getHistoricalData(symbol, interval, INITIAL_BAR_LIMIT);
-            barDataRepository.saveAll(freshData);
-        }
-
-        List<BarData> historicalBars = barDataRepository.findAllBySymbolAndInterval(symbol, interval);
+        BarSeriesView historicalBars = historicalDataService.loadBars(symbol, interval);
         if (historicalBars.size() < tradingStrategy.getMinBarsForAnalysis()) {
             throw new IllegalStateException("Not enough historical data to initialize strategy ("
                     + historicalBars.size() + " bars found, need " + tradingStrategy.getMinBarsForAnalysis() + ").");
         }
         tradingStrategy.initializeSeries(historicalBars);
 
+        if (marketDataProvider instanceof StreamingMarketDataProvider streamingProvider) {
+            streamingProvider.subscribe(symbol, interval);
+        }
+
         botManagementService.changeSymbol(symbol);
         botManagementService.setStatus(BotStatus.RUNNING);
 
@@ -154,14 +303,4 @@ public class LiveTradingServiceImpl {
 
         log.info("Live Trading started for {} ({} interval).", symbol, interval);
     }
-
-    /**
-     * Helper method to check if the current price has dropped 2% or more below the average buy price.
-     */
-    private boolean isStopLossTriggered(PortfolioHolding holding, BigDecimal currentPrice) {
-        BigDecimal avgBuyPrice = holding.getAvgBuyPrice();
-        BigDecimal triggerPrice = avgBuyPrice.multiply(STOP_LOSS_THRESHOLD).setScale(SCALE, RoundingMode.HALF_UP);
-
-        return currentPrice.compareTo(triggerPrice) <= 0;
-    }
 }
\ No newline at end of file
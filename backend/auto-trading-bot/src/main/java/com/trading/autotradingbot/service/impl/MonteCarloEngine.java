@@ -0,0 +1,180 @@
+package com.trading.autotradingbot.service.impl;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Resamples the returns of a backtest into many equity paths and measures each one.
+ * <p>
+ * Returns are growth factors ({@code equity[i] / equity[i - 1]}), so a path is a running product and never touches
+ * the database or allocates per step. Paths are simulated in tasks of {@value #PATHS_PER_TASK}; each task draws from
+ * its own {@link SplittableRandom}, split from the seed in task order before anything runs, so the result depends on
+ * the seed only and not on the number of threads. Run it inside a dedicated pool to bound its parallelism.
+ * </p>
+ */
+final class MonteCarloEngine {
+    static final int PATHS_PER_TASK = 1024;
+
+    /**
+     * Per-path results, indexed by path. Drawdown is a fraction of the peak, time to recovery a number of steps.
+     */
+    record Paths(double[] finalEquity, double[] maxDrawdown, int[] timeToRecovery, boolean[] unrecovered) {}
+
+    record PathStats(double finalEquity, double maxDrawdown, int timeToRecovery, boolean unrecovered) {}
+
+    private MonteCarloEngine() {}
+
+    /**
+     * Growth factor of each balance relative to the one before it, the first relative to {@code startingBalance}.
+     */
+    static double[] returns(double startingBalance, double[] balances) {
+        double[] returns = new double[balances.length];
+        double previous = startingBalance;
+        for (int i = 0; i < balances.length; i++) {
+            // A wiped-out account stays flat
+            returns[i] = previous > 0 ? balances[i] / previous : 1;
+            previous = balances[i];
+        }
+        return returns;
+    }
+
+    /**
+     * Measures the path that applies {@code returns} in their original order.
+     */
+    static PathStats walk(double[] returns, double startingBalance) {
+        Tracker tracker = new Tracker();
+        tracker.reset(startingBalance);
+        for (int step = 0; step < returns.length; step++) {
+            tracker.step(returns[step], step + 1);
+        }
+        tracker.finish(returns.length);
+        return new PathStats(tracker.equity, tracker.maxDrawdown, tracker.longestUnderwater, tracker.underwater);
+    }
+
+    /**
+     * Simulates {@code paths} paths as long as {@code returns}. With {@code shuffle} every path is a random
+     * permutation of the returns; otherwise it is a circular block bootstrap of blocks of {@code blockLength}
+     * consecutive returns, drawn with replacement.
+     */
+    static Paths simulate(double[] returns, double startingBalance, int paths, boolean shuffle, int blockLength,
+                          long seed) {
+        if (returns.length == 0 || paths < 1 || blockLength < 1) {
+            throw new IllegalArgumentException("Monte Carlo needs returns, at least one path and a positive block length.");
+        }
+
+        Paths result = new Paths(new double[paths], new double[paths], new int[paths], new boolean[paths]);
+        int tasks = (paths + PATHS_PER_TASK - 1) / PATHS_PER_TASK;
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[tasks];
+        for (int task = 0; task < tasks; task++) {
+            randoms[task] = root.split();
+        }
+
+        IntStream.range(0, tasks).parallel().forEach(task -> {
+            int from = task * PATHS_PER_TASK;
+            int to = Math.min(from + PATHS_PER_TASK, paths);
+            if (shuffle) {
+                shuffleTask(returns, startingBalance, randoms[task], from, to, result);
+            } else {
+                bootstrapTask(returns, startingBalance, blockLength, randoms[task], from, to, result);
+            }
+        });
+        return result;
+    }
+
+    private static void shuffleTask(double[] returns, double startingBalance, SplittableRandom random,
+                                    int from, int to, Paths result) {
+        int steps = returns.length;
+        // Each path permutes the previous permutation in place, which is as uniform as permuting the original
+        double[] order = returns.clone();
+        Tracker tracker = new Tracker();
+
+        for (int path = from; path < to; path++) {
+            tracker.reset(startingBalance);
+            // Forward Fisher-Yates: position i is final once swapped, so it is applied in the same pass
+            for (int i = 0; i < steps; i++) {
+                int j = i + random.nextInt(steps - i);
+                double factor = order[j];
+                order[j] = order[i];
+                order[i] = factor;
+                tracker.step(factor, i + 1);
+            }
+            tracker.finish(steps);
+            tracker.store(result, path);
+        }
+    }
+
+    private static void bootstrapTask(double[] returns, double startingBalance, int blockLength,
+                                      SplittableRandom random, int from, int to, Paths result) {
+        int steps = returns.length;
+        Tracker tracker = new Tracker();
+
+        for (int path = from; path < to; path++) {
+            tracker.reset(startingBalance);
+            int step = 0;
+            while (step < steps) {
+                int index = random.nextInt(steps);
+                int blockEnd = Math.min(step + blockLength, steps);
+                while (step < blockEnd) {
+                    tracker.step(returns[index], ++step);
+                    // Blocks wrap around, so every return is equally likely to be drawn
+                    if (++index == steps) {
+                        index = 0;
+                    }
+                }
+            }
+            tracker.finish(steps);
+            tracker.store(result, path);
+        }
+    }
+
+    /**
+     * Running equity, peak, drawdown and underwater stretch of one path. Reused across the paths of a task.
+     */
+    private static final class Tracker {
+        private double equity;
+        private double peak;
+        private int peakStep;
+        private boolean underwater;
+        private double maxDrawdown;
+        private int longestUnderwater;
+
+        void reset(double startingBalance) {
+            equity = startingBalance;
+            peak = startingBalance;
+            peakStep = 0;
+            underwater = false;
+            maxDrawdown = 0;
+            longestUnderwater = 0;
+        }
+
+        void step(double factor, int step) {
+            equity *= factor;
+            if (equity >= peak) {
+                if (underwater) {
+                    longestUnderwater = Math.max(longestUnderwater, step - peakStep);
+                    underwater = false;
+                }
+                peak = equity;
+                peakStep = step;
+            } else {
+                underwater = true;
+                maxDrawdown = Math.max(maxDrawdown, 1 - equity / peak);
+            }
+        }
+
+        void finish(int steps) {
+            if (underwater) {
+                longestUnderwater = Math.max(longestUnderwater, steps - peakStep);
+            }
+        }
+
+        void store(Paths result, int path) {
+            result.finalEquity()[path] = equity;
+            result.maxDrawdown()[path] = maxDrawdown;
+            result.timeToRecovery()[path] = longestUnderwater;
+            result.unrecovered()[path] = underwater;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.dto.MonteCarloDistributionDto;
+import com.trading.autotradingbot.dto.MonteCarloReportDto;
+import com.trading.autotradingbot.dto.MonteCarloRequest;
+import com.trading.autotradingbot.entity.Account;
+import com.trading.autotradingbot.entity.enums.AccountType;
+import com.trading.autotradingbot.entity.enums.MonteCarloMethod;
+import com.trading.autotradingbot.repository.AccountRepository;
+import com.trading.autotradingbot.repository.SnapshotRepository;
+import com.trading.autotradingbot.repository.TradeRepository;
+import com.trading.autotradingbot.service.MonteCarloService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+public class MonteCarloServiceImpl implements MonteCarloService {
+    private static final Logger log = LoggerFactory.getLogger(MonteCarloServiceImpl.class);
+
+    static final int DEFAULT_PATHS = 10_000;
+    static final int MAX_PATHS = 200_000;
+    static final long MAX_STEPS = 2_000_000_000L;
+
+    private static final int MONEY_SCALE = 2;
+    private static final int RATIO_SCALE = 4;
+
+    private final AccountRepository accountRepository;
+    private final TradeRepository tradeRepository;
+    private final SnapshotRepository snapshotRepository;
+
+    // Dedicated pool, like the parameter sweep, so long runs do not starve the common pool
+    private final ForkJoinPool monteCarloPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public MonteCarloServiceImpl(AccountRepository accountRepository, TradeRepository tradeRepository,
+                                 SnapshotRepository snapshotRepository) {
+        this.accountRepository = accountRepository;
+        this.tradeRepository = tradeRepository;
+        this.snapshotRepository = snapshotRepository;
+    }
+
+    /**
+     * Resamples the closed trades (or bar-to-bar equity changes) of a completed backtest into {@code paths} equity
+     * paths of the same length, all starting from the account's starting balance, and reports the distributions of
+     * final equity, max drawdown and time to recovery. Trade returns are the change in cash from one SELL to the
+     * next, so each one covers a full round trip including fees. {@code blockLength} is ignored when shuffling.
+     *
+     * @throws IllegalArgumentException if the request is invalid, the account is not a backtest account or the run
+     *                                  would exceed {@value #MAX_STEPS} steps.
+     * @throws NoSuchElementException if the account does not exist.
+     * @throws IllegalStateException if the backtest has fewer than two returns to resample.
+     */
+    @Override
+    public MonteCarloReportDto simulate(MonteCarloRequest request) {
+        if (request.getAccountId() == null) {
+            throw new IllegalArgumentException("Account id is required.");
+        }
+        MonteCarloMethod method = request.getMethod() != null ? request.getMethod() : MonteCarloMethod.SHUFFLE_TRADES;
+        int paths = request.getPaths() != null ? request.getPaths() : DEFAULT_PATHS;
+        if (paths < 1 || paths > MAX_PATHS) {
+            throw new IllegalArgumentException("paths must be between 1 and " + MAX_PATHS + ", got " + paths);
+        }
+        int blockLength = method == MonteCarloMethod.SHUFFLE_TRADES || request.getBlockLength() == null
+                ? 1 : request.getBlockLength();
+        if (blockLength < 1) {
+            throw new IllegalArgumentException("blockLength must be positive, got " + blockLength);
+        }
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+
+        Long accountId = request.getAccountId();
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new NoSuchElementException("Account " + accountId + " not found."));
+        if (account.getAccountType() != AccountType.BACKTEST) {
+            throw new IllegalArgumentException("Account " + accountId + " is not a backtest account.");
+        }
+
+        double[] balances = method.isBarBased()
+                ? snapshotRepository.findTotalBalancesByAccountId(accountId)
+                : tradeRepository.findSellBalancesByAccountId(accountId);
+        if (balances.length < 2) {
+            throw new IllegalStateException("Account " + accountId + " has " + balances.length
+                    + (method.isBarBased() ? " snapshots" : " closed trades") + ", Monte Carlo needs at least 2.");
+        }
+        if (blockLength > balances.length) {
+            throw new IllegalArgumentException("blockLength " + blockLength + " exceeds the " + balances.length
+                    + " returns available.");
+        }
+        if ((long) paths * balances.length > MAX_STEPS) {
+            throw new IllegalArgumentException("Monte Carlo needs " + (long) paths * balances.length
+                    + " steps, the maximum is " + MAX_STEPS + ". Use fewer paths.");
+        }
+
+        double startingBalance = account.getStartBalance().doubleValue();
+        double[] returns = MonteCarloEngine.returns(startingBalance, balances);
+
+        long start = System.nanoTime();
+        MonteCarloEngine.Paths result;
+        try {
+            int blocks = blockLength;
+            result = monteCarloPool.submit(() -> MonteCarloEngine.simulate(returns, startingBalance, paths,
+                    method == MonteCarloMethod.SHUFFLE_TRADES, blocks, seed)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Monte Carlo simulation was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Monte Carlo simulation failed.", e.getCause());
+        }
+
+        int losses = 0;
+        int unrecovered = 0;
+        for (int path = 0; path < paths; path++) {
+            if (result.finalEquity()[path] < startingBalance) {
+                losses++;
+            }
+            if (result.unrecovered()[path]) {
+                unrecovered++;
+            }
+        }
+        MonteCarloEngine.PathStats actual = MonteCarloEngine.walk(returns, startingBalance);
+
+        MonteCarloReportDto report = MonteCarloReportDto.builder()
+                .accountId(accountId)
+                .method(method)
+                .paths(paths)
+                .blockLength(blockLength)
+                .seed(seed)
+                .steps(returns.length)
+                .startingBalance(account.getStartBalance())
+                .actualFinalEquity(decimal(actual.finalEquity(), MONEY_SCALE))
+                .actualMaxDrawdown(decimal(actual.maxDrawdown(), RATIO_SCALE))
+                .actualTimeToRecovery(actual.timeToRecovery())
+                .finalEquity(distribution(result.finalEquity(), MONEY_SCALE))
+                .maxDrawdown(distribution(result.maxDrawdown(), RATIO_SCALE))
+                .timeToRecovery(distribution(Arrays.stream(result.timeToRecovery()).asDoubleStream().toArray(), RATIO_SCALE))
+                .probabilityOfLoss(ratio(losses, paths))
+                .probabilityUnrecovered(ratio(unrecovered, paths))
+                .durationMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+
+        log.info("Monte Carlo ({}) of account {} simulated {} paths of {} steps in {} ms.",
+                method, accountId, paths, returns.length, report.getDurationMillis());
+        return report;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        monteCarloPool.shutdownNow();
+    }
+
+    /**
+     * Sorts {@code values} in place and summarizes them with nearest-rank percentiles.
+     */
+    static MonteCarloDistributionDto distribution(double[] values, int scale) {
+        Arrays.parallelSort(values);
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+
+        return MonteCarloDistributionDto.builder()
+                .mean(decimal(sum / values.length, scale))
+                .min(decimal(values[0], scale))
+                .p5(decimal(percentile(values, 5), scale))
+                .p25(decimal(percentile(values, 25), scale))
+                .p50(decimal(percentile(values, 50), scale))
+                .p75(decimal(percentile(values, 75), scale))
+                .p95(decimal(percentile(values, 95), scale))
+                .max(decimal(values[values.length - 1], scale))
+                .build();
+    }
+
+    private static double percentile(double[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static BigDecimal ratio(int count, int total) {
+        return BigDecimal.valueOf(count).divide(BigDecimal.valueOf(total), RATIO_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal decimal(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,117 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.common.StrategyParameters;
+import com.trading.autotradingbot.dto.MultiStrategyBacktestRequest;
+import com.trading.autotradingbot.dto.MultiStrategyReportDto;
+import com.trading.autotradingbot.dto.StrategyDefinition;
+import com.trading.autotradingbot.dto.StrategyResultDto;
+import com.trading.autotradingbot.service.HistoricalDataService;
+import com.trading.autotradingbot.service.MultiStrategyBacktestService;
+import com.trading.autotradingbot.strategy.GraphStrategy;
+import com.trading.autotradingbot.strategy.StrategyEngine;
+import com.trading.autotradingbot.strategy.StrategyRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class MultiStrategyBacktestServiceImpl implements MultiStrategyBacktestService {
+    private static final Logger log = LoggerFactory.getLogger(MultiStrategyBacktestServiceImpl.class);
+
+    static final int MAX_STRATEGIES = 256;
+
+    private final HistoricalDataService historicalDataService;
+    private final StrategyRegistry strategyRegistry;
+
+    public MultiStrategyBacktestServiceImpl(HistoricalDataService historicalDataService,
+                                            StrategyRegistry strategyRegistry) {
+        this.historicalDataService = historicalDataService;
+        this.strategyRegistry = strategyRegistry;
+    }
+
+    /**
+     * Backtests every strategy of {@code request} in memory over the same bars in a single pass. Indicators the
+     * strategies have in common (e.g. one EMA read by a crossover and a Keltner channel) are computed once per bar.
+     *
+     * @throws IllegalArgumentException if a strategy is invalid or there are more than {@value #MAX_STRATEGIES}.
+     * @throws IllegalStateException if there are fewer bars than a strategy needs to warm up.
+     */
+    @Override
+    public MultiStrategyReportDto runStrategies(MultiStrategyBacktestRequest request) {
+        if (request.getSymbol() == null || request.getInterval() == null) {
+            throw new IllegalArgumentException("Symbol and interval are required.");
+        }
+        List<StrategyDefinition> definitions = request.getStrategies();
+        if (definitions == null || definitions.isEmpty() || definitions.size() > MAX_STRATEGIES) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_STRATEGIES + " strategies are required.");
+        }
+
+        List<GraphStrategy> strategies = new ArrayList<>(definitions.size());
+        BigDecimal[] stopLosses = new BigDecimal[definitions.size()];
+        for (int k = 0; k < definitions.size(); k++) {
+            StrategyDefinition definition = definitions.get(k);
+            strategies.add(strategyRegistry.create(definition));
+            stopLosses[k] = stopLoss(definition.getStopLossThreshold());
+        }
+
+        BarSeriesView bars = historicalDataService.loadBars(request.getSymbol(), request.getInterval());
+        long start = System.nanoTime();
+        StrategyEngine engine = new StrategyEngine(strategies);
+        List<StrategyResultDto> results = evaluate(bars, engine, stopLosses);
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Backtested {} strategies ({} indicators) for {} ({}) over {} bars in {} ms.", strategies.size(),
+                engine.getGraph().getNodeCount(), request.getSymbol(), request.getInterval(), bars.size(),
+                durationMillis);
+
+        return MultiStrategyReportDto.builder()
+                .symbol(request.getSymbol())
+                .interval(request.getInterval())
+                .bars(bars.size())
+                .indicatorNodes(engine.getGraph().getNodeCount())
+                .durationMillis(durationMillis)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Backtests the strategies of {@code engine} on {@code bars} in memory, one ledger each.
+     */
+    static List<StrategyResultDto> evaluate(BarSeriesView bars, StrategyEngine engine, BigDecimal[] stopLosses) {
+        BacktestLedger[] ledgers = new BacktestLedger[engine.size()];
+        for (int k = 0; k < ledgers.length; k++) {
+            ledgers[k] = new BacktestLedger(null, AccountConstants.DEFAULT_CAPITAL, false);
+        }
+
+        BacktestEngine.runStrategies(bars, engine, ledgers, stopLosses);
+
+        List<StrategyResultDto> results = new ArrayList<>(ledgers.length);
+        for (int k = 0; k < ledgers.length; k++) {
+            BacktestLedger ledger = ledgers[k];
+            results.add(StrategyResultDto.builder()
+                    .strategyName(engine.getStrategy(k).getName())
+                    .stopLossThreshold(stopLosses[k])
+                    .finalBalance(ledger.getCashBalance())
+                    .totalProfitLoss(ledger.getCashBalance().subtract(AccountConstants.DEFAULT_CAPITAL))
+                    .maxDrawdown(ledger.getMaxDrawdown())
+                    .tradeCount(ledger.getTrades().size())
+                    .winningTrades(ledger.getWinningTrades())
+                    .build());
+        }
+        return results;
+    }
+
+    private static BigDecimal stopLoss(BigDecimal threshold) {
+        if (threshold == null) {
+            return AccountConstants.STOP_LOSS_THRESHOLD;
+        }
+        StrategyParameters.checkStopLossThreshold(threshold);
+        return threshold;
+    }
+}
@@ -0,0 +1,234 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.common.StrategyParameters;
+import com.trading.autotradingbot.dto.ParameterSweepRequest;
+import com.trading.autotradingbot.dto.SweepResultDto;
+import com.trading.autotradingbot.entity.enums.BacktestMode;
+import com.trading.autotradingbot.service.HistoricalDataService;
+import com.trading.autotradingbot.service.ParameterSweepService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class ParameterSweepServiceImpl implements ParameterSweepService {
+    private static final Logger log = LoggerFactory.getLogger(ParameterSweepServiceImpl.class);
+
+    static final int MAX_COMBINATIONS = 20_000;
+
+    // Best final balance first
+    static final Comparator<SweepResultDto> BY_FINAL_BALANCE =
+            Comparator.comparing(SweepResultDto::getFinalBalance).reversed();
+
+    private final HistoricalDataService historicalDataService;
+
+    // Dedicated pool so long sweeps do not starve the common pool used by the rest of the application
+    private final ForkJoinPool sweepPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public ParameterSweepServiceImpl(HistoricalDataService historicalDataService) {
+        this.historicalDataService = historicalDataService;
+    }
+
+    /**
+     * Backtests every valid parameter combination of {@code request} against the same bars and ranks them by final balance.
+     * <p>
+     * Bars are loaded once and shared read-only; each combination gets its own strategy instance and an
+     * in-memory ledger, so runs are independent and nothing is written to the database.
+     * </p>
+     *
+     * @throws IllegalArgumentException if a range is malformed or the grid exceeds {@value #MAX_COMBINATIONS} combinations.
+     * @throws IllegalStateException if no combination can be evaluated on the available data.
+     */
+    @Override
+    public List<SweepResultDto> runSweep(ParameterSweepRequest request) {
+        if (request.getSymbol() == null || request.getInterval() == null) {
+            throw new IllegalArgumentException("Symbol and interval are required.");
+        }
+
+        boolean vectorised = request.getMode() == BacktestMode.VECTORISED;
+        if (vectorised && !VectorBacktest.isAvailable()) {
+            throw new IllegalStateException("Vectorised backtests need the JVM option --add-modules jdk.incubator.vector.");
+        }
+
+        List<StrategyParameters> grid = parameterGrid(request);
+        BarSeriesView bars = historicalDataService.loadBars(request.getSymbol(), request.getInterval());
+        List<StrategyParameters> combinations = grid.stream()
+                .filter(parameters -> bars.size() >= parameters.rsiPeriod() + 1)
+                .toList();
+
+        if (combinations.isEmpty()) {
+            throw new IllegalStateException("No valid parameter combination for " + bars.size() + " bars of "
+                    + request.getSymbol() + " (" + request.getInterval() + ").");
+        }
+
+        long start = System.nanoTime();
+        List<SweepResultDto> ranked;
+        try {
+            ranked = sweepPool.submit(() -> (vectorised
+                    ? evaluateVectorised(bars, combinations)
+                    : combinations.parallelStream().map(parameters -> evaluate(bars, parameters)))
+                    .sorted(BY_FINAL_BALANCE)
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parameter sweep was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Parameter sweep failed.", e.getCause());
+        }
+
+        log.info("Parameter sweep for {} ({}) evaluated {} combinations over {} bars in {} ms ({}).",
+                request.getSymbol(), request.getInterval(), combinations.size(), bars.size(),
+                (System.nanoTime() - start) / 1_000_000, vectorised ? "vectorised" : "event-driven");
+
+        int limit = request.getLimit() != null && request.getLimit() > 0
+                ? Math.min(request.getLimit(), ranked.size())
+                : ranked.size();
+
+        List<SweepResultDto> results = new ArrayList<>(ranked.subList(0, limit));
+        for (int i = 0; i < results.size(); i++) {
+            results.get(i).setRank(i + 1);
+        }
+        return results;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweepPool.shutdownNow();
+    }
+
+    /**
+     * Every valid combination of the ranges in {@code request}.
+     *
+     * @throws IllegalArgumentException if a range is malformed or the grid exceeds {@value #MAX_COMBINATIONS} combinations.
+     */
+    static List<StrategyParameters> parameterGrid(ParameterSweepRequest request) {
+        StrategyParameters defaults = StrategyParameters.DEFAULT;
+        List<Integer> periods = range(request.getRsiPeriodFrom(), request.getRsiPeriodTo(), request.getRsiPeriodStep(),
+                defaults.rsiPeriod(), "rsiPeriod");
+        List<Integer> oversolds = range(request.getOversoldFrom(), request.getOversoldTo(), request.getOversoldStep(),
+                defaults.oversoldThreshold(), "oversold");
+        List<Integer> overboughts = range(request.getOverboughtFrom(), request.getOverboughtTo(), request.getOverboughtStep(),
+                defaults.overboughtThreshold(), "overbought");
+        List<BigDecimal> stopLosses = range(request.getStopLossFrom(), request.getStopLossTo(), request.getStopLossStep(),
+                defaults.stopLossThreshold());
+
+        long gridSize = (long) periods.size() * oversolds.size() * overboughts.size() * stopLosses.size();
+        if (gridSize > MAX_COMBINATIONS) {
+            throw new IllegalArgumentException("Sweep has " + gridSize + " combinations, the maximum is " + MAX_COMBINATIONS + ".");
+        }
+
+        List<StrategyParameters> combinations = new ArrayList<>((int) gridSize);
+        for (int period : periods) {
+            for (int oversold : oversolds) {
+                for (int overbought : overboughts) {
+                    if (oversold < 0 || overbought > 100 || oversold >= overbought) {
+                        continue;
+                    }
+                    for (BigDecimal stopLoss : stopLosses) {
+                        combinations.add(new StrategyParameters(period, oversold, overbought, stopLoss));
+                    }
+                }
+            }
+        }
+        return combinations;
+    }
+
+    /**
+     * Backtests {@code parameters} on {@code bars} in memory; the first {@code rsiPeriod + 1} bars only warm up the
+     * strategy.
+     */
+    static SweepResultDto evaluate(BarSeriesView bars, StrategyParameters parameters) {
+        RSIStrategyService strategy = new RSIStrategyService(parameters);
+        BacktestLedger ledger = new BacktestLedger(null, AccountConstants.DEFAULT_CAPITAL, false);
+
+        BacktestEngine.run(bars, strategy, ledger, parameters.stopLossThreshold());
+
+        return SweepResultDto.builder()
+                .rsiPeriod(parameters.rsiPeriod())
+                .oversoldThreshold(parameters.oversoldThreshold())
+                .overboughtThreshold(parameters.overboughtThreshold())
+                .stopLossThreshold(parameters.stopLossThreshold())
+                .finalBalance(ledger.getCashBalance())
+                .totalProfitLoss(ledger.getCashBalance().subtract(AccountConstants.DEFAULT_CAPITAL))
+                .maxDrawdown(ledger.getMaxDrawdown())
+                .tradeCount(ledger.getTrades().size())
+                .winningTrades(ledger.getWinningTrades())
+                .build();
+    }
+
+    /**
+     * Same results as {@link #evaluate} for every combination, computing the gains and losses once, the RSI once per
+     * period and then only the signals and trades per combination. Combinations keep their grid order.
+     */
+    static Stream<SweepResultDto> evaluateVectorised(BarSeriesView bars, List<StrategyParameters> combinations) {
+        VectorBacktest.Prepared prepared = VectorBacktest.prepare(bars);
+        Map<Integer, List<StrategyParameters>> byPeriod = combinations.stream()
+                .collect(Collectors.groupingBy(StrategyParameters::rsiPeriod, LinkedHashMap::new, Collectors.toList()));
+
+        List<SweepResultDto> results = new ArrayList<>(combinations.size());
+        byPeriod.forEach((period, group) -> {
+            double[] rsi = VectorBacktest.rsi(prepared, period);
+            results.addAll(group.parallelStream()
+                    .map(parameters -> VectorBacktest.evaluate(prepared, rsi, parameters))
+                    .toList());
+        });
+        return results.stream();
+    }
+
+    private static List<Integer> range(Integer from, Integer to, Integer step, int defaultValue, String name) {
+        if (from == null && to == null) {
+            return List.of(defaultValue);
+        }
+        int first = from != null ? from : to;
+        int last = to != null ? to : from;
+        int increment = step != null ? step : 1;
+
+        if (increment <= 0 || first > last) {
+            throw new IllegalArgumentException("Invalid " + name + " range: from=" + first + ", to=" + last + ", step=" + increment);
+        }
+
+        List<Integer> values = new ArrayList<>();
+        for (long value = first; value <= last && values.size() <= MAX_COMBINATIONS; value += increment) {
+            values.add((int) value);
+        }
+        return values;
+    }
+
+    private static List<BigDecimal> range(BigDecimal from, BigDecimal to, BigDecimal step, BigDecimal defaultValue) {
+        if (from == null && to == null) {
+            return List.of(defaultValue);
+        }
+        BigDecimal first = from != null ? from : to;
+        BigDecimal last = to != null ? to : from;
+
+        if (first.compareTo(last) == 0) {
+            return List.of(first);
+        }
+        if (step == null || step.signum() <= 0 || first.compareTo(last) > 0) {
+            throw new IllegalArgumentException("Invalid stopLoss range: from=" + first + ", to=" + last + ", step=" + step);
+        }
+
+        List<BigDecimal> values = new ArrayList<>();
+        for (BigDecimal value = first; value.compareTo(last) <= 0 && values.size() <= MAX_COMBINATIONS; value = value.add(step)) {
+            values.add(value);
+        }
+        return values;
+    }
+}
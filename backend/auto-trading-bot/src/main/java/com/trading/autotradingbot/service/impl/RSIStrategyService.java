@@ -1,125 +1,124 @@
 package com.trading.autotradingbot.service.impl;
 
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.common.LiveBarBuilder;
+import com.trading.autotradingbot.common.StrategyParameters;
 import com.trading.autotradingbot.entity.BarData;
+import com.trading.autotradingbot.entity.enums.KlineInterval;
 import com.trading.autotradingbot.entity.enums.Signal;
-import com.trading.autotradingbot.mapper.BarConverter;
+import com.trading.autotradingbot.indicator.StreamingRsi;
 import com.trading.autotradingbot.service.TradingStrategyService;
 import org.springframework.stereotype.Service;
-import org.ta4j.core.Bar;
-import org.ta4j.core.BarSeries;
-import org.ta4j.core.BaseBar;
-import org.ta4j.core.BaseBarSeriesBuilder;
-import org.ta4j.core.indicators.RSIIndicator;
-import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
-import org.ta4j.core.num.Num;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.Objects;
 
 @Service
 public class RSIStrategyService implements TradingStrategyService {
-    private static final int MAX_BAR_COUNT = 500;
-    private static final int RSI_PERIOD = 14;
-    private static final int MIN_BARS_FOR_ANALYSIS = RSI_PERIOD + 1;
-    private static final int RSI_OVERSOLD_THRESHOLD = 30;
-    private static final int RSI_OVERBOUGHT_THRESHOLD = 70;
 
-    private String symbol;
-    private String intervalCode;
+    private final StrategyParameters parameters;
+    private final int minBarsForAnalysis;
 
-    // Package private for testing
-    BarSeries series;
+    // Only the running Wilder averages and the forming live bar are needed, so no bar history is kept
+    private final StreamingRsi rsi;
+    private LiveBarBuilder liveBars;
+
+    public RSIStrategyService() {
+        this(StrategyParameters.DEFAULT);
+    }
+
+    /**
+     * Creates a standalone strategy instance, e.g. one per combination in a parameter sweep.
+     */
+    public RSIStrategyService(StrategyParameters parameters) {
+        this.parameters = parameters;
+        this.minBarsForAnalysis = parameters.rsiPeriod() + 1;
+        this.rsi = new StreamingRsi(parameters.rsiPeriod());
+    }
 
     @Override
     public void initializeSeries(List<BarData> historicalBars) {
-        if (!historicalBars.isEmpty()) {
-            BarData firstBar = historicalBars.getFirst();
-            this.symbol = firstBar.getSymbol();
-            this.intervalCode = firstBar.getInterval();
-        } else {
+        initializeSeries(BarColumns.fromBars(historicalBars));
+    }
+
+    @Override
+    public void initializeSeries(BarSeriesView historicalBars) {
+        if (historicalBars.isEmpty()) {
             throw new IllegalStateException("Cannot initialize strategy series: Historical data is empty.");
         }
 
-        this.series = new BaseBarSeriesBuilder().withName(symbol).build();
-        this.series.setMaximumBarCount(MAX_BAR_COUNT);
-
-        for (BarData curr : historicalBars) {
-            if (!Objects.equals(curr.getSymbol(), symbol)) {
-                throw new IllegalArgumentException("Added bars are of different symbols");
-            }
+        this.rsi.reset();
 
-            if (!Objects.equals(curr.getInterval(), intervalCode)) {
-                throw new IllegalArgumentException("Added bars are of different time intervals");
-            }
-
-            addBarData(curr);
+        for (int i = 0; i < historicalBars.size(); i++) {
+            rsi.addBar(historicalBars.close(i));
         }
-    }
 
-    private void createNewBar(Bar lastBar, BigDecimal newPrice, ZonedDateTime timestamp) {
-        Num openPrice = lastBar.getClosePrice();
-
-        BarData newBarData = BarData.builder()
-                .symbol(symbol)
-                .interval(intervalCode)
-                .openTime(timestamp.toLocalDateTime())
-                .openPrice(openPrice.bigDecimalValue())
-                .highPrice(newPrice)
-                .lowPrice(newPrice)
-                .closePrice(newPrice)
-                .volume(BigDecimal.ZERO)
-                .build();
-
-        BaseBar newBar = BarConverter.toTa4jBar(newBarData, series.numFactory());
-        series.addBar(newBar);
+        // The last historical bar is the RSI's forming bar until a trade lands after its end. Each closed bar
+        // commits its close and opens the next forming bar at that close, which the triggering trade then re-prices.
+        int last = historicalBars.size() - 1;
+        liveBars = new LiveBarBuilder(KlineInterval.fromCode(historicalBars.getInterval()),
+                (openTime, open, high, low, close, volume) -> rsi.addBar(BarColumns.toDouble(close)));
+        liveBars.seed(historicalBars.openTime(last), historicalBars.openUnscaled(last), historicalBars.highUnscaled(last),
+                historicalBars.lowUnscaled(last), historicalBars.closeUnscaled(last), historicalBars.volume(last));
     }
 
     @Override
-    public Signal getSignal(BigDecimal newPrice, ZonedDateTime timestamp) {
-        if (series == null || series.getBarCount() < MIN_BARS_FOR_ANALYSIS) {
-            throw new IllegalStateException("Trading analysis cannot run: BarSeries is empty or needs more data (min "
-                                            + MIN_BARS_FOR_ANALYSIS + " bars for RSI " + RSI_PERIOD + ").");
-        }
+    public Signal getSignal(BigDecimal newPrice, BigDecimal quantity, ZonedDateTime timestamp) {
+        checkReady();
 
-        Bar lastBar = series.getLastBar();
-        Num priceNum = series.numFactory().numOf(newPrice);
+        liveBars.onTrade(timestamp.toInstant().toEpochMilli(), BarColumns.toUnscaled(newPrice),
+                BarColumns.toUnscaled(quantity));
+        // A late trade leaves the forming bar as it was
+        rsi.updateLast(BarColumns.toDouble(liveBars.getClose()));
 
-        if (timestamp.toInstant().isAfter(lastBar.getEndTime())) {
-            createNewBar(lastBar, newPrice, timestamp);
-        } else {
-            series.addPrice(priceNum);
-        }
+        return toSignal(rsi.getValue());
+    }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        RSIIndicator rsi = new RSIIndicator(closePrice, RSI_PERIOD);
+    @Override
+    public Signal getSignal(BarSeriesView bars, int index) {
+        checkReady();
 
-        int endIndex = series.getEndIndex();
-        Num rsiValue = rsi.getValue(endIndex);
+        rsi.addBar(bars.close(index));
 
-        // Check if RSI drops below 30 (BUY) or rises above 70 (SELL)
-        if (rsiValue.isLessThan(series.numFactory().numOf(RSI_OVERSOLD_THRESHOLD))) {
-            return Signal.BUY;
-        } else if (rsiValue.isGreaterThan(series.numFactory().numOf(RSI_OVERBOUGHT_THRESHOLD))) {
-            return Signal.SELL;
-        } else {
-            return Signal.HOLD;
-        }
+        return toSignal(rsi.getValue());
     }
 
     @Override
     public String getStrategyName() {
-        return "RSI_Simple_30_70";
+        return "RSI_Simple_" + parameters.oversoldThreshold() + "_" + parameters.overboughtThreshold();
     }
 
     @Override
     public int getMinBarsForAnalysis() {
-        return MIN_BARS_FOR_ANALYSIS;
+        return minBarsForAnalysis;
+    }
+
+    public StrategyParameters getParameters() {
+        return parameters;
+    }
+
+    // Package private for testing
+    int getBarCount() {
+        return rsi.getBarCount();
     }
 
-    private void addBarData(BarData barData) {
-        BaseBar bar = BarConverter.toTa4jBar(barData, series.numFactory());
-        series.addBar(bar);
+    private void checkReady() {
+        if (rsi.getBarCount() < minBarsForAnalysis) {
+            throw new IllegalStateException("Trading analysis cannot run: BarSeries is empty or needs more data (min "
+                                            + minBarsForAnalysis + " bars for RSI " + parameters.rsiPeriod() + ").");
+        }
+    }
+
+    private Signal toSignal(double rsiValue) {
+        // Check if RSI drops below oversold (BUY) or rises above overbought (SELL)
+        if (rsiValue < parameters.oversoldThreshold()) {
+            return Signal.BUY;
+        } else if (rsiValue > parameters.overboughtThreshold()) {
+            return Signal.SELL;
+        } else {
+            return Signal.HOLD;
+        }
     }
-}
\ No newline at end of file
+}
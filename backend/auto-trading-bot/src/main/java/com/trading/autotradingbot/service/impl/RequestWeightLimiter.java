@@ -0,0 +1,52 @@
+package com.trading.autotradingbot.service.impl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket over exchange request weight: {@code weightPerMinute} tokens refill continuously and every request
+ * spends its weight before being sent. Thread-safe; callers block (without holding the lock) until enough weight is free.
+ */
+class RequestWeightLimiter {
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final int capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefill;
+
+    RequestWeightLimiter(int weightPerMinute) {
+        if (weightPerMinute < 1) {
+            throw new IllegalArgumentException("Weight budget must be positive, got " + weightPerMinute);
+        }
+        this.capacity = weightPerMinute;
+        this.tokensPerNano = (double) weightPerMinute / NANOS_PER_MINUTE;
+        this.tokens = weightPerMinute;
+        this.lastRefill = System.nanoTime();
+    }
+
+    void acquire(int weight) throws InterruptedException {
+        if (weight > capacity) {
+            throw new IllegalArgumentException("Request weight " + weight + " exceeds the budget of " + capacity);
+        }
+
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (tokens >= weight) {
+                    tokens -= weight;
+                    return;
+                }
+                waitNanos = (long) Math.ceil((weight - tokens) / tokensPerNano);
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
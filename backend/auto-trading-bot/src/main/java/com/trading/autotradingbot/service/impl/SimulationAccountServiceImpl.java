@@ -0,0 +1,99 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.dto.DashboardEvent;
+import com.trading.autotradingbot.entity.enums.AccountType;
+import com.trading.autotradingbot.repository.AccountRepository;
+import com.trading.autotradingbot.repository.BacktestJobRepository;
+import com.trading.autotradingbot.repository.PortfolioRepository;
+import com.trading.autotradingbot.repository.SnapshotRepository;
+import com.trading.autotradingbot.repository.TradeRepository;
+import com.trading.autotradingbot.service.SimulationAccountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Creates and deletes the BACKTEST accounts backtests run against.
+ * <p>
+ * Every run gets an account of its own, so any number of backtests can write results at the same time without
+ * touching each other's trades, holdings or snapshots. Accounts are deleted in bulk, a few statements for any number
+ * of accounts.
+ * </p>
+ */
+@Service
+public class SimulationAccountServiceImpl implements SimulationAccountService {
+    private static final Logger log = LoggerFactory.getLogger(SimulationAccountServiceImpl.class);
+
+    private final AccountRepository accountRepository;
+    private final TradeRepository tradeRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final SnapshotRepository snapshotRepository;
+    private final BacktestJobRepository jobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SimulationAccountServiceImpl(AccountRepository accountRepository, TradeRepository tradeRepository,
+                                        PortfolioRepository portfolioRepository, SnapshotRepository snapshotRepository,
+                                        BacktestJobRepository jobRepository, ApplicationEventPublisher eventPublisher) {
+        this.accountRepository = accountRepository;
+        this.tradeRepository = tradeRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.jobRepository = jobRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Long createAccount(BigDecimal startingCapital) {
+        return accountRepository.create(AccountType.BACKTEST, startingCapital);
+    }
+
+    @Override
+    @Transactional
+    public Long createAccountForJob(String jobId, LocalDateTime startedAt, BigDecimal startingCapital) {
+        Long accountId = accountRepository.create(AccountType.BACKTEST, startingCapital);
+        jobRepository.markRunning(jobId, startedAt, accountId);
+        return accountId;
+    }
+
+    /**
+     * Ids of LIVE or unknown accounts are ignored.
+     */
+    @Override
+    @Transactional
+    public void deleteAccounts(Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        delete(accountRepository.findBacktestAccountIds(List.copyOf(accountIds)));
+    }
+
+    @Override
+    @Transactional
+    public int deleteIdleAccounts(int retained) {
+        List<Long> ids = accountRepository.findIdleBacktestAccountIds(retained);
+        delete(ids);
+
+        if (!ids.isEmpty()) {
+            log.info("Deleted {} idle simulation accounts.", ids.size());
+            eventPublisher.publishEvent(DashboardEvent.stateChanged());
+        }
+        return ids.size();
+    }
+
+    private void delete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        tradeRepository.deleteAllByAccountIds(ids);
+        portfolioRepository.deleteAllByAccountIds(ids);
+        snapshotRepository.deleteAllByAccountIds(ids);
+        accountRepository.deleteBacktestAccounts(ids);
+    }
+}
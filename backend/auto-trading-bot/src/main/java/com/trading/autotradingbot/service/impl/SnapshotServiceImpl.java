@@ -1,69 +1,64 @@
 package com.trading.autotradingbot.service.impl;
 
-import com.trading.autotradingbot.entity.Account;
+import com.trading.autotradingbot.common.FixedPoint;
+import com.trading.autotradingbot.dto.JournalStatsDto;
 import com.trading.autotradingbot.entity.AccountSnapshot;
 import com.trading.autotradingbot.entity.PortfolioHolding;
-import com.trading.autotradingbot.repository.AccountRepository;
-import com.trading.autotradingbot.repository.PortfolioRepository;
-import com.trading.autotradingbot.repository.SnapshotRepository;
 import com.trading.autotradingbot.service.SnapshotService;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 public class SnapshotServiceImpl implements SnapshotService {
 
-    private final AccountRepository accountRepository;
-    private final PortfolioRepository portfolioRepository;
-    private final SnapshotRepository snapshotRepository;
+    private final AccountJournal accountJournal;
+    private final JournalProjector journalProjector;
 
-    private static final int SCALE = 8;
-
-    public SnapshotServiceImpl(AccountRepository accountRepository, PortfolioRepository portfolioRepository, SnapshotRepository snapshotRepository) {
-        this.accountRepository = accountRepository;
-        this.portfolioRepository = portfolioRepository;
-        this.snapshotRepository = snapshotRepository;
+    public SnapshotServiceImpl(AccountJournal accountJournal, JournalProjector journalProjector) {
+        this.accountJournal = accountJournal;
+        this.journalProjector = journalProjector;
     }
 
+    /**
+     * Values the account from its journaled state and records the snapshot in the journal, which also updates the
+     * portfolio value. Both happen under the journal's lock, so the snapshot cannot miss a concurrent fill. The
+     * database rows are written, and the SNAPSHOT dashboard event published, by the {@link JournalProjector}.
+     */
     @Override
-    @Transactional
     public void captureSnapshot(Long accountId, BigDecimal currentMarketPrice, LocalDateTime timestamp) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalStateException("Snapshot failed: Account not found."));
-
-        List<PortfolioHolding> holdings = portfolioRepository.findAllByAccountId(accountId);
-
-        BigDecimal cashBalance = account.getCurrentBalance();
-        BigDecimal totalCryptoValue = calcCryptoBalance(currentMarketPrice, holdings);
-
-        BigDecimal totalEquity = cashBalance.add(totalCryptoValue);
-
-        accountRepository.updatePortfolioValue(accountId, totalEquity, timestamp);
-
-        AccountSnapshot snapshot = AccountSnapshot.builder()
-                .accountId(accountId)
-                .timestamp(timestamp)
-                .cashBalance(cashBalance)
-                .cryptoBalance(totalCryptoValue)
-                .totalBalance(totalEquity)
-                .build();
+        accountJournal.recordSnapshot(accountId, (account, holdings) -> {
+            BigDecimal cashBalance = account.getCurrentBalance();
+            long cryptoValue = calcCryptoBalance(FixedPoint.fromDecimal(currentMarketPrice), holdings);
+
+            BigDecimal totalCryptoValue = FixedPoint.toDecimal(cryptoValue);
+            BigDecimal totalEquity = FixedPoint.toDecimal(FixedPoint.fromDecimal(cashBalance) + cryptoValue);
+
+            return AccountSnapshot.builder()
+                    .accountId(accountId)
+                    .timestamp(timestamp)
+                    .cashBalance(cashBalance)
+                    .cryptoBalance(totalCryptoValue)
+                    .totalBalance(totalEquity)
+                    .build();
+        });
+    }
 
-        snapshotRepository.save(snapshot);
+    @Override
+    public JournalStatsDto getJournalStats() {
+        return journalProjector.getStats();
     }
 
-    private static BigDecimal calcCryptoBalance(BigDecimal currentMarketPrice, List<PortfolioHolding> holdings) {
-        BigDecimal totalCryptoValue = BigDecimal.ZERO;
+    // Package private for benchmarking
+    static long calcCryptoBalance(long currentMarketPrice, List<PortfolioHolding> holdings) {
+        long totalCryptoValue = 0;
 
         for (PortfolioHolding holding : holdings) {
-            BigDecimal assetValue = holding.getQuantity().multiply(currentMarketPrice)
-                    .setScale(SCALE, RoundingMode.HALF_UP);
+            long assetValue = ExecutionMath.positionValue(FixedPoint.fromDecimal(holding.getQuantity()), currentMarketPrice);
 
-            totalCryptoValue = totalCryptoValue.add(assetValue);
+            totalCryptoValue = Math.addExact(totalCryptoValue, assetValue);
         }
         return totalCryptoValue;
     }
@@ -1,57 +1,40 @@
 package com.trading.autotradingbot.service.impl;
 
 import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.common.BarSeriesView;
 import com.trading.autotradingbot.entity.Account;
-import com.trading.autotradingbot.entity.BarData;
 import com.trading.autotradingbot.entity.PortfolioHolding;
 import com.trading.autotradingbot.entity.enums.AccountType;
-import com.trading.autotradingbot.entity.enums.Signal;
-import com.trading.autotradingbot.exception.TradeExecutionConstraintException;
 import com.trading.autotradingbot.repository.*;
 import com.trading.autotradingbot.service.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.util.List;
-import java.util.Optional;
-
-import static com.trading.autotradingbot.common.AccountConstants.SCALE;
-import static com.trading.autotradingbot.common.AccountConstants.STOP_LOSS_THRESHOLD;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class TrainingServiceImpl implements TrainingService {
     private static final Logger log = LoggerFactory.getLogger(TrainingServiceImpl.class);
     private final AccountRepository accountRepository;
     private final PortfolioRepository portfolioRepository;
-    private final BarDataRepository barDataRepository;
+    private final TradeRepository tradeRepository;
+    private final SnapshotRepository snapshotRepository;
 
-    private final MarketDataProvider marketDataProvider;
-    private final TradingStrategyService tradingStrategy;
-    private final OrderExecutionHandler orderExecutionHandler;
-    private final SnapshotService snapshotService;
+    private final HistoricalDataService historicalDataService;
     private final AccountResetService accountResetService;
-
-    static final int INITIAL_BAR_LIMIT = 1000;
-
+    private final TransactionTemplate transactionTemplate;
 
     public TrainingServiceImpl(AccountRepository accountRepository, PortfolioRepository portfolioRepository,
-                               BarDataRepository barDataRepository, MarketDataProvider marketDataProvider,
-                               TradingStrategyService tradingStrategy, OrderExecutionHandler orderExecutionHandler,
-                               SnapshotService snapshotService, AccountResetService accountResetService) {
+                               TradeRepository tradeRepository, SnapshotRepository snapshotRepository,
+                               HistoricalDataService historicalDataService, AccountResetService accountResetService,
+                               TransactionTemplate transactionTemplate) {
         this.accountRepository = accountRepository;
         this.portfolioRepository = portfolioRepository;
-        this.barDataRepository = barDataRepository;
-        this.marketDataProvider = marketDataProvider;
-        this.tradingStrategy = tradingStrategy;
-        this.orderExecutionHandler = orderExecutionHandler;
-        this.snapshotService = snapshotService;
+        this.tradeRepository = tradeRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.historicalDataService = historicalDataService;
         this.accountResetService = accountResetService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
@@ -61,81 +44,77 @@ public class TrainingServiceImpl implements TrainingService {
      * handles data caching, and runs the core strategy loop, recording performance
      * metrics after every bar iteration.
      * </p>
+     * <p>
+     * Cash, holdings, trades and snapshots are kept in a {@link BacktestLedger} for the whole run
+     * and written to the database in one batch at the end, so the loop itself makes no database calls.
+     * </p>
      *
-     * @param accountId The ID of the target account (must be BACKTEST ID 2).
+     * @param accountId The ID of the target account, a BACKTEST account from {@link SimulationAccountService}. Its
+     *                  previous results are replaced.
      * @param symbol The crypto asset symbol (e.g., "BTCUSDT").
      * @param interval The kline interval (e.g., "1h").
      * @throws SecurityException if the method is called with a LIVE account ID.
      * @throws IllegalStateException if initialization fails or data cannot be fetched.
      */
     @Override
-    @Transactional
     public void runBacktest(Long accountId, String symbol, String interval) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalStateException("Invalid Account ID."));
-
-        if (account.getAccountType() == AccountType.LIVE) {
-            throw new SecurityException("Attempted to run backtest simulation on LIVE trading account. Operation aborted.");
-        }
-
-        accountResetService.resetAllAccountData(AccountConstants.BACKTEST_ACCOUNT_ID, AccountConstants.DEFAULT_CAPITAL);
-
-        if (barDataRepository.isCacheEmpty(symbol, interval)) {
-            List<BarData> freshData = marketDataProvider.getHistoricalData(symbol, interval, INITIAL_BAR_LIMIT);
-            barDataRepository.saveAll(freshData);
-        }
-
-        List<BarData> historicalBars = barDataRepository.findAllBySymbolAndInterval(symbol, interval);
-        tradingStrategy.initializeSeries(historicalBars);
-        int minBarsForAnalysis = tradingStrategy.getMinBarsForAnalysis();
-
-        for (int i = 0; i < historicalBars.size(); i++) {
-            BarData currentBar = historicalBars.get(i);
-
-            BigDecimal price = currentBar.getClosePrice();
-            ZonedDateTime timestamp = ZonedDateTime.of(currentBar.getOpenTime(), ZoneId.systemDefault());
-
-            Optional<PortfolioHolding> holdingOpt = portfolioRepository.findByIdAndSymbol(accountId, symbol);
-            boolean positionOpen = holdingOpt.isPresent();
-
-            Signal signal = tradingStrategy.getSignal(price, timestamp);
-
-            if (i >= minBarsForAnalysis) {
+        runBacktest(accountId, symbol, interval, BacktestEngine.ProgressListener.NONE);
+    }
 
-                if (positionOpen && isStopLossTriggered(holdingOpt.get(), price)) {
-                    orderExecutionHandler.executeSell(accountId, symbol, price, "STOP_LOSS");
-                } else {
-                    try {
-                        if (signal == Signal.BUY && !positionOpen) {
-                            orderExecutionHandler.executeBuy(accountId, symbol, price, tradingStrategy.getStrategyName());
-                        } else if (signal == Signal.SELL && positionOpen) {
-                            orderExecutionHandler.executeSell(accountId, symbol, price, tradingStrategy.getStrategyName());
-                        }
-                    } catch (TradeExecutionConstraintException e) {
-                        log.debug("Trade skipped for account {}: {}", accountId, e.getMessage());
-                    }
-                }
+    /**
+     * Like {@link #runBacktest(Long, String, String)}, reporting progress to {@code listener}; used by backtest jobs.
+     * <p>
+     * The replay runs without a transaction. Only when it has finished is the account reset and the ledger written,
+     * in one short transaction, so a failed or cancelled run leaves the account as it was. With a {@code null}
+     * {@code accountId} nothing is written and the results are only returned.
+     * </p>
+     *
+     * @return the ledger of the finished run.
+     * @throws java.util.concurrent.CancellationException if the thread was interrupted during the replay.
+     */
+    public BacktestLedger runBacktest(Long accountId, String symbol, String interval,
+                                      BacktestEngine.ProgressListener listener) {
+        if (accountId != null) {
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new IllegalStateException("Invalid Account ID."));
+
+            if (account.getAccountType() == AccountType.LIVE) {
+                throw new SecurityException("Attempted to run backtest simulation on LIVE trading account. Operation aborted.");
             }
-
-            snapshotService.captureSnapshot(accountId, price, currentBar.getOpenTime());
         }
 
-        PortfolioHolding finalHolding = portfolioRepository.findByIdAndSymbol(accountId, symbol).orElse(null);
+        BarSeriesView historicalBars = historicalDataService.loadBars(symbol, interval);
+        // Own strategy instance, so concurrent runs do not share indicator state with each other or the live loop
+        RSIStrategyService strategy = new RSIStrategyService();
+        BacktestLedger ledger = new BacktestLedger(accountId, AccountConstants.DEFAULT_CAPITAL, accountId != null);
 
-        if (finalHolding != null) {
-            BarData lastBar = historicalBars.getLast();
+        BacktestEngine.run(historicalBars, strategy, ledger, AccountConstants.STOP_LOSS_THRESHOLD, listener);
 
-            orderExecutionHandler.executeSell(accountId, symbol, lastBar.getClosePrice(), "FINAL_LIQUIDATION");
+        if (accountId != null) {
+            transactionTemplate.executeWithoutResult(status -> {
+                accountResetService.resetAllAccountData(accountId, AccountConstants.DEFAULT_CAPITAL);
+                persistLedger(ledger);
+            });
         }
+
+        log.info("Backtest for {} ({}) finished: {} bars, {} trades, final balance {}.",
+                symbol, interval, historicalBars.size(), ledger.getTrades().size(), ledger.getCashBalance());
+        return ledger;
     }
 
     /**
-     * Checks if the current price has dropped 2% or more below the average buy price.
+     * Writes the final state of an in-memory backtest to the database using batched statements.
      */
-    private boolean isStopLossTriggered(PortfolioHolding holding, BigDecimal currentPrice) {
-        BigDecimal avgBuyPrice = holding.getAvgBuyPrice();
-        BigDecimal triggerPrice = avgBuyPrice.multiply(STOP_LOSS_THRESHOLD).setScale(SCALE, RoundingMode.HALF_UP);
+    private void persistLedger(BacktestLedger ledger) {
+        Long accountId = ledger.getAccountId();
+
+        tradeRepository.saveAll(ledger.getTrades());
+        snapshotRepository.saveAll(ledger.getSnapshots());
+
+        for (PortfolioHolding holding : ledger.getHoldings()) {
+            portfolioRepository.save(accountId, holding.getSymbol(), holding.getQuantity(), holding.getAvgBuyPrice());
+        }
 
-        return currentPrice.compareTo(triggerPrice) <= 0;
+        accountRepository.updateBalance(accountId, ledger.getCashBalance(), ledger.getPortfolioValue());
     }
-}
\ No newline at end of file
+}
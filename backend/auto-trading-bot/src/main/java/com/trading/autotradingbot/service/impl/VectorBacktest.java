@@ -0,0 +1,189 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.common.FixedPoint;
+import com.trading.autotradingbot.common.StrategyParameters;
+import com.trading.autotradingbot.dto.SweepResultDto;
+import com.trading.autotradingbot.indicator.RsiKernels;
+
+import java.math.RoundingMode;
+
+/**
+ * Array-at-a-time backtest of the RSI strategy for screening, e.g. a parameter sweep over millions of bars.
+ * <p>
+ * The RSI strategy is a pure function of the closes, so its whole signal series is computed up front by
+ * {@link RsiKernels} and a position state machine then walks the signal bitsets: flat stretches are skipped a word at
+ * a time, and only bars with an open position are revalued. The closes, gains and losses of {@link #prepare} and the
+ * RSI of {@link #rsi} can be shared by every combination with the same series and period.
+ * </p>
+ * <p>
+ * Fills and equity use {@link ExecutionMath} on fixed-point longs in the same order as {@link BacktestEngine} with a
+ * {@link BacktestLedger}, so results are identical to the event-driven run; only the trades themselves are not kept.
+ * Needs {@code --add-modules jdk.incubator.vector}, see {@link #isAvailable()}.
+ * </p>
+ */
+final class VectorBacktest {
+    private static final long STARTING_CAPITAL = FixedPoint.fromDecimal(AccountConstants.DEFAULT_CAPITAL);
+
+    /**
+     * Fixed-point closes and the per-bar gains and losses of one series.
+     */
+    record Prepared(long[] closes, double[] gains, double[] losses) {
+        int size() {
+            return closes.length;
+        }
+    }
+
+    private VectorBacktest() {}
+
+    /**
+     * Whether the JVM was started with the Vector API module; checked without loading any of its classes.
+     */
+    static boolean isAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    static Prepared prepare(BarSeriesView bars) {
+        long[] closes = bars.closesUnscaled();
+        double[] gains = new double[closes.length];
+        double[] losses = new double[closes.length];
+        RsiKernels.gainsAndLosses(BarColumns.toDoubles(closes), gains, losses);
+        return new Prepared(closes, gains, losses);
+    }
+
+    static double[] rsi(Prepared prepared, int period) {
+        double[] rsi = new double[prepared.size()];
+        RsiKernels.rsi(prepared.gains(), prepared.losses(), period, rsi, new double[prepared.size()]);
+        return rsi;
+    }
+
+    /**
+     * Backtests {@code parameters} on {@code bars}; equivalent to {@link ParameterSweepServiceImpl#evaluate}.
+     */
+    static SweepResultDto evaluate(BarSeriesView bars, StrategyParameters parameters) {
+        Prepared prepared = prepare(bars);
+        return evaluate(prepared, rsi(prepared, parameters.rsiPeriod()), parameters);
+    }
+
+    /**
+     * Backtests {@code parameters} given the RSI of their period over the prepared series.
+     *
+     * @throws IllegalStateException if there are fewer bars than the strategy needs to warm up.
+     */
+    static SweepResultDto evaluate(Prepared prepared, double[] rsi, StrategyParameters parameters) {
+        int size = prepared.size();
+        int minBars = parameters.rsiPeriod() + 1;
+        if (size < minBars) {
+            throw new IllegalStateException("Not enough historical data to run backtest ("
+                    + size + " bars found, need " + minBars + ").");
+        }
+
+        long[] buys = new long[RsiKernels.words(size)];
+        long[] sells = new long[buys.length];
+        RsiKernels.signals(rsi, parameters.oversoldThreshold(), parameters.overboughtThreshold(), buys, sells);
+
+        long[] closes = prepared.closes();
+        long stopLoss = FixedPoint.fromDecimal(parameters.stopLossThreshold());
+
+        long cash = STARTING_CAPITAL;
+        long peakEquity = cash;
+        long maxDrawdown = 0;
+        int tradeCount = 0;
+        int winningTrades = 0;
+
+        long quantity = 0;
+        long avgBuyPrice = 0;
+        long triggerPrice = 0;
+        boolean positionOpen = false;
+
+        // Before the first buy and between trades equity is the cash, which cannot set a new peak or drawdown
+        int i = nextSetBit(buys, minBars, size);
+        while (i >= 0 && i < size) {
+            long price = closes[i];
+            long equity;
+
+            if (!positionOpen) {
+                ExecutionMath.BuyFill fill = ExecutionMath.allInBuy(cash, price);
+                cash -= fill.totalSpent();
+                quantity = fill.quantity();
+                avgBuyPrice = price;
+                triggerPrice = FixedPoint.multiply(avgBuyPrice, stopLoss, RoundingMode.HALF_UP);
+                positionOpen = true;
+                tradeCount++;
+                equity = cash + ExecutionMath.positionValue(quantity, price);
+            } else if (price <= triggerPrice || isSet(sells, i)) {
+                ExecutionMath.SellFill fill = sell(quantity, avgBuyPrice, price);
+                cash = cash + fill.revenue() - fill.fee();
+                if (fill.profitLoss() > 0) {
+                    winningTrades++;
+                }
+                positionOpen = false;
+                tradeCount++;
+                equity = cash;
+            } else {
+                equity = cash + ExecutionMath.positionValue(quantity, price);
+            }
+
+            if (equity > peakEquity) {
+                peakEquity = equity;
+            } else {
+                maxDrawdown = Math.max(maxDrawdown, peakEquity - equity);
+            }
+
+            i = positionOpen ? i + 1 : nextSetBit(buys, i + 1, size);
+        }
+
+        if (positionOpen) {
+            ExecutionMath.SellFill fill = sell(quantity, avgBuyPrice, closes[size - 1]);
+            cash = cash + fill.revenue() - fill.fee();
+            if (fill.profitLoss() > 0) {
+                winningTrades++;
+            }
+            tradeCount++;
+        }
+
+        return SweepResultDto.builder()
+                .rsiPeriod(parameters.rsiPeriod())
+                .oversoldThreshold(parameters.oversoldThreshold())
+                .overboughtThreshold(parameters.overboughtThreshold())
+                .stopLossThreshold(parameters.stopLossThreshold())
+                .finalBalance(FixedPoint.toDecimal(cash))
+                .totalProfitLoss(FixedPoint.toDecimal(cash).subtract(AccountConstants.DEFAULT_CAPITAL))
+                .maxDrawdown(FixedPoint.toDecimal(maxDrawdown))
+                .tradeCount(tradeCount)
+                .winningTrades(winningTrades)
+                .build();
+    }
+
+    private static ExecutionMath.SellFill sell(long quantity, long avgBuyPrice, long price) {
+        if (quantity <= 0) {
+            throw new IllegalStateException("Cannot SELL zero quantity.");
+        }
+        return ExecutionMath.sellAll(quantity, avgBuyPrice, price);
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * First set bit at or after {@code from}, or -1 if there is none before {@code size}.
+     */
+    private static int nextSetBit(long[] bits, int from, int size) {
+        if (from >= size) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long remaining = bits[word] & (-1L << from);
+        while (remaining == 0) {
+            if (++word == bits.length) {
+                return -1;
+            }
+            remaining = bits[word];
+        }
+        int index = (word << 6) + Long.numberOfTrailingZeros(remaining);
+        return index < size ? index : -1;
+    }
+}
@@ -0,0 +1,186 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.common.StrategyParameters;
+import com.trading.autotradingbot.dto.SweepResultDto;
+import com.trading.autotradingbot.dto.WalkForwardReportDto;
+import com.trading.autotradingbot.dto.WalkForwardRequest;
+import com.trading.autotradingbot.dto.WalkForwardWindowDto;
+import com.trading.autotradingbot.service.HistoricalDataService;
+import com.trading.autotradingbot.service.WalkForwardService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+
+@Service
+public class WalkForwardServiceImpl implements WalkForwardService {
+    private static final Logger log = LoggerFactory.getLogger(WalkForwardServiceImpl.class);
+
+    static final int MAX_EVALUATIONS = 200_000;
+
+    // Ties go to the combination that comes first in the grid, so the winner does not depend on thread scheduling
+    private static final BinaryOperator<Candidate> BEST_IN_SAMPLE = BinaryOperator.maxBy(
+            Comparator.comparing(candidate -> candidate.result().getFinalBalance()));
+
+    private final HistoricalDataService historicalDataService;
+
+    // Dedicated pool, like the parameter sweep, so long runs do not starve the common pool
+    private final ForkJoinPool walkForwardPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private record Candidate(StrategyParameters parameters, SweepResultDto result) {}
+
+    public WalkForwardServiceImpl(HistoricalDataService historicalDataService) {
+        this.historicalDataService = historicalDataService;
+    }
+
+    /**
+     * Splits the cached history into rolling windows of {@code inSampleBars} followed by {@code outOfSampleBars}. In
+     * each window every parameter combination is backtested on the in-sample bars, and the best one by final balance
+     * is then backtested on the out-of-sample bars it has not seen.
+     * <p>
+     * The bars are loaded once; every window is a {@link BarSeriesView#slice(int, int)} of the same arrays. Windows
+     * and the combinations within a window are evaluated in parallel, each run with its own strategy and in-memory
+     * ledger. Out-of-sample runs warm the strategy up on the in-sample bars just before, so they trade from the first
+     * out-of-sample bar.
+     * </p>
+     *
+     * @throws IllegalArgumentException if the window sizes or parameter ranges are invalid, or the run would exceed
+     *                                  {@value #MAX_EVALUATIONS} backtests.
+     * @throws IllegalStateException if the history is shorter than one window or no combination fits the in-sample
+     *                               window.
+     */
+    @Override
+    public WalkForwardReportDto runWalkForward(WalkForwardRequest request) {
+        if (request.getSymbol() == null || request.getInterval() == null) {
+            throw new IllegalArgumentException("Symbol and interval are required.");
+        }
+        int inSample = positive(request.getInSampleBars(), "inSampleBars");
+        int outOfSample = positive(request.getOutOfSampleBars(), "outOfSampleBars");
+        int step = request.getStepBars() != null ? positive(request.getStepBars(), "stepBars") : outOfSample;
+
+        List<StrategyParameters> grid = ParameterSweepServiceImpl.parameterGrid(request).stream()
+                .filter(parameters -> inSample >= parameters.rsiPeriod() + 1)
+                .toList();
+        if (grid.isEmpty()) {
+            throw new IllegalStateException("No parameter combination fits an in-sample window of " + inSample + " bars.");
+        }
+
+        BarSeriesView bars = historicalDataService.loadBars(request.getSymbol(), request.getInterval());
+        if (bars.size() < inSample + outOfSample) {
+            throw new IllegalStateException("Walk-forward needs at least " + (inSample + outOfSample) + " bars of "
+                    + request.getSymbol() + " (" + request.getInterval() + "), found " + bars.size() + ".");
+        }
+
+        int windowCount = (bars.size() - inSample - outOfSample) / step + 1;
+        long evaluations = (long) windowCount * (grid.size() + 1);
+        if (evaluations > MAX_EVALUATIONS) {
+            throw new IllegalArgumentException("Walk-forward needs " + evaluations + " backtests, the maximum is "
+                    + MAX_EVALUATIONS + ". Use fewer combinations or a larger step.");
+        }
+
+        long start = System.nanoTime();
+        List<WalkForwardWindowDto> windows;
+        try {
+            windows = walkForwardPool.submit(() -> IntStream.range(0, windowCount).parallel()
+                    .mapToObj(window -> runWindow(bars, grid, window, window * step, inSample, outOfSample))
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Walk-forward was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Walk-forward failed.", e.getCause());
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Walk-forward for {} ({}) ran {} windows of {}+{} bars with {} combinations in {} ms.",
+                request.getSymbol(), request.getInterval(), windowCount, inSample, outOfSample, grid.size(), durationMillis);
+
+        BigDecimal inSampleTotal = windows.stream().map(WalkForwardWindowDto::getInSampleProfitLoss)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal outOfSampleTotal = windows.stream().map(WalkForwardWindowDto::getOutOfSampleProfitLoss)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return WalkForwardReportDto.builder()
+                .symbol(request.getSymbol())
+                .interval(request.getInterval())
+                .inSampleBars(inSample)
+                .outOfSampleBars(outOfSample)
+                .stepBars(step)
+                .durationMillis(durationMillis)
+                .totalInSampleProfitLoss(inSampleTotal)
+                .totalOutOfSampleProfitLoss(outOfSampleTotal)
+                .profitableWindows((int) windows.stream().filter(window -> window.getOutOfSampleProfitLoss().signum() > 0).count())
+                .walkForwardEfficiency(efficiency(inSampleTotal, inSample, outOfSampleTotal, outOfSample))
+                .windows(windows)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        walkForwardPool.shutdownNow();
+    }
+
+    private static WalkForwardWindowDto runWindow(BarSeriesView bars, List<StrategyParameters> grid, int window,
+                                                  int from, int inSample, int outOfSample) {
+        int outOfSampleStart = from + inSample;
+        BarSeriesView inSampleBars = bars.slice(from, outOfSampleStart);
+
+        Candidate best = grid.parallelStream()
+                .map(parameters -> new Candidate(parameters, ParameterSweepServiceImpl.evaluate(inSampleBars, parameters)))
+                .reduce(BEST_IN_SAMPLE)
+                .orElseThrow();
+
+        // The engine warms up on the first rsiPeriod + 1 bars of the slice and trades from the bar after
+        StrategyParameters parameters = best.parameters();
+        int warmUp = parameters.rsiPeriod() + 1;
+        SweepResultDto outOfSampleResult = ParameterSweepServiceImpl.evaluate(
+                bars.slice(outOfSampleStart - warmUp, outOfSampleStart + outOfSample), parameters);
+
+        return WalkForwardWindowDto.builder()
+                .window(window)
+                .inSampleStart(bars.openDateTime(from))
+                .outOfSampleStart(bars.openDateTime(outOfSampleStart))
+                .outOfSampleEnd(bars.openDateTime(outOfSampleStart + outOfSample - 1))
+                .combinationsEvaluated(grid.size())
+                .rsiPeriod(parameters.rsiPeriod())
+                .oversoldThreshold(parameters.oversoldThreshold())
+                .overboughtThreshold(parameters.overboughtThreshold())
+                .stopLossThreshold(parameters.stopLossThreshold())
+                .inSampleProfitLoss(best.result().getTotalProfitLoss())
+                .outOfSampleProfitLoss(outOfSampleResult.getTotalProfitLoss())
+                .outOfSampleMaxDrawdown(outOfSampleResult.getMaxDrawdown())
+                .outOfSampleTradeCount(outOfSampleResult.getTradeCount())
+                .outOfSampleWinningTrades(outOfSampleResult.getWinningTrades())
+                .build();
+    }
+
+    private static BigDecimal efficiency(BigDecimal inSampleTotal, int inSampleBars,
+                                         BigDecimal outOfSampleTotal, int outOfSampleBars) {
+        if (inSampleTotal.signum() <= 0) {
+            return null;
+        }
+        // (outOfSample / outOfSampleBars) / (inSample / inSampleBars)
+        return outOfSampleTotal.multiply(BigDecimal.valueOf(inSampleBars))
+                .divide(inSampleTotal.multiply(BigDecimal.valueOf(outOfSampleBars)), 4, RoundingMode.HALF_UP);
+    }
+
+    private static int positive(Integer value, String name) {
+        if (value == null || value < 1) {
+            throw new IllegalArgumentException(name + " must be a positive number of bars, got " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,51 @@
+package com.trading.autotradingbot.strategy;
+
+import com.trading.autotradingbot.entity.enums.Signal;
+import com.trading.autotradingbot.indicator.IndicatorGraph;
+import com.trading.autotradingbot.indicator.IndicatorSpec;
+
+/**
+ * Trend following on two EMAs of the close: BUY while the fast EMA is above the slow one, SELL while it is below.
+ */
+public final class EmaCrossoverStrategy implements GraphStrategy {
+    private final int fastPeriod;
+    private final int slowPeriod;
+    private int fast = -1;
+    private int slow = -1;
+
+    public EmaCrossoverStrategy(int fastPeriod, int slowPeriod) {
+        if (fastPeriod < 1 || fastPeriod >= slowPeriod) {
+            throw new IllegalArgumentException("EMA periods must satisfy 0 < fast < slow, got "
+                    + fastPeriod + "/" + slowPeriod);
+        }
+        this.fastPeriod = fastPeriod;
+        this.slowPeriod = slowPeriod;
+    }
+
+    @Override
+    public String getName() {
+        return "EMA_Cross_" + fastPeriod + "_" + slowPeriod;
+    }
+
+    @Override
+    public int getMinBarsForAnalysis() {
+        return slowPeriod;
+    }
+
+    @Override
+    public void register(IndicatorGraph graph) {
+        fast = graph.register(IndicatorSpec.ema(fastPeriod));
+        slow = graph.register(IndicatorSpec.ema(slowPeriod));
+    }
+
+    @Override
+    public Signal evaluate(IndicatorGraph graph) {
+        double difference = graph.value(fast) - graph.value(slow);
+        if (difference > 0) {
+            return Signal.BUY;
+        } else if (difference < 0) {
+            return Signal.SELL;
+        }
+        return Signal.HOLD;
+    }
+}
@@ -0,0 +1,27 @@
+package com.trading.autotradingbot.strategy;
+
+import com.trading.autotradingbot.entity.enums.Signal;
+import com.trading.autotradingbot.indicator.IndicatorGraph;
+
+/**
+ * A strategy that reads its indicators from a shared {@link IndicatorGraph} instead of computing them itself, so
+ * several strategies over the same bars pay for each distinct indicator once.
+ */
+public interface GraphStrategy {
+
+    /** Returns the unique identifier for this strategy (e.g., "EMA_Cross_12_26"). */
+    String getName();
+
+    /** Bars needed before the first signal; earlier bars only warm the indicators up. */
+    int getMinBarsForAnalysis();
+
+    /**
+     * Registers the indicators this strategy reads and keeps their node ids. Called once, before the first bar.
+     */
+    void register(IndicatorGraph graph);
+
+    /**
+     * Signal for the forming bar, from the node values the graph has just updated. Must not allocate.
+     */
+    Signal evaluate(IndicatorGraph graph);
+}
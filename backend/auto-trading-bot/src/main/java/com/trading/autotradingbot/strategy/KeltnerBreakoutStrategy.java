@@ -0,0 +1,58 @@
+package com.trading.autotradingbot.strategy;
+
+import com.trading.autotradingbot.entity.enums.Signal;
+import com.trading.autotradingbot.indicator.IndicatorGraph;
+import com.trading.autotradingbot.indicator.IndicatorSpec;
+
+/**
+ * Keltner channel breakout: BUY when the close breaks above {@code EMA + multiplier * ATR}, SELL when it falls below
+ * {@code EMA - multiplier * ATR}.
+ */
+public final class KeltnerBreakoutStrategy implements GraphStrategy {
+    private final int emaPeriod;
+    private final int atrPeriod;
+    private final double multiplier;
+    private int close = -1;
+    private int ema = -1;
+    private int atr = -1;
+
+    public KeltnerBreakoutStrategy(int emaPeriod, int atrPeriod, double multiplier) {
+        if (emaPeriod < 1 || atrPeriod < 1 || !(multiplier > 0)) {
+            throw new IllegalArgumentException("Keltner periods and multiplier must be positive, got "
+                    + emaPeriod + "/" + atrPeriod + "/" + multiplier);
+        }
+        this.emaPeriod = emaPeriod;
+        this.atrPeriod = atrPeriod;
+        this.multiplier = multiplier;
+    }
+
+    @Override
+    public String getName() {
+        return "Keltner_" + emaPeriod + "_" + atrPeriod + "_" + multiplier;
+    }
+
+    @Override
+    public int getMinBarsForAnalysis() {
+        return Math.max(emaPeriod, atrPeriod) + 1;
+    }
+
+    @Override
+    public void register(IndicatorGraph graph) {
+        close = graph.register(IndicatorSpec.CLOSE);
+        ema = graph.register(IndicatorSpec.ema(emaPeriod));
+        atr = graph.register(IndicatorSpec.atr(atrPeriod));
+    }
+
+    @Override
+    public Signal evaluate(IndicatorGraph graph) {
+        double price = graph.value(close);
+        double middle = graph.value(ema);
+        double width = multiplier * graph.value(atr);
+        if (price > middle + width) {
+            return Signal.BUY;
+        } else if (price < middle - width) {
+            return Signal.SELL;
+        }
+        return Signal.HOLD;
+    }
+}
@@ -0,0 +1,44 @@
+package com.trading.autotradingbot.strategy;
+
+import com.trading.autotradingbot.common.StrategyParameters;
+import com.trading.autotradingbot.entity.enums.Signal;
+import com.trading.autotradingbot.indicator.IndicatorGraph;
+import com.trading.autotradingbot.indicator.IndicatorSpec;
+
+/**
+ * BUY below the oversold RSI level, SELL above the overbought one; the rules of {@code RSIStrategyService}.
+ */
+public final class RsiThresholdStrategy implements GraphStrategy {
+    private final StrategyParameters parameters;
+    private int rsi = -1;
+
+    public RsiThresholdStrategy(StrategyParameters parameters) {
+        this.parameters = parameters;
+    }
+
+    @Override
+    public String getName() {
+        return "RSI_Simple_" + parameters.oversoldThreshold() + "_" + parameters.overboughtThreshold();
+    }
+
+    @Override
+    public int getMinBarsForAnalysis() {
+        return parameters.rsiPeriod() + 1;
+    }
+
+    @Override
+    public void register(IndicatorGraph graph) {
+        rsi = graph.register(IndicatorSpec.rsi(parameters.rsiPeriod()));
+    }
+
+    @Override
+    public Signal evaluate(IndicatorGraph graph) {
+        double value = graph.value(rsi);
+        if (value < parameters.oversoldThreshold()) {
+            return Signal.BUY;
+        } else if (value > parameters.overboughtThreshold()) {
+            return Signal.SELL;
+        }
+        return Signal.HOLD;
+    }
+}
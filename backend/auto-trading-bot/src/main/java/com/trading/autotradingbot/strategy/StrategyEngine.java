@@ -0,0 +1,76 @@
+package com.trading.autotradingbot.strategy;
+
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.entity.enums.Signal;
+import com.trading.autotradingbot.indicator.IndicatorGraph;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs several {@link GraphStrategy strategies} against one bar stream. Their indicators are registered in one
+ * {@link IndicatorGraph}, so every bar updates each distinct indicator once and then asks every strategy for its
+ * signal; ten strategies over the same indicators cost about as much as one.
+ * <p>
+ * Signals are written to one reused array, indexed like the strategies; a strategy still warming up signals HOLD.
+ * Not thread-safe: every run needs its own engine.
+ * </p>
+ */
+public final class StrategyEngine {
+    private final IndicatorGraph graph = new IndicatorGraph();
+    private final GraphStrategy[] strategies;
+    private final Signal[] signals;
+    private final int minBarsForAnalysis;
+
+    public StrategyEngine(List<GraphStrategy> strategies) {
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("At least one strategy is required.");
+        }
+        this.strategies = strategies.toArray(GraphStrategy[]::new);
+        this.signals = new Signal[this.strategies.length];
+        Arrays.fill(signals, Signal.HOLD);
+
+        int minBars = 0;
+        for (GraphStrategy strategy : this.strategies) {
+            strategy.register(graph);
+            minBars = Math.max(minBars, strategy.getMinBarsForAnalysis());
+        }
+        this.minBarsForAnalysis = minBars;
+    }
+
+    /**
+     * Appends the closed bar at {@code index} and evaluates the strategies. Bars must be fed in order from the first
+     * one; like {@code BacktestEngine}, a strategy signals from bar {@code getMinBarsForAnalysis()} on and the bars
+     * before it only warm it up.
+     */
+    public Signal[] onBar(BarSeriesView bars, int index) {
+        graph.addBar(bars.high(index), bars.low(index), bars.close(index));
+        evaluate(graph.getBarCount() - 1);
+        return signals;
+    }
+
+    public int size() {
+        return strategies.length;
+    }
+
+    public GraphStrategy getStrategy(int index) {
+        return strategies[index];
+    }
+
+    /** Bars needed before every strategy signals. */
+    public int getMinBarsForAnalysis() {
+        return minBarsForAnalysis;
+    }
+
+    public IndicatorGraph getGraph() {
+        return graph;
+    }
+
+    private void evaluate(int readyBars) {
+        for (int i = 0; i < strategies.length; i++) {
+            signals[i] = readyBars >= strategies[i].getMinBarsForAnalysis()
+                    ? strategies[i].evaluate(graph)
+                    : Signal.HOLD;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.trading.autotradingbot.strategy;
+
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.common.StrategyParameters;
+import com.trading.autotradingbot.dto.StrategyDefinition;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Strategy types that can run in a {@link StrategyEngine}, built from a {@link StrategyDefinition}. Parameters left
+ * out of a definition take the defaults listed here.
+ */
+@Component
+public class StrategyRegistry {
+    private final Map<String, Function<Map<String, BigDecimal>, GraphStrategy>> factories = new LinkedHashMap<>();
+
+    public StrategyRegistry() {
+        StrategyParameters defaults = StrategyParameters.DEFAULT;
+        factories.put("RSI", parameters -> new RsiThresholdStrategy(new StrategyParameters(
+                intParameter(parameters, "rsiPeriod", defaults.rsiPeriod()),
+                intParameter(parameters, "oversold", defaults.oversoldThreshold()),
+                intParameter(parameters, "overbought", defaults.overboughtThreshold()),
+                AccountConstants.STOP_LOSS_THRESHOLD)));
+        factories.put("EMA_CROSSOVER", parameters -> new EmaCrossoverStrategy(
+                intParameter(parameters, "fastPeriod", 12),
+                intParameter(parameters, "slowPeriod", 26)));
+        factories.put("KELTNER_BREAKOUT", parameters -> new KeltnerBreakoutStrategy(
+                intParameter(parameters, "emaPeriod", 20),
+                intParameter(parameters, "atrPeriod", 10),
+                parameters.getOrDefault("multiplier", BigDecimal.TWO).doubleValue()));
+    }
+
+    /**
+     * Builds a fresh strategy; instances keep node ids of one graph, so they are never shared between engines.
+     *
+     * @throws IllegalArgumentException if the type is unknown or a parameter is invalid.
+     */
+    public GraphStrategy create(StrategyDefinition definition) {
+        if (definition == null || definition.getType() == null) {
+            throw new IllegalArgumentException("Strategy type is required.");
+        }
+        Function<Map<String, BigDecimal>, GraphStrategy> factory = factories.get(definition.getType());
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown strategy type " + definition.getType() + ", expected one of "
+                    + factories.keySet() + ".");
+        }
+        return factory.apply(definition.getParameters() != null ? definition.getParameters() : Map.of());
+    }
+
+    public Set<String> getTypes() {
+        return factories.keySet();
+    }
+
+    private static int intParameter(Map<String, BigDecimal> parameters, String name, int defaultValue) {
+        BigDecimal value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return value.intValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be an integer, got " + value, e);
+        }
+    }
+}
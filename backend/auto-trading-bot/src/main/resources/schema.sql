@@ -10,8 +10,8 @@ CREATE TABLE account (
 
 ALTER TABLE account ADD COLUMN account_type VARCHAR(20) NOT NULL CHECK (account_type IN ('LIVE', 'BACKTEST'));
 
--- Constraint: Ensure you only ever have ONE 'LIVE' and ONE 'BACKTEST' account
-CREATE UNIQUE INDEX idx_account_type ON account(account_type);
+-- Constraint: Ensure you only ever have ONE 'LIVE' account (BACKTEST accounts are created per backtest run)
+CREATE UNIQUE INDEX idx_account_type ON account(account_type) WHERE account_type = 'LIVE';
 
 -- 2. PORTFOLIO
 CREATE TABLE portfolio_holding (
@@ -71,16 +71,58 @@ CREATE TABLE bot_config (
                             is_initialized BOOLEAN NOT NULL DEFAULT FALSE
 );
 
+-- 7. BAR DATA COVERAGE (Open time ranges already fetched into bar_data_cache, so only gaps are downloaded)
+CREATE TABLE bar_data_coverage (
+                                   symbol VARCHAR(10) NOT NULL,
+                                   "interval" VARCHAR(5) NOT NULL,
+                                   start_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+                                   end_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+                                   PRIMARY KEY (symbol, "interval", start_time),
+                                   CONSTRAINT valid_coverage_range CHECK (start_time <= end_time)
+);
+
+-- 8. JOURNAL CHECKPOINT (Last trading journal event applied to the tables above, written in the same transaction)
+CREATE TABLE journal_checkpoint (
+                                    journal_id VARCHAR(36) PRIMARY KEY,
+                                    sequence BIGINT NOT NULL
+);
+
+-- 9. BACKTEST JOBS (Asynchronous backtests, their progress and results)
+CREATE TABLE backtest_job (
+                              id VARCHAR(36) PRIMARY KEY,
+                              account_id BIGINT REFERENCES account(id) ON DELETE SET NULL,
+                              keep_account BOOLEAN NOT NULL DEFAULT FALSE,
+                              symbol VARCHAR(10) NOT NULL,
+                              "interval" VARCHAR(5) NOT NULL,
+                              status VARCHAR(10) NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED')),
+                              submitted_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+                              started_at TIMESTAMP WITHOUT TIME ZONE,
+                              finished_at TIMESTAMP WITHOUT TIME ZONE,
+                              bar_count INT NOT NULL DEFAULT 0,
+                              bars_processed INT NOT NULL DEFAULT 0,
+                              duration_millis BIGINT NOT NULL DEFAULT 0,
+                              final_balance NUMERIC(20, 8),
+                              total_profit_loss NUMERIC(20, 8),
+                              max_drawdown NUMERIC(20, 8),
+                              trade_count INT,
+                              winning_trades INT,
+                              error_message VARCHAR(500)
+);
+
 CREATE INDEX idx_account_snapshot_time ON account_snapshot (account_id, timestamp);
+-- Keyset pagination / delta sync by insertion order (snapshots are projected from the journal, so not strictly in timestamp order)
+CREATE INDEX idx_account_snapshot_account_id ON account_snapshot (account_id, id);
+CREATE INDEX idx_trade_history_account_id ON trade_history (account_id, id);
 CREATE UNIQUE INDEX idx_bar_data_cache_symbol_time ON bar_data_cache (symbol, open_time, "interval");
+CREATE INDEX idx_backtest_job_submitted_at ON backtest_job (submitted_at);
+CREATE INDEX idx_backtest_job_account_id ON backtest_job (account_id);
 
 -- 1. LIVE Account (Persistent)
 INSERT INTO account (id, start_balance, current_balance, current_portfolio_value, creation_timestamp, last_update_timestamp, account_type)
 VALUES (1, 10000.00, 10000.00, 10000.00, NOW(), NOW(), 'LIVE');
 
--- 2. BACKTEST Account (Reusable Scratchpad)
-INSERT INTO account (id, start_balance, current_balance, current_portfolio_value, creation_timestamp, last_update_timestamp, account_type)
-VALUES (2, 10000.00, 10000.00, 10000.00, NOW(), NOW(), 'BACKTEST');
+-- BACKTEST accounts are generated, so the sequence must continue after the fixed LIVE id
+SELECT setval('account_id_seq', (SELECT MAX(id) FROM account));
 
 -- Default Bot Config
 INSERT INTO bot_config (trading_mode, status, selected_symbol, is_initialized)
@@ -0,0 +1,141 @@
+package com.trading.autotradingbot.common;
+
+import com.trading.autotradingbot.entity.enums.KlineInterval;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static com.trading.autotradingbot.entity.enums.KlineInterval.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarAggregatorTest {
+
+    private static final String SYMBOL = "TESTUSDT";
+
+    @Test
+    void shouldRollUpOhlcvIntoAlignedBarsAndDropUnfinishedLastBar() {
+        // ARRANGE
+        BarColumns minutes = bars(ONE_MINUTE, millis("2024-01-01T00:00:00Z"), 150, -1);
+
+        // ACT
+        BarColumns hours = BarAggregator.aggregate(minutes, ONE_MINUTE, ONE_HOUR);
+
+        // ASSERT
+        assertEquals(2, hours.size(), "The bar opening at 02:00 is still forming after 30 minutes.");
+        assertEquals("1h", hours.getInterval());
+        assertEquals(millis("2024-01-01T01:00:00Z"), hours.openTime(1));
+        assertEquals(unscaled(100), hours.openUnscaled(0));
+        assertEquals(unscaled(159 + 5), hours.highUnscaled(0));
+        assertEquals(unscaled(100 - 5), hours.lowUnscaled(0));
+        assertEquals(unscaled(159 + 1), hours.closeUnscaled(0));
+        assertEquals(60.0, hours.volume(0));
+        assertEquals(unscaled(160), hours.openUnscaled(1));
+    }
+
+    @Test
+    void shouldDropFirstBarWhenHistoryStartsInsideIt() {
+        // ARRANGE
+        BarColumns minutes = bars(ONE_MINUTE, millis("2024-01-01T00:30:00Z"), 150, -1);
+
+        // ACT
+        BarColumns hours = BarAggregator.aggregate(minutes, ONE_MINUTE, ONE_HOUR);
+
+        // ASSERT
+        assertEquals(2, hours.size());
+        assertEquals(millis("2024-01-01T01:00:00Z"), hours.openTime(0));
+        assertEquals(unscaled(130), hours.openUnscaled(0));
+    }
+
+    @Test
+    void shouldKeepBarWithMissingSourceBarsInside() {
+        // ARRANGE
+        BarColumns minutes = bars(ONE_MINUTE, millis("2024-01-01T00:00:00Z"), 60, 59);
+
+        // ACT
+        BarColumns hours = BarAggregator.aggregate(minutes, ONE_MINUTE, ONE_HOUR);
+
+        // ASSERT
+        assertEquals(0, hours.size(), "Without the 00:59 bar the hour may still be forming.");
+        BarColumns withGap = bars(ONE_MINUTE, millis("2024-01-01T00:00:00Z"), 60, 30);
+        BarColumns hoursWithGap = BarAggregator.aggregate(withGap, ONE_MINUTE, ONE_HOUR);
+        assertEquals(1, hoursWithGap.size());
+        assertEquals(59.0, hoursWithGap.volume(0));
+    }
+
+    @Test
+    void shouldDropABarWhoseLastSourceBarIsStillForming() {
+        // ARRANGE
+        // 12:00 - 15:00 hourly bars, the 15:00 one still open at 15:30
+        BarColumns hours = bars(ONE_HOUR, millis("2024-01-01T12:00:00Z"), 4, -1);
+
+        // ACT
+        BarColumns forming = BarAggregator.aggregate(hours, ONE_HOUR, FOUR_HOURS, millis("2024-01-01T15:30:00Z"));
+        BarColumns closed = BarAggregator.aggregate(hours, ONE_HOUR, FOUR_HOURS, millis("2024-01-01T16:00:00Z"));
+
+        // ASSERT
+        assertEquals(0, forming.size());
+        assertEquals(1, closed.size());
+        assertEquals(millis("2024-01-01T12:00:00Z"), closed.openTime(0));
+    }
+
+    @Test
+    void shouldAlignWeeksToMondayAndMonthsToCalendar() {
+        // ARRANGE
+        // 2024-01-01 is a Monday
+        BarColumns days = bars(ONE_DAY, millis("2024-01-01T00:00:00Z"), 91, -1);
+
+        // ACT
+        BarColumns weeks = BarAggregator.aggregate(days, ONE_DAY, ONE_WEEK);
+        BarColumns months = BarAggregator.aggregate(days, ONE_DAY, ONE_MONTH);
+
+        // ASSERT
+        assertEquals(13, weeks.size());
+        assertEquals(millis("2024-01-08T00:00:00Z"), weeks.openTime(1));
+        assertEquals(3, months.size());
+        assertEquals(millis("2024-02-01T00:00:00Z"), months.openTime(1));
+        assertEquals(29.0, months.volume(1));
+        assertEquals(unscaled(100 + 31 + 28 + 1), months.closeUnscaled(1));
+        assertEquals(millis("2024-01-01T00:00:00Z"), BarAggregator.bucketStart(millis("2024-01-07T23:59:00Z"), ONE_WEEK));
+    }
+
+    @Test
+    void shouldOnlyAggregateIntoCoarserIntervalsTheyFitInto() {
+        // ASSERT
+        assertTrue(BarAggregator.canAggregate(ONE_HOUR, FOUR_HOURS));
+        assertTrue(BarAggregator.canAggregate(TWELVE_HOURS, THREE_DAYS));
+        assertTrue(BarAggregator.canAggregate(ONE_DAY, ONE_MONTH));
+        assertFalse(BarAggregator.canAggregate(THREE_MINUTES, FIVE_MINUTES));
+        assertFalse(BarAggregator.canAggregate(THREE_DAYS, ONE_WEEK));
+        assertFalse(BarAggregator.canAggregate(ONE_WEEK, ONE_MONTH));
+        assertFalse(BarAggregator.canAggregate(FOUR_HOURS, ONE_HOUR));
+        assertThrows(IllegalArgumentException.class,
+                () -> BarAggregator.aggregate(bars(FOUR_HOURS, millis("2024-01-01T00:00:00Z"), 6, -1), FOUR_HOURS, ONE_HOUR));
+    }
+
+    /**
+     * {@code count} consecutive bars of {@code interval}: bar i opens at 100 + i, closes one higher, spans five either
+     * side and has a volume of one. The bar at {@code skipped} is left out.
+     */
+    private static BarColumns bars(KlineInterval interval, long firstOpenTime, int count, int skipped) {
+        long barMillis = interval.getDuration().toMillis();
+        BarColumns.Builder builder = new BarColumns.Builder(SYMBOL, interval.getCode(), count);
+        for (int i = 0; i < count; i++) {
+            if (i == skipped) {
+                continue;
+            }
+            int price = 100 + i;
+            builder.add(firstOpenTime + i * barMillis, unscaled(price), unscaled(price + 5), unscaled(price - 5),
+                    unscaled(price + 1), 1);
+        }
+        return builder.build();
+    }
+
+    private static long millis(String instant) {
+        return Instant.parse(instant).toEpochMilli();
+    }
+
+    private static long unscaled(int value) {
+        return BarColumns.toUnscaled(BigDecimal.valueOf(value));
+    }
+}
@@ -0,0 +1,86 @@
+package com.trading.autotradingbot.common;
+
+import com.trading.autotradingbot.entity.BarData;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarColumnsTest {
+
+    private static final String SYMBOL = "TESTUSDT";
+    private static final String INTERVAL = "1h";
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void shouldRoundTripBarsWithoutPrecisionLoss() {
+        // ARRANGE
+        List<BarData> bars = createBars(3);
+
+        // ACT
+        BarColumns columns = BarColumns.fromBars(bars);
+
+        // ASSERT
+        assertEquals(3, columns.size());
+        for (int i = 0; i < bars.size(); i++) {
+            assertEquals(bars.get(i), columns.toBarData(i));
+            assertEquals(bars.get(i).getClosePrice().doubleValue(), columns.close(i));
+        }
+    }
+
+    @Test
+    void shouldKeepVolumesBeyondTheFixedPointRange() {
+        // ARRANGE
+        // 10^12 base units at 8 decimals is 10^20, more than a long holds
+        List<BarData> bars = createBars(1);
+        bars.getFirst().setVolume(new BigDecimal("1000000000000.00000000"));
+
+        // ACT
+        BarColumns columns = BarColumns.fromBars(bars);
+
+        // ASSERT
+        assertEquals(1e12, columns.volume(0));
+        assertEquals(bars.getFirst(), columns.toBarData(0));
+    }
+
+    @Test
+    void shouldShareDataBetweenSlices() {
+        // ARRANGE
+        BarColumns columns = BarColumns.fromBars(createBars(10));
+
+        // ACT
+        BarColumns slice = columns.slice(4, 7);
+
+        // ASSERT
+        assertEquals(3, slice.size());
+        assertEquals(columns.openTime(4), slice.openTime(0));
+        assertEquals(columns.closeUnscaled(6), slice.closeUnscaled(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.slice(8, 11));
+    }
+
+    @Test
+    void shouldRejectMixedSymbols() {
+        List<BarData> bars = createBars(2);
+        bars.get(1).setSymbol("OTHERUSDT");
+
+        assertThrows(IllegalArgumentException.class, () -> BarColumns.fromBars(bars));
+    }
+
+    private List<BarData> createBars(int count) {
+        List<BarData> bars = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BigDecimal price = new BigDecimal("65432.12345678").add(BigDecimal.valueOf(i));
+            bars.add(BarData.builder()
+                    .symbol(SYMBOL).interval(INTERVAL)
+                    .openTime(BASE_TIME.plusHours(i))
+                    .openPrice(price).highPrice(price).lowPrice(price).closePrice(price)
+                    .volume(new BigDecimal("12.50000000"))
+                    .build());
+        }
+        return bars;
+    }
+}
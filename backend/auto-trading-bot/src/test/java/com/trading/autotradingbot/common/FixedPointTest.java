@@ -0,0 +1,99 @@
+package com.trading.autotradingbot.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointTest {
+
+    private static final RoundingMode[] MODES = {RoundingMode.DOWN, RoundingMode.HALF_UP};
+
+    @Test
+    void shouldMatchBigDecimalMultiplyAndDivide() {
+        // ARRANGE
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long a = randomValue(random);
+            long b = randomValue(random);
+
+            for (RoundingMode mode : MODES) {
+                // ACT & ASSERT
+                BigDecimal product = decimal(a).multiply(decimal(b)).setScale(AccountConstants.SCALE, mode);
+                assertMatches(product, () -> FixedPoint.multiply(a, b, mode));
+
+                if (b != 0) {
+                    BigDecimal quotient = decimal(a).divide(decimal(b), AccountConstants.SCALE, mode);
+                    assertMatches(quotient, () -> FixedPoint.divide(a, b, mode));
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldMatchBigDecimalWeightedAverage() {
+        // ARRANGE
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 100_000; i++) {
+            // Quantities stay small enough for their sum to fit; prices use the full range
+            long quantityA = random.nextLong(0, 1_000_000L * FixedPoint.ONE);
+            long priceA = Math.abs(randomValue(random));
+            long quantityB = random.nextLong(1, 1_000_000L * FixedPoint.ONE);
+            long priceB = Math.abs(randomValue(random));
+
+            // ACT & ASSERT
+            BigDecimal expected = decimal(quantityA).multiply(decimal(priceA))
+                    .add(decimal(quantityB).multiply(decimal(priceB)))
+                    .divide(decimal(quantityA).add(decimal(quantityB)), AccountConstants.SCALE, RoundingMode.HALF_UP);
+            assertMatches(expected, () -> FixedPoint.weightedAverage(quantityA, priceA, quantityB, priceB, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Test
+    void shouldRoundHalfAwayFromZero() {
+        // ARRANGE
+        long half = FixedPoint.fromDecimal(new BigDecimal("0.5"));
+        long oneUnit = 1;
+
+        // ACT & ASSERT
+        assertEquals(1, FixedPoint.multiply(oneUnit, half, RoundingMode.HALF_UP));
+        assertEquals(-1, FixedPoint.multiply(-oneUnit, half, RoundingMode.HALF_UP));
+        assertEquals(0, FixedPoint.multiply(-oneUnit, half, RoundingMode.DOWN));
+    }
+
+    @Test
+    void shouldRejectValuesThatDoNotFitTheScale() {
+        // ACT & ASSERT
+        assertThrows(ArithmeticException.class, () -> FixedPoint.fromDecimal(new BigDecimal("0.000000001")));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.multiply(Long.MAX_VALUE, 2 * FixedPoint.ONE, RoundingMode.DOWN));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.divide(FixedPoint.ONE, 0, RoundingMode.DOWN));
+        assertThrows(IllegalArgumentException.class, () -> FixedPoint.multiply(1, 1, RoundingMode.CEILING));
+        assertEquals(1_000_000_000_000L, FixedPoint.fromDecimal(new BigDecimal("10000.00")));
+    }
+
+    private static void assertMatches(BigDecimal expected, LongSupplier actual) {
+        if (expected.unscaledValue().bitLength() < Long.SIZE) {
+            assertEquals(expected, FixedPoint.toDecimal(actual.getAsLong()));
+        } else {
+            assertThrows(ArithmeticException.class, actual::getAsLong);
+        }
+    }
+
+    // Mixes realistic prices and quantities with values of every magnitude up to the long range
+    private static long randomValue(SplittableRandom random) {
+        long value = random.nextBoolean()
+                ? random.nextLong(0, 100_000L * FixedPoint.ONE)
+                : random.nextLong() >>> random.nextInt(1, 64);
+        return random.nextInt(4) == 0 ? -value : value;
+    }
+
+    private static BigDecimal decimal(long value) {
+        return FixedPoint.toDecimal(value);
+    }
+}
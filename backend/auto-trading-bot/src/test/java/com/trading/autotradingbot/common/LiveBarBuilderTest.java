@@ -0,0 +1,97 @@
+package com.trading.autotradingbot.common;
+
+import com.trading.autotradingbot.entity.enums.KlineInterval;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveBarBuilderTest {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long START = Instant.parse("2024-01-01T10:00:00Z").toEpochMilli();
+
+    private record Bar(long openTime, long open, long high, long low, long close, double volume) {}
+
+    private final List<Bar> bars = new ArrayList<>();
+    private final LiveBarBuilder builder = new LiveBarBuilder(KlineInterval.FIVE_MINUTES,
+            (openTime, open, high, low, close, volume) -> bars.add(new Bar(openTime, open, high, low, close, volume)));
+
+    @Test
+    void shouldRollTradesUpIntoAlignedBar() {
+        // ARRANGE
+        builder.onTrade(START + 2 * MINUTE_MILLIS, unscaled("100"), unscaled("0.5"));
+        builder.onTrade(START + 3 * MINUTE_MILLIS, unscaled("104"), unscaled("0.25"));
+        builder.onTrade(START + 4 * MINUTE_MILLIS, unscaled("98"), unscaled("1"));
+
+        // ACT
+        int emitted = builder.onTrade(START + 5 * MINUTE_MILLIS, unscaled("101"), unscaled("2"));
+
+        // ASSERT
+        assertEquals(1, emitted);
+        assertEquals(List.of(new Bar(START, unscaled("100"), unscaled("104"), unscaled("98"), unscaled("98"),
+                1.75)), bars);
+        assertEquals(START + 5 * MINUTE_MILLIS, builder.getOpenTime());
+        assertEquals(2.0, builder.getVolume());
+    }
+
+    @Test
+    void shouldEmitFlatBarsForIntervalsWithoutTrades() {
+        // ARRANGE
+        builder.onTrade(START, unscaled("100"), unscaled("1"));
+
+        // ACT
+        int emitted = builder.onTrade(START + 17 * MINUTE_MILLIS, unscaled("110"), unscaled("3"));
+
+        // ASSERT
+        assertEquals(3, emitted);
+        Bar flat = new Bar(START + 5 * MINUTE_MILLIS, unscaled("100"), unscaled("100"), unscaled("100"),
+                unscaled("100"), 0);
+        assertEquals(flat, bars.get(1));
+        assertEquals(START + 10 * MINUTE_MILLIS, bars.get(2).openTime());
+        assertEquals(START + 15 * MINUTE_MILLIS, builder.getOpenTime());
+    }
+
+    @Test
+    void shouldCloseBarOnTimerAndOpenNextAtFirstTrade() {
+        // ARRANGE
+        builder.onTrade(START, unscaled("100"), unscaled("1"));
+
+        // ACT
+        int emitted = builder.advanceTo(START + 6 * MINUTE_MILLIS);
+        builder.onTrade(START + 7 * MINUTE_MILLIS, unscaled("95"), unscaled("1"));
+        builder.advanceTo(START + 10 * MINUTE_MILLIS);
+
+        // ASSERT
+        assertEquals(1, emitted);
+        assertEquals(2, bars.size());
+        assertEquals(new Bar(START + 5 * MINUTE_MILLIS, unscaled("95"), unscaled("95"), unscaled("95"),
+                unscaled("95"), 1.0), bars.get(1), "The open is the first trade, not the previous close.");
+    }
+
+    @Test
+    void shouldContinueFromSeededBarAndIgnoreLateTrades() {
+        // ARRANGE
+        builder.seed(START, unscaled("100"), unscaled("102"), unscaled("99"), unscaled("101"), 10.0);
+
+        // ACT
+        builder.onTrade(START + 4 * MINUTE_MILLIS, unscaled("103"), unscaled("1"));
+        builder.onTrade(START + 6 * MINUTE_MILLIS, unscaled("104"), unscaled("1"));
+        int late = builder.onTrade(START + 4 * MINUTE_MILLIS, unscaled("90"), unscaled("1"));
+
+        // ASSERT
+        assertEquals(0, late);
+        assertEquals(List.of(new Bar(START, unscaled("100"), unscaled("103"), unscaled("99"), unscaled("103"),
+                11.0)), bars);
+        assertEquals(unscaled("104"), builder.getClose());
+        assertEquals(1.0, builder.getVolume());
+    }
+
+    private static long unscaled(String value) {
+        return BarColumns.toUnscaled(new BigDecimal(value));
+    }
+}
@@ -0,0 +1,70 @@
+package com.trading.autotradingbot.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LttbDownsamplerTest {
+
+    private record Point(double x, double y) {}
+
+    @Test
+    void shouldReduceToThresholdKeepingEndpointsAndPeaks() {
+        // ARRANGE
+        List<Point> points = IntStream.range(0, 10_000)
+                .mapToObj(i -> new Point(i, i == 4321 ? 500 : Math.sin(i / 100.0)))
+                .toList();
+        LttbDownsampler<Point> downsampler = new LttbDownsampler<>(points.size(), 100, Point::x, Point::y);
+
+        // ACT
+        points.forEach(downsampler);
+        List<Point> sampled = downsampler.finish();
+
+        // ASSERT
+        assertEquals(100, sampled.size());
+        assertEquals(points.getFirst(), sampled.getFirst());
+        assertEquals(points.getLast(), sampled.getLast());
+        assertTrue(sampled.contains(points.get(4321)), "The outlier must survive downsampling.");
+        for (int i = 1; i < sampled.size(); i++) {
+            assertTrue(sampled.get(i).x() > sampled.get(i - 1).x(), "Points must stay in x order.");
+        }
+    }
+
+    @Test
+    void shouldReturnAllPointsWhenBelowThreshold() {
+        // ARRANGE
+        List<Point> points = List.of(new Point(0, 1), new Point(1, 2), new Point(2, 3));
+        LttbDownsampler<Point> downsampler = new LttbDownsampler<>(points.size(), 10, Point::x, Point::y);
+
+        // ACT
+        points.forEach(downsampler);
+
+        // ASSERT
+        assertEquals(points, downsampler.finish());
+    }
+
+    @Test
+    void shouldKeepLastPointWhenFewerPointsArriveThanAnnounced() {
+        // ARRANGE
+        List<Point> points = IntStream.range(0, 50).mapToObj(i -> new Point(i, i % 7)).toList();
+        LttbDownsampler<Point> downsampler = new LttbDownsampler<>(100, 10, Point::x, Point::y);
+
+        // ACT
+        points.forEach(downsampler);
+        List<Point> sampled = downsampler.finish();
+
+        // ASSERT
+        assertTrue(sampled.size() <= 10);
+        assertEquals(points.getFirst(), sampled.getFirst());
+        assertEquals(points.getLast(), sampled.getLast());
+    }
+
+    @Test
+    void shouldRejectThresholdBelowThree() {
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> new LttbDownsampler<Point>(10, 2, Point::x, Point::y));
+    }
+}
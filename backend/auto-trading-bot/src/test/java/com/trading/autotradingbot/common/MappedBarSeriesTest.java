@@ -0,0 +1,88 @@
+package com.trading.autotradingbot.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedBarSeriesTest {
+
+    private static final String SYMBOL = "TESTUSDT";
+    private static final String INTERVAL = "1h";
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final long BASE_TIME = 1_704_067_200_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRoundTripBarsThroughArchiveFile() throws IOException {
+        // ARRANGE
+        BarColumns columns = createColumns(5000);
+        Path file = tempDir.resolve("bars.bars");
+
+        // ACT
+        MappedBarSeries.write(file, columns);
+        MappedBarSeries mapped = MappedBarSeries.map(file, SYMBOL, INTERVAL);
+
+        // ASSERT
+        assertEquals(columns.size(), mapped.size());
+        assertEquals(MappedBarSeries.HEADER_BYTES + 5000L * MappedBarSeries.RECORD_BYTES, Files.size(file));
+        for (int i = 0; i < columns.size(); i++) {
+            assertEquals(columns.openTime(i), mapped.openTime(i));
+            assertEquals(columns.openUnscaled(i), mapped.openUnscaled(i));
+            assertEquals(columns.highUnscaled(i), mapped.highUnscaled(i));
+            assertEquals(columns.lowUnscaled(i), mapped.lowUnscaled(i));
+            assertEquals(columns.closeUnscaled(i), mapped.closeUnscaled(i));
+            assertEquals(columns.volume(i), mapped.volume(i));
+        }
+        assertEquals(columns.toBarData(4999), mapped.toBarData(4999));
+    }
+
+    @Test
+    void shouldLookUpRangesByOpenTime() throws IOException {
+        // ARRANGE
+        Path file = tempDir.resolve("bars.bars");
+        MappedBarSeries.write(file, createColumns(100));
+        MappedBarSeries mapped = MappedBarSeries.map(file, SYMBOL, INTERVAL);
+
+        // ACT
+        BarSeriesView range = mapped.range(BASE_TIME + 10 * HOUR_MILLIS - 1, BASE_TIME + 19 * HOUR_MILLIS);
+        BarSeriesView beyondEnd = mapped.range(BASE_TIME + 200 * HOUR_MILLIS, Long.MAX_VALUE);
+
+        // ASSERT
+        assertEquals(10, range.size());
+        assertEquals(BASE_TIME + 10 * HOUR_MILLIS, range.openTime(0));
+        assertEquals(BASE_TIME + 19 * HOUR_MILLIS, range.openTime(9));
+        assertEquals(mapped.closeUnscaled(15), range.closeUnscaled(5));
+        assertTrue(beyondEnd.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> range.openTime(10));
+    }
+
+    @Test
+    void shouldRejectTruncatedFile() throws IOException {
+        // ARRANGE
+        Path file = tempDir.resolve("bars.bars");
+        MappedBarSeries.write(file, createColumns(10));
+        try (var channel = Files.newByteChannel(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 1);
+        }
+
+        // ACT & ASSERT
+        assertThrows(IOException.class, () -> MappedBarSeries.map(file, SYMBOL, INTERVAL));
+    }
+
+    private static BarColumns createColumns(int count) {
+        BarColumns.Builder builder = new BarColumns.Builder(SYMBOL, INTERVAL, count);
+        for (int i = 0; i < count; i++) {
+            long close = 100_00000000L + i * 1234L;
+            builder.add(BASE_TIME + i * HOUR_MILLIS, close - 5, close + 10, close - 10, close, 7 + i * 0.125);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.trading.autotradingbot.entity.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KlineIntervalTest {
+
+    @Test
+    void shouldTellMinutesFromMonthsByCase() {
+        // ACT & ASSERT
+        assertEquals(KlineInterval.ONE_MINUTE, KlineInterval.fromCode("1m"));
+        assertEquals(KlineInterval.ONE_MONTH, KlineInterval.fromCode("1M"));
+    }
+
+    @Test
+    void shouldRejectCodesInTheWrongCase() {
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> KlineInterval.fromCode("1H"));
+    }
+
+    @Test
+    void shouldResolveEveryCodeToItsOwnInterval() {
+        // ACT & ASSERT
+        for (KlineInterval interval : KlineInterval.values()) {
+            assertEquals(interval, KlineInterval.fromCode(interval.getCode()));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.trading.autotradingbot.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndicatorGraphTest {
+
+    @Test
+    void shouldShareNodesBetweenEqualSpecs() {
+        // ARRANGE
+        IndicatorGraph graph = new IndicatorGraph();
+
+        // ACT
+        int fast = graph.register(IndicatorSpec.ema(12));
+        int slow = graph.register(IndicatorSpec.ema(26));
+        int keltnerEma = graph.register(IndicatorSpec.ema(26));
+        int rsi = graph.register(IndicatorSpec.rsi(14));
+        int otherRsi = graph.register(IndicatorSpec.rsi(14));
+
+        // ASSERT
+        assertEquals(slow, keltnerEma, "EMA 26 should be a single node.");
+        assertEquals(rsi, otherRsi, "RSI 14 should be a single node.");
+        assertNotEquals(fast, slow);
+        assertEquals(4, graph.getNodeCount(), "Close, EMA 12, EMA 26 and RSI 14.");
+    }
+
+    @Test
+    void shouldMatchStandaloneIndicatorsAcrossBarsAndUpdates() {
+        // ARRANGE
+        IndicatorGraph graph = new IndicatorGraph();
+        int ema = graph.register(IndicatorSpec.ema(5));
+        int rsi = graph.register(IndicatorSpec.rsi(5));
+        int atr = graph.register(IndicatorSpec.atr(5));
+        StreamingEma expectedEma = new StreamingEma(5);
+        StreamingRsi expectedRsi = new StreamingRsi(5);
+        StreamingAtr expectedAtr = new StreamingAtr(5);
+
+        // ACT & ASSERT
+        for (int i = 0; i < 40; i++) {
+            double close = 100 + 10 * Math.sin(i / 3.0);
+            double high = close + 1 + (i % 3);
+            double low = close - 1;
+            graph.addBar(high, low, close);
+            expectedEma.addBar(close);
+            expectedRsi.addBar(close);
+            expectedAtr.addBar(high, low, close);
+
+            // Re-price the forming bar, as live trades do
+            graph.updateLast(high + 2, low, close + 1);
+            expectedEma.updateLast(close + 1);
+            expectedRsi.updateLast(close + 1);
+            expectedAtr.updateLast(high + 2, low, close + 1);
+
+            assertEquals(expectedEma.getValue(), graph.value(ema), 1e-12, "EMA at bar " + i);
+            assertEquals(expectedRsi.getValue(), graph.value(rsi), 1e-12, "RSI at bar " + i);
+            assertEquals(expectedAtr.getValue(), graph.value(atr), 1e-12, "ATR at bar " + i);
+        }
+        assertEquals(40, graph.getBarCount());
+    }
+
+    @Test
+    void shouldComputeEmaAndAtrValues() {
+        // ARRANGE
+        IndicatorGraph graph = new IndicatorGraph();
+        int ema = graph.register(IndicatorSpec.ema(3));
+        int atr = graph.register(IndicatorSpec.atr(2));
+
+        // ACT
+        graph.addBar(12, 8, 10);
+        graph.addBar(13, 11, 12);
+        graph.addBar(20, 14, 18);
+
+        // ASSERT
+        // EMA: 10, then 10 + (12 - 10) * 0.5 = 11, then 11 + (18 - 11) * 0.5 = 14.5
+        assertEquals(14.5, graph.value(ema), 1e-12);
+        // ATR: TR 4, then TR max(2, |13 - 10|, |10 - 11|) = 3 -> 4 + (3 - 4) / 2 = 3.5,
+        // then TR max(6, |20 - 12|, |12 - 14|) = 8 -> 3.5 + (8 - 3.5) / 2 = 5.75
+        assertEquals(5.75, graph.value(atr), 1e-12);
+    }
+
+    @Test
+    void shouldRejectNewIndicatorsAfterTheFirstBar() {
+        // ARRANGE
+        IndicatorGraph graph = new IndicatorGraph();
+        int ema = graph.register(IndicatorSpec.ema(3));
+        graph.addBar(1, 1, 1);
+
+        // ACT & ASSERT
+        assertEquals(ema, graph.register(IndicatorSpec.ema(3)), "Known indicators are still resolved.");
+        assertThrows(IllegalStateException.class, () -> graph.register(IndicatorSpec.ema(4)));
+    }
+}
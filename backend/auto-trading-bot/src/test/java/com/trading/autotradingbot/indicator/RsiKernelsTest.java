@@ -0,0 +1,73 @@
+package com.trading.autotradingbot.indicator;
+
+import com.trading.autotradingbot.common.BarColumns;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RsiKernelsTest {
+
+    @Test
+    void shouldMatchStreamingRsiBitForBit() {
+        // ARRANGE
+        // Lengths around the lane counts, and prices that stay flat for a while, so no-gain and no-loss bars occur
+        for (int size : new int[]{1, 2, 3, 7, 8, 9, 67, 1000}) {
+            long[] closes = randomCloses(size, size);
+            double[] prices = BarColumns.toDoubles(closes);
+            double[] gains = new double[size];
+            double[] losses = new double[size];
+            double[] rsi = new double[size];
+
+            for (int period : new int[]{1, 2, 14}) {
+                // ACT
+                RsiKernels.gainsAndLosses(prices, gains, losses);
+                RsiKernels.rsi(gains, losses, period, rsi, new double[size]);
+
+                // ASSERT
+                StreamingRsi expected = new StreamingRsi(period);
+                for (int i = 0; i < size; i++) {
+                    expected.addBar(BarColumns.toDouble(closes[i]));
+                    assertEquals(expected.getValue(), rsi[i], 0.0, "RSI " + period + " at bar " + i + " of " + size);
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldSetOneBitPerSignalBar() {
+        // ARRANGE
+        double[] rsi = new double[131];
+        for (int i = 0; i < rsi.length; i++) {
+            rsi[i] = (i * 37) % 101;
+        }
+        long[] buys = new long[RsiKernels.words(rsi.length)];
+        long[] sells = new long[buys.length];
+        sells[2] = -1L; // stale bits from a previous combination
+
+        // ACT
+        RsiKernels.signals(rsi, 30, 70, buys, sells);
+
+        // ASSERT
+        for (int i = 0; i < rsi.length; i++) {
+            assertEquals(rsi[i] < 30, (buys[i >>> 6] & (1L << i)) != 0, "Buy bit of bar " + i);
+            assertEquals(rsi[i] > 70, (sells[i >>> 6] & (1L << i)) != 0, "Sell bit of bar " + i);
+        }
+        assertEquals(0, sells[2] >>> (rsi.length & 63), "No bits past the last bar.");
+    }
+
+    private static long[] randomCloses(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] closes = new long[size];
+        long close = BarColumns.toUnscaled(new BigDecimal("100"));
+        for (int i = 0; i < size; i++) {
+            if (i >= size / 3 || i % 5 == 0) {
+                close += random.nextLong(-50_000_000L, 50_000_001L);
+            }
+            closes[i] = close;
+        }
+        return closes;
+    }
+}
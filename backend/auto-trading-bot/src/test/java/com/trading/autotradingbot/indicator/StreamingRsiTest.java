@@ -0,0 +1,106 @@
+package com.trading.autotradingbot.indicator;
+
+import com.trading.autotradingbot.entity.BarData;
+import com.trading.autotradingbot.mapper.BarConverter;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.Num;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingRsiTest {
+
+    private static final int RSI_PERIOD = 14;
+    private static final double TOLERANCE = 1e-6;
+
+    @Test
+    void shouldMatchTa4jRsiForClosedAndFormingBars() {
+        // ARRANGE
+        BarSeries series = new BaseBarSeriesBuilder().withName("TESTUSDT").build();
+        StreamingRsi streamingRsi = new StreamingRsi(RSI_PERIOD);
+        Random random = new Random(42);
+        LocalDateTime openTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+        BigDecimal price = new BigDecimal("100.00");
+
+        for (int i = 0; i < 300; i++) {
+            price = randomStep(random, price);
+            series.addBar(BarConverter.toTa4jBar(bar(openTime.plusHours(i), price), series.numFactory()));
+            streamingRsi.addBar(price.doubleValue());
+
+            assertMatches(series, streamingRsi);
+
+            // Intra-bar ticks only move the provisional close
+            for (int tick = 0; tick < 2; tick++) {
+                price = randomStep(random, price);
+                series.addPrice(series.numFactory().numOf(price));
+                streamingRsi.updateLast(price.doubleValue());
+
+                assertMatches(series, streamingRsi);
+            }
+        }
+    }
+
+    @Test
+    void shouldReturnHundredWhenThereAreNoLosses() {
+        StreamingRsi rsi = new StreamingRsi(RSI_PERIOD);
+        for (int i = 0; i < 20; i++) {
+            rsi.addBar(100 + i);
+        }
+
+        assertEquals(100.0, rsi.getValue(), TOLERANCE);
+    }
+
+    @Test
+    void shouldNotChangeCommittedStateOnProvisionalUpdate() {
+        StreamingRsi rsi = new StreamingRsi(RSI_PERIOD);
+        for (int i = 0; i < 20; i++) {
+            rsi.addBar(i % 2 == 0 ? 100.5 : 99.5);
+        }
+        double before = rsi.getValue();
+
+        rsi.updateLast(80);
+        rsi.updateLast(99.5);
+
+        assertEquals(before, rsi.getValue(), 0.0);
+    }
+
+    private static void assertMatches(BarSeries series, StreamingRsi streamingRsi) {
+        int endIndex = series.getEndIndex();
+        if (endIndex < RSI_PERIOD) {
+            return;
+        }
+
+        RSIIndicator rsi = new RSIIndicator(new ClosePriceIndicator(series), RSI_PERIOD);
+        Num expected = rsi.getValue(endIndex);
+
+        assertEquals(expected.doubleValue(), streamingRsi.getValue(), TOLERANCE,
+                "Streaming RSI diverged from ta4j at bar " + endIndex);
+    }
+
+    private static BigDecimal randomStep(Random random, BigDecimal price) {
+        BigDecimal change = BigDecimal.valueOf(random.nextGaussian()).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal next = price.add(change);
+        return next.compareTo(BigDecimal.ONE) < 0 ? BigDecimal.ONE : next;
+    }
+
+    private static BarData bar(LocalDateTime openTime, BigDecimal close) {
+        return BarData.builder()
+                .symbol("TESTUSDT")
+                .interval("1h")
+                .openTime(openTime)
+                .openPrice(close)
+                .highPrice(close)
+                .lowPrice(close)
+                .closePrice(close)
+                .volume(BigDecimal.ZERO)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.trading.autotradingbot.repository;
+
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.BarSeriesView;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BarColumnStoreTest {
+
+    private static final String SYMBOL = "BTCUSDT";
+    private static final String INTERVAL = "1h";
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private final BarDataRepository barDataRepository = mock(BarDataRepository.class);
+    private final BarArchive barArchive = mock(BarArchive.class);
+    private final BarColumnStore store = new BarColumnStore(barDataRepository, barArchive);
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws InterruptedException {
+        // ARRANGE
+        BarColumns bars = hourlyBars(3);
+        givenStatsOf(bars);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(barDataRepository.findColumnsBySymbolAndInterval(SYMBOL, INTERVAL)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return bars;
+        });
+
+        // ACT
+        AtomicReference<BarSeriesView> first = new AtomicReference<>();
+        Thread loader = Thread.ofPlatform().start(() -> first.set(store.get(SYMBOL, INTERVAL)));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        AtomicReference<BarSeriesView> second = new AtomicReference<>();
+        Thread waiter = Thread.ofPlatform().start(() -> second.set(store.get(SYMBOL, INTERVAL)));
+        release.countDown();
+        loader.join();
+        waiter.join();
+
+        // ASSERT
+        assertSame(bars, first.get());
+        assertSame(bars, second.get());
+        verify(barDataRepository, times(1)).findColumnsBySymbolAndInterval(SYMBOL, INTERVAL);
+    }
+
+    @Test
+    void shouldLoadAgainAfterAFailedLoad() {
+        // ARRANGE
+        BarColumns bars = hourlyBars(3);
+        givenStatsOf(bars);
+        when(barDataRepository.findColumnsBySymbolAndInterval(SYMBOL, INTERVAL))
+                .thenThrow(new IllegalStateException("Connection reset"))
+                .thenReturn(bars);
+
+        // ACT & ASSERT
+        assertThrows(IllegalStateException.class, () -> store.get(SYMBOL, INTERVAL));
+        assertSame(bars, store.get(SYMBOL, INTERVAL));
+    }
+
+    @Test
+    void shouldDeleteTheArchiveWrittenByALoadThatWasInvalidated() {
+        // ARRANGE
+        BarColumns bars = hourlyBars(3);
+        givenStatsOf(bars);
+        // Bars are overwritten in place while they are read, which does not change the stats
+        when(barDataRepository.findColumnsBySymbolAndInterval(SYMBOL, INTERVAL)).thenAnswer(invocation -> {
+            store.invalidate(SYMBOL, INTERVAL);
+            return bars;
+        });
+
+        // ACT
+        BarSeriesView loaded = store.get(SYMBOL, INTERVAL);
+
+        // ASSERT
+        assertSame(bars, loaded);
+        verify(barArchive).write(bars);
+        // Once by the invalidation, and once more for the archive written after it
+        verify(barArchive, times(2)).delete(SYMBOL, INTERVAL);
+    }
+
+    private void givenStatsOf(BarColumns bars) {
+        when(barDataRepository.getCacheStats(SYMBOL, INTERVAL)).thenReturn(new BarDataRepository.CacheStats(
+                bars.size(), bars.openTime(0), bars.openTime(bars.size() - 1)));
+    }
+
+    private static BarColumns hourlyBars(int count) {
+        long price = BarColumns.toUnscaled(new BigDecimal("100"));
+        BarColumns.Builder builder = new BarColumns.Builder(SYMBOL, INTERVAL, count);
+        for (int i = 0; i < count; i++) {
+            builder.add(i * HOUR_MILLIS, price, price, price, price, 1);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.trading.autotradingbot.repository;
+
+import com.trading.autotradingbot.entity.AccountSnapshot;
+import com.trading.autotradingbot.entity.JournalEvent;
+import com.trading.autotradingbot.entity.Trade;
+import com.trading.autotradingbot.entity.enums.TradeAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.trading.autotradingbot.common.AccountConstants.LIVE_ACCOUNT_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradingJournalTest {
+
+    private static final int SEGMENT_BYTES = 64 * 1024;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_789);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReplayEventsExactlyAfterReopen() throws IOException {
+        // ARRANGE
+        JournalEvent.Fill fill = new JournalEvent.Fill(trade(), decimal("9000.10000000"), decimal("9999.00000000"),
+                decimal("0.01234567"), decimal("81000.00000000"));
+        JournalEvent.Snapshot snapshot = snapshot(BASE_TIME.plusSeconds(30), "10001.50000000");
+        JournalEvent.Reset reset = new JournalEvent.Reset(LIVE_ACCOUNT_ID, decimal("10000.00000000"), BASE_TIME.plusMinutes(1));
+
+        TradingJournal journal = open();
+        assertEquals(1, journal.append(fill));
+        assertEquals(2, journal.append(snapshot));
+        assertEquals(3, journal.append(reset));
+        journal.close();
+
+        // ACT
+        TradingJournal reopened = open();
+        List<TradingJournal.Entry> entries = readAll(reopened, 0);
+
+        // ASSERT
+        assertEquals(journal.getJournalId(), reopened.getJournalId());
+        assertEquals(3, reopened.getLastSequence());
+        assertEquals(List.of(new TradingJournal.Entry(1, fill), new TradingJournal.Entry(2, snapshot),
+                new TradingJournal.Entry(3, reset)), entries);
+        assertEquals(List.of(new TradingJournal.Entry(3, reset)), readAll(reopened, 2));
+    }
+
+    @Test
+    void shouldDiscardTornRecordAtEndOfJournal() throws IOException {
+        // ARRANGE
+        TradingJournal journal = open();
+        for (int i = 0; i < 3; i++) {
+            journal.append(snapshot(BASE_TIME.plusSeconds(i), "10000.00000000"));
+        }
+        journal.close();
+
+        // Damage the last record, as if the process died while writing it
+        Path segment = segments().getFirst();
+        byte[] bytes = Files.readAllBytes(segment);
+        int lastWritten = bytes.length - 1;
+        while (bytes[lastWritten] == 0) {
+            lastWritten--;
+        }
+        bytes[lastWritten] ^= 0x5A;
+        Files.write(segment, bytes);
+
+        // ACT
+        TradingJournal reopened = open();
+        long sequence = reopened.append(snapshot(BASE_TIME.plusSeconds(10), "10100.00000000"));
+
+        // ASSERT
+        assertEquals(3, sequence);
+        List<TradingJournal.Entry> entries = readAll(reopened, 0);
+        assertEquals(3, entries.size());
+        assertEquals(BASE_TIME.plusSeconds(10), ((JournalEvent.Snapshot) entries.getLast().event()).snapshot().getTimestamp());
+    }
+
+    @Test
+    void shouldRollOverSegmentsAndDeleteProjectedOnes() throws IOException {
+        // ARRANGE
+        TradingJournal journal = new TradingJournal(tempDir, 2048, false);
+        journal.open();
+        for (int i = 0; i < 100; i++) {
+            journal.append(snapshot(BASE_TIME.plusSeconds(i), "10000.00000000"));
+        }
+        int segmentsBefore = journal.getSegmentCount();
+        journal.close();
+
+        // ACT
+        TradingJournal reopened = new TradingJournal(tempDir, 2048, false);
+        reopened.open();
+        List<TradingJournal.Entry> allEntries = readAll(reopened, 0);
+        reopened.deleteSegmentsUpTo(60);
+
+        // ASSERT
+        assertTrue(segmentsBefore > 2, "100 events should not fit two 2 KB segments");
+        assertEquals(100, allEntries.size());
+        assertEquals(100, allEntries.getLast().sequence());
+        assertTrue(reopened.getSegmentCount() < segmentsBefore);
+        assertEquals(reopened.getSegmentCount(), segments().size());
+        assertEquals(40, readAll(reopened, 60).size());
+        assertThrows(IllegalStateException.class, () -> reopened.cursor(0));
+    }
+
+    @Test
+    void shouldKeepReadingWhenTheSegmentUnderALiveCursorIsDeleted() throws IOException {
+        // ARRANGE
+        TradingJournal journal = new TradingJournal(tempDir, 2048, false);
+        journal.open();
+        long firstOfSecondSegment = 0;
+        for (int i = 0; journal.getSegmentCount() == 1; i++) {
+            firstOfSecondSegment = journal.append(snapshot(BASE_TIME.plusSeconds(i), "10000.00000000"));
+        }
+
+        // Read exactly the first segment, leaving the cursor at its end
+        TradingJournal.Cursor cursor = journal.cursor(0);
+        List<TradingJournal.Entry> entries = new ArrayList<>();
+        cursor.poll((int) firstOfSecondSegment - 1, entries::add);
+        journal.append(snapshot(BASE_TIME.plusHours(1), "10000.00000000"));
+
+        // ACT
+        journal.deleteSegmentsUpTo(firstOfSecondSegment - 1);
+        cursor.poll(Integer.MAX_VALUE, entries::add);
+
+        // ASSERT
+        assertEquals(1, journal.getSegmentCount());
+        assertEquals(firstOfSecondSegment + 1, entries.size());
+        assertEquals(firstOfSecondSegment + 1, entries.getLast().sequence());
+    }
+
+    @Test
+    void shouldRejectJournalWithMissingSegment() throws IOException {
+        // ARRANGE
+        TradingJournal journal = new TradingJournal(tempDir, 2048, false);
+        journal.open();
+        for (int i = 0; i < 100; i++) {
+            journal.append(snapshot(BASE_TIME.plusSeconds(i), "10000.00000000"));
+        }
+        journal.close();
+        Files.delete(segments().get(1));
+
+        // ACT & ASSERT
+        TradingJournal reopened = new TradingJournal(tempDir, 2048, false);
+        assertThrows(IllegalStateException.class, reopened::open);
+    }
+
+    private TradingJournal open() throws IOException {
+        TradingJournal journal = new TradingJournal(tempDir, SEGMENT_BYTES, false);
+        journal.open();
+        return journal;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static List<TradingJournal.Entry> readAll(TradingJournal journal, long afterSequence) {
+        List<TradingJournal.Entry> entries = new ArrayList<>();
+        TradingJournal.Cursor cursor = journal.cursor(afterSequence);
+        while (cursor.poll(10, entries::add) > 0) {
+            // Drain
+        }
+        return entries;
+    }
+
+    private static Trade trade() {
+        return Trade.builder()
+                .accountId(LIVE_ACCOUNT_ID)
+                .timestamp(BASE_TIME)
+                .symbol("BTCUSDT")
+                .action(TradeAction.BUY)
+                .quantity(decimal("0.01234567"))
+                .price(decimal("81000.00000000"))
+                .fee(decimal("0.99900000"))
+                .profitLoss(decimal("-0.99900000"))
+                .finalBalance(decimal("9000.10000000"))
+                .strategyName("RSI_Simple_30_70")
+                .build();
+    }
+
+    private static JournalEvent.Snapshot snapshot(LocalDateTime timestamp, String totalBalance) {
+        return new JournalEvent.Snapshot(AccountSnapshot.builder()
+                .accountId(LIVE_ACCOUNT_ID)
+                .timestamp(timestamp)
+                .totalBalance(decimal(totalBalance))
+                .cashBalance(decimal("5000.00000000"))
+                .cryptoBalance(decimal(totalBalance).subtract(decimal("5000.00000000")))
+                .build());
+    }
+
+    // Replayed amounts have the account scale, so the expected values use it too
+    private static BigDecimal decimal(String value) {
+        return new BigDecimal(value);
+    }
+}
@@ -0,0 +1,216 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.entity.Account;
+import com.trading.autotradingbot.entity.AccountSnapshot;
+import com.trading.autotradingbot.entity.JournalEvent;
+import com.trading.autotradingbot.entity.PortfolioHolding;
+import com.trading.autotradingbot.entity.Trade;
+import com.trading.autotradingbot.entity.enums.AccountType;
+import com.trading.autotradingbot.entity.enums.TradeAction;
+import com.trading.autotradingbot.repository.AccountRepository;
+import com.trading.autotradingbot.repository.JournalCheckpointRepository;
+import com.trading.autotradingbot.repository.PortfolioRepository;
+import com.trading.autotradingbot.repository.TradingJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.trading.autotradingbot.common.AccountConstants.LIVE_ACCOUNT_ID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountJournalTest {
+
+    private static final long BACKTEST_ACCOUNT_ID = 2L;
+    private static final String SYMBOL = "BTCUSDT";
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private TradingJournal journal;
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final PortfolioRepository portfolioRepository = mock(PortfolioRepository.class);
+    private final JournalCheckpointRepository checkpointRepository = mock(JournalCheckpointRepository.class);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journal = new TradingJournal(tempDir, 64 * 1024, false);
+        journal.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void shouldReplayTheEventsAfterTheCheckpointOnRecover() {
+        // ARRANGE
+        journal.append(buy());
+        journal.append(sell());
+        journal.append(snapshot(decimal("10050.00000000")));
+
+        // The database holds the state after the buy
+        givenAccount(LIVE_ACCOUNT_ID, AccountType.LIVE, decimal("9000.10000000"), decimal("9999.00000000"));
+        when(portfolioRepository.findAllByAccountId(LIVE_ACCOUNT_ID)).thenReturn(List.of(holding()));
+        when(checkpointRepository.findSequence(journal.getJournalId())).thenReturn(1L);
+
+        AccountJournal accountJournal = new AccountJournal(journal, accountRepository, portfolioRepository, checkpointRepository);
+
+        // ACT
+        accountJournal.recover();
+
+        // ASSERT
+        Account account = accountJournal.getAccount(LIVE_ACCOUNT_ID);
+        assertEquals(decimal("10040.00000000"), account.getCurrentBalance());
+        assertEquals(decimal("10050.00000000"), account.getCurrentPortfolioValue());
+        assertTrue(accountJournal.findHoldings(LIVE_ACCOUNT_ID).isEmpty());
+    }
+
+    @Test
+    void shouldNotReapplyEventsUpToTheCheckpoint() {
+        // ARRANGE
+        journal.append(buy());
+
+        // Projected and changed since, e.g. by a manual correction
+        givenAccount(LIVE_ACCOUNT_ID, AccountType.LIVE, decimal("8000.00000000"), decimal("8999.00000000"));
+        when(portfolioRepository.findAllByAccountId(LIVE_ACCOUNT_ID)).thenReturn(List.of());
+        when(checkpointRepository.findSequence(journal.getJournalId())).thenReturn(1L);
+
+        AccountJournal accountJournal = new AccountJournal(journal, accountRepository, portfolioRepository, checkpointRepository);
+
+        // ACT
+        accountJournal.recover();
+
+        // ASSERT
+        assertEquals(decimal("8000.00000000"), accountJournal.getAccount(LIVE_ACCOUNT_ID).getCurrentBalance());
+        assertTrue(accountJournal.findHolding(LIVE_ACCOUNT_ID, SYMBOL).isEmpty());
+    }
+
+    @Test
+    void shouldOnlyJournalLiveAccounts() {
+        // ARRANGE
+        givenAccount(LIVE_ACCOUNT_ID, AccountType.LIVE, decimal("10000.00000000"), decimal("10000.00000000"));
+        givenAccount(BACKTEST_ACCOUNT_ID, AccountType.BACKTEST, decimal("10000.00000000"), decimal("10000.00000000"));
+        when(accountRepository.findById(99L)).thenReturn(Optional.empty());
+
+        AccountJournal accountJournal = new AccountJournal(journal, accountRepository, portfolioRepository, checkpointRepository);
+
+        // ACT & ASSERT
+        assertTrue(accountJournal.isJournaled(LIVE_ACCOUNT_ID));
+        assertFalse(accountJournal.isJournaled(BACKTEST_ACCOUNT_ID));
+        assertFalse(accountJournal.isJournaled(99L));
+        assertThrows(IllegalStateException.class, () -> accountJournal.getAccount(BACKTEST_ACCOUNT_ID));
+    }
+
+    @Test
+    void shouldJournalAConcurrentFillAfterTheSnapshotThatMissedIt() throws InterruptedException {
+        // ARRANGE
+        givenAccount(LIVE_ACCOUNT_ID, AccountType.LIVE, decimal("10000.00000000"), decimal("10000.00000000"));
+        when(portfolioRepository.findAllByAccountId(LIVE_ACCOUNT_ID)).thenReturn(List.of());
+
+        AccountJournal accountJournal = new AccountJournal(journal, accountRepository, portfolioRepository, checkpointRepository);
+        List<Thread> fillers = new ArrayList<>();
+
+        // ACT
+        AccountSnapshot snapshot = accountJournal.recordSnapshot(LIVE_ACCOUNT_ID, (account, holdings) -> {
+            Thread filler = Thread.ofPlatform().start(() -> accountJournal.record(buy()));
+            fillers.add(filler);
+            assertDoesNotThrow(() -> filler.join(200));
+            // The fill waits for the snapshot it would otherwise invalidate
+            assertTrue(filler.isAlive());
+
+            return AccountSnapshot.builder()
+                    .accountId(LIVE_ACCOUNT_ID)
+                    .timestamp(BASE_TIME)
+                    .cashBalance(account.getCurrentBalance())
+                    .cryptoBalance(BigDecimal.ZERO)
+                    .totalBalance(account.getCurrentBalance())
+                    .build();
+        });
+        fillers.getFirst().join();
+
+        // ASSERT
+        assertEquals(decimal("10000.00000000"), snapshot.getCashBalance());
+
+        List<JournalEvent> events = new ArrayList<>();
+        journal.cursor(0).poll(10, entry -> events.add(entry.event()));
+        assertEquals(2, events.size());
+        assertInstanceOf(JournalEvent.Snapshot.class, events.get(0));
+        assertInstanceOf(JournalEvent.Fill.class, events.get(1));
+
+        Account account = accountJournal.getAccount(LIVE_ACCOUNT_ID);
+        assertEquals(decimal("9000.10000000"), account.getCurrentBalance());
+        assertEquals(decimal("9999.00000000"), account.getCurrentPortfolioValue());
+    }
+
+    private void givenAccount(Long id, AccountType accountType, BigDecimal cash, BigDecimal portfolioValue) {
+        when(accountRepository.findById(id)).thenReturn(Optional.of(Account.builder()
+                .id(id)
+                .startBalance(decimal("10000.00000000"))
+                .currentBalance(cash)
+                .currentPortfolioValue(portfolioValue)
+                .creationTimestamp(BASE_TIME)
+                .lastUpdateTimestamp(BASE_TIME)
+                .accountType(accountType)
+                .build()));
+    }
+
+    private static JournalEvent.Fill buy() {
+        return new JournalEvent.Fill(trade(TradeAction.BUY, "9000.10000000"), decimal("9000.10000000"),
+                decimal("9999.00000000"), decimal("0.01234567"), decimal("81000.00000000"));
+    }
+
+    private static JournalEvent.Fill sell() {
+        return new JournalEvent.Fill(trade(TradeAction.SELL, "10040.00000000"), decimal("10040.00000000"),
+                decimal("10040.00000000"), BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    private static JournalEvent.Snapshot snapshot(BigDecimal totalBalance) {
+        return new JournalEvent.Snapshot(AccountSnapshot.builder()
+                .accountId(LIVE_ACCOUNT_ID)
+                .timestamp(BASE_TIME.plusMinutes(5))
+                .cashBalance(decimal("10040.00000000"))
+                .cryptoBalance(totalBalance.subtract(decimal("10040.00000000")))
+                .totalBalance(totalBalance)
+                .build());
+    }
+
+    private static PortfolioHolding holding() {
+        return PortfolioHolding.builder()
+                .accountId(LIVE_ACCOUNT_ID)
+                .symbol(SYMBOL)
+                .quantity(decimal("0.01234567"))
+                .avgBuyPrice(decimal("81000.00000000"))
+                .build();
+    }
+
+    private static Trade trade(TradeAction action, String finalBalance) {
+        return Trade.builder()
+                .accountId(LIVE_ACCOUNT_ID)
+                .timestamp(BASE_TIME)
+                .symbol(SYMBOL)
+                .action(action)
+                .quantity(decimal("0.01234567"))
+                .price(decimal("81000.00000000"))
+                .fee(decimal("0.99900000"))
+                .profitLoss(decimal("-0.99900000"))
+                .finalBalance(decimal(finalBalance))
+                .strategyName("RSI_Simple_30_70")
+                .build();
+    }
+
+    private static BigDecimal decimal(String value) {
+        return new BigDecimal(value);
+    }
+}
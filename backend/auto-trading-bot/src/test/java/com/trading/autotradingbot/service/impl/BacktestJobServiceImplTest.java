@@ -0,0 +1,156 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.dto.BacktestJobDto;
+import com.trading.autotradingbot.entity.BacktestJob;
+import com.trading.autotradingbot.entity.enums.BacktestJobStatus;
+import com.trading.autotradingbot.repository.BacktestJobRepository;
+import com.trading.autotradingbot.service.SimulationAccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BacktestJobServiceImplTest {
+
+    private static final String SYMBOL = "BTCUSDT";
+    private static final String INTERVAL = "1h";
+
+    private TrainingServiceImpl trainingService;
+    private BacktestJobRepository jobRepository;
+    private SimulationAccountService simulationAccountService;
+    private BacktestJobServiceImpl jobService;
+
+    @BeforeEach
+    void setUp() {
+        trainingService = mock(TrainingServiceImpl.class);
+        jobRepository = mock(BacktestJobRepository.class);
+        simulationAccountService = mock(SimulationAccountService.class);
+        jobService = new BacktestJobServiceImpl(trainingService, jobRepository, simulationAccountService,
+                mock(ApplicationEventPublisher.class), 1, 1, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void shouldStoreResultsOfCompletedJob() throws InterruptedException {
+        // ARRANGE
+        when(trainingService.runBacktest(isNull(), eq(SYMBOL), eq(INTERVAL), any())).thenAnswer(invocation -> {
+            BacktestEngine.ProgressListener listener = invocation.getArgument(3);
+            listener.onProgress(500, 500);
+            return new BacktestLedger(null, AccountConstants.DEFAULT_CAPITAL, false);
+        });
+
+        // ACT
+        BacktestJobDto submitted = jobService.submit("btcusdt", INTERVAL, false);
+        BacktestJob finished = awaitFinished();
+
+        // ASSERT
+        assertEquals(BacktestJobStatus.QUEUED, submitted.getStatus());
+        assertEquals(SYMBOL, submitted.getSymbol());
+        assertEquals(submitted.getId(), finished.getId());
+        assertEquals(BacktestJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(500, finished.getBarsProcessed());
+        assertEquals(0, finished.getTradeCount());
+        assertEquals(0, AccountConstants.DEFAULT_CAPITAL.compareTo(finished.getFinalBalance()));
+        verify(jobRepository).markRunning(eq(submitted.getId()), any(), isNull());
+        verifyNoInteractions(simulationAccountService);
+    }
+
+    @Test
+    void shouldStopRunningJobWhenCancelled() throws InterruptedException {
+        // ARRANGE
+        CountDownLatch started = new CountDownLatch(1);
+        when(trainingService.runBacktest(isNull(), eq(SYMBOL), eq(INTERVAL), any())).thenAnswer(invocation -> {
+            started.countDown();
+            // Stands in for the replay loop, which checks the interrupt flag between bars
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.onSpinWait();
+            }
+            throw new CancellationException("Backtest cancelled.");
+        });
+        BacktestJobDto submitted = jobService.submit(SYMBOL, INTERVAL, false);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // ACT
+        jobService.cancel(submitted.getId());
+        BacktestJob finished = awaitFinished();
+
+        // ASSERT
+        assertEquals(BacktestJobStatus.CANCELLED, finished.getStatus());
+        assertNull(finished.getFinalBalance());
+    }
+
+    @Test
+    void shouldDeleteAccountOfFailedJob() {
+        // ARRANGE
+        when(simulationAccountService.createAccountForJob(anyString(), any(), eq(AccountConstants.DEFAULT_CAPITAL)))
+                .thenReturn(7L);
+        when(trainingService.runBacktest(eq(7L), eq(SYMBOL), eq(INTERVAL), any()))
+                .thenThrow(new IllegalStateException("Not enough bars"));
+
+        // ACT
+        jobService.submit(SYMBOL, INTERVAL, true);
+        BacktestJob finished = awaitFinished();
+
+        // ASSERT
+        assertEquals(BacktestJobStatus.FAILED, finished.getStatus());
+        assertEquals(7L, finished.getAccountId());
+        assertEquals("Not enough bars", finished.getErrorMessage());
+        verify(simulationAccountService, timeout(5000)).deleteAccounts(List.of(7L));
+        verify(simulationAccountService, never()).deleteIdleAccounts(anyInt());
+        verify(jobRepository, never()).markRunning(anyString(), any(), any());
+    }
+
+    @Test
+    void shouldRejectSubmissionWhenQueueIsFull() throws InterruptedException {
+        // ARRANGE
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(trainingService.runBacktest(isNull(), eq(SYMBOL), eq(INTERVAL), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return new BacktestLedger(null, AccountConstants.DEFAULT_CAPITAL, false);
+        });
+        jobService.submit(SYMBOL, INTERVAL, false);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        BacktestJobDto queued = jobService.submit(SYMBOL, INTERVAL, false);
+
+        // ACT & ASSERT
+        // One job runs and one waits, so a third exceeds the limits
+        assertThrows(IllegalStateException.class, () -> jobService.submit(SYMBOL, INTERVAL, false));
+        assertEquals(BacktestJobStatus.CANCELLED, jobService.cancel(queued.getId()).getStatus());
+        release.countDown();
+    }
+
+    @Test
+    void shouldReportUnknownJob() {
+        // ARRANGE
+        when(jobRepository.findById("missing")).thenReturn(Optional.empty());
+
+        // ACT & ASSERT
+        assertThrows(NoSuchElementException.class, () -> jobService.getJob("missing"));
+        assertThrows(NoSuchElementException.class, () -> jobService.cancel("missing"));
+    }
+
+    private BacktestJob awaitFinished() {
+        ArgumentCaptor<BacktestJob> captor = ArgumentCaptor.forClass(BacktestJob.class);
+        verify(jobRepository, timeout(5000)).finish(captor.capture());
+        return captor.getValue();
+    }
+}
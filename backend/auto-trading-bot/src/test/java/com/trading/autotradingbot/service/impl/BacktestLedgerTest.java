@@ -0,0 +1,98 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.entity.AccountSnapshot;
+import com.trading.autotradingbot.entity.Trade;
+import com.trading.autotradingbot.entity.enums.TradeAction;
+import com.trading.autotradingbot.exception.TradeExecutionConstraintException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BacktestLedgerTest {
+
+    private static final Long ACCOUNT_ID = 2L;
+    private static final String SYMBOL = "TESTUSDT";
+    private static final BigDecimal INITIAL_CAPITAL = new BigDecimal("10000.00");
+
+    private BacktestLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new BacktestLedger(ACCOUNT_ID, INITIAL_CAPITAL);
+    }
+
+    @Test
+    void shouldSpendAllInOnBuyAndChargeFee() {
+        // ACT
+        ledger.executeBuy(SYMBOL, new BigDecimal("100.00"), "TEST");
+
+        // ASSERT
+        // 9990.00 spent (99.9%), 9.99 fee (0.1%) -> 0.01 cash left
+        assertEquals(0, new BigDecimal("0.01").compareTo(ledger.getCashBalance()));
+        assertEquals(0, new BigDecimal("99.9").compareTo(ledger.findHolding(SYMBOL).orElseThrow().getQuantity()));
+
+        Trade buy = ledger.getTrades().getFirst();
+        assertEquals(TradeAction.BUY, buy.getAction());
+        assertEquals(0, new BigDecimal("-9.99").compareTo(buy.getProfitLoss()));
+    }
+
+    @Test
+    void shouldRealizeProfitAndCloseHoldingOnSell() {
+        // ARRANGE
+        ledger.executeBuy(SYMBOL, new BigDecimal("80.00"), "TEST");
+
+        // ACT
+        ledger.executeSell(SYMBOL, new BigDecimal("130.00"), "TEST");
+
+        // ASSERT
+        assertTrue(ledger.findHolding(SYMBOL).isEmpty(), "Position must be closed after selling 100%.");
+        assertTrue(ledger.getCashBalance().compareTo(INITIAL_CAPITAL) > 0, "Selling higher than the entry must realize a profit.");
+        assertEquals(0, ledger.getCashBalance().compareTo(ledger.getPortfolioValue()));
+        assertTrue(ledger.getTrades().getLast().getProfitLoss().compareTo(BigDecimal.ZERO) > 0);
+    }
+
+    @Test
+    void shouldValueOpenPositionInSnapshot() {
+        // ARRANGE
+        ledger.executeBuy(SYMBOL, new BigDecimal("100.00"), "TEST");
+        LocalDateTime barTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        // ACT
+        ledger.captureSnapshot(new BigDecimal("110.00"), barTime);
+
+        // ASSERT
+        AccountSnapshot snapshot = ledger.getSnapshots().getFirst();
+        assertEquals(barTime, snapshot.getTimestamp());
+        assertEquals(0, new BigDecimal("10989.00").compareTo(snapshot.getCryptoBalance()));
+        assertEquals(0, snapshot.getCashBalance().add(snapshot.getCryptoBalance()).compareTo(snapshot.getTotalBalance()));
+        assertEquals(0, snapshot.getTotalBalance().compareTo(ledger.getPortfolioValue()));
+    }
+
+    @Test
+    void shouldRejectSellWithoutPosition() {
+        assertThrows(TradeExecutionConstraintException.class,
+                () -> ledger.executeSell(SYMBOL, new BigDecimal("100.00"), "TEST"));
+    }
+
+    @Test
+    void shouldTrackMaxDrawdownWithoutRecordingSnapshots() {
+        // ARRANGE
+        BacktestLedger sweepLedger = new BacktestLedger(null, INITIAL_CAPITAL, false);
+        sweepLedger.executeBuy(SYMBOL, new BigDecimal("100.00"), "TEST");
+
+        // ACT
+        sweepLedger.captureSnapshot(new BigDecimal("120.00"), LocalDateTime.now());
+        sweepLedger.captureSnapshot(new BigDecimal("90.00"), LocalDateTime.now());
+        sweepLedger.captureSnapshot(new BigDecimal("110.00"), LocalDateTime.now());
+
+        // ASSERT
+        // 99.9 units: peak 11988.01 at 120, trough 8991.01 at 90
+        assertTrue(sweepLedger.getSnapshots().isEmpty(), "Snapshots must not be stored when recording is disabled.");
+        assertEquals(0, new BigDecimal("11988.01").compareTo(sweepLedger.getPeakEquity()));
+        assertEquals(0, new BigDecimal("2997.00").compareTo(sweepLedger.getMaxDrawdown()));
+    }
+}
@@ -0,0 +1,84 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.dto.BacktestResultDto;
+import com.trading.autotradingbot.dto.BatchBacktestReportDto;
+import com.trading.autotradingbot.dto.BatchBacktestRequest;
+import com.trading.autotradingbot.exception.BinanceApiException;
+import com.trading.autotradingbot.service.HistoricalDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BatchBacktestServiceImplTest {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private HistoricalDataService historicalDataService;
+    private BatchBacktestServiceImpl batchService;
+
+    @BeforeEach
+    void setUp() {
+        historicalDataService = mock(HistoricalDataService.class);
+        batchService = new BatchBacktestServiceImpl(historicalDataService);
+    }
+
+    @Test
+    void shouldRunEverySymbolIntervalPairAndReportFailuresLast() {
+        // ARRANGE
+        when(historicalDataService.loadBars("AAAUSDT", "1h")).thenReturn(bars("AAAUSDT", 100, 99, 98, 97, 96, 95, 94,
+                93, 92, 91, 90, 89, 88, 87, 86, 80, 130, 130));
+        when(historicalDataService.loadBars("BBBUSDT", "1h")).thenReturn(bars("BBBUSDT", 100, 101, 102, 103, 104, 105,
+                106, 107, 108, 109, 110, 111, 112, 113, 114, 115, 116, 117));
+        when(historicalDataService.loadBars("CCCUSDT", "1h")).thenThrow(new BinanceApiException("Unknown symbol"));
+
+        BatchBacktestRequest request = new BatchBacktestRequest();
+        request.setSymbols(List.of("aaausdt", "BBBUSDT", "CCCUSDT", "AAAUSDT"));
+        request.setIntervals(List.of("1h"));
+
+        // ACT
+        BatchBacktestReportDto report = batchService.runBatch(request);
+
+        // ASSERT
+        // Duplicate AAAUSDT is collapsed into a single run
+        assertEquals(3, report.getRequested());
+        assertEquals(2, report.getSucceeded());
+        assertEquals(1, report.getFailed());
+
+        List<BacktestResultDto> results = report.getResults();
+        assertEquals("AAAUSDT", results.get(0).getSymbol(), "The profitable run must be ranked first.");
+        assertTrue(results.get(0).getTotalProfitLoss().compareTo(BigDecimal.ZERO) > 0);
+        assertEquals(0, results.get(1).getTradeCount(), "A steadily rising market never becomes oversold.");
+
+        BacktestResultDto failed = results.get(2);
+        assertFalse(failed.isSuccess());
+        assertEquals("CCCUSDT", failed.getSymbol());
+        assertEquals("Unknown symbol", failed.getErrorMessage());
+        verify(historicalDataService, times(1)).loadBars("AAAUSDT", "1h");
+    }
+
+    @Test
+    void shouldRejectEmptySymbolList() {
+        // ARRANGE
+        BatchBacktestRequest request = new BatchBacktestRequest();
+        request.setSymbols(List.of());
+        request.setIntervals(List.of("1h"));
+
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> batchService.runBatch(request));
+    }
+
+    private static BarColumns bars(String symbol, int... closes) {
+        BarColumns.Builder builder = new BarColumns.Builder(symbol, "1h", closes.length);
+        for (int i = 0; i < closes.length; i++) {
+            long close = BarColumns.toUnscaled(BigDecimal.valueOf(closes[i]));
+            builder.add(i * HOUR_MILLIS, close, close, close, close, 0);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.entity.BarData;
+import com.trading.autotradingbot.service.MarketTickListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BinanceStreamingMarketDataProviderTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final String SYMBOL = "BTCUSDT";
+
+    private StubWebSocketServer server;
+    private BinanceMarketDataProvider restProvider;
+    private BinanceStreamingMarketDataProvider provider;
+
+    private final BlockingQueue<BigDecimal> tradePrices = new LinkedBlockingQueue<>();
+    private final BlockingQueue<BarData> closedBars = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubWebSocketServer();
+        restProvider = mock(BinanceMarketDataProvider.class);
+        provider = new BinanceStreamingMarketDataProvider(restProvider, server.uri(), Duration.ofMillis(50));
+
+        provider.addTickListener(new MarketTickListener() {
+            @Override
+            public void onTrade(String symbol, BigDecimal price, BigDecimal quantity, ZonedDateTime timestamp) {
+                tradePrices.add(price);
+            }
+
+            @Override
+            public void onBarClosed(BarData bar) {
+                closedBars.add(bar);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        provider.close();
+        server.close();
+    }
+
+    @Test
+    void shouldSubscribeAndPushTradesToListeners() throws Exception {
+        // ARRANGE
+        provider.subscribe(SYMBOL, "1h");
+        String subscribe = server.awaitMessage(TIMEOUT);
+
+        // ACT
+        server.sendText(tradeEvent("60000.50"));
+
+        // ASSERT
+        assertNotNull(subscribe, "Provider must subscribe after connecting.");
+        assertTrue(subscribe.contains("\"SUBSCRIBE\""));
+        assertTrue(subscribe.contains("btcusdt@trade"));
+        assertTrue(subscribe.contains("btcusdt@kline_1h"));
+
+        assertEquals(0, new BigDecimal("60000.50").compareTo(tradePrices.poll(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)));
+        assertEquals(0, new BigDecimal("60000.50").compareTo(provider.getLivePrice(SYMBOL)));
+        verify(restProvider, never()).getLivePrice(anyString());
+    }
+
+    @Test
+    void shouldPublishOnlyClosedKlines() throws Exception {
+        // ARRANGE
+        provider.subscribe(SYMBOL, "1h");
+        server.awaitMessage(TIMEOUT);
+
+        // ACT
+        server.sendText(klineEvent("101.00", false));
+        server.sendText(klineEvent("102.00", true));
+
+        // ASSERT
+        BarData bar = closedBars.poll(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        assertNotNull(bar);
+        assertEquals(SYMBOL, bar.getSymbol());
+        assertEquals("1h", bar.getInterval());
+        assertEquals(0, new BigDecimal("102.00").compareTo(bar.getClosePrice()));
+        assertNull(closedBars.poll(200, TimeUnit.MILLISECONDS), "Forming klines must not be published.");
+    }
+
+    @Test
+    void shouldReconnectAndResubscribeAfterConnectionDrop() throws Exception {
+        // ARRANGE
+        provider.subscribe(SYMBOL, "1h");
+        server.awaitMessage(TIMEOUT);
+
+        // ACT
+        server.dropConnection();
+        String resubscribe = server.awaitMessage(TIMEOUT);
+        server.sendText(tradeEvent("61000.00"));
+
+        // ASSERT
+        assertNotNull(resubscribe, "Provider must resubscribe after reconnecting.");
+        assertTrue(resubscribe.contains("btcusdt@trade"));
+        assertTrue(resubscribe.contains("btcusdt@kline_1h"));
+        assertEquals(2, server.connectionCount());
+        assertEquals(0, new BigDecimal("61000.00").compareTo(tradePrices.poll(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)));
+    }
+
+    @Test
+    void shouldFallBackToRestWhenSymbolIsNotStreamed() {
+        // ARRANGE
+        when(restProvider.getLivePrice("ETHUSDT")).thenReturn(new BigDecimal("3000.00"));
+
+        // ACT
+        BigDecimal price = provider.getLivePrice("ETHUSDT");
+
+        // ASSERT
+        assertEquals(0, new BigDecimal("3000.00").compareTo(price));
+        verify(restProvider, times(1)).getLivePrice("ETHUSDT");
+    }
+
+    private static String tradeEvent(String price) {
+        long now = System.currentTimeMillis();
+        return "{\"e\":\"trade\",\"E\":" + now + ",\"s\":\"" + SYMBOL + "\",\"t\":12345,\"p\":\"" + price
+                + "\",\"q\":\"0.01\",\"T\":" + now + ",\"m\":true}";
+    }
+
+    private static String klineEvent(String close, boolean closed) {
+        return "{\"e\":\"kline\",\"E\":1700003600000,\"s\":\"" + SYMBOL + "\",\"k\":{\"t\":1700000000000,"
+                + "\"T\":1700003599999,\"s\":\"" + SYMBOL + "\",\"i\":\"1h\",\"o\":\"100.00\",\"c\":\"" + close
+                + "\",\"h\":\"103.00\",\"l\":\"99.00\",\"v\":\"12.5\",\"x\":" + closed + "}}";
+    }
+}
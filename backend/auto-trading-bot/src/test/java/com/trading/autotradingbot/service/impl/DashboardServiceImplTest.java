@@ -0,0 +1,124 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.dto.AccountSummaryDto;
+import com.trading.autotradingbot.dto.ChangesPageDto;
+import com.trading.autotradingbot.entity.BotConfig;
+import com.trading.autotradingbot.entity.Trade;
+import com.trading.autotradingbot.entity.enums.TradingMode;
+import com.trading.autotradingbot.repository.*;
+import com.trading.autotradingbot.service.BotManagementService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceImplTest {
+
+    private static final Long LIVE_ACCOUNT_ID = 1L;
+
+    private TradeRepository tradeRepository;
+    private BacktestJobRepository backtestJobRepository;
+    private BotManagementService botManagementService;
+    private DashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        tradeRepository = mock(TradeRepository.class);
+        backtestJobRepository = mock(BacktestJobRepository.class);
+        botManagementService = mock(BotManagementService.class);
+        when(botManagementService.getConfig()).thenReturn(BotConfig.builder().tradingMode(TradingMode.TRADING).build());
+
+        dashboardService = new DashboardServiceImpl(mock(AccountRepository.class), tradeRepository,
+                mock(PortfolioRepository.class), mock(SnapshotRepository.class), mock(BarDataRepository.class),
+                backtestJobRepository, botManagementService);
+    }
+
+    @Test
+    void shouldShowUntouchedAccountBeforeFirstTrainingRun() {
+        // ARRANGE
+        when(botManagementService.getConfig()).thenReturn(BotConfig.builder().tradingMode(TradingMode.TRAINING).build());
+        when(backtestJobRepository.findLatestCompletedAccountId()).thenReturn(Optional.empty());
+
+        // ACT
+        AccountSummaryDto summary = dashboardService.getAccountSummary();
+        ChangesPageDto<Trade> page = dashboardService.getTradeChanges(5L, null, null);
+
+        // ASSERT
+        assertEquals(AccountConstants.DEFAULT_CAPITAL, summary.getCurrentPortfolioValue());
+        assertEquals(BigDecimal.ZERO, summary.getTotalProfitLoss());
+        assertTrue(page.isReset(), "Trades of a deleted training account must be dropped by the client.");
+        assertTrue(page.getItems().isEmpty());
+        verifyNoInteractions(tradeRepository);
+    }
+
+    @Test
+    void shouldReturnTradesAfterVersionAndFlagFurtherPages() {
+        // ARRANGE
+        when(tradeRepository.existsByIdAndAccountId(10L, LIVE_ACCOUNT_ID)).thenReturn(true);
+        when(tradeRepository.findPageByAccountId(eq(LIVE_ACCOUNT_ID), eq(10L), any(LocalDateTime.class), eq(4)))
+                .thenReturn(trades(11, 14));
+
+        // ACT
+        ChangesPageDto<Trade> page = dashboardService.getTradeChanges(10L, null, 3);
+
+        // ASSERT
+        assertEquals(List.of(11L, 12L, 13L), page.getItems().stream().map(Trade::getId).toList());
+        assertEquals(13L, page.getVersion());
+        assertTrue(page.isHasMore());
+        assertFalse(page.isReset());
+    }
+
+    @Test
+    void shouldStartOverWhenVersionNoLongerExists() {
+        // ARRANGE
+        when(tradeRepository.existsByIdAndAccountId(42L, LIVE_ACCOUNT_ID)).thenReturn(false);
+        when(tradeRepository.findPageByAccountId(eq(LIVE_ACCOUNT_ID), eq(0L), any(LocalDateTime.class), anyInt()))
+                .thenReturn(trades(50, 51));
+
+        // ACT
+        ChangesPageDto<Trade> page = dashboardService.getTradeChanges(42L, null, null);
+
+        // ASSERT
+        assertTrue(page.isReset());
+        assertFalse(page.isHasMore());
+        assertEquals(2, page.getItems().size());
+        assertEquals(51L, page.getVersion());
+    }
+
+    @Test
+    void shouldKeepVersionWhenNothingChanged() {
+        // ARRANGE
+        when(tradeRepository.existsByIdAndAccountId(7L, LIVE_ACCOUNT_ID)).thenReturn(true);
+        when(tradeRepository.findPageByAccountId(anyLong(), anyLong(), any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of());
+
+        // ACT
+        ChangesPageDto<Trade> page = dashboardService.getTradeChanges(7L, null, null);
+
+        // ASSERT
+        assertTrue(page.getItems().isEmpty());
+        assertEquals(7L, page.getVersion());
+    }
+
+    @Test
+    void shouldRejectLimitOutOfRange() {
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class,
+                () -> dashboardService.getTradeChanges(0L, null, DashboardServiceImpl.MAX_CHANGES_LIMIT + 1));
+    }
+
+    private static List<Trade> trades(long firstId, long lastId) {
+        return LongStream.rangeClosed(firstId, lastId)
+                .mapToObj(id -> Trade.builder().id(id).accountId(LIVE_ACCOUNT_ID).build())
+                .toList();
+    }
+}
@@ -0,0 +1,107 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.FixedPoint;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static com.trading.autotradingbot.common.AccountConstants.SCALE;
+import static com.trading.autotradingbot.common.AccountConstants.STOP_LOSS_THRESHOLD;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the fixed-point fills against the {@code BigDecimal} formulas they replaced.
+ */
+class ExecutionMathTest {
+
+    private static final BigDecimal FEE_RATE = new BigDecimal("0.001");
+    private static final BigDecimal BUY_ALLOCATION_FACTOR = new BigDecimal("0.999");
+
+    @Test
+    void shouldMatchBigDecimalBuyFill() {
+        // ARRANGE
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            BigDecimal cash = randomAmount(random, 1_000_000);
+            BigDecimal price = randomAmount(random, 100_000).add(new BigDecimal("0.00000001"));
+
+            // ACT
+            ExecutionMath.BuyFill fill = ExecutionMath.allInBuy(FixedPoint.fromDecimal(cash), FixedPoint.fromDecimal(price));
+
+            // ASSERT
+            BigDecimal amountToSpend = cash.multiply(BUY_ALLOCATION_FACTOR).setScale(SCALE, RoundingMode.DOWN);
+            if (amountToSpend.signum() <= 0) {
+                continue;
+            }
+            BigDecimal quantity = amountToSpend.divide(price, SCALE, RoundingMode.DOWN);
+            BigDecimal fee = amountToSpend.multiply(FEE_RATE).setScale(SCALE, RoundingMode.HALF_UP);
+
+            assertEquals(quantity, FixedPoint.toDecimal(fill.quantity()));
+            assertEquals(fee, FixedPoint.toDecimal(fill.fee()));
+            assertEquals(amountToSpend.add(fee), FixedPoint.toDecimal(fill.totalSpent()));
+        }
+    }
+
+    @Test
+    void shouldMatchBigDecimalSellFillAndValuation() {
+        // ARRANGE
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 50_000; i++) {
+            BigDecimal quantity = randomAmount(random, 1_000);
+            BigDecimal avgBuyPrice = randomAmount(random, 100_000);
+            BigDecimal price = randomAmount(random, 100_000);
+
+            // ACT
+            ExecutionMath.SellFill fill = ExecutionMath.sellAll(FixedPoint.fromDecimal(quantity),
+                    FixedPoint.fromDecimal(avgBuyPrice), FixedPoint.fromDecimal(price));
+            boolean stopLoss = ExecutionMath.isStopLossTriggered(FixedPoint.fromDecimal(avgBuyPrice), FixedPoint.fromDecimal(price));
+
+            // ASSERT
+            BigDecimal revenue = price.multiply(quantity).setScale(SCALE, RoundingMode.HALF_UP);
+            BigDecimal fee = revenue.multiply(FEE_RATE).setScale(SCALE, RoundingMode.HALF_UP);
+            BigDecimal costBasis = avgBuyPrice.multiply(quantity).setScale(SCALE, RoundingMode.HALF_UP);
+            BigDecimal triggerPrice = avgBuyPrice.multiply(STOP_LOSS_THRESHOLD).setScale(SCALE, RoundingMode.HALF_UP);
+
+            assertEquals(revenue, FixedPoint.toDecimal(fill.revenue()));
+            assertEquals(fee, FixedPoint.toDecimal(fill.fee()));
+            assertEquals(revenue.subtract(costBasis).subtract(fee), FixedPoint.toDecimal(fill.profitLoss()));
+            assertEquals(price.compareTo(triggerPrice) <= 0, stopLoss);
+            assertEquals(revenue, FixedPoint.toDecimal(ExecutionMath.positionValue(FixedPoint.fromDecimal(quantity),
+                    FixedPoint.fromDecimal(price))));
+        }
+    }
+
+    @Test
+    void shouldMatchBigDecimalAverageBuyPrice() {
+        // ARRANGE
+        BigDecimal existingQuantity = new BigDecimal("0.12345678");
+        BigDecimal existingAvgPrice = new BigDecimal("42000.5");
+        BigDecimal quantity = new BigDecimal("0.00000333");
+        BigDecimal price = new BigDecimal("39999.99999999");
+
+        // ACT
+        long average = ExecutionMath.averageBuyPrice(FixedPoint.fromDecimal(existingQuantity),
+                FixedPoint.fromDecimal(existingAvgPrice), FixedPoint.fromDecimal(quantity), FixedPoint.fromDecimal(price));
+
+        // ASSERT
+        BigDecimal expected = existingQuantity.multiply(existingAvgPrice).add(quantity.multiply(price))
+                .divide(existingQuantity.add(quantity), SCALE, RoundingMode.HALF_UP);
+        assertEquals(expected, FixedPoint.toDecimal(average));
+        assertEquals(FixedPoint.fromDecimal(price), ExecutionMath.averageBuyPrice(0, 0, FixedPoint.fromDecimal(quantity),
+                FixedPoint.fromDecimal(price)));
+    }
+
+    @Test
+    void shouldRejectBuyWithoutSpendableCash() {
+        // ACT & ASSERT
+        assertThrows(IllegalStateException.class, () -> ExecutionMath.allInBuy(1, FixedPoint.ONE));
+    }
+
+    private static BigDecimal randomAmount(SplittableRandom random, long maxUnits) {
+        return BigDecimal.valueOf(random.nextLong(0, maxUnits * FixedPoint.ONE), SCALE);
+    }
+}
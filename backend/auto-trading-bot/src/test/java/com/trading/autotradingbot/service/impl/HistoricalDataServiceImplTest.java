@@ -0,0 +1,267 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.entity.BarData;
+import com.trading.autotradingbot.entity.enums.KlineInterval;
+import com.trading.autotradingbot.repository.BarColumnStore;
+import com.trading.autotradingbot.repository.BarDataRepository;
+import com.trading.autotradingbot.repository.BarDataRepository.CacheStats;
+import com.trading.autotradingbot.repository.BarDataRepository.CoverageRange;
+import com.trading.autotradingbot.service.KlineDownloadService;
+import com.trading.autotradingbot.service.MarketDataProvider;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HistoricalDataServiceImplTest {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final String SYMBOL = "BTCUSDT";
+    private static final String INTERVAL = "1h";
+    private static final String MINUTE_INTERVAL = "1m";
+
+    @Test
+    void shouldFindHeadGapAndTailSegments() {
+        // ARRANGE
+        List<CoverageRange> coverage = List.of(new CoverageRange(100, 199), new CoverageRange(300, 399));
+
+        // ACT
+        List<CoverageRange> missing = HistoricalDataServiceImpl.findMissing(coverage, 0, 500);
+
+        // ASSERT
+        assertEquals(List.of(
+                new CoverageRange(0, 99),
+                new CoverageRange(200, 299),
+                new CoverageRange(400, 500)), missing);
+    }
+
+    @Test
+    void shouldFindNothingMissingInsideCoveredRange() {
+        // ACT
+        List<CoverageRange> missing = HistoricalDataServiceImpl.findMissing(
+                List.of(new CoverageRange(0, 1000)), 100, 900);
+
+        // ASSERT
+        assertTrue(missing.isEmpty());
+    }
+
+    @Test
+    void shouldOnlyTreatSegmentsContainingABarOpenAsMissingBars() {
+        // ARRANGE
+        CoverageRange withinOneBar = new CoverageRange(10 * HOUR_MILLIS + 1, 11 * HOUR_MILLIS - 1);
+        CoverageRange acrossBarOpen = new CoverageRange(10 * HOUR_MILLIS + 1, 11 * HOUR_MILLIS);
+
+        // ACT & ASSERT
+        assertFalse(HistoricalDataServiceImpl.containsBarOpen(withinOneBar, KlineInterval.ONE_HOUR));
+        assertTrue(HistoricalDataServiceImpl.containsBarOpen(acrossBarOpen, KlineInterval.ONE_HOUR));
+    }
+
+    @Test
+    void shouldDownloadOnlyTheTailOfAWarmCache() {
+        // ARRANGE
+        BarDataRepository barDataRepository = mock(BarDataRepository.class);
+        MarketDataProvider marketDataProvider = mock(MarketDataProvider.class);
+        KlineDownloadService klineDownloadService = mock(KlineDownloadService.class);
+        HistoricalDataServiceImpl service = new HistoricalDataServiceImpl(barDataRepository,
+                mock(BarColumnStore.class), marketDataProvider, klineDownloadService);
+
+        long now = System.currentTimeMillis();
+        long coveredUntil = now - 5 * HOUR_MILLIS;
+        when(barDataRepository.findCoverage(SYMBOL, INTERVAL))
+                .thenReturn(List.of(new CoverageRange(now - 2000 * HOUR_MILLIS, coveredUntil)));
+
+        // ACT
+        service.loadBars(SYMBOL, INTERVAL);
+
+        // ASSERT
+        ArgumentCaptor<Instant> from = ArgumentCaptor.forClass(Instant.class);
+        verify(klineDownloadService, times(1)).download(eq(SYMBOL), eq(INTERVAL), from.capture(), any(Instant.class));
+        assertEquals(coveredUntil + 1, from.getValue().toEpochMilli());
+        verify(marketDataProvider, never()).getHistoricalData(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    void shouldInvalidateTheColumnStoreAfterFillingAColdCache() {
+        // ARRANGE
+        BarDataRepository barDataRepository = mock(BarDataRepository.class);
+        BarColumnStore barColumnStore = mock(BarColumnStore.class);
+        MarketDataProvider marketDataProvider = mock(MarketDataProvider.class);
+        HistoricalDataServiceImpl service = new HistoricalDataServiceImpl(barDataRepository,
+                barColumnStore, marketDataProvider, mock(KlineDownloadService.class));
+
+        when(barDataRepository.findCoverage(SYMBOL, INTERVAL)).thenReturn(List.of());
+        when(barDataRepository.getCacheStats(SYMBOL, INTERVAL)).thenReturn(new CacheStats(0, 0, 0));
+        when(marketDataProvider.getHistoricalData(SYMBOL, INTERVAL, HistoricalDataServiceImpl.INITIAL_BAR_LIMIT))
+                .thenReturn(List.of(bar(INTERVAL, Instant.parse("2024-01-01T00:00:00Z"))));
+
+        // ACT
+        service.loadBars(SYMBOL, INTERVAL);
+
+        // ASSERT
+        InOrder inOrder = inOrder(barDataRepository, barColumnStore);
+        inOrder.verify(barDataRepository).saveAll(anyList());
+        inOrder.verify(barColumnStore).invalidate(SYMBOL, INTERVAL);
+        inOrder.verify(barColumnStore).get(SYMBOL, INTERVAL);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldServeAndCacheARollUpThatCoversTheInitialWindow() {
+        // ARRANGE
+        BarDataRepository barDataRepository = mock(BarDataRepository.class);
+        BarColumnStore barColumnStore = mock(BarColumnStore.class);
+        MarketDataProvider marketDataProvider = mock(MarketDataProvider.class);
+        HistoricalDataServiceImpl service = new HistoricalDataServiceImpl(barDataRepository,
+                barColumnStore, marketDataProvider, mock(KlineDownloadService.class));
+
+        long lastOpen = Math.floorDiv(System.currentTimeMillis(), HOUR_MILLIS) * HOUR_MILLIS - HOUR_MILLIS;
+        BarColumns rollUp = hourlyBars(lastOpen, HistoricalDataServiceImpl.INITIAL_BAR_LIMIT);
+        givenColdCacheWithMinuteBars(barDataRepository, barColumnStore, rollUp);
+
+        // ACT
+        BarSeriesView bars = service.loadBars(SYMBOL, INTERVAL);
+
+        // ASSERT
+        assertSame(rollUp, bars);
+        verify(marketDataProvider, never()).getHistoricalData(anyString(), anyString(), anyInt());
+
+        ArgumentCaptor<List<BarData>> saved = ArgumentCaptor.forClass(List.class);
+        verify(barDataRepository).saveAll(saved.capture());
+        assertEquals(HistoricalDataServiceImpl.INITIAL_BAR_LIMIT, saved.getValue().size());
+        assertEquals(INTERVAL, saved.getValue().getFirst().getInterval());
+        verify(barDataRepository).addCoverage(SYMBOL, INTERVAL, rollUp.openTime(0), lastOpen);
+        verify(barColumnStore).invalidate(SYMBOL, INTERVAL);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldOnlyCacheClosedRollUpBarsOverContiguousSourceCoverage() {
+        // ARRANGE
+        BarDataRepository barDataRepository = mock(BarDataRepository.class);
+        BarColumnStore barColumnStore = mock(BarColumnStore.class);
+        HistoricalDataServiceImpl service = new HistoricalDataServiceImpl(barDataRepository,
+                barColumnStore, mock(MarketDataProvider.class), mock(KlineDownloadService.class));
+
+        long now = System.currentTimeMillis();
+        long currentHour = Math.floorDiv(now, HOUR_MILLIS) * HOUR_MILLIS;
+        // The last bar is still forming, and one minute is missing from the source ten hours ago
+        BarColumns rollUp = hourlyBars(currentHour, HistoricalDataServiceImpl.INITIAL_BAR_LIMIT);
+        long gapHour = currentHour - 10 * HOUR_MILLIS;
+        givenColdCacheWithMinuteBars(barDataRepository, barColumnStore, rollUp, List.of(
+                new CoverageRange(rollUp.openTime(0), gapHour + HOUR_MILLIS / 2 - 1),
+                new CoverageRange(gapHour + HOUR_MILLIS / 2 + 60_000, now)));
+
+        // ACT
+        service.loadBars(SYMBOL, INTERVAL);
+
+        // ASSERT
+        ArgumentCaptor<List<BarData>> saved = ArgumentCaptor.forClass(List.class);
+        verify(barDataRepository).saveAll(saved.capture());
+        assertEquals(HistoricalDataServiceImpl.INITIAL_BAR_LIMIT - 2, saved.getValue().size());
+        verify(barDataRepository).addCoverage(SYMBOL, INTERVAL, rollUp.openTime(0), gapHour - HOUR_MILLIS);
+        verify(barDataRepository).addCoverage(SYMBOL, INTERVAL, gapHour + HOUR_MILLIS, currentHour - HOUR_MILLIS);
+        verify(barDataRepository, times(2)).addCoverage(eq(SYMBOL), eq(INTERVAL), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldDownloadInsteadOfServingAShortRollUp() {
+        // ARRANGE
+        BarDataRepository barDataRepository = mock(BarDataRepository.class);
+        BarColumnStore barColumnStore = mock(BarColumnStore.class);
+        MarketDataProvider marketDataProvider = mock(MarketDataProvider.class);
+        HistoricalDataServiceImpl service = new HistoricalDataServiceImpl(barDataRepository,
+                barColumnStore, marketDataProvider, mock(KlineDownloadService.class));
+
+        long lastOpen = Math.floorDiv(System.currentTimeMillis(), HOUR_MILLIS) * HOUR_MILLIS - HOUR_MILLIS;
+        givenColdCacheWithMinuteBars(barDataRepository, barColumnStore, hourlyBars(lastOpen, 10));
+
+        List<BarData> downloaded = List.of(bar(INTERVAL, Instant.ofEpochMilli(lastOpen)));
+        when(marketDataProvider.getHistoricalData(SYMBOL, INTERVAL, HistoricalDataServiceImpl.INITIAL_BAR_LIMIT))
+                .thenReturn(downloaded);
+
+        // ACT
+        service.loadBars(SYMBOL, INTERVAL);
+
+        // ASSERT
+        verify(marketDataProvider, times(1)).getHistoricalData(SYMBOL, INTERVAL, HistoricalDataServiceImpl.INITIAL_BAR_LIMIT);
+        verify(barDataRepository, times(1)).saveAll(anyList());
+        verify(barDataRepository).saveAll(downloaded);
+        verify(barColumnStore).get(SYMBOL, INTERVAL);
+    }
+
+    @Test
+    void shouldCacheAClosedBarAdjacentToThePreviousBar() {
+        // ARRANGE
+        BarDataRepository barDataRepository = mock(BarDataRepository.class);
+        BarColumnStore barColumnStore = mock(BarColumnStore.class);
+        HistoricalDataServiceImpl service = new HistoricalDataServiceImpl(barDataRepository,
+                barColumnStore, mock(MarketDataProvider.class), mock(KlineDownloadService.class));
+
+        Instant openTime = Instant.parse("2024-01-01T10:00:00Z");
+        BarData closed = bar(INTERVAL, openTime);
+
+        // ACT
+        service.saveClosedBar(closed);
+
+        // ASSERT
+        InOrder inOrder = inOrder(barDataRepository, barColumnStore);
+        inOrder.verify(barDataRepository).saveAll(List.of(closed));
+        inOrder.verify(barColumnStore).invalidate(SYMBOL, INTERVAL);
+        inOrder.verify(barDataRepository).addCoverage(SYMBOL, INTERVAL,
+                openTime.toEpochMilli() - HOUR_MILLIS + 1, openTime.toEpochMilli());
+    }
+
+    /**
+     * No hourly bars cached yet, and minute bars covering the whole of {@code rollUp} that roll up into it.
+     */
+    private static void givenColdCacheWithMinuteBars(BarDataRepository barDataRepository,
+                                                     BarColumnStore barColumnStore, BarColumns rollUp) {
+        long now = System.currentTimeMillis();
+        givenColdCacheWithMinuteBars(barDataRepository, barColumnStore, rollUp,
+                List.of(new CoverageRange(rollUp.openTime(0), now)));
+    }
+
+    private static void givenColdCacheWithMinuteBars(BarDataRepository barDataRepository, BarColumnStore barColumnStore,
+                                                     BarColumns rollUp, List<CoverageRange> minuteCoverage) {
+        when(barDataRepository.findCoverage(SYMBOL, INTERVAL)).thenReturn(List.of());
+        when(barDataRepository.getCacheStats(SYMBOL, INTERVAL)).thenReturn(new CacheStats(0, 0, 0));
+        when(barDataRepository.findCoverageStarts(SYMBOL)).thenReturn(Map.of(MINUTE_INTERVAL, minuteCoverage.getFirst().startTime()));
+        when(barDataRepository.findCoverage(SYMBOL, MINUTE_INTERVAL)).thenReturn(minuteCoverage);
+        when(barColumnStore.getAggregated(SYMBOL, KlineInterval.ONE_MINUTE, KlineInterval.ONE_HOUR)).thenReturn(rollUp);
+    }
+
+    private static BarColumns hourlyBars(long lastOpen, int count) {
+        long price = BarColumns.toUnscaled(new BigDecimal("100"));
+        BarColumns.Builder builder = new BarColumns.Builder(SYMBOL, INTERVAL, count);
+        for (int i = count - 1; i >= 0; i--) {
+            builder.add(lastOpen - i * HOUR_MILLIS, price, price, price, price, 1);
+        }
+        return builder.build();
+    }
+
+    private static BarData bar(String interval, Instant openTime) {
+        BigDecimal price = new BigDecimal("100");
+        return BarData.builder()
+                .symbol(SYMBOL)
+                .interval(interval)
+                .openTime(LocalDateTime.ofInstant(openTime, ZoneId.systemDefault()))
+                .openPrice(price)
+                .highPrice(price)
+                .lowPrice(price)
+                .closePrice(price)
+                .volume(BigDecimal.ONE)
+                .build();
+    }
+}
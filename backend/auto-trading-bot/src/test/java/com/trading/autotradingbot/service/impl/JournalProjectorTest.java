@@ -0,0 +1,270 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.dto.DashboardEvent;
+import com.trading.autotradingbot.entity.AccountSnapshot;
+import com.trading.autotradingbot.entity.JournalEvent;
+import com.trading.autotradingbot.entity.Trade;
+import com.trading.autotradingbot.entity.enums.DashboardEventType;
+import com.trading.autotradingbot.entity.enums.TradeAction;
+import com.trading.autotradingbot.repository.AccountRepository;
+import com.trading.autotradingbot.repository.JournalCheckpointRepository;
+import com.trading.autotradingbot.repository.PortfolioRepository;
+import com.trading.autotradingbot.repository.SnapshotRepository;
+import com.trading.autotradingbot.repository.TradeRepository;
+import com.trading.autotradingbot.repository.TradingJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.trading.autotradingbot.common.AccountConstants.LIVE_ACCOUNT_ID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JournalProjectorTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+    private static final String SYMBOL = "BTCUSDT";
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private TradingJournal journal;
+    private JournalProjector projector;
+    private final JournalCheckpointRepository checkpointRepository = mock(JournalCheckpointRepository.class);
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final PortfolioRepository portfolioRepository = mock(PortfolioRepository.class);
+    private final TradeRepository tradeRepository = mock(TradeRepository.class);
+    private final SnapshotRepository snapshotRepository = mock(SnapshotRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    // The projector reuses its batch lists, so the rows are copied as they are written
+    private final List<Trade> savedTrades = new ArrayList<>();
+    private final List<AccountSnapshot> savedSnapshots = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journal = new TradingJournal(tempDir, 64 * 1024, false);
+        journal.open();
+
+        doAnswer(invocation -> {
+            savedTrades.addAll(invocation.getArgument(0));
+            return null;
+        }).when(tradeRepository).saveAll(anyList());
+        doAnswer(invocation -> {
+            savedSnapshots.addAll(invocation.getArgument(0));
+            return null;
+        }).when(snapshotRepository).saveAll(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (projector != null) {
+            projector.shutdown();
+        }
+        journal.close();
+    }
+
+    @Test
+    void shouldProjectTheEventsAfterTheCheckpointAndAdvanceIt() throws InterruptedException {
+        // ARRANGE
+        journal.append(buy());
+        JournalEvent.Fill sell = sell();
+        journal.append(sell);
+        JournalEvent.Snapshot snapshot = snapshot(BASE_TIME.plusMinutes(5), "10050.00000000");
+        journal.append(snapshot);
+
+        when(checkpointRepository.findSequence(journal.getJournalId())).thenReturn(1L);
+
+        // ACT
+        startProjector();
+
+        // ASSERT
+        assertTrue(projector.awaitProjection(3, TIMEOUT_MILLIS));
+        assertEquals(List.of(sell.trade()), savedTrades);
+        assertEquals(List.of(snapshot.snapshot()), savedSnapshots);
+        verify(portfolioRepository).delete(LIVE_ACCOUNT_ID, SYMBOL);
+        verify(portfolioRepository, never()).save(any(), any(), any(), any());
+        verify(checkpointRepository).save(journal.getJournalId(), 3);
+        assertEquals(3, projector.getStats().getProjectedSequence());
+    }
+
+    @Test
+    void shouldProjectNothingTwiceWhenRestartedFromTheCheckpoint() throws InterruptedException {
+        // ARRANGE
+        journal.append(buy());
+        journal.append(sell());
+        when(checkpointRepository.findSequence(journal.getJournalId())).thenReturn(2L);
+        startProjector();
+
+        JournalEvent.Snapshot snapshot = snapshot(BASE_TIME.plusMinutes(5), "10050.00000000");
+
+        // ACT
+        long sequence = journal.append(snapshot);
+
+        // ASSERT
+        assertTrue(projector.awaitProjection(sequence, TIMEOUT_MILLIS));
+        assertTrue(savedTrades.isEmpty());
+        verify(portfolioRepository, never()).delete(any(), any());
+        assertEquals(List.of(snapshot.snapshot()), savedSnapshots);
+        verify(checkpointRepository, times(1)).save(any(), anyLong());
+        verify(checkpointRepository).save(journal.getJournalId(), 3);
+    }
+
+    @Test
+    void shouldProjectSnapshotsAsPortfolioValueOnly() throws InterruptedException {
+        // ARRANGE
+        JournalEvent.Snapshot snapshot = snapshot(BASE_TIME.plusMinutes(5), "10050.00000000");
+        journal.append(snapshot);
+
+        // ACT
+        startProjector();
+
+        // ASSERT
+        assertTrue(projector.awaitProjection(1, TIMEOUT_MILLIS));
+        verify(accountRepository).updatePortfolioValue(LIVE_ACCOUNT_ID, new BigDecimal("10050.00000000"),
+                snapshot.snapshot().getTimestamp());
+        verify(accountRepository, never()).updateBalance(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldKeepTheCashOfAFillFollowedByASnapshot() throws InterruptedException {
+        // ARRANGE
+        journal.append(sell());
+        JournalEvent.Snapshot snapshot = snapshot(BASE_TIME.plusMinutes(5), "10050.00000000");
+        journal.append(snapshot);
+
+        // ACT
+        startProjector();
+
+        // ASSERT
+        assertTrue(projector.awaitProjection(2, TIMEOUT_MILLIS));
+        verify(accountRepository).updateBalance(LIVE_ACCOUNT_ID, new BigDecimal("10040.00000000"),
+                new BigDecimal("10050.00000000"), snapshot.snapshot().getTimestamp());
+        verify(accountRepository, never()).updatePortfolioValue(any(), any(), any());
+    }
+
+    @Test
+    void shouldPublishDashboardEventsOnceTheBatchIsCommitted() throws InterruptedException {
+        // ARRANGE
+        JournalEvent.Fill sell = sell();
+        journal.append(sell);
+        JournalEvent.Snapshot snapshot = snapshot(BASE_TIME.plusMinutes(5), "10050.00000000");
+        journal.append(snapshot);
+        journal.append(new JournalEvent.Reset(LIVE_ACCOUNT_ID, new BigDecimal("10000.00000000"), BASE_TIME.plusMinutes(6)));
+
+        // ACT
+        startProjector();
+
+        // ASSERT
+        assertTrue(projector.awaitProjection(3, TIMEOUT_MILLIS));
+        InOrder inOrder = inOrder(checkpointRepository, eventPublisher);
+        inOrder.verify(checkpointRepository).save(journal.getJournalId(), 3);
+        inOrder.verify(eventPublisher).publishEvent(DashboardEvent.of(DashboardEventType.TRADE, sell.trade()));
+        inOrder.verify(eventPublisher).publishEvent(DashboardEvent.of(DashboardEventType.SNAPSHOT, snapshot.snapshot()));
+        verify(eventPublisher, times(2)).publishEvent(any(DashboardEvent.class));
+    }
+
+    @Test
+    void shouldProjectABacklogInBatchesOfTheConfiguredSize() throws InterruptedException {
+        // ARRANGE
+        for (int i = 0; i < 5; i++) {
+            journal.append(snapshot(BASE_TIME.plusMinutes(i), "10000.00000000"));
+        }
+
+        // ACT
+        startProjector(2);
+
+        // ASSERT
+        assertTrue(projector.awaitProjection(5, TIMEOUT_MILLIS));
+        InOrder inOrder = inOrder(checkpointRepository);
+        inOrder.verify(checkpointRepository).save(journal.getJournalId(), 2);
+        inOrder.verify(checkpointRepository).save(journal.getJournalId(), 4);
+        inOrder.verify(checkpointRepository).save(journal.getJournalId(), 5);
+        assertEquals(3, projector.getStats().getBatches());
+    }
+
+    @Test
+    void shouldKeepProjectingAfterDeletingTheSegmentItWasReading() throws IOException, InterruptedException {
+        // ARRANGE
+        journal.close();
+        journal = new TradingJournal(tempDir.resolve("small-segments"), 2048, false);
+        journal.open();
+        long firstOfSecondSegment = 0;
+        for (int i = 0; journal.getSegmentCount() == 1; i++) {
+            firstOfSecondSegment = journal.append(snapshot(BASE_TIME.plusMinutes(i), "10000.00000000"));
+        }
+
+        // The first batch ends on the last event of the first segment, which is deleted under the cursor
+        startProjector((int) firstOfSecondSegment - 1);
+
+        // ACT
+        long sequence = journal.append(snapshot(BASE_TIME.plusHours(1), "10050.00000000"));
+
+        // ASSERT
+        assertTrue(projector.awaitProjection(sequence, TIMEOUT_MILLIS));
+        assertEquals(1, journal.getSegmentCount());
+        assertEquals(sequence, savedSnapshots.size());
+        assertEquals(0, projector.getStats().getFailedBatches());
+    }
+
+    private void startProjector() {
+        startProjector(100);
+    }
+
+    private void startProjector(int batchSize) {
+        AccountJournal accountJournal = new AccountJournal(journal, accountRepository, portfolioRepository, checkpointRepository);
+        projector = new JournalProjector(journal, accountJournal, checkpointRepository, accountRepository,
+                portfolioRepository, tradeRepository, snapshotRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), eventPublisher, batchSize, 1000);
+        projector.start();
+    }
+
+    private static JournalEvent.Fill buy() {
+        return new JournalEvent.Fill(trade(TradeAction.BUY, "9000.10000000"), new BigDecimal("9000.10000000"),
+                new BigDecimal("9999.00000000"), new BigDecimal("0.01234567"), new BigDecimal("81000.00000000"));
+    }
+
+    private static JournalEvent.Fill sell() {
+        return new JournalEvent.Fill(trade(TradeAction.SELL, "10040.00000000"), new BigDecimal("10040.00000000"),
+                new BigDecimal("10040.00000000"), BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    private static JournalEvent.Snapshot snapshot(LocalDateTime timestamp, String totalBalance) {
+        return new JournalEvent.Snapshot(AccountSnapshot.builder()
+                .accountId(LIVE_ACCOUNT_ID)
+                .timestamp(timestamp)
+                .cashBalance(new BigDecimal("5000.00000000"))
+                .cryptoBalance(new BigDecimal(totalBalance).subtract(new BigDecimal("5000.00000000")))
+                .totalBalance(new BigDecimal(totalBalance))
+                .build());
+    }
+
+    private static Trade trade(TradeAction action, String finalBalance) {
+        return Trade.builder()
+                .accountId(LIVE_ACCOUNT_ID)
+                .timestamp(BASE_TIME)
+                .symbol(SYMBOL)
+                .action(action)
+                .quantity(new BigDecimal("0.01234567"))
+                .price(new BigDecimal("81000.00000000"))
+                .fee(new BigDecimal("0.99900000"))
+                .profitLoss(new BigDecimal("-0.99900000"))
+                .finalBalance(new BigDecimal(finalBalance))
+                .strategyName("RSI_Simple_30_70")
+                .build();
+    }
+}
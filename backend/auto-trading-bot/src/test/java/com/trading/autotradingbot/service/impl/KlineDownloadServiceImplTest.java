@@ -0,0 +1,105 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.dto.DownloadResultDto;
+import com.trading.autotradingbot.entity.BarData;
+import com.trading.autotradingbot.repository.BarColumnStore;
+import com.trading.autotradingbot.repository.BarDataRepository;
+import com.trading.autotradingbot.service.MarketDataProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class KlineDownloadServiceImplTest {
+
+    private static final String SYMBOL = "BTCUSDT";
+    private static final String INTERVAL = "1h";
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private MarketDataProvider marketDataProvider;
+    private BarDataRepository barDataRepository;
+    private KlineDownloadServiceImpl downloadService;
+
+    @BeforeEach
+    void setUp() {
+        marketDataProvider = mock(MarketDataProvider.class);
+        barDataRepository = mock(BarDataRepository.class);
+        downloadService = new KlineDownloadServiceImpl(marketDataProvider, barDataRepository,
+                mock(BarColumnStore.class), 6000, 4);
+
+        // Serves hourly bars for the requested page and, like an overlapping page would, repeats the bar before it
+        when(marketDataProvider.getHistoricalData(eq(SYMBOL), eq(INTERVAL), any(Instant.class), any(Instant.class), anyInt()))
+                .thenAnswer(invocation -> {
+                    Instant from = invocation.getArgument(2);
+                    Instant to = invocation.getArgument(3);
+                    List<BarData> bars = new ArrayList<>();
+                    for (Instant t = from.minus(Duration.ofHours(1)); !t.isAfter(to); t = t.plus(Duration.ofHours(1))) {
+                        if (!t.isBefore(START)) {
+                            bars.add(bar(t));
+                        }
+                    }
+                    return bars.reversed();
+                });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSplitRangeIntoPagesAndSaveBarsInOrderWithoutDuplicates() {
+        // ARRANGE
+        Instant end = START.plus(Duration.ofHours(2499));
+
+        // ACT
+        DownloadResultDto result = downloadService.download(SYMBOL, INTERVAL, START, end);
+
+        // ASSERT
+        assertEquals(3, result.getPages());
+        assertEquals(2500, result.getBarsSaved());
+        verify(marketDataProvider, times(3))
+                .getHistoricalData(eq(SYMBOL), eq(INTERVAL), any(Instant.class), any(Instant.class), eq(1000));
+
+        ArgumentCaptor<List<BarData>> saved = ArgumentCaptor.forClass(List.class);
+        verify(barDataRepository, times(3)).saveAll(saved.capture());
+
+        List<LocalDateTime> openTimes = saved.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(BarData::getOpenTime)
+                .toList();
+        assertEquals(2500, openTimes.size());
+        for (int i = 1; i < openTimes.size(); i++) {
+            assertTrue(openTimes.get(i).isAfter(openTimes.get(i - 1)), "Bars must be saved in strictly increasing order.");
+        }
+        verify(barDataRepository).addCoverage(SYMBOL, INTERVAL, START.toEpochMilli(), end.toEpochMilli());
+    }
+
+    @Test
+    void shouldRejectEmptyRange() {
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> downloadService.download(SYMBOL, INTERVAL, START, START));
+        verifyNoInteractions(marketDataProvider);
+    }
+
+    private static BarData bar(Instant openTime) {
+        BigDecimal price = new BigDecimal("100.00");
+        return BarData.builder()
+                .symbol(SYMBOL)
+                .interval(INTERVAL)
+                .openTime(LocalDateTime.ofInstant(openTime, ZoneId.systemDefault()))
+                .openPrice(price)
+                .highPrice(price)
+                .lowPrice(price)
+                .closePrice(price)
+                .volume(BigDecimal.ONE)
+                .build();
+    }
+}
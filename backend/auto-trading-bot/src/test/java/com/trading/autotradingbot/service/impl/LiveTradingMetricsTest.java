@@ -0,0 +1,84 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.dto.DashboardEvent;
+import com.trading.autotradingbot.entity.AccountSnapshot;
+import com.trading.autotradingbot.entity.Trade;
+import com.trading.autotradingbot.entity.enums.DashboardEventType;
+import com.trading.autotradingbot.entity.enums.Signal;
+import com.trading.autotradingbot.entity.enums.TradeAction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static com.trading.autotradingbot.common.AccountConstants.LIVE_ACCOUNT_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveTradingMetricsTest {
+
+    private static final Long SIMULATION_ACCOUNT_ID = 2L;
+
+    private SimpleMeterRegistry registry;
+    private LiveTradingMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new LiveTradingMetrics(registry);
+    }
+
+    @Test
+    void shouldCountLiveTradesByActionAndReason() {
+        // ACT
+        metrics.onDashboardEvent(DashboardEvent.of(DashboardEventType.TRADE, trade(LIVE_ACCOUNT_ID, TradeAction.BUY, "RSI_Simple_30_70")));
+        metrics.onDashboardEvent(DashboardEvent.of(DashboardEventType.TRADE, trade(LIVE_ACCOUNT_ID, TradeAction.SELL, "STOP_LOSS")));
+        metrics.onDashboardEvent(DashboardEvent.of(DashboardEventType.TRADE, trade(SIMULATION_ACCOUNT_ID, TradeAction.BUY, "RSI_Simple_30_70")));
+
+        // ASSERT
+        assertEquals(1, registry.get("trading.trades").tags("action", "buy", "reason", "signal").counter().count());
+        assertEquals(1, registry.get("trading.trades").tags("action", "sell", "reason", "stop_loss").counter().count());
+        assertEquals(2, registry.get("trading.trades").counters().size());
+    }
+
+    @Test
+    void shouldReportEquityOfLatestLiveSnapshot() {
+        // ARRANGE
+        assertTrue(Double.isNaN(registry.get("trading.equity").gauge().value()));
+
+        // ACT
+        metrics.onDashboardEvent(DashboardEvent.of(DashboardEventType.SNAPSHOT, snapshot(LIVE_ACCOUNT_ID, "10250.5")));
+        metrics.onDashboardEvent(DashboardEvent.of(DashboardEventType.SNAPSHOT, snapshot(SIMULATION_ACCOUNT_ID, "1.0")));
+
+        // ASSERT
+        assertEquals(10250.5, registry.get("trading.equity").gauge().value());
+    }
+
+    @Test
+    void shouldCountSignalsAndOverrunningTicks() {
+        // ARRANGE
+        long overrunStart = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(LiveTradingServiceImpl.LOOP_RATE_MS + 1);
+
+        // ACT
+        metrics.recordSignal(Signal.HOLD);
+        metrics.recordSignal(Signal.HOLD);
+        metrics.recordPollTick(System.nanoTime(), LiveTradingServiceImpl.LOOP_RATE_MS);
+        metrics.recordPollTick(overrunStart, LiveTradingServiceImpl.LOOP_RATE_MS);
+        metrics.recordTickLag(-20);
+
+        // ASSERT
+        assertEquals(2, registry.get("trading.signals").tag("signal", "hold").counter().count());
+        assertEquals(2, registry.get("trading.tick.duration").timer().count());
+        assertEquals(1, registry.get("trading.tick.overruns").counter().count());
+        assertEquals(0, registry.get("trading.tick.lag").gauge().value());
+    }
+
+    private static Trade trade(Long accountId, TradeAction action, String strategyName) {
+        return Trade.builder().accountId(accountId).action(action).strategyName(strategyName).build();
+    }
+
+    private static AccountSnapshot snapshot(Long accountId, String totalBalance) {
+        return AccountSnapshot.builder().accountId(accountId).totalBalance(new BigDecimal(totalBalance)).build();
+    }
+}
@@ -9,6 +9,8 @@ import com.trading.autotradingbot.repository.AccountRepository;
 import com.trading.autotradingbot.repository.BarDataRepository;
 import com.trading.autotradingbot.repository.BotConfigRepository;
 import com.trading.autotradingbot.repository.TradeRepository;
+import com.trading.autotradingbot.repository.TradingJournal;
+import com.trading.autotradingbot.service.AccountResetService;
 import com.trading.autotradingbot.service.MarketDataProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,7 +18,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
-import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -46,17 +47,21 @@ class LiveTradingServiceIntegrationTest {
     @Autowired private BotConfigRepository botConfigRepository;
     @Autowired private BarDataRepository barDataRepository;
     @Autowired private TradeRepository tradeRepository;
+    @Autowired private AccountResetService accountResetService;
+    @Autowired private TradingJournal tradingJournal;
+    @Autowired private JournalProjector journalProjector;
 
     private static final Long LIVE_ACCOUNT_ID = 1L;
     private static final String SYMBOL = "BTCUSDT";
     private static final String INTERVAL = "1h";
     private static final BigDecimal INITIAL_CAPITAL = new BigDecimal("10000.00");
     private static final int WARMUP_BARS_COUNT = 15;
+    private static final long PROJECTION_TIMEOUT_MILLIS = 10_000;
 
     @BeforeEach
     void setupDatabaseAndCache() {
-        accountRepository.resetAccount(LIVE_ACCOUNT_ID, INITIAL_CAPITAL);
-        tradeRepository.deleteAllByAccountId(LIVE_ACCOUNT_ID);
+        // The LIVE account is journaled, so it is reset through the journal rather than in the tables
+        accountResetService.resetAllAccountData(LIVE_ACCOUNT_ID, INITIAL_CAPITAL);
         barDataRepository.deleteAllBySymbolAndInterval(SYMBOL, INTERVAL);
 
         botConfigRepository.updateSymbol(SYMBOL);
@@ -65,8 +70,7 @@ class LiveTradingServiceIntegrationTest {
     }
 
     @Test
-    @Transactional
-    void shouldInitializeStrategyAndExecuteBuySignal() {
+    void shouldInitializeStrategyAndExecuteBuySignal() throws InterruptedException {
         List<BarData> initialBars = createInitialHistoricalBars(WARMUP_BARS_COUNT, SYMBOL, INTERVAL);
         when(marketDataProvider.getHistoricalData(anyString(), anyString(), anyInt()))
                 .thenReturn(initialBars);
@@ -75,6 +79,8 @@ class LiveTradingServiceIntegrationTest {
         when(marketDataProvider.getLivePrice(anyString())).thenReturn(buyPrice);
 
         liveTradingService.startLiveTrading(SYMBOL, INTERVAL);
+        assertTrue(journalProjector.awaitProjection(tradingJournal.getLastSequence(), PROJECTION_TIMEOUT_MILLIS),
+                "Journaled trade should reach the database.");
 
         assertEquals(BotStatus.RUNNING, botConfigRepository.getConfig().getStatus(), "Status should be RUNNING after calling startLiveTrading.");
         assertEquals(WARMUP_BARS_COUNT, barDataRepository.findAllBySymbolAndInterval(SYMBOL, INTERVAL).size(), "DB cache should hold 14 bars after initialization.");
@@ -0,0 +1,117 @@
+package com.trading.autotradingbot.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloEngineTest {
+
+    private static final double START = 100.0;
+
+    @Test
+    void shouldMeasureDrawdownAndRecoveryOfOriginalOrder() {
+        // ARRANGE
+        double[] returns = MonteCarloEngine.returns(START, new double[]{110.0, 99.0, 89.1, 115.83, 115.83});
+
+        // ACT
+        MonteCarloEngine.PathStats stats = MonteCarloEngine.walk(returns, START);
+
+        // ASSERT
+        assertEquals(115.83, stats.finalEquity(), 1e-9);
+        assertEquals(0.19, stats.maxDrawdown(), 1e-9);
+        assertEquals(3, stats.timeToRecovery(), "Peak at step 1, back above it at step 4.");
+        assertFalse(stats.unrecovered());
+    }
+
+    @Test
+    void shouldKeepFinalEquityWhenShufflingTrades() {
+        // ARRANGE
+        double[] returns = randomReturns(250, 7);
+        double expectedFinal = MonteCarloEngine.walk(returns, START).finalEquity();
+        int paths = MonteCarloEngine.PATHS_PER_TASK * 3 + 17;
+
+        // ACT
+        MonteCarloEngine.Paths result = MonteCarloEngine.simulate(returns, START, paths, true, 1, 42L);
+
+        // ASSERT
+        for (int path = 0; path < paths; path++) {
+            assertEquals(expectedFinal, result.finalEquity()[path], expectedFinal * 1e-9);
+            assertTrue(result.maxDrawdown()[path] >= 0 && result.maxDrawdown()[path] < 1);
+        }
+        assertNotEquals(result.maxDrawdown()[0], result.maxDrawdown()[paths - 1],
+                "Different orders of the same trades should draw down differently.");
+    }
+
+    @Test
+    void shouldGiveSameResultForSameSeedRegardlessOfThreads() throws Exception {
+        // ARRANGE
+        double[] returns = randomReturns(100, 11);
+        int paths = MonteCarloEngine.PATHS_PER_TASK * 4;
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+
+        // ACT
+        MonteCarloEngine.Paths parallel = MonteCarloEngine.simulate(returns, START, paths, false, 5, 123L);
+        MonteCarloEngine.Paths sequential = singleThread.submit(
+                () -> MonteCarloEngine.simulate(returns, START, paths, false, 5, 123L)).get();
+        MonteCarloEngine.Paths otherSeed = MonteCarloEngine.simulate(returns, START, paths, false, 5, 124L);
+        singleThread.shutdown();
+
+        // ASSERT
+        assertArrayEquals(parallel.finalEquity(), sequential.finalEquity());
+        assertArrayEquals(parallel.maxDrawdown(), sequential.maxDrawdown());
+        assertArrayEquals(parallel.timeToRecovery(), sequential.timeToRecovery());
+        assertFalse(Arrays.equals(parallel.finalEquity(), otherSeed.finalEquity()));
+    }
+
+    @Test
+    void shouldBootstrapRotationsWhenBlockCoversWholeSeries() {
+        // ARRANGE
+        double[] returns = randomReturns(60, 3);
+        double expectedFinal = MonteCarloEngine.walk(returns, START).finalEquity();
+
+        // ACT
+        MonteCarloEngine.Paths result = MonteCarloEngine.simulate(returns, START, 500, false, returns.length, 5L);
+
+        // ASSERT
+        for (int path = 0; path < 500; path++) {
+            assertEquals(expectedFinal, result.finalEquity()[path], expectedFinal * 1e-9,
+                    "A circular block as long as the series is a rotation of it.");
+        }
+    }
+
+    @Test
+    void shouldReportUnrecoveredDeclineUpToLastStep() {
+        // ARRANGE
+        double[] returns = {0.9, 0.9, 0.9, 0.9};
+
+        // ACT
+        MonteCarloEngine.Paths result = MonteCarloEngine.simulate(returns, START, 10, false, 2, 1L);
+
+        // ASSERT
+        for (int path = 0; path < 10; path++) {
+            assertTrue(result.unrecovered()[path]);
+            assertEquals(4, result.timeToRecovery()[path]);
+            assertEquals(1 - Math.pow(0.9, 4), result.maxDrawdown()[path], 1e-12);
+        }
+    }
+
+    @Test
+    void shouldRejectEmptyReturns() {
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class,
+                () -> MonteCarloEngine.simulate(new double[0], START, 10, true, 1, 1L));
+    }
+
+    private static double[] randomReturns(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] returns = new double[count];
+        for (int i = 0; i < count; i++) {
+            returns[i] = 1 + random.nextDouble(-0.05, 0.055);
+        }
+        return returns;
+    }
+}
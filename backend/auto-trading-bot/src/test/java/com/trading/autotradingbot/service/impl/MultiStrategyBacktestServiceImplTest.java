@@ -0,0 +1,145 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.AccountConstants;
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.common.StrategyParameters;
+import com.trading.autotradingbot.dto.MultiStrategyBacktestRequest;
+import com.trading.autotradingbot.dto.MultiStrategyReportDto;
+import com.trading.autotradingbot.dto.StrategyDefinition;
+import com.trading.autotradingbot.dto.StrategyResultDto;
+import com.trading.autotradingbot.dto.SweepResultDto;
+import com.trading.autotradingbot.service.HistoricalDataService;
+import com.trading.autotradingbot.strategy.EmaCrossoverStrategy;
+import com.trading.autotradingbot.strategy.KeltnerBreakoutStrategy;
+import com.trading.autotradingbot.strategy.RsiThresholdStrategy;
+import com.trading.autotradingbot.strategy.StrategyEngine;
+import com.trading.autotradingbot.strategy.StrategyRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MultiStrategyBacktestServiceImplTest {
+
+    private static final String SYMBOL = "TESTUSDT";
+    private static final String INTERVAL = "1h";
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private HistoricalDataService historicalDataService;
+    private MultiStrategyBacktestServiceImpl service;
+    private BarSeriesView bars;
+
+    @BeforeEach
+    void setUp() {
+        historicalDataService = mock(HistoricalDataService.class);
+        service = new MultiStrategyBacktestServiceImpl(historicalDataService, new StrategyRegistry());
+
+        // Oscillating prices with a slow trend, so every strategy trades several times
+        BarColumns.Builder builder = new BarColumns.Builder(SYMBOL, INTERVAL, 500);
+        for (int i = 0; i < 500; i++) {
+            double price = 100 + i * 0.02 + 8 * Math.sin(i / 7.0) + 3 * Math.sin(i / 2.3);
+            long close = BarColumns.toUnscaled(BigDecimal.valueOf(price));
+            long spread = BarColumns.toUnscaled(BigDecimal.valueOf(0.5 + (i % 4) * 0.25));
+            builder.add(i * HOUR_MILLIS, close, close + spread, close - spread, close, 0);
+        }
+        bars = builder.build();
+        when(historicalDataService.loadBars(SYMBOL, INTERVAL)).thenReturn(bars);
+    }
+
+    @Test
+    void shouldMatchSingleStrategyBacktestsWhenRunTogether() {
+        // ARRANGE
+        StrategyParameters fastRsi = new StrategyParameters(7, 30, 70, AccountConstants.STOP_LOSS_THRESHOLD);
+        StrategyParameters slowRsi = new StrategyParameters(21, 40, 60, new BigDecimal("0.95"));
+        StrategyEngine engine = new StrategyEngine(List.of(
+                new RsiThresholdStrategy(fastRsi),
+                new EmaCrossoverStrategy(12, 26),
+                new RsiThresholdStrategy(slowRsi),
+                new KeltnerBreakoutStrategy(26, 10, 1.5)));
+        BigDecimal[] stopLosses = {fastRsi.stopLossThreshold(), AccountConstants.STOP_LOSS_THRESHOLD,
+                slowRsi.stopLossThreshold(), AccountConstants.STOP_LOSS_THRESHOLD};
+
+        // ACT
+        List<StrategyResultDto> results = MultiStrategyBacktestServiceImpl.evaluate(bars, engine, stopLosses);
+
+        // ASSERT
+        assertSameResult(ParameterSweepServiceImpl.evaluate(bars, fastRsi), results.get(0));
+        assertSameResult(ParameterSweepServiceImpl.evaluate(bars, slowRsi), results.get(2));
+        assertTrue(results.get(1).getTradeCount() > 0, "The EMA crossover should trade.");
+        assertTrue(results.get(3).getTradeCount() > 0, "The Keltner breakout should trade.");
+    }
+
+    @Test
+    void shouldComputeSharedIndicatorsOnce() {
+        // ARRANGE
+        MultiStrategyBacktestRequest request = new MultiStrategyBacktestRequest();
+        request.setSymbol(SYMBOL);
+        request.setInterval(INTERVAL);
+        request.setStrategies(List.of(
+                definition("EMA_CROSSOVER", Map.of("fastPeriod", BigDecimal.valueOf(12))),
+                definition("EMA_CROSSOVER", Map.of("fastPeriod", BigDecimal.valueOf(9))),
+                definition("KELTNER_BREAKOUT", Map.of("emaPeriod", BigDecimal.valueOf(26))),
+                definition("RSI", null),
+                definition("RSI", Map.of("oversold", BigDecimal.valueOf(25)))));
+
+        // ACT
+        MultiStrategyReportDto report = service.runStrategies(request);
+
+        // ASSERT
+        // Close, EMA 12, EMA 26, EMA 9, ATR 10 and RSI 14
+        assertEquals(6, report.getIndicatorNodes());
+        assertEquals(500, report.getBars());
+        assertEquals(5, report.getResults().size());
+        assertEquals("EMA_Cross_9_26", report.getResults().get(1).getStrategyName());
+        assertEquals("RSI_Simple_25_70", report.getResults().get(4).getStrategyName());
+    }
+
+    @Test
+    void shouldRejectUnknownStrategyTypes() {
+        // ARRANGE
+        MultiStrategyBacktestRequest request = new MultiStrategyBacktestRequest();
+        request.setSymbol(SYMBOL);
+        request.setInterval(INTERVAL);
+        request.setStrategies(List.of(definition("MACD", null)));
+
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> service.runStrategies(request));
+        verifyNoInteractions(historicalDataService);
+    }
+
+    @Test
+    void shouldRejectStopLossThresholdsWithMoreDecimalsThanPricesHold() {
+        // ARRANGE
+        StrategyDefinition definition = definition("RSI", null);
+        definition.setStopLossThreshold(new BigDecimal("0.123456789"));
+        MultiStrategyBacktestRequest request = new MultiStrategyBacktestRequest();
+        request.setSymbol(SYMBOL);
+        request.setInterval(INTERVAL);
+        request.setStrategies(List.of(definition));
+
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> service.runStrategies(request));
+        verifyNoInteractions(historicalDataService);
+    }
+
+    private static StrategyDefinition definition(String type, Map<String, BigDecimal> parameters) {
+        StrategyDefinition definition = new StrategyDefinition();
+        definition.setType(type);
+        definition.setParameters(parameters);
+        return definition;
+    }
+
+    private static void assertSameResult(SweepResultDto expected, StrategyResultDto actual) {
+        assertTrue(expected.getTradeCount() > 0, "The reference run should trade.");
+        assertEquals(expected.getTradeCount(), actual.getTradeCount());
+        assertEquals(expected.getWinningTrades(), actual.getWinningTrades());
+        assertEquals(0, expected.getFinalBalance().compareTo(actual.getFinalBalance()));
+        assertEquals(0, expected.getMaxDrawdown().compareTo(actual.getMaxDrawdown()));
+    }
+}
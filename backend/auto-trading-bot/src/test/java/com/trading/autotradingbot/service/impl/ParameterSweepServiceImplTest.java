@@ -0,0 +1,110 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.dto.ParameterSweepRequest;
+import com.trading.autotradingbot.dto.SweepResultDto;
+import com.trading.autotradingbot.service.HistoricalDataService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ParameterSweepServiceImplTest {
+
+    private static final String SYMBOL = "TESTUSDT";
+    private static final String INTERVAL = "1h";
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private HistoricalDataService historicalDataService;
+    private ParameterSweepServiceImpl sweepService;
+
+    @BeforeEach
+    void setUp() {
+        historicalDataService = mock(HistoricalDataService.class);
+        sweepService = new ParameterSweepServiceImpl(historicalDataService);
+
+        // Steady decline, a capitulation bar and a rebound
+        BarColumns.Builder builder = new BarColumns.Builder(SYMBOL, INTERVAL, 20);
+        int[] closes = {100, 99, 98, 97, 96, 95, 94, 93, 92, 91, 90, 89, 88, 87, 86, 80, 130, 130};
+        for (int i = 0; i < closes.length; i++) {
+            long close = BarColumns.toUnscaled(BigDecimal.valueOf(closes[i]));
+            builder.add(i * HOUR_MILLIS, close, close, close, close, 0);
+        }
+        when(historicalDataService.loadBars(SYMBOL, INTERVAL)).thenReturn(builder.build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweepService.shutdown();
+    }
+
+    @Test
+    void shouldRankCombinationsByFinalBalanceAndSkipInvalidOnes() {
+        // ARRANGE
+        ParameterSweepRequest request = baseRequest();
+        request.setRsiPeriodFrom(10);
+        request.setRsiPeriodTo(14);
+        request.setRsiPeriodStep(2);
+        request.setOversoldFrom(30);
+        request.setOversoldTo(70);
+        request.setOversoldStep(40);
+        request.setOverboughtFrom(70);
+        request.setOverboughtTo(70);
+
+        // ACT
+        List<SweepResultDto> results = sweepService.runSweep(request);
+
+        // ASSERT
+        // Oversold 70 / overbought 70 is invalid, leaving 3 periods x 1 threshold pair
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1, results.get(i).getRank());
+            if (i > 0) {
+                assertTrue(results.get(i - 1).getFinalBalance().compareTo(results.get(i).getFinalBalance()) >= 0);
+            }
+        }
+        assertTrue(results.getFirst().getFinalBalance().compareTo(new BigDecimal("10000.00")) > 0,
+                "Buying the capitulation bar and selling the rebound must be profitable.");
+        verify(historicalDataService, times(1)).loadBars(SYMBOL, INTERVAL);
+    }
+
+    @Test
+    void shouldReturnOnlyTheRequestedNumberOfResults() {
+        // ARRANGE
+        ParameterSweepRequest request = baseRequest();
+        request.setStopLossFrom(new BigDecimal("0.90"));
+        request.setStopLossTo(new BigDecimal("0.99"));
+        request.setStopLossStep(new BigDecimal("0.01"));
+        request.setLimit(3);
+
+        // ACT
+        List<SweepResultDto> results = sweepService.runSweep(request);
+
+        // ASSERT
+        assertEquals(3, results.size());
+        assertEquals(1, results.getFirst().getRank());
+    }
+
+    @Test
+    void shouldRejectMalformedRange() {
+        // ARRANGE
+        ParameterSweepRequest request = baseRequest();
+        request.setRsiPeriodFrom(20);
+        request.setRsiPeriodTo(10);
+
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> sweepService.runSweep(request));
+    }
+
+    private static ParameterSweepRequest baseRequest() {
+        ParameterSweepRequest request = new ParameterSweepRequest();
+        request.setSymbol(SYMBOL);
+        request.setInterval(INTERVAL);
+        return request;
+    }
+}
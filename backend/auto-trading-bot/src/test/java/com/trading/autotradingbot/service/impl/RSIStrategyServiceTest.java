@@ -102,8 +102,21 @@ class RSIStrategyServiceTest {
         Signal signal = strategyService.getSignal(minimalPriceChange, updateTime);
 
         // ASSERT
-        assertEquals(initialBarCount, strategyService.series.getBarCount(),
+        assertEquals(initialBarCount, strategyService.getBarCount(),
                 "Bar count should remain the same when updating a forming bar.");
         assertEquals(Signal.HOLD, signal, "Should return HOLD for minimal price change mid-bar.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCloseOneBarPerIntervalAcrossGapWithoutTrades() {
+        // ARRANGE
+        ZonedDateTime afterGap = testTime.plusHours(17).plusMinutes(10);
+
+        // ACT
+        strategyService.getSignal(new BigDecimal("100.00"), afterGap);
+
+        // ASSERT
+        assertEquals(18, strategyService.getBarCount(),
+                "The 14:00 bar closes and flat 15:00 and 16:00 bars precede the forming 17:00 bar.");
+    }
+}
@@ -0,0 +1,217 @@
+package com.trading.autotradingbot.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process RFC 6455 server standing in for the Binance market stream in offline tests.
+ * <p>
+ * Supports the opening handshake, unfragmented text frames in both directions, ping/pong and close.
+ * Text messages sent by the client are queued for assertions; {@link #dropConnection()} simulates a network failure.
+ * </p>
+ */
+final class StubWebSocketServer implements AutoCloseable {
+    private static final String HANDSHAKE_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private static final int OPCODE_CONTINUATION = 0x0;
+    private static final int OPCODE_TEXT = 0x1;
+    private static final int OPCODE_CLOSE = 0x8;
+    private static final int OPCODE_PING = 0x9;
+    private static final int OPCODE_PONG = 0xA;
+
+    private final ServerSocket serverSocket;
+    private final BlockingQueue<String> receivedMessages = new LinkedBlockingQueue<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private volatile Socket connection;
+
+    StubWebSocketServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofPlatform().daemon().name("stub-ws-accept").start(this::acceptLoop);
+    }
+
+    URI uri() {
+        return URI.create("ws://127.0.0.1:" + serverSocket.getLocalPort() + "/ws");
+    }
+
+    int connectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Next text message received from any client connection, or {@code null} on timeout.
+     */
+    String awaitMessage(Duration timeout) throws InterruptedException {
+        return receivedMessages.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void sendText(String message) throws IOException {
+        writeFrame(connection, OPCODE_TEXT, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Closes the TCP connection without a close frame.
+     */
+    void dropConnection() throws IOException {
+        connection.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        Socket current = connection;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                handshake(socket);
+                connection = socket;
+                connectionCount.incrementAndGet();
+                Thread.ofPlatform().daemon().name("stub-ws-read").start(() -> readLoop(socket));
+            } catch (IOException e) {
+                // Server closed
+            }
+        }
+    }
+
+    private void handshake(Socket socket) throws IOException {
+        InputStream in = socket.getInputStream();
+        String key = null;
+
+        for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Sec-WebSocket-Key")) {
+                key = line.substring(colon + 1).trim();
+            }
+        }
+
+        if (key == null) {
+            throw new IOException("Missing Sec-WebSocket-Key header");
+        }
+
+        String response = "HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + acceptKey(key) + "\r\n\r\n";
+        OutputStream out = socket.getOutputStream();
+        out.write(response.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private void readLoop(Socket socket) {
+        try {
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            ByteArrayOutputStream message = new ByteArrayOutputStream();
+
+            while (!socket.isClosed()) {
+                int first = in.readUnsignedByte();
+                int second = in.readUnsignedByte();
+                boolean fin = (first & 0x80) != 0;
+                int opcode = first & 0x0F;
+
+                long length = second & 0x7F;
+                if (length == 126) {
+                    length = in.readUnsignedShort();
+                } else if (length == 127) {
+                    length = in.readLong();
+                }
+
+                byte[] mask = new byte[4];
+                if ((second & 0x80) != 0) {
+                    in.readFully(mask);
+                }
+
+                byte[] payload = new byte[(int) length];
+                in.readFully(payload);
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i % 4];
+                }
+
+                switch (opcode) {
+                    case OPCODE_TEXT, OPCODE_CONTINUATION -> {
+                        message.write(payload);
+                        if (fin) {
+                            receivedMessages.add(message.toString(StandardCharsets.UTF_8));
+                            message.reset();
+                        }
+                    }
+                    case OPCODE_PING -> writeFrame(socket, OPCODE_PONG, payload);
+                    case OPCODE_CLOSE -> {
+                        writeFrame(socket, OPCODE_CLOSE, payload);
+                        socket.close();
+                    }
+                    default -> {
+                        // Binary and pong frames are not used by the client under test
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Connection dropped or closed
+        }
+    }
+
+    private static synchronized void writeFrame(Socket socket, int opcode, byte[] payload) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(0x80 | opcode);
+
+        if (payload.length < 126) {
+            out.write(payload.length);
+        } else if (payload.length <= 0xFFFF) {
+            out.write(126);
+            out.write(payload.length >>> 8);
+            out.write(payload.length & 0xFF);
+        } else {
+            out.write(127);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) ((long) payload.length >>> shift) & 0xFF);
+            }
+        }
+
+        out.write(payload);
+        out.flush();
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        if (c == -1 && line.isEmpty()) {
+            throw new IOException("Connection closed during handshake");
+        }
+        return line.toString();
+    }
+
+    private static String acceptKey(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + HANDSHAKE_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.trading.autotradingbot.repository.AccountRepository;
 import com.trading.autotradingbot.repository.BarDataRepository;
 import com.trading.autotradingbot.repository.TradeRepository;
 import com.trading.autotradingbot.service.MarketDataProvider;
+import com.trading.autotradingbot.service.SimulationAccountService;
 import com.trading.autotradingbot.service.TrainingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +26,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
+import static com.trading.autotradingbot.common.AccountConstants.LIVE_ACCOUNT_ID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -50,7 +52,10 @@ class TrainingServiceIntegrationTest {
     @Autowired
     BarDataRepository barDataRepository;
 
-    private static final Long BACKTEST_ACCOUNT_ID = 2L;
+    @Autowired
+    private SimulationAccountService simulationAccountService;
+
+    private Long backtestAccountId;
     private static final String SYMBOL = "TESTUSDT";
     private static final String INTERVAL = "1h";
     private static final BigDecimal INITIAL_CAPITAL = new BigDecimal("10000.00");
@@ -58,7 +63,7 @@ class TrainingServiceIntegrationTest {
     @BeforeEach
     void setupDatabaseState() {
         Mockito.reset(marketDataProvider);
-        accountRepository.resetAccount(BACKTEST_ACCOUNT_ID, INITIAL_CAPITAL);
+        backtestAccountId = simulationAccountService.createAccount(INITIAL_CAPITAL);
         barDataRepository.deleteAllBySymbolAndInterval(SYMBOL, INTERVAL);
     }
 
@@ -71,14 +76,14 @@ class TrainingServiceIntegrationTest {
                 .thenReturn(buySignalData);
 
         // ACT
-        trainingService.runBacktest(BACKTEST_ACCOUNT_ID, SYMBOL, INTERVAL);
+        trainingService.runBacktest(backtestAccountId, SYMBOL, INTERVAL);
 
         // ASSERT
 
-        List<Trade> trades = tradeRepository.findAllByAccountId(BACKTEST_ACCOUNT_ID);
+        List<Trade> trades = tradeRepository.findAllByAccountId(backtestAccountId);
         assertFalse(trades.isEmpty(), "At least one trade should have been executed.");
 
-        BigDecimal finalBalance = accountRepository.getAccountBalance(BACKTEST_ACCOUNT_ID);
+        BigDecimal finalBalance = accountRepository.getAccountBalance(backtestAccountId);
         assertTrue(finalBalance.compareTo(INITIAL_CAPITAL) < 0, "Final balance should be less than initial capital due to spend and fees.");
     }
 
@@ -90,17 +95,17 @@ class TrainingServiceIntegrationTest {
                 .thenReturn(buySellData);
 
         // ACT
-        trainingService.runBacktest(BACKTEST_ACCOUNT_ID, SYMBOL, INTERVAL);
+        trainingService.runBacktest(backtestAccountId, SYMBOL, INTERVAL);
 
         // ASSERT
 
-        List<Trade> trades = tradeRepository.findAllByAccountId(BACKTEST_ACCOUNT_ID);
+        List<Trade> trades = tradeRepository.findAllByAccountId(backtestAccountId);
         assertEquals(2, trades.size(), "Exactly two trades (BUY and SELL) should have been executed.");
         assertEquals(TradeAction.BUY, trades.get(1).getAction(), "The first trade should be a BUY.");
         assertEquals(TradeAction.SELL, trades.get(0).getAction(), "The final trade should be a SELL.");
 
         // Since we bought low (80) and sold high (130), a profit should be realized.
-        BigDecimal finalBalance = accountRepository.getAccountBalance(BACKTEST_ACCOUNT_ID);
+        BigDecimal finalBalance = accountRepository.getAccountBalance(backtestAccountId);
 
         assertTrue(finalBalance.compareTo(INITIAL_CAPITAL) > 0,
                 "Final balance must be greater than starting capital, showing realized profit.");
@@ -108,6 +113,29 @@ class TrainingServiceIntegrationTest {
         assertTrue(trades.getFirst().getProfitLoss().compareTo(BigDecimal.ZERO) > 0, "The SELL trade must record a profit.");
     }
 
+    @Test
+    void shouldKeepSimulationAccountsApartAndDeleteThemTogether() {
+        // ARRANGE
+        when(marketDataProvider.getHistoricalData(anyString(), anyString(), anyInt()))
+                .thenReturn(createMockBarsForBuyAndSellSignal());
+        Long otherAccountId = simulationAccountService.createAccount(INITIAL_CAPITAL);
+        trainingService.runBacktest(backtestAccountId, SYMBOL, INTERVAL);
+        trainingService.runBacktest(otherAccountId, SYMBOL, INTERVAL);
+
+        // ACT
+        List<Trade> trades = tradeRepository.findAllByAccountId(backtestAccountId);
+        List<Trade> otherTrades = tradeRepository.findAllByAccountId(otherAccountId);
+        simulationAccountService.deleteAccounts(List.of(backtestAccountId, otherAccountId, LIVE_ACCOUNT_ID));
+
+        // ASSERT
+        assertEquals(2, trades.size(), "Running on another account must not touch this one.");
+        assertEquals(2, otherTrades.size());
+        assertTrue(accountRepository.findById(backtestAccountId).isEmpty());
+        assertTrue(accountRepository.findById(otherAccountId).isEmpty());
+        assertTrue(tradeRepository.findAllByAccountId(otherAccountId).isEmpty());
+        assertTrue(accountRepository.findById(LIVE_ACCOUNT_ID).isPresent(), "The LIVE account must never be deleted.");
+    }
+
     private List<BarData> createMockBarsForBuySignal() {
         // Create 15 bars at 100.00 (RSI 50 baseline) + 1 bar at 80.00 (RSI < 30)
         List<BarData> bars = new ArrayList<>();
@@ -0,0 +1,114 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.StrategyParameters;
+import com.trading.autotradingbot.dto.ParameterSweepRequest;
+import com.trading.autotradingbot.dto.SweepResultDto;
+import com.trading.autotradingbot.entity.enums.BacktestMode;
+import com.trading.autotradingbot.service.HistoricalDataService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VectorBacktestTest {
+
+    private static final String SYMBOL = "TESTUSDT";
+    private static final String INTERVAL = "1h";
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    @Test
+    void shouldMatchEventDrivenBacktest() {
+        // ARRANGE
+        BarColumns bars = randomWalk(5_000, 7);
+        List<StrategyParameters> combinations = List.of(
+                StrategyParameters.DEFAULT,
+                new StrategyParameters(2, 10, 90, new BigDecimal("0.99")),
+                new StrategyParameters(7, 40, 60, BigDecimal.ONE),
+                new StrategyParameters(21, 45, 55, new BigDecimal("0.9")),
+                new StrategyParameters(63, 49, 51, new BigDecimal("0.97")));
+
+        for (StrategyParameters parameters : combinations) {
+            // ACT
+            SweepResultDto vectorised = VectorBacktest.evaluate(bars, parameters);
+            SweepResultDto eventDriven = ParameterSweepServiceImpl.evaluate(bars, parameters);
+
+            // ASSERT
+            assertTrue(eventDriven.getTradeCount() > 0, "The reference run should trade: " + parameters);
+            assertEquals(eventDriven, vectorised, parameters.toString());
+        }
+    }
+
+    @Test
+    void shouldMatchEventDrivenBacktestWithoutTradesOrWithOpenPositionAtTheEnd() {
+        // ARRANGE
+        BarColumns.Builder builder = new BarColumns.Builder(SYMBOL, INTERVAL, 40);
+        for (int i = 0; i < 40; i++) {
+            // Falls steadily, so the RSI is oversold from the first signal bar and the position is never sold
+            long close = BarColumns.toUnscaled(BigDecimal.valueOf(1_000 - i));
+            builder.add(i * HOUR_MILLIS, close, close, close, close, 0);
+        }
+        BarColumns falling = builder.build();
+        StrategyParameters noStopLoss = new StrategyParameters(14, 30, 70, new BigDecimal("0.5"));
+        StrategyParameters neverBuys = new StrategyParameters(14, 0, 70, new BigDecimal("0.5"));
+
+        // ACT & ASSERT
+        SweepResultDto liquidated = VectorBacktest.evaluate(falling, noStopLoss);
+        assertEquals(ParameterSweepServiceImpl.evaluate(falling, noStopLoss), liquidated);
+        assertEquals(2, liquidated.getTradeCount(), "One buy and the final liquidation.");
+
+        SweepResultDto idle = VectorBacktest.evaluate(falling, neverBuys);
+        assertEquals(ParameterSweepServiceImpl.evaluate(falling, neverBuys), idle);
+        assertEquals(0, idle.getTradeCount());
+    }
+
+    @Test
+    void shouldRankVectorisedSweepLikeEventDrivenSweep() {
+        // ARRANGE
+        HistoricalDataService historicalDataService = mock(HistoricalDataService.class);
+        when(historicalDataService.loadBars(SYMBOL, INTERVAL)).thenReturn(randomWalk(2_000, 11));
+        ParameterSweepServiceImpl sweepService = new ParameterSweepServiceImpl(historicalDataService);
+
+        ParameterSweepRequest request = new ParameterSweepRequest();
+        request.setSymbol(SYMBOL);
+        request.setInterval(INTERVAL);
+        request.setRsiPeriodFrom(5);
+        request.setRsiPeriodTo(25);
+        request.setRsiPeriodStep(5);
+        request.setOversoldFrom(20);
+        request.setOversoldTo(40);
+        request.setOversoldStep(10);
+        request.setStopLossFrom(new BigDecimal("0.95"));
+        request.setStopLossTo(new BigDecimal("0.99"));
+        request.setStopLossStep(new BigDecimal("0.02"));
+
+        try {
+            // ACT
+            List<SweepResultDto> eventDriven = sweepService.runSweep(request);
+            request.setMode(BacktestMode.VECTORISED);
+            List<SweepResultDto> vectorised = sweepService.runSweep(request);
+
+            // ASSERT
+            assertEquals(45, vectorised.size());
+            assertEquals(eventDriven, vectorised);
+        } finally {
+            sweepService.shutdown();
+        }
+    }
+
+    private static BarColumns randomWalk(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        BarColumns.Builder builder = new BarColumns.Builder(SYMBOL, INTERVAL, size);
+        double price = 30_000;
+        for (int i = 0; i < size; i++) {
+            price = Math.max(1, price * (1 + random.nextGaussian() * 0.01));
+            long close = BarColumns.toUnscaled(BigDecimal.valueOf(price));
+            builder.add(i * HOUR_MILLIS, close, close, close, close, 0);
+        }
+        return builder.build();
+    }
+}
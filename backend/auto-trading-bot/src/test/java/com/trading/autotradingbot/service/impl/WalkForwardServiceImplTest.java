@@ -0,0 +1,128 @@
+package com.trading.autotradingbot.service.impl;
+
+import com.trading.autotradingbot.common.BarColumns;
+import com.trading.autotradingbot.common.BarSeriesView;
+import com.trading.autotradingbot.common.StrategyParameters;
+import com.trading.autotradingbot.dto.SweepResultDto;
+import com.trading.autotradingbot.dto.WalkForwardReportDto;
+import com.trading.autotradingbot.dto.WalkForwardRequest;
+import com.trading.autotradingbot.dto.WalkForwardWindowDto;
+import com.trading.autotradingbot.service.HistoricalDataService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WalkForwardServiceImplTest {
+
+    private static final String SYMBOL = "TESTUSDT";
+    private static final String INTERVAL = "1h";
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final int BAR_COUNT = 200;
+
+    private HistoricalDataService historicalDataService;
+    private WalkForwardServiceImpl walkForwardService;
+    private BarColumns bars;
+
+    @BeforeEach
+    void setUp() {
+        historicalDataService = mock(HistoricalDataService.class);
+        walkForwardService = new WalkForwardServiceImpl(historicalDataService);
+
+        // Slowly rising oscillation, so RSI crosses both thresholds regularly
+        BarColumns.Builder builder = new BarColumns.Builder(SYMBOL, INTERVAL, BAR_COUNT);
+        for (int i = 0; i < BAR_COUNT; i++) {
+            BigDecimal price = BigDecimal.valueOf(100 + 10 * Math.sin(i / 5.0) + i * 0.05).setScale(2, RoundingMode.HALF_UP);
+            long close = BarColumns.toUnscaled(price);
+            builder.add(i * HOUR_MILLIS, close, close, close, close, 0);
+        }
+        bars = builder.build();
+        when(historicalDataService.loadBars(SYMBOL, INTERVAL)).thenReturn(bars);
+    }
+
+    @AfterEach
+    void tearDown() {
+        walkForwardService.shutdown();
+    }
+
+    @Test
+    void shouldOptimiseEachWindowInSampleAndTestWinnerOutOfSample() {
+        // ARRANGE
+        WalkForwardRequest request = request(60, 20);
+        List<StrategyParameters> grid = ParameterSweepServiceImpl.parameterGrid(request);
+
+        // ACT
+        WalkForwardReportDto report = walkForwardService.runWalkForward(request);
+
+        // ASSERT
+        List<WalkForwardWindowDto> windows = report.getWindows();
+        assertEquals((BAR_COUNT - 80) / 20 + 1, windows.size());
+        verify(historicalDataService, times(1)).loadBars(SYMBOL, INTERVAL);
+
+        for (WalkForwardWindowDto window : windows) {
+            int from = window.getWindow() * 20;
+            assertEquals(bars.openDateTime(from), window.getInSampleStart());
+            assertEquals(bars.openDateTime(from + 60), window.getOutOfSampleStart());
+            assertEquals(bars.openDateTime(from + 79), window.getOutOfSampleEnd());
+
+            // Same winner as a sequential sweep of the in-sample bars (first combination wins ties)
+            BarSeriesView inSample = bars.slice(from, from + 60);
+            StrategyParameters expected = grid.stream()
+                    .reduce((a, b) -> balance(inSample, b).compareTo(balance(inSample, a)) > 0 ? b : a)
+                    .orElseThrow();
+            assertEquals(expected.rsiPeriod(), window.getRsiPeriod());
+            assertEquals(expected.oversoldThreshold(), window.getOversoldThreshold());
+
+            SweepResultDto outOfSample = ParameterSweepServiceImpl.evaluate(
+                    bars.slice(from + 60 - (expected.rsiPeriod() + 1), from + 80), expected);
+            assertEquals(outOfSample.getTotalProfitLoss(), window.getOutOfSampleProfitLoss());
+        }
+
+        BigDecimal total = windows.stream().map(WalkForwardWindowDto::getOutOfSampleProfitLoss)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(total, report.getTotalOutOfSampleProfitLoss());
+        assertTrue(windows.stream().anyMatch(window -> window.getOutOfSampleTradeCount() > 0));
+    }
+
+    @Test
+    void shouldRejectHistoryShorterThanOneWindow() {
+        // ACT & ASSERT
+        assertThrows(IllegalStateException.class, () -> walkForwardService.runWalkForward(request(180, 30)));
+    }
+
+    @Test
+    void shouldRejectMissingWindowSize() {
+        // ARRANGE
+        WalkForwardRequest request = request(60, 20);
+        request.setOutOfSampleBars(null);
+
+        // ACT & ASSERT
+        assertThrows(IllegalArgumentException.class, () -> walkForwardService.runWalkForward(request));
+        verifyNoInteractions(historicalDataService);
+    }
+
+    private static WalkForwardRequest request(int inSampleBars, int outOfSampleBars) {
+        WalkForwardRequest request = new WalkForwardRequest();
+        request.setSymbol(SYMBOL);
+        request.setInterval(INTERVAL);
+        request.setRsiPeriodFrom(5);
+        request.setRsiPeriodTo(15);
+        request.setRsiPeriodStep(5);
+        request.setOversoldFrom(20);
+        request.setOversoldTo(40);
+        request.setOversoldStep(10);
+        request.setInSampleBars(inSampleBars);
+        request.setOutOfSampleBars(outOfSampleBars);
+        return request;
+    }
+
+    private static BigDecimal balance(BarSeriesView bars, StrategyParameters parameters) {
+        return ParameterSweepServiceImpl.evaluate(bars, parameters).getFinalBalance();
+    }
+}
@@ -0,0 +1,134 @@
+package com.trading.autotradingbot.indicator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * Array-at-a-time RSI and threshold signals over a whole series, using the Vector API for the element-wise steps.
+ * <p>
+ * Every value is bit-for-bit the one {@code StreamingRsi} returns after the same bars: lanes perform the same IEEE
+ * operations in the same order as the scalar code, and Wilder's smoothing, a recurrence on the previous average,
+ * stays a scalar loop, as reassociating it across lanes would change the rounding. Needs
+ * {@code --add-modules jdk.incubator.vector}; this is the only class compiled with it (see the {@code vector} source
+ * set in {@code build.gradle}), so it must not depend on the main sources.
+ * </p>
+ */
+public final class RsiKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double HUNDRED = 100.0;
+
+    private RsiKernels() {}
+
+    /**
+     * Gain and loss of every bar against the bar before it; both are zero for the first bar.
+     */
+    public static void gainsAndLosses(double[] closes, double[] gains, double[] losses) {
+        int size = closes.length;
+        if (size == 0) {
+            return;
+        }
+        gains[0] = 0;
+        losses[0] = 0;
+
+        int i = 1;
+        for (int bound = 1 + SPECIES.loopBound(size - 1); i < bound; i += SPECIES.length()) {
+            DoubleVector change = DoubleVector.fromArray(SPECIES, closes, i)
+                    .sub(DoubleVector.fromArray(SPECIES, closes, i - 1));
+            change.max(0).intoArray(gains, i);
+            change.neg().max(0).intoArray(losses, i);
+        }
+        for (; i < size; i++) {
+            double change = closes[i] - closes[i - 1];
+            gains[i] = Math.max(change, 0);
+            losses[i] = Math.max(-change, 0);
+        }
+    }
+
+    /**
+     * RSI of every bar, as {@code StreamingRsi.getValue()} reports it once that bar has been added.
+     *
+     * @param averageLosses scratch array of the same length, overwritten.
+     */
+    public static void rsi(double[] gains, double[] losses, int period, double[] rsi, double[] averageLosses) {
+        if (period < 1) {
+            throw new IllegalArgumentException("RSI period must be positive, got " + period);
+        }
+        int size = gains.length;
+        if (size == 0) {
+            return;
+        }
+        double multiplier = 1.0 / period;
+
+        // Wilder's smoothing from zero averages; the average gains are kept in the output until converted
+        double averageGain = 0;
+        double averageLoss = 0;
+        rsi[0] = 0;
+        averageLosses[0] = 0;
+        for (int i = 1; i < size; i++) {
+            averageGain = averageGain + (gains[i] - averageGain) * multiplier;
+            averageLoss = averageLoss + (losses[i] - averageLoss) * multiplier;
+            rsi[i] = averageGain;
+            averageLosses[i] = averageLoss;
+        }
+
+        DoubleVector hundred = DoubleVector.broadcast(SPECIES, HUNDRED);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(size); i < bound; i += SPECIES.length()) {
+            DoubleVector gain = DoubleVector.fromArray(SPECIES, rsi, i);
+            DoubleVector loss = DoubleVector.fromArray(SPECIES, averageLosses, i);
+            // Lanes with no loss divide by zero here and are replaced below
+            DoubleVector value = hundred.sub(hundred.div(gain.div(loss).add(1)));
+            VectorMask<Double> noLoss = loss.compare(VectorOperators.EQ, 0);
+            DoubleVector flat = hundred.blend(0, gain.compare(VectorOperators.EQ, 0));
+            value.blend(flat, noLoss).intoArray(rsi, i);
+        }
+        for (; i < size; i++) {
+            rsi[i] = toRsi(rsi[i], averageLosses[i]);
+        }
+    }
+
+    /**
+     * Marks bar {@code i} in {@code buys} if its RSI is below {@code oversold} and in {@code sells} if it is above
+     * {@code overbought}, one bit per bar ({@code i >>> 6}, bit {@code i & 63}).
+     */
+    public static void signals(double[] rsi, double oversold, double overbought, long[] buys, long[] sells) {
+        int size = rsi.length;
+        Arrays.fill(buys, 0);
+        Arrays.fill(sells, 0);
+
+        // The lane count divides 64, so a vector never straddles two words
+        int i = 0;
+        for (int bound = SPECIES.loopBound(size); i < bound; i += SPECIES.length()) {
+            DoubleVector value = DoubleVector.fromArray(SPECIES, rsi, i);
+            buys[i >>> 6] |= value.compare(VectorOperators.LT, oversold).toLong() << i;
+            sells[i >>> 6] |= value.compare(VectorOperators.GT, overbought).toLong() << i;
+        }
+        for (; i < size; i++) {
+            if (rsi[i] < oversold) {
+                buys[i >>> 6] |= 1L << i;
+            } else if (rsi[i] > overbought) {
+                sells[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * Number of {@code long} words of a signal bitset over {@code size} bars.
+     */
+    public static int words(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    // Same as StreamingRsi.toRsi, which this source set cannot see
+    private static double toRsi(double averageGain, double averageLoss) {
+        if (averageLoss == 0) {
+            return averageGain == 0 ? 0 : HUNDRED;
+        }
+        double relativeStrength = averageGain / averageLoss;
+        return HUNDRED - HUNDRED / (1 + relativeStrength);
+    }
+}
@@ -1,4 +1,4 @@
-import type { AccountSummaryDto, Trade, Holding, AccountSnapshot, BarData } from "../types/dto/index";
+import type { AccountSummaryDto, Trade, Holding, AccountSnapshot, BarData, ChangesPage } from "../types/dto/index";
 
 const BASE_URL = '/api';
 
@@ -14,6 +14,11 @@ const handleResponse = async (response: Response) => {
     return response.json();
 };
 
+export const openDashboardEvents = (): EventSource => {
+    // GET /api/dashboard/events (Server-Sent Events: STATE, TICK, TRADE, SNAPSHOT, CONFIG)
+    return new EventSource(`${BASE_URL}/dashboard/events`);
+};
+
 export const fetchAccountSummary = async (): Promise<AccountSummaryDto> => {
     // GET /api/account/summary
     const response = await fetch(`${BASE_URL}/account/summary`);
@@ -26,6 +31,12 @@ export const fetchTradeHistory = async (): Promise<Trade[]> => {
     return handleResponse(response);
 };
 
+export const fetchTradeChanges = async (afterId: number): Promise<ChangesPage<Trade>> => {
+    // GET /api/trade/history/changes?afterId={last trade id held by the client}
+    const response = await fetch(`${BASE_URL}/trade/history/changes?afterId=${afterId}`);
+    return handleResponse(response);
+};
+
 export const fetchCurrentHoldings = async (): Promise<Holding[]> => {
     // GET /api/trade/holdings
     const response = await fetch(`${BASE_URL}/trade/holdings`);
@@ -1,11 +1,13 @@
 // frontend/src/hooks/useBotData.ts
 
 import { useState, useEffect } from 'react';
-import { fetchBotStatus } from '../api/botApi';
-import {  fetchAccountSummary, fetchTradeHistory, fetchCurrentHoldings, fetchAccountPerformance, fetchMarketChartData } from '../api/dataApi';
-import type { BotConfigDto, AccountSummaryDto, Trade, Holding, AccountSnapshot, BarData } from '../types/dto/index';
+import { openDashboardEvents, fetchAccountSummary, fetchCurrentHoldings, fetchMarketChartData } from '../api/dataApi';
+import type { BotConfigDto, AccountSummaryDto, Trade, Holding, AccountSnapshot, BarData, DashboardState, Tick } from '../types/dto/index';
 
-const POLL_INTERVAL = 2000; 
+// Bars only change when the bot loads history, so the chart is refreshed rarely
+const CHART_REFRESH_INTERVAL = 60000;
+// Live snapshots are appended to the server's downsampled curve; keep the chart bounded on long sessions
+const MAX_PERFORMANCE_POINTS = 2000;
 
 export const useBotData = (interval: string) => {
     const [config, setConfig] = useState<BotConfigDto | null>(null);
@@ -13,53 +15,76 @@ export const useBotData = (interval: string) => {
     const [history, setHistory] = useState<Trade[]>([]);
     const [holdings, setHoldings] = useState<Holding[]>([]);
     const [marketData, setMarketData] = useState<BarData[]>([]);
+    const [lastTick, setLastTick] = useState<Tick | null>(null);
     
     const [performance, setPerformance] = useState<AccountSnapshot[]>([]); 
     
     const [loading, setLoading] = useState(true);
 
-    const fetchData = async () => {
-        let fetchedConfig: BotConfigDto | null = null;
+    // Push channel: the server sends the full state on connect, then only what changed
+    useEffect(() => {
+        const events = openDashboardEvents();
+        const parse = <T,>(event: Event): T => JSON.parse((event as MessageEvent).data);
+
+        const refreshAccount = async () => {
+            try {
+                const [summaryData, holdingsData] = await Promise.all([fetchAccountSummary(), fetchCurrentHoldings()]);
+                setSummary(summaryData);
+                setHoldings(holdingsData);
+            } catch (error) {
+                console.warn("Failed to refresh account after trade.", error);
+            }
+        };
+
+        events.addEventListener('STATE', event => {
+            const state = parse<DashboardState>(event);
+            setConfig(state.config);
+            setSummary(state.summary);
+            setHistory(state.trades);
+            setHoldings(state.holdings);
+            setPerformance(state.performance);
+            setLoading(false);
+        });
 
-        try {
-            fetchedConfig = await fetchBotStatus();
-            setConfig(fetchedConfig);
+        events.addEventListener('TICK', event => setLastTick(parse<Tick>(event)));
 
-        } catch (error) {
-            console.error("Critical: Failed to fetch configuration/status.", error);
-            if (loading) setLoading(false);
-            return;
-        }
+        events.addEventListener('TRADE', event => {
+            const trade = parse<Trade>(event);
+            setHistory(previous => [...previous, trade]);
+            refreshAccount();
+        });
 
-        try {
-            const [summaryData, historyData, holdingsData, performanceData, marketData] = await Promise.all([
-                fetchAccountSummary(), 
-                fetchTradeHistory(), 
-                fetchCurrentHoldings(),
-                fetchAccountPerformance(),
-                fetchMarketChartData(interval)
-            ]);
+        events.addEventListener('SNAPSHOT', event => {
+            const snapshot = parse<AccountSnapshot>(event);
+            setPerformance(previous => [...previous, snapshot].slice(-MAX_PERFORMANCE_POINTS));
+            setSummary(previous => previous && {
+                ...previous,
+                currentBalance: snapshot.cashBalance,
+                currentPortfolioValue: snapshot.totalBalance,
+            });
+        });
 
-            // 3. Set all secondary state, now that we know config is safe
-            setSummary(summaryData);
-            setHistory(historyData);
-            setHoldings(holdingsData);
-            setPerformance(performanceData);
-            setMarketData(marketData);
+        events.addEventListener('CONFIG', event => setConfig(parse<BotConfigDto>(event)));
 
-        } catch (error) {
-            console.warn("Partial Load Warning: Some dashboard data failed to load.", error);
-            
-        } finally {
-            if (loading) setLoading(false);
-        }
-    };
+        // EventSource reconnects by itself and receives a fresh STATE
+        events.onerror = () => console.warn("Dashboard event stream interrupted, reconnecting...");
+
+        return () => events.close();
+    }, []);
 
     useEffect(() => {
-        fetchData();
-        const intervalId = setInterval(fetchData, POLL_INTERVAL);
+        const fetchChart = async () => {
+            try {
+                setMarketData(await fetchMarketChartData(interval));
+            } catch (error) {
+                console.warn("Failed to load market chart data.", error);
+            }
+        };
+
+        fetchChart();
+        const intervalId = setInterval(fetchChart, CHART_REFRESH_INTERVAL);
         return () => clearInterval(intervalId);
     }, [interval]); 
     
-    return { config, summary, history, holdings, performance, loading, marketData };
-};
\ No newline at end of file
+    return { config, summary, history, holdings, performance, loading, marketData, lastTick };
+};
@@ -0,0 +1,6 @@
+export interface ChangesPage<T> {
+    items: T[];
+    version: number; // pass as afterId on the next request
+    hasMore: boolean;
+    reset: boolean; // cached rows are stale, replace them with items
+}
@@ -0,0 +1,21 @@
+import type { AccountSummaryDto } from './AccountSummaryDto';
+import type { AccountSnapshot } from './AccountSnapshot';
+import type { BotConfigDto } from './BotConfigDto';
+import type { Holding } from './Holding';
+import type { Trade } from './Trade';
+
+// Payload of the STATE event sent by /api/dashboard/events on connect and after bulk changes
+export interface DashboardState {
+    config: BotConfigDto;
+    summary: AccountSummaryDto;
+    trades: Trade[];
+    holdings: Holding[];
+    performance: AccountSnapshot[]; // downsampled equity curve
+}
+
+// Payload of the TICK event
+export interface Tick {
+    symbol: string;
+    price: string;
+    timestamp: string; // LocalDateTime
+}
@@ -3,4 +3,6 @@ export * from "./AccountSnapshot";
 export * from "./Trade";
 export * from "./Holding"
 export * from "./BarData";
-export * from "./BotConfigDto";
\ No newline at end of file
+export * from "./BotConfigDto";
+export * from "./ChangesPage";
+export * from "./DashboardState";
\ No newline at end of file